@@ -12,6 +12,7 @@ import org.slf4j.Logger;
 
 import io.openems.backend.common.component.AbstractOpenemsBackendComponent;
 import io.openems.backend.common.jsonrpc.JsonRpcRequestHandler;
+import io.openems.backend.common.websocket.SubscriptionScheduler;
 import io.openems.backend.metadata.api.Metadata;
 import io.openems.backend.timedata.api.Timedata;
 
@@ -27,6 +28,12 @@ public class B2bWebsocket extends AbstractOpenemsBackendComponent {
 
 	private WebsocketServer server = null;
 
+	/**
+	 * Sends the subscribed Channels of all connections.
+	 */
+	protected final SubscriptionScheduler subscriptionScheduler = new SubscriptionScheduler(
+			"Backend2Backend.Websocket", (edgeId, channel) -> this.timeData.getChannelValue(edgeId, channel));
+
 	@Reference(cardinality = ReferenceCardinality.MANDATORY, policy = ReferencePolicy.DYNAMIC)
 	protected volatile JsonRpcRequestHandler jsonRpcRequestHandler;
 
@@ -42,12 +49,14 @@ public class B2bWebsocket extends AbstractOpenemsBackendComponent {
 
 	@Activate
 	void activate(Config config) {
+		this.subscriptionScheduler.start();
 		this.startServer(config.port());
 	}
 
 	@Deactivate
 	void deactivate() {
 		this.stopServer();
+		this.subscriptionScheduler.stop();
 	}
 
 	/**
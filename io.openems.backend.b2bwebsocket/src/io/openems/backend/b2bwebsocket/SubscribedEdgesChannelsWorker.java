@@ -1,52 +1,41 @@
 package io.openems.backend.b2bwebsocket;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Optional;
 import java.util.Set;
 import java.util.TreeSet;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.TimeUnit;
 
 import org.java_websocket.WebSocket;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-
-import com.google.gson.JsonElement;
-import com.google.gson.JsonNull;
 
 import io.openems.backend.b2bwebsocket.jsonrpc.notification.EdgesCurrentDataNotification;
 import io.openems.backend.b2bwebsocket.jsonrpc.request.SubscribeEdgesChannelsRequest;
+import io.openems.backend.common.websocket.SubscriptionScheduler;
+import io.openems.backend.common.websocket.SubscriptionScheduler.Tick;
 import io.openems.backend.metadata.api.BackendUser;
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.common.session.Role;
 import io.openems.common.types.ChannelAddress;
+import io.openems.common.websocket.EncodedMessage;
 
-public class SubscribedEdgesChannelsWorker {
-
-	protected static final int UPDATE_INTERVAL_IN_SECONDS = 2;
-
-	private final Logger log = LoggerFactory.getLogger(SubscribedEdgesChannelsWorker.class);
-
-	/**
-	 * Executor for subscriptions task.
-	 */
-	private final ScheduledExecutorService executor = Executors.newScheduledThreadPool(1);
+/**
+ * Takes care of the subscribed Edges and Channels of one connection.
+ *
+ * <p>
+ * Instead of an own thread per connection, the shared
+ * {@link SubscriptionScheduler} of {@link B2bWebsocket} is used.
+ */
+public class SubscribedEdgesChannelsWorker implements SubscriptionScheduler.Subscription {
 
 	/**
-	 * Holds subscribed edges.
+	 * Holds subscribed edges; an immutable set that is replaced on change.
 	 */
-	private final TreeSet<String> edgeIds = new TreeSet<>();
+	private volatile Set<String> edgeIds = Collections.emptySet();
 
 	/**
-	 * Holds subscribed channels.
+	 * Holds subscribed channels; an immutable set that is replaced on change.
 	 */
-	private final TreeSet<ChannelAddress> channels = new TreeSet<>();
-
-	/**
-	 * Holds the scheduled task for currentData.
-	 */
-	private Optional<ScheduledFuture<?>> futureOpt = Optional.empty();
+	private volatile Set<ChannelAddress> channels = Collections.emptySet();
 
 	protected final WsData wsData;
 
@@ -61,7 +50,7 @@ public class SubscribedEdgesChannelsWorker {
 
 	/**
 	 * Applies a SubscribeChannelsRequest.
-	 * 
+	 *
 	 * @param request the SubscribeEdgesChannelsRequest
 	 */
 	public synchronized void handleSubscribeEdgesChannelsRequest(SubscribeEdgesChannelsRequest request) {
@@ -73,75 +62,65 @@ public class SubscribedEdgesChannelsWorker {
 
 	/**
 	 * Updates the Subscription data.
-	 * 
+	 *
 	 * @param edgeIds  Set of Edge-IDs
 	 * @param channels Set of ChannelAddresses
 	 */
 	private synchronized void updateSubscription(Set<String> edgeIds, Set<ChannelAddress> channels) {
-		// stop current thread
-		if (this.futureOpt.isPresent()) {
-			this.futureOpt.get().cancel(true);
-			this.futureOpt = Optional.empty();
-		}
-
-		// clear existing data
-		this.edgeIds.clear();
-		this.channels.clear();
-
-		// set new channels
-		this.edgeIds.addAll(edgeIds);
-		this.channels.addAll(channels);
+		// set new data
+		this.edgeIds = Collections.unmodifiableSet(new TreeSet<>(edgeIds));
+		this.channels = Collections.unmodifiableSet(new TreeSet<>(channels));
 
 		if (!channels.isEmpty() && !edgeIds.isEmpty()) {
-			// registered channels -> create new thread
-			this.futureOpt = Optional.of(this.executor.scheduleWithFixedDelay(() -> {
-				/*
-				 * This task is executed regularly. Sends data to Websocket.
-				 */
-				WebSocket ws = this.wsData.getWebsocket();
-				if (ws == null || !ws.isOpen()) {
-					// disconnected; stop worker
-					this.dispose();
-					return;
-				}
-
-				try {
-					this.wsData.send(this.getCurrentDataNotification());
-				} catch (OpenemsNamedException e) {
-					this.log.warn("Unable to send SubscribedChannels: " + e.getMessage());
-				}
-
-			}, 0, UPDATE_INTERVAL_IN_SECONDS, TimeUnit.SECONDS));
+			// registered channels -> send regularly
+			this.parent.subscriptionScheduler.subscribe(this);
+		} else {
+			this.parent.subscriptionScheduler.unsubscribe(this);
 		}
 	}
 
 	public void dispose() {
 		// unsubscribe regular task
-		if (this.futureOpt.isPresent()) {
-			futureOpt.get().cancel(true);
-		}
+		this.parent.subscriptionScheduler.unsubscribe(this);
 	}
 
-	/**
-	 * Gets a JSON-RPC Notification with all subscribed channels data.
-	 *
-	 * @return the EdgesCurrentDataNotification
-	 * @throws OpenemsNamedException on error
-	 */
-	private EdgesCurrentDataNotification getCurrentDataNotification() throws OpenemsNamedException {
-		EdgesCurrentDataNotification result = new EdgesCurrentDataNotification();
-		BackendUser user = this.wsData.getUserWithTimeout(5, TimeUnit.SECONDS);
+	@Override
+	public boolean isActive() {
+		WebSocket ws = this.wsData.getWebsocket();
+		return ws != null && ws.isOpen();
+	}
 
-		for (String edgeId : this.edgeIds) {
-			// assure read permissions of this User for this Edge.
+	@Override
+	public Set<String> getEdgeIds() {
+		return this.edgeIds;
+	}
+
+	@Override
+	public void sendCurrentData(Tick tick) throws OpenemsNamedException {
+		Optional<BackendUser> userOpt = this.wsData.getUserOpt();
+		if (!userOpt.isPresent()) {
+			// not yet authenticated; do not block the shared thread
+			return;
+		}
+		BackendUser user = userOpt.get();
+		Set<String> edgeIds = this.edgeIds;
+		Set<ChannelAddress> channels = this.channels;
+
+		// assure read permissions of this User for the Edges.
+		for (String edgeId : edgeIds) {
 			user.assertEdgeRoleIsAtLeast("EdgesCurrentDataNotification", edgeId, Role.GUEST);
+		}
 
-			for (ChannelAddress channel : this.channels) {
-				Optional<JsonElement> value = this.parent.timeData.getChannelValue(edgeId, channel);
-				result.addValue(edgeId, channel, value.orElse(JsonNull.INSTANCE));
+		EncodedMessage message = tick.getEncoded(Arrays.asList(edgeIds, channels), () -> {
+			EdgesCurrentDataNotification result = new EdgesCurrentDataNotification();
+			for (String edgeId : edgeIds) {
+				for (ChannelAddress channel : channels) {
+					result.addValue(edgeId, channel, tick.getChannelValue(edgeId, channel));
+				}
 			}
-		}
-		return result;
+			return result;
+		});
+		this.wsData.sendEncoded(message);
 	}
 
 }
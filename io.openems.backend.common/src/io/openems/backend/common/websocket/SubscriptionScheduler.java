@@ -0,0 +1,295 @@
+package io.openems.backend.common.websocket;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.jsonrpc.base.JsonrpcMessage;
+import io.openems.common.types.ChannelAddress;
+import io.openems.common.websocket.EncodedMessage;
+
+/**
+ * Sends the current data of subscribed Channels to all subscribed websocket
+ * connections of a Backend component.
+ *
+ * <p>
+ * Instead of one thread per connection, one single thread executes a tick every
+ * {@link #UPDATE_INTERVAL_IN_SECONDS}. Within a tick every (Edge-ID, Channel)
+ * value is resolved only once and equal notifications are encoded only once
+ * (see {@link Tick#getEncoded(Object, Supplier)}).
+ */
+public class SubscriptionScheduler {
+
+	public static final int UPDATE_INTERVAL_IN_SECONDS = 2;
+
+	/**
+	 * DEBUG_MODE activates printing of statistics after every tick.
+	 */
+	private static final boolean DEBUG_MODE = false;
+
+	/**
+	 * A subscription of one websocket connection.
+	 */
+	public interface Subscription {
+
+		/**
+		 * Is the websocket connection still open?. Inactive Subscriptions are
+		 * removed.
+		 *
+		 * @return true if active
+		 */
+		public boolean isActive();
+
+		/**
+		 * Gets the subscribed Edge-IDs.
+		 *
+		 * @return the Edge-IDs
+		 */
+		public Set<String> getEdgeIds();
+
+		/**
+		 * Sends the current data.
+		 *
+		 * @param tick the current {@link Tick}
+		 * @throws OpenemsNamedException on error
+		 */
+		public void sendCurrentData(Tick tick) throws OpenemsNamedException;
+	}
+
+	/**
+	 * Holds the values and encoded notifications of one tick.
+	 */
+	public static class Tick {
+
+		private final BiFunction<String, ChannelAddress, Optional<JsonElement>> channelValueResolver;
+		private final Map<String, Map<ChannelAddress, JsonElement>> values = new HashMap<>();
+		private final Map<Object, EncodedMessage> encoded = new HashMap<>();
+
+		protected Tick(BiFunction<String, ChannelAddress, Optional<JsonElement>> channelValueResolver) {
+			this.channelValueResolver = channelValueResolver;
+		}
+
+		/**
+		 * Gets the current value of a Channel of an Edge. The value is resolved only
+		 * once per tick.
+		 *
+		 * @param edgeId  the Edge-ID
+		 * @param channel the {@link ChannelAddress}
+		 * @return the value; {@link JsonNull} if not available
+		 */
+		public JsonElement getChannelValue(String edgeId, ChannelAddress channel) {
+			return this.values.computeIfAbsent(edgeId, e -> new HashMap<>()) //
+					.computeIfAbsent(channel,
+							c -> this.channelValueResolver.apply(edgeId, c).orElse(JsonNull.INSTANCE));
+		}
+
+		/**
+		 * Gets an encoded notification. Subscriptions with the same key share the
+		 * encoded notification.
+		 *
+		 * @param key          identifies the content of the notification, e.g.
+		 *                     Edge-ID and subscribed Channels
+		 * @param notification creates the notification if it is not yet available
+		 * @return the {@link EncodedMessage}
+		 */
+		public EncodedMessage getEncoded(Object key, Supplier<JsonrpcMessage> notification) {
+			return this.encoded.computeIfAbsent(key, k -> EncodedMessage.from(notification.get()));
+		}
+	}
+
+	private final Logger log = LoggerFactory.getLogger(SubscriptionScheduler.class);
+
+	private final String name;
+	private final BiFunction<String, ChannelAddress, Optional<JsonElement>> channelValueResolver;
+	private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+
+	private ScheduledThreadPoolExecutor executor = null;
+
+	private volatile long lastTickDuration = 0;
+	private volatile long maxTickDuration = 0;
+	private volatile int lastTickNotifications = 0;
+
+	/**
+	 * Creates a {@link SubscriptionScheduler}.
+	 *
+	 * @param name                 the name used for the thread
+	 * @param channelValueResolver resolves the current value of a Channel of an
+	 *                             Edge, e.g. from the Timedata service
+	 */
+	public SubscriptionScheduler(String name,
+			BiFunction<String, ChannelAddress, Optional<JsonElement>> channelValueResolver) {
+		this.name = name;
+		this.channelValueResolver = channelValueResolver;
+	}
+
+	/**
+	 * Starts the thread.
+	 */
+	public synchronized void start() {
+		if (this.executor != null) {
+			return;
+		}
+		this.executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+			Thread thread = new Thread(runnable, this.name + ":SubscriptionScheduler");
+			thread.setDaemon(true);
+			return thread;
+		});
+		this.executor.scheduleAtFixedRate(this::tick, 0, UPDATE_INTERVAL_IN_SECONDS, TimeUnit.SECONDS);
+	}
+
+	/**
+	 * Stops the thread and removes all Subscriptions.
+	 */
+	public synchronized void stop() {
+		if (this.executor != null) {
+			this.executor.shutdownNow();
+			this.executor = null;
+		}
+		this.subscriptions.clear();
+	}
+
+	/**
+	 * Adds a Subscription. The current data is sent immediately and then on every
+	 * tick.
+	 *
+	 * @param subscription the {@link Subscription}
+	 */
+	public synchronized void subscribe(Subscription subscription) {
+		this.subscriptions.add(subscription);
+		ScheduledExecutorService executor = this.executor;
+		if (executor != null) {
+			executor.execute(() -> this.send(subscription, new Tick(this.channelValueResolver)));
+		}
+	}
+
+	/**
+	 * Removes a Subscription.
+	 *
+	 * @param subscription the {@link Subscription}
+	 */
+	public void unsubscribe(Subscription subscription) {
+		this.subscriptions.remove(subscription);
+	}
+
+	/**
+	 * Sends the current data to all Subscriptions.
+	 */
+	protected void tick() {
+		long start = System.nanoTime();
+		Tick tick = new Tick(this.channelValueResolver);
+
+		int notifications = 0;
+		for (Subscription subscription : this.subscriptions) {
+			if (!subscription.isActive()) {
+				this.subscriptions.remove(subscription);
+				continue;
+			}
+			if (this.send(subscription, tick)) {
+				notifications++;
+			}
+		}
+
+		long duration = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+		this.lastTickDuration = duration;
+		this.maxTickDuration = Math.max(this.maxTickDuration, duration);
+		this.lastTickNotifications = notifications;
+
+		if (duration > TimeUnit.SECONDS.toMillis(UPDATE_INTERVAL_IN_SECONDS)) {
+			this.log.warn("[" + this.name + "] Sending current data to [" + notifications + "] subscribers took ["
+					+ duration + "ms]");
+		}
+		if (DEBUG_MODE) {
+			this.log.info(this.getDebugLog());
+		}
+	}
+
+	/**
+	 * Gets the statistics of this {@link SubscriptionScheduler} as a log
+	 * message.
+	 *
+	 * @return the message
+	 */
+	protected String getDebugLog() {
+		return "[" + this.name + "] SubscriptionScheduler. " //
+				+ "Threads [" + this.getNoOfThreads() + "] " //
+				+ "Subscriptions [" + this.getNoOfSubscriptions() + "] " //
+				+ "Notifications [" + this.getLastTickNotifications() + "] " //
+				+ "Duration [" + this.getLastTickDuration() + "ms] " //
+				+ "Max [" + this.getMaxTickDuration() + "ms]";
+	}
+
+	private boolean send(Subscription subscription, Tick tick) {
+		try {
+			subscription.sendCurrentData(tick);
+			return true;
+		} catch (OpenemsNamedException | RuntimeException e) {
+			this.log.warn("[" + this.name + "] Unable to send SubscribedChannels: " + e.getMessage());
+			return false;
+		}
+	}
+
+	/**
+	 * Gets the number of threads used for sending; i.e. '1' if started.
+	 *
+	 * @return the number of threads
+	 */
+	public synchronized int getNoOfThreads() {
+		if (this.executor == null) {
+			return 0;
+		}
+		return this.executor.getPoolSize();
+	}
+
+	/**
+	 * Gets the number of active Subscriptions.
+	 *
+	 * @return the number of Subscriptions
+	 */
+	public int getNoOfSubscriptions() {
+		return this.subscriptions.size();
+	}
+
+	/**
+	 * Gets the duration of the last tick, i.e. the latency of sending the current
+	 * data to all subscribers.
+	 *
+	 * @return the duration in [ms]
+	 */
+	public long getLastTickDuration() {
+		return this.lastTickDuration;
+	}
+
+	/**
+	 * Gets the maximum duration of a tick since start.
+	 *
+	 * @return the duration in [ms]
+	 */
+	public long getMaxTickDuration() {
+		return this.maxTickDuration;
+	}
+
+	/**
+	 * Gets the number of notifications that were sent in the last tick.
+	 *
+	 * @return the number of notifications
+	 */
+	public int getLastTickNotifications() {
+		return this.lastTickNotifications;
+	}
+
+}
@@ -0,0 +1,121 @@
+package io.openems.backend.common.websocket;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+
+import io.openems.common.jsonrpc.base.GenericJsonrpcNotification;
+import io.openems.common.types.ChannelAddress;
+import io.openems.common.websocket.EncodedMessage;
+
+public class SubscriptionSchedulerTest {
+
+	private static final ChannelAddress SOC = new ChannelAddress("_sum", "EssSoc");
+
+	private static class DummySubscription implements SubscriptionScheduler.Subscription {
+
+		private final String edgeId;
+		private final CountDownLatch latch;
+		private final AtomicInteger sent = new AtomicInteger();
+		private volatile boolean active = true;
+		private volatile EncodedMessage lastEncoded = null;
+
+		public DummySubscription(String edgeId, int expectedSends) {
+			this.edgeId = edgeId;
+			this.latch = new CountDownLatch(expectedSends);
+		}
+
+		@Override
+		public boolean isActive() {
+			return this.active;
+		}
+
+		@Override
+		public Set<String> getEdgeIds() {
+			return Collections.singleton(this.edgeId);
+		}
+
+		@Override
+		public void sendCurrentData(SubscriptionScheduler.Tick tick) {
+			JsonObject params = new JsonObject();
+			params.add(SOC.toString(), tick.getChannelValue(this.edgeId, SOC));
+			this.lastEncoded = tick.getEncoded(this.edgeId,
+					() -> new GenericJsonrpcNotification("currentData", params));
+			this.sent.incrementAndGet();
+			this.latch.countDown();
+		}
+	}
+
+	@Test
+	public void testTick() {
+		AtomicInteger resolved = new AtomicInteger();
+		SubscriptionScheduler sut = new SubscriptionScheduler("test", (edgeId, channel) -> {
+			resolved.incrementAndGet();
+			return Optional.of(new JsonPrimitive(edgeId.length()));
+		});
+		DummySubscription s0 = new DummySubscription("edge0", 0);
+		DummySubscription s1 = new DummySubscription("edge0", 0);
+		DummySubscription s2 = new DummySubscription("edge10", 0);
+		sut.subscribe(s0);
+		sut.subscribe(s1);
+		sut.subscribe(s2);
+
+		sut.tick();
+		assertEquals(1, s0.sent.get());
+		assertEquals(1, s2.sent.get());
+		assertEquals(3, sut.getLastTickNotifications());
+
+		// every value is resolved and every notification is encoded once per tick
+		assertEquals(2, resolved.get());
+		assertSame(s0.lastEncoded, s1.lastEncoded);
+		assertTrue(s0.lastEncoded != s2.lastEncoded);
+
+		// inactive Subscriptions are removed
+		s1.active = false;
+		sut.tick();
+		assertEquals(2, sut.getNoOfSubscriptions());
+		assertEquals(2, sut.getLastTickNotifications());
+		assertEquals(1, s1.sent.get());
+		assertEquals(4, resolved.get());
+		assertTrue(sut.getMaxTickDuration() >= sut.getLastTickDuration());
+	}
+
+	@Test
+	public void testThreads() throws InterruptedException {
+		SubscriptionScheduler sut = new SubscriptionScheduler("test",
+				(edgeId, channel) -> Optional.of(new JsonPrimitive(1)));
+		assertEquals(0, sut.getNoOfThreads());
+
+		sut.start();
+		// one thread, independent of the number of Subscriptions
+		DummySubscription[] subscriptions = new DummySubscription[100];
+		for (int i = 0; i < subscriptions.length; i++) {
+			// immediately on subscribe and on the next tick
+			subscriptions[i] = new DummySubscription("edge" + i, 2);
+			sut.subscribe(subscriptions[i]);
+		}
+		for (DummySubscription subscription : subscriptions) {
+			assertTrue(subscription.latch.await(3 * SubscriptionScheduler.UPDATE_INTERVAL_IN_SECONDS,
+					TimeUnit.SECONDS));
+		}
+		assertEquals(1, sut.getNoOfThreads());
+		assertTrue(sut.getDebugLog().contains("Threads [1] Subscriptions [100]"));
+
+		sut.stop();
+		assertEquals(0, sut.getNoOfThreads());
+		assertEquals(0, sut.getNoOfSubscriptions());
+	}
+
+}
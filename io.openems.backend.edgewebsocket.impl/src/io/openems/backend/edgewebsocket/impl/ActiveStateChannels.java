@@ -0,0 +1,149 @@
+package io.openems.backend.edgewebsocket.impl;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+
+import com.google.gson.JsonElement;
+
+import io.openems.common.jsonrpc.notification.TimestampedDataBatch;
+import io.openems.common.types.ChannelAddress;
+import io.openems.common.types.EdgeConfig;
+import io.openems.common.types.EdgeConfig.Component.Channel;
+
+/**
+ * Holds the active State-Channels of one Edge connection.
+ *
+ * <p>
+ * Edges send only changed values. A State-Channel that is not part of a data
+ * row keeps its last state - like values in the Timedata cache, which are
+ * valid for 5 minutes.
+ *
+ * <p>
+ * State-Channels are identified via a {@link StateChannelLookup}, that is
+ * created once per {@link EdgeConfig}. Listeners are only informed on actual
+ * changes and - while State-Channels are active - once per
+ * {@link #REFRESH_MILLIS}, so that e.g. the 'last appearance' of a state in
+ * Metadata stays up-to-date.
+ */
+public class ActiveStateChannels {
+
+	private static final long VALIDITY_MILLIS = 5 * 60 * 1000;
+	private static final long REFRESH_MILLIS = 60 * 1000;
+
+	private final Map<ChannelAddress, Channel> channels = new HashMap<>();
+	private StateChannelLookup lookup = null;
+	private long timestamp = 0L;
+	private long lastPublishTimestamp = Long.MIN_VALUE;
+
+	/**
+	 * Applies one row of a {@link TimestampedDataBatch}.
+	 *
+	 * @param data   the {@link TimestampedDataBatch}
+	 * @param row    the row number
+	 * @param config the {@link EdgeConfig} of the Edge
+	 * @return a copy of the currently active State-Channels if they changed or
+	 *         need to be refreshed; otherwise empty
+	 */
+	public synchronized Optional<Map<ChannelAddress, Channel>> apply(TimestampedDataBatch data, int row,
+			EdgeConfig config) {
+		boolean isChanged = this.updateLookup(data, config);
+
+		long timestamp = data.getTimestamp(row);
+		if (timestamp >= this.timestamp + VALIDITY_MILLIS && !this.channels.isEmpty()) {
+			// previous state is not anymore valid
+			this.channels.clear();
+			isChanged = true;
+		}
+		this.timestamp = Math.max(this.timestamp, timestamp);
+
+		for (int i = data.getRowStart(row); i < data.getRowEnd(row); i++) {
+			Channel channel = this.lookup.get(data.getChannelId(i));
+			if (channel == null) {
+				// not a State-Channel
+				continue;
+			}
+			ChannelAddress address = data.getAddress(i);
+			if (isOne(data, i)) {
+				isChanged |= this.channels.put(address, channel) != channel;
+			} else {
+				isChanged |= this.channels.remove(address) != null;
+			}
+		}
+
+		if (isChanged || this.lastPublishTimestamp == Long.MIN_VALUE
+				|| (!this.channels.isEmpty() && this.timestamp >= this.lastPublishTimestamp + REFRESH_MILLIS)) {
+			this.lastPublishTimestamp = this.timestamp;
+			return Optional.of(new HashMap<>(this.channels));
+		}
+		return Optional.empty();
+	}
+
+	/**
+	 * Does the row of the {@link TimestampedDataBatch} contain a Channel that
+	 * marks the Edge as active?.
+	 *
+	 * @param data   the {@link TimestampedDataBatch}
+	 * @param row    the row number
+	 * @param config the {@link EdgeConfig} of the Edge
+	 * @return true if the row contains an activity Channel
+	 */
+	public synchronized boolean hasActivityChannel(TimestampedDataBatch data, int row, EdgeConfig config) {
+		this.updateLookup(data, config);
+		for (int i = data.getRowStart(row); i < data.getRowEnd(row); i++) {
+			if (this.lookup.isActivityChannel(data.getChannelId(i))) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Recreates the {@link StateChannelLookup} if the {@link EdgeConfig} changed.
+	 * Active Channels that are no State-Channels anymore are removed.
+	 *
+	 * @param data   the {@link TimestampedDataBatch}
+	 * @param config the {@link EdgeConfig}
+	 * @return true if active Channels were removed
+	 */
+	private boolean updateLookup(TimestampedDataBatch data, EdgeConfig config) {
+		if (this.lookup != null && this.lookup.isFor(config, data.getIndex())) {
+			return false;
+		}
+		this.lookup = StateChannelLookup.from(config, data.getIndex());
+		boolean isChanged = false;
+		Iterator<ChannelAddress> iterator = this.channels.keySet().iterator();
+		while (iterator.hasNext()) {
+			if (this.lookup.get(iterator.next()) == null) {
+				iterator.remove();
+				isChanged = true;
+			}
+		}
+		return isChanged;
+	}
+
+	/**
+	 * Is the value of the entry a number with integer value 1?.
+	 *
+	 * @param data the {@link TimestampedDataBatch}
+	 * @param i    the entry index
+	 * @return true if the value is 1
+	 */
+	private static boolean isOne(TimestampedDataBatch data, int i) {
+		switch (data.getType(i)) {
+		case TimestampedDataBatch.TYPE_LONG:
+			return (int) data.getLong(i) == 1;
+		case TimestampedDataBatch.TYPE_DOUBLE:
+			return (int) data.getDouble(i) == 1;
+		case TimestampedDataBatch.TYPE_OBJECT:
+			JsonElement value = data.getValue(i);
+			return value.isJsonPrimitive() && value.getAsJsonPrimitive().isNumber()
+					&& value.getAsJsonPrimitive().getAsNumber().intValue() == 1;
+		case TimestampedDataBatch.TYPE_NULL:
+		default:
+			return false;
+		}
+	}
+
+}
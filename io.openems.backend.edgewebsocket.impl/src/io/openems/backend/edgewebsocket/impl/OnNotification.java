@@ -1,8 +1,6 @@
 package io.openems.backend.edgewebsocket.impl;
 
-import java.util.HashMap;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 
@@ -11,9 +9,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.google.gson.JsonElement;
-import com.google.gson.JsonNull;
-import com.google.gson.JsonObject;
-import com.google.gson.JsonPrimitive;
 
 import io.openems.backend.metadata.api.Edge;
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
@@ -22,15 +17,17 @@ import io.openems.common.jsonrpc.base.JsonrpcNotification;
 import io.openems.common.jsonrpc.notification.EdgeConfigNotification;
 import io.openems.common.jsonrpc.notification.EdgeRpcNotification;
 import io.openems.common.jsonrpc.notification.SystemLogNotification;
+import io.openems.common.jsonrpc.notification.TimestampedDataBatch;
 import io.openems.common.jsonrpc.notification.TimestampedDataNotification;
 import io.openems.common.types.ChannelAddress;
 import io.openems.common.types.EdgeConfig;
 import io.openems.common.types.EdgeConfig.Component.Channel;
 import io.openems.common.types.SemanticVersion;
-import io.openems.common.utils.JsonUtils;
 
 public class OnNotification implements io.openems.common.websocket.OnNotification {
 
+	private static final ChannelAddress VERSION = new ChannelAddress("_meta", "Version");
+
 	private final Logger log = LoggerFactory.getLogger(OnNotification.class);
 	private final EdgeWebsocketImpl parent;
 
@@ -106,58 +103,42 @@ public class OnNotification implements io.openems.common.websocket.OnNotificatio
 	private void handleTimestampedDataNotification(TimestampedDataNotification message, WsData wsData)
 			throws OpenemsNamedException {
 		String edgeId = wsData.assertEdgeId(message);
+		TimestampedDataBatch data = message.getBatch();
 
 		try {
-			this.parent.timedata.write(edgeId, message.getData());
+			this.parent.timedata.write(edgeId, data);
 		} catch (IllegalArgumentException e) {
 			e.printStackTrace();
 		}
 
 		// Read some specific channels
 		Edge edge = this.parent.metadata.getEdgeOrError(edgeId);
-		for (Entry<String, JsonElement> entry : message.getParams().entrySet()) {
-			JsonObject data = JsonUtils.getAsJsonObject(entry.getValue());
-			// set Edge last update timestamp only for those channels
-			for (String channel : data.keySet()) {
-				if (channel.endsWith("ActivePower")
-						|| channel.endsWith("ActivePowerL1") | channel.endsWith("ActivePowerL2")
-								| channel.endsWith("ActivePowerL3") | channel.endsWith("Soc")) {
-					edge.setLastUpdateTimestamp();
-				}
+		EdgeConfig config = edge.getConfig();
+		ActiveStateChannels activeStateChannels = wsData.getActiveStateChannels();
+		int versionId = data.getIndex().getId(VERSION);
+		for (int row : data.getRowOrder()) {
+			// set Edge last update timestamp only for specific channels
+			if (activeStateChannels.hasActivityChannel(data, row, config)) {
+				edge.setLastUpdateTimestamp();
 			}
 
 			// set specific Edge values
-			if (data.has("_meta/Version") && data.get("_meta/Version").isJsonPrimitive()) {
-				String version = JsonUtils.getAsPrimitive(data, "_meta/Version").getAsString();
-				edge.setVersion(SemanticVersion.fromString(version));
+			if (versionId >= 0) {
+				for (int i = data.getRowStart(row); i < data.getRowEnd(row); i++) {
+					if (data.getChannelId(i) == versionId) {
+						JsonElement version = data.getValue(i);
+						if (version.isJsonPrimitive()) {
+							edge.setVersion(SemanticVersion.fromString(version.getAsString()));
+						}
+					}
+				}
 			}
 
 			// parse State-Channels
-			Map<ChannelAddress, EdgeConfig.Component.Channel> activeStateChannels = new HashMap<>();
-			for (Entry<String, JsonElement> dataEntry : data.entrySet()) {
-				JsonElement value = dataEntry.getValue();
-				if (value == JsonNull.INSTANCE || !value.isJsonPrimitive()) {
-					// not active -> ignore
-					continue;
-				}
-				JsonPrimitive primitive = value.getAsJsonPrimitive();
-				if (!primitive.isNumber()) {
-					// cannot be a StateChannel
-					continue;
-				}
-				Number number = primitive.getAsNumber();
-				if (number.intValue() != 1) {
-					// not active -> ignore
-					continue;
-				}
-
-				ChannelAddress channelAddress = ChannelAddress.fromString(dataEntry.getKey());
-				Optional<Channel> channel = edge.getConfig().getStateChannel(channelAddress);
-				if (channel.isPresent()) {
-					activeStateChannels.put(channelAddress, channel.get());
-				}
+			Optional<Map<ChannelAddress, Channel>> componentState = activeStateChannels.apply(data, row, config);
+			if (componentState.isPresent()) {
+				edge.setComponentState(componentState.get());
 			}
-			edge.setComponentState(activeStateChannels);
 		}
 	}
 
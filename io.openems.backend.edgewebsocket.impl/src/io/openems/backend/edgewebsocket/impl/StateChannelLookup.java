@@ -0,0 +1,153 @@
+package io.openems.backend.edgewebsocket.impl;
+
+import java.util.Arrays;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+
+import io.openems.common.types.ChannelAddress;
+import io.openems.common.types.ChannelAddressIndex;
+import io.openems.common.types.EdgeConfig;
+import io.openems.common.types.EdgeConfig.Component;
+import io.openems.common.types.EdgeConfig.Component.Channel;
+
+/**
+ * A compact lookup of the State-Channels of one {@link EdgeConfig} by
+ * Channel-ID (see {@link ChannelAddressIndex}).
+ *
+ * <p>
+ * It is created once per {@link EdgeConfig} and replaces the per-value search
+ * of {@link EdgeConfig#getStateChannel(ChannelAddress)}. Additionally it caches
+ * per Channel-ID if a Channel marks the Edge as active (see
+ * {@link #isActivityChannel(int)}).
+ *
+ * <p>
+ * This class is not thread-safe.
+ */
+public class StateChannelLookup {
+
+	private static final byte ACTIVITY_UNKNOWN = 0;
+	private static final byte ACTIVITY_YES = 1;
+	private static final byte ACTIVITY_NO = 2;
+
+	private final EdgeConfig config;
+	private final ChannelAddressIndex index;
+	private final int[] ids;
+	private final Channel[] channels;
+
+	private byte[] activity = new byte[0];
+
+	private StateChannelLookup(EdgeConfig config, ChannelAddressIndex index, int[] ids, Channel[] channels) {
+		this.config = config;
+		this.index = index;
+		this.ids = ids;
+		this.channels = channels;
+	}
+
+	/**
+	 * Creates a {@link StateChannelLookup} for an {@link EdgeConfig}.
+	 *
+	 * @param config the {@link EdgeConfig}; possibly null
+	 * @param index  the {@link ChannelAddressIndex}
+	 * @return the {@link StateChannelLookup}
+	 */
+	public static StateChannelLookup from(EdgeConfig config, ChannelAddressIndex index) {
+		TreeMap<Integer, Channel> stateChannels = new TreeMap<>();
+		if (config != null) {
+			for (Entry<String, Component> component : config.getComponents().entrySet()) {
+				for (Entry<String, Channel> channel : component.getValue().getStateChannels().entrySet()) {
+					int id = index.getOrCreateId(new ChannelAddress(component.getKey(), channel.getKey()));
+					if (id < 0) {
+						// index is full -> the Channel is never part of data with this index
+						continue;
+					}
+					stateChannels.put(id, channel.getValue());
+				}
+			}
+		}
+		int[] ids = new int[stateChannels.size()];
+		Channel[] channels = new Channel[ids.length];
+		int i = 0;
+		for (Entry<Integer, Channel> entry : stateChannels.entrySet()) {
+			ids[i] = entry.getKey();
+			channels[i] = entry.getValue();
+			i++;
+		}
+		return new StateChannelLookup(config, index, ids, channels);
+	}
+
+	/**
+	 * Is this lookup valid for the given {@link EdgeConfig} and
+	 * {@link ChannelAddressIndex}?.
+	 *
+	 * @param config the {@link EdgeConfig}
+	 * @param index  the {@link ChannelAddressIndex}
+	 * @return true if it is valid
+	 */
+	public boolean isFor(EdgeConfig config, ChannelAddressIndex index) {
+		return this.config == config && this.index == index;
+	}
+
+	/**
+	 * Gets the State-Channel for a Channel-ID.
+	 *
+	 * @param id the Channel-ID
+	 * @return the {@link Channel}; null if it is not a State-Channel
+	 */
+	public Channel get(int id) {
+		int i = Arrays.binarySearch(this.ids, id);
+		if (i < 0) {
+			return null;
+		}
+		return this.channels[i];
+	}
+
+	/**
+	 * Gets the State-Channel for a {@link ChannelAddress}.
+	 *
+	 * @param address the {@link ChannelAddress}
+	 * @return the {@link Channel}; null if it is not a State-Channel
+	 */
+	public Channel get(ChannelAddress address) {
+		int id = this.index.getId(address);
+		if (id < 0) {
+			return null;
+		}
+		return this.get(id);
+	}
+
+	/**
+	 * Does the Channel with the given Channel-ID mark the Edge as active, i.e. is
+	 * it an 'ActivePower' or 'Soc' Channel?.
+	 *
+	 * @param id the Channel-ID
+	 * @return true for an activity Channel
+	 */
+	public boolean isActivityChannel(int id) {
+		if (id >= this.activity.length) {
+			this.activity = Arrays.copyOf(this.activity, Math.max(id + 1, this.index.size()));
+		}
+		byte result = this.activity[id];
+		if (result == ACTIVITY_UNKNOWN) {
+			String channelId = this.index.getAddress(id).getChannelId();
+			if (channelId.endsWith("ActivePower") || channelId.endsWith("ActivePowerL1")
+					|| channelId.endsWith("ActivePowerL2") || channelId.endsWith("ActivePowerL3")
+					|| channelId.endsWith("Soc")) {
+				result = ACTIVITY_YES;
+			} else {
+				result = ACTIVITY_NO;
+			}
+			this.activity[id] = result;
+		}
+		return result == ACTIVITY_YES;
+	}
+
+	/**
+	 * Gets the number of State-Channels.
+	 *
+	 * @return the number of State-Channels
+	 */
+	public int size() {
+		return this.ids.length;
+	}
+
+}
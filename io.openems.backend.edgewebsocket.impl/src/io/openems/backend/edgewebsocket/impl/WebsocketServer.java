@@ -19,8 +19,10 @@ import io.openems.common.exceptions.OpenemsException;
 import io.openems.common.jsonrpc.base.JsonrpcMessage;
 import io.openems.common.jsonrpc.notification.EdgeConfigNotification;
 import io.openems.common.jsonrpc.notification.SystemLogNotification;
+import io.openems.common.jsonrpc.notification.TimestampedDataDecoder;
 import io.openems.common.jsonrpc.notification.TimestampedDataNotification;
 import io.openems.common.types.ChannelAddress;
+import io.openems.common.types.ChannelAddressIndex;
 import io.openems.common.types.EdgeConfig;
 import io.openems.common.types.SystemLog;
 import io.openems.common.utils.JsonUtils;
@@ -84,6 +86,12 @@ public class WebsocketServer extends AbstractWebsocketServer<WsData> {
 		return this.onClose;
 	}
 
+	@Override
+	protected JsonrpcMessage parseMessage(String stringMessage) throws OpenemsNamedException {
+		// parse 'timestampedData' directly to a compact TimestampedDataBatch
+		return TimestampedDataDecoder.decode(stringMessage, ChannelAddressIndex.SHARED);
+	}
+
 	@Override
 	protected JsonrpcMessage handleNonJsonrpcMessage(String stringMessage, OpenemsNamedException lastException)
 			throws OpenemsNamedException {
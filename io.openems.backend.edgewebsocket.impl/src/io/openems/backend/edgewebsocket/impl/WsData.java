@@ -17,6 +17,7 @@ public class WsData extends io.openems.common.websocket.WsData {
 	private CompletableFuture<Boolean> isAuthenticated = new CompletableFuture<Boolean>();
 	private Optional<String> apikey = Optional.empty();
 	private Optional<String> edgeId = Optional.empty();
+	private final ActiveStateChannels activeStateChannels = new ActiveStateChannels();
 
 	public WsData() {
 	}
@@ -77,6 +78,15 @@ public class WsData extends io.openems.common.websocket.WsData {
 		return Optional.empty();
 	}
 
+	/**
+	 * Gets the active State-Channels of this Edge connection.
+	 * 
+	 * @return the {@link ActiveStateChannels}
+	 */
+	public ActiveStateChannels getActiveStateChannels() {
+		return this.activeStateChannels;
+	}
+
 	public String assertEdgeId(JsonrpcMessage message) throws OpenemsException {
 		if (this.edgeId.isPresent()) {
 			return this.edgeId.get();
@@ -0,0 +1,125 @@
+package io.openems.backend.edgewebsocket.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+import org.junit.Test;
+
+import com.google.common.collect.TreeBasedTable;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonPrimitive;
+
+import io.openems.common.channel.AccessMode;
+import io.openems.common.channel.Level;
+import io.openems.common.channel.Unit;
+import io.openems.common.jsonrpc.notification.TimestampedDataBatch;
+import io.openems.common.types.ChannelAddress;
+import io.openems.common.types.ChannelAddressIndex;
+import io.openems.common.types.EdgeConfig;
+import io.openems.common.types.EdgeConfig.Component;
+import io.openems.common.types.EdgeConfig.Component.Channel;
+import io.openems.common.types.EdgeConfig.Component.Channel.ChannelDetailOpenemsType;
+import io.openems.common.types.EdgeConfig.Component.Channel.ChannelDetailState;
+import io.openems.common.types.OpenemsType;
+
+public class ActiveStateChannelsTest {
+
+	private static final ChannelAddress FAULT = new ChannelAddress("ess0", "Fault");
+	private static final ChannelAddress WARNING = new ChannelAddress("ess0", "Warning");
+	private static final ChannelAddress ACTIVE_POWER = new ChannelAddress("ess0", "ActivePower");
+
+	private static EdgeConfig createConfig() {
+		TreeMap<String, Channel> channels = new TreeMap<>();
+		channels.put(FAULT.getChannelId(), new Channel(FAULT.getChannelId(), OpenemsType.BOOLEAN, AccessMode.READ_ONLY,
+				"", Unit.NONE, new ChannelDetailState(Level.FAULT)));
+		channels.put(WARNING.getChannelId(), new Channel(WARNING.getChannelId(), OpenemsType.BOOLEAN,
+				AccessMode.READ_ONLY, "", Unit.NONE, new ChannelDetailState(Level.WARNING)));
+		channels.put(ACTIVE_POWER.getChannelId(), new Channel(ACTIVE_POWER.getChannelId(), OpenemsType.INTEGER,
+				AccessMode.READ_ONLY, "", Unit.WATT, new ChannelDetailOpenemsType()));
+		EdgeConfig config = new EdgeConfig();
+		config.addComponent("ess0", new Component("ess0", "ess0", "ess0", "Ess.Dummy", new TreeMap<>(), channels));
+		return config;
+	}
+
+	private static TimestampedDataBatch createBatch(ChannelAddressIndex index, long timestamp, Object... values) {
+		TreeBasedTable<Long, ChannelAddress, JsonElement> table = TreeBasedTable.create();
+		for (int i = 0; i < values.length; i += 2) {
+			table.put(timestamp, (ChannelAddress) values[i], new JsonPrimitive((Number) values[i + 1]));
+		}
+		return TimestampedDataBatch.from(index, table);
+	}
+
+	@Test
+	public void testTransitions() {
+		ChannelAddressIndex index = new ChannelAddressIndex();
+		EdgeConfig config = createConfig();
+		ActiveStateChannels sut = new ActiveStateChannels();
+
+		// first row always publishes
+		Optional<Map<ChannelAddress, Channel>> result = sut.apply(createBatch(index, 1_000, ACTIVE_POWER, 500), 0,
+				config);
+		assertTrue(result.isPresent());
+		assertTrue(result.get().isEmpty());
+
+		// unchanged
+		assertFalse(sut.apply(createBatch(index, 2_000, ACTIVE_POWER, 600, FAULT, 0), 0, config).isPresent());
+
+		// Fault gets active
+		result = sut.apply(createBatch(index, 3_000, FAULT, 1), 0, config);
+		assertTrue(result.isPresent());
+		assertEquals(1, result.get().size());
+		assertTrue(result.get().containsKey(FAULT));
+
+		// still active; 'ActivePower' with value 1 is not a State-Channel
+		assertFalse(sut.apply(createBatch(index, 4_000, FAULT, 1, ACTIVE_POWER, 1), 0, config).isPresent());
+
+		// refresh while active
+		result = sut.apply(createBatch(index, 64_000, WARNING, 0), 0, config);
+		assertTrue(result.isPresent());
+		assertEquals(1, result.get().size());
+
+		// Fault gets inactive
+		result = sut.apply(createBatch(index, 65_000, FAULT, 0), 0, config);
+		assertTrue(result.isPresent());
+		assertTrue(result.get().isEmpty());
+
+		// no refresh while inactive
+		assertFalse(sut.apply(createBatch(index, 200_000, WARNING, 0), 0, config).isPresent());
+	}
+
+	@Test
+	public void testValidityAndConfigChange() {
+		ChannelAddressIndex index = new ChannelAddressIndex();
+		ActiveStateChannels sut = new ActiveStateChannels();
+
+		assertEquals(1, sut.apply(createBatch(index, 1_000, FAULT, 1), 0, createConfig()).get().size());
+
+		// new EdgeConfig without State-Channels removes active Channels
+		assertTrue(sut.apply(createBatch(index, 2_000, ACTIVE_POWER, 1), 0, new EdgeConfig()).get().isEmpty());
+
+		// previous state is invalid after 5 minutes
+		EdgeConfig config = createConfig();
+		assertEquals(1, sut.apply(createBatch(index, 3_000, FAULT, 1), 0, config).get().size());
+		assertTrue(sut.apply(createBatch(index, 303_000, ACTIVE_POWER, 1), 0, config).get().isEmpty());
+	}
+
+	@Test
+	public void testActivityChannel() {
+		ChannelAddressIndex index = new ChannelAddressIndex();
+		EdgeConfig config = createConfig();
+		ActiveStateChannels sut = new ActiveStateChannels();
+
+		assertTrue(sut.hasActivityChannel(createBatch(index, 1_000, FAULT, 0, ACTIVE_POWER, 1), 0, config));
+		assertFalse(sut.hasActivityChannel(createBatch(index, 2_000, FAULT, 0), 0, config));
+		assertTrue(sut.hasActivityChannel(
+				createBatch(index, 3_000, new ChannelAddress("meter0", "ActivePowerL2"), 5), 0, config));
+		assertTrue(sut.hasActivityChannel(createBatch(index, 4_000, new ChannelAddress("_sum", "EssSoc"), 5), 0,
+				null));
+	}
+
+}
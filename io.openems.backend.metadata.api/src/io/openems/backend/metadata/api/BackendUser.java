@@ -1,9 +1,12 @@
 package io.openems.backend.metadata.api;
 
 import java.util.Collections;
+import java.util.List;
 import java.util.NavigableMap;
 import java.util.Optional;
 import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiConsumer;
 
 import io.openems.common.exceptions.OpenemsError;
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
@@ -42,14 +45,40 @@ public class BackendUser {
 		return sessionId;
 	}
 
+	/*
+	 * Edge-Roles
+	 */
+	private final List<BiConsumer<String, Role>> onAddEdgeRole = new CopyOnWriteArrayList<>();
+
+	/**
+	 * Adds a listener for a new or changed Role for an Edge-ID. The listener is
+	 * called after the Role was applied.
+	 * 
+	 * @param listener the Listener
+	 */
+	public void onAddEdgeRole(BiConsumer<String, Role> listener) {
+		this.onAddEdgeRole.add(listener);
+	}
+
+	/**
+	 * Removes a listener that was added via
+	 * {@link #onAddEdgeRole(BiConsumer)}.
+	 * 
+	 * @param listener the Listener
+	 */
+	public void removeOnAddEdgeRole(BiConsumer<String, Role> listener) {
+		this.onAddEdgeRole.remove(listener);
+	}
+
 	/**
-	 * Sets the Role for a given Edge-ID.
+	 * Sets the Role for a given Edge-ID and calls the AddEdgeRole-Listeners.
 	 * 
 	 * @param edgeId the Edge-ID
 	 * @param role   the Role
 	 */
 	public void addEdgeRole(String edgeId, Role role) {
 		this.edgeRoles.put(edgeId, role);
+		this.onAddEdgeRole.forEach(listener -> listener.accept(edgeId, role));
 	}
 
 	/**
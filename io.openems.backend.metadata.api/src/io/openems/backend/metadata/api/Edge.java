@@ -6,6 +6,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -15,6 +16,7 @@ import com.google.gson.JsonObject;
 
 import io.openems.common.types.ChannelAddress;
 import io.openems.common.types.EdgeConfig;
+import io.openems.common.types.EdgeConfigInterner;
 import io.openems.common.types.SemanticVersion;
 import io.openems.common.utils.JsonUtils;
 
@@ -31,7 +33,8 @@ public class Edge {
 	private State state;
 	private SemanticVersion version;
 	private String producttype;
-	private EdgeConfig config;
+	private volatile EdgeConfig config;
+	private Supplier<EdgeConfig> lazyConfig = null;
 	private ZonedDateTime lastMessage = null;
 	private ZonedDateTime lastUpdate = null;
 	private boolean isOnline = false;
@@ -42,7 +45,7 @@ public class Edge {
 		this.state = state;
 		this.version = SemanticVersion.fromStringOrZero(version);
 		this.producttype = producttype;
-		this.config = config;
+		this.config = intern(config);
 	}
 
 	public String getId() {
@@ -60,8 +63,24 @@ public class Edge {
 		this.comment = comment;
 	}
 
+	/**
+	 * Gets the configuration of this Edge. A configuration set via
+	 * {@link #setLazyConfig(Supplier)} is resolved on first call.
+	 * 
+	 * @return the configuration
+	 */
 	public EdgeConfig getConfig() {
-		return this.config;
+		EdgeConfig config = this.config;
+		if (config != null) {
+			return config;
+		}
+		synchronized (this) {
+			if (this.lazyConfig != null) {
+				this.config = intern(this.lazyConfig.get());
+				this.lazyConfig = null;
+			}
+			return this.config;
+		}
 	}
 
 	public JsonObject toJsonObject() {
@@ -78,7 +97,7 @@ public class Edge {
 	public String toString() {
 		return "Edge [id=" + id + ", comment=" + comment + ", state=" + state + ", version=" + version
 				+ ", producttype=" + producttype + ", deprecatedConfig="
-				+ (config.toString().isEmpty() ? "NOT_SET" : "set") + ", lastMessage=" + lastMessage + ", lastUpdate="
+				+ (config == null || config.toString().isEmpty() ? "NOT_SET" : "set") + ", lastMessage=" + lastMessage + ", lastUpdate="
 				+ lastUpdate + ", isOnline=" + isOnline + "]";
 	}
 
@@ -132,14 +151,50 @@ public class Edge {
 	/**
 	 * Sets the configuration for this Edge.
 	 * 
+	 * <p>
+	 * The configuration is stored as an immutable copy, that shares Channel and
+	 * Factory definitions with the configurations of other Edges (see
+	 * {@link EdgeConfigInterner}).
+	 * 
 	 * @param config        the configuration
 	 * @param callListeners whether to call the SetConfig-Listeners
 	 */
 	public synchronized void setConfig(EdgeConfig config, boolean callListeners) {
+		EdgeConfig interned = intern(config);
 		if (callListeners) {
-			this.onSetConfig.forEach(listener -> listener.accept(config));
+			this.onSetConfig.forEach(listener -> listener.accept(interned));
+		}
+		this.config = interned;
+		this.lazyConfig = null;
+	}
+
+	/**
+	 * Sets the configuration for this Edge without calling the
+	 * SetConfig-Listeners. The configuration is only created on first call of
+	 * {@link #getConfig()}.
+	 * 
+	 * @param lazyConfig the {@link Supplier} for the configuration
+	 */
+	public synchronized void setLazyConfig(Supplier<EdgeConfig> lazyConfig) {
+		this.lazyConfig = lazyConfig;
+		this.config = null;
+	}
+
+	/**
+	 * Gets the configuration of this Edge without resolving a configuration that
+	 * was set via {@link #setLazyConfig(Supplier)}.
+	 * 
+	 * @return the configuration; null if it was not resolved yet
+	 */
+	protected EdgeConfig getResolvedConfig() {
+		return this.config;
+	}
+
+	private static EdgeConfig intern(EdgeConfig config) {
+		if (config == null) {
+			return null;
 		}
-		this.config = config;
+		return EdgeConfigInterner.SHARED.intern(config);
 	}
 
 	/*
@@ -40,6 +40,9 @@ public @interface Config {
 	@AttributeDefinition(name = "Database", description = "The database name")
 	String database();
 
+	@AttributeDefinition(name = "Fast Start", description = "Reads Edges from Postgres in parallel pages and parses their configuration on first use")
+	boolean fastStart() default false;
+
 	String webconsole_configurationFactory_nameHint() default "Metadata.Odoo";
 
 }
@@ -6,6 +6,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -47,6 +48,11 @@ public class EdgeCache {
 	 */
 	private Map<String, String> apikeyToEdgeId = new HashMap<>();
 
+	/**
+	 * Number of Edge-Configs parsed from JSON.
+	 */
+	private final AtomicInteger parsedConfigs = new AtomicInteger(0);
+
 	public EdgeCache(MetadataOdoo parent) {
 		this.parent = parent;
 	}
@@ -59,27 +65,39 @@ public class EdgeCache {
 	 * @throws SQLException     on error
 	 * @throws OpenemsException on error
 	 */
-	public synchronized MyEdge addOrUpate(ResultSet rs) throws SQLException, OpenemsException {
+	public MyEdge addOrUpate(ResultSet rs) throws SQLException, OpenemsException {
+		return this.addOrUpate(rs, false);
+	}
+
+	/**
+	 * Adds a Edge or Updates an existing Edge from a SQL ResultSet.
+	 * 
+	 * <p>
+	 * This method may be called in parallel for different records.
+	 * 
+	 * @param rs         the ResultSet record
+	 * @param lazyConfig if true, the Edge-Config is kept in compressed form and
+	 *                   only parsed on first use (see {@link LazyEdgeConfig})
+	 * @return the new or updated Edge instance
+	 * @throws SQLException     on error
+	 * @throws OpenemsException on error
+	 */
+	public MyEdge addOrUpate(ResultSet rs, boolean lazyConfig) throws SQLException, OpenemsException {
 		// simple fields
 		String edgeId = PgUtils.getAsString(rs, EdgeDevice.NAME);
 		int odooId = PgUtils.getAsInt(rs, EdgeDevice.ID);
 		String apikey = PgUtils.getAsString(rs, EdgeDevice.APIKEY);
 
 		// Config
-		EdgeConfig config;
+		EdgeConfig config = null;
+		LazyEdgeConfig lazy = null;
 		String configString = PgUtils.getAsStringOrElse(rs, EdgeDevice.OPENEMS_CONFIG, "");
 		if (configString.isEmpty()) {
 			config = new EdgeConfig();
+		} else if (lazyConfig) {
+			lazy = new LazyEdgeConfig(configString, json -> this.parseConfig(odooId, edgeId, json, true));
 		} else {
-			try {
-				config = EdgeConfig.fromJson(//
-						JsonUtils.getAsJsonObject(//
-								JsonUtils.parse(configString)));
-			} catch (OpenemsNamedException e) {
-				this.parent.logWarn(this.log, "Unable to read Edge-Config for Odoo-ID [" + odooId + "] Edge-ID ["
-						+ edgeId + "]: " + e.getMessage());
-				config = new EdgeConfig();
-			}
+			config = this.parseConfig(odooId, edgeId, configString, false);
 		}
 
 		// State
@@ -98,24 +116,66 @@ public class EdgeCache {
 		String version = PgUtils.getAsStringOrElse(rs, EdgeDevice.OPENEMS_VERSION, "");
 		String productType = PgUtils.getAsStringOrElse(rs, EdgeDevice.PRODUCT_TYPE, "");
 
-		MyEdge edge = this.edgeIdToEdge.get(edgeId);
-		if (edge == null) {
-			// This is new -> create instance of Edge and register listeners
-			edge = new MyEdge(odooId, edgeId, apikey, comment, state, version, productType, config);
-			this.addListeners(edge);
-			this.edgeIdToEdge.put(edgeId, edge);
-			this.odooIdToEdgeId.put(odooId, edgeId);
-			this.apikeyToEdgeId.put(apikey, edgeId);
-		} else {
-			// Edge exists -> update information
-			edge.setComment(comment);
-			edge.setState(state);
-			edge.setVersion(SemanticVersion.fromStringOrZero(version), false);
-			edge.setProducttype(productType);
-			edge.setConfig(config, false);
+		synchronized (this) {
+			MyEdge edge = this.edgeIdToEdge.get(edgeId);
+			if (edge == null) {
+				// This is new -> create instance of Edge and register listeners
+				edge = new MyEdge(odooId, edgeId, apikey, comment, state, version, productType, config);
+				if (lazy != null) {
+					edge.setLazyConfig(lazy);
+				}
+				this.addListeners(edge);
+				this.edgeIdToEdge.put(edgeId, edge);
+				this.odooIdToEdgeId.put(odooId, edgeId);
+				this.apikeyToEdgeId.put(apikey, edgeId);
+			} else {
+				// Edge exists -> update information
+				edge.setComment(comment);
+				edge.setState(state);
+				edge.setVersion(SemanticVersion.fromStringOrZero(version), false);
+				edge.setProducttype(productType);
+				if (lazy != null) {
+					edge.setLazyConfig(lazy);
+				} else {
+					edge.setConfig(config, false);
+				}
+			}
+			return edge;
 		}
+	}
 
-		return edge;
+	/**
+	 * Parses the JSON configuration of an Edge.
+	 * 
+	 * @param odooId the Odoo-ID
+	 * @param edgeId the Edge-ID
+	 * @param json   the JSON configuration String
+	 * @param isLazy true if the configuration is parsed on first use
+	 * @return the {@link EdgeConfig}; empty on error
+	 */
+	private EdgeConfig parseConfig(int odooId, String edgeId, String json, boolean isLazy) {
+		int parsed = this.parsedConfigs.incrementAndGet();
+		if (isLazy && parsed % 100 == 0) {
+			this.parent.logInfo(this.log, "Parsed [" + parsed + "] Edge-Configs so far");
+		}
+		try {
+			return EdgeConfig.fromJson(//
+					JsonUtils.getAsJsonObject(//
+							JsonUtils.parse(json)));
+		} catch (OpenemsNamedException e) {
+			this.parent.logWarn(this.log, "Unable to read Edge-Config for Odoo-ID [" + odooId + "] Edge-ID [" + edgeId
+					+ "]: " + e.getMessage());
+			return new EdgeConfig();
+		}
+	}
+
+	/**
+	 * Gets the number of Edge-Configs that were parsed from JSON.
+	 * 
+	 * @return the number of parsed Edge-Configs
+	 */
+	public int getParsedConfigs() {
+		return this.parsedConfigs.get();
 	}
 
 	/**
@@ -186,6 +246,9 @@ public class EdgeCache {
 			} else {
 				// Set OpenEMS Is Connected in Odoo/Postgres
 				this.parent.getPostgresHandler().getPeriodicWriteWorker().isOffline(edge);
+
+				// Keep the Edge-Config in compact form till the Edge reconnects
+				edge.compactConfig();
 			}
 		});
 		edge.onSetConfig(config -> {
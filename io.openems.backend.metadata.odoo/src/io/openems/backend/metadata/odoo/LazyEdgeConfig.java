@@ -0,0 +1,115 @@
+package io.openems.backend.metadata.odoo;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.types.EdgeConfig;
+import io.openems.common.types.EdgeConfigSerializer;
+
+/**
+ * Holds the configuration of an Edge in compressed form and parses it only
+ * when it is first requested.
+ *
+ * <p>
+ * The configuration is either the JSON String as it is stored in Odoo, or - if
+ * created via {@link #of(EdgeConfig)} - the compact serialization of the
+ * {@link EdgeConfigSerializer}.
+ */
+public class LazyEdgeConfig implements Supplier<EdgeConfig> {
+
+	private final byte[] compressed;
+	// length of the JSON String; -1 for the compact serialization
+	private final int length;
+	private final Function<String, EdgeConfig> parser;
+
+	/**
+	 * Creates a {@link LazyEdgeConfig} from an {@link EdgeConfig}, e.g. to keep
+	 * the configuration of an offline Edge in the compact serialization.
+	 *
+	 * @param config the {@link EdgeConfig}
+	 * @return the {@link LazyEdgeConfig}
+	 */
+	public static LazyEdgeConfig of(EdgeConfig config) {
+		return new LazyEdgeConfig(EdgeConfigSerializer.serialize(config));
+	}
+
+	private LazyEdgeConfig(byte[] serialized) {
+		this.compressed = serialized;
+		this.length = -1;
+		this.parser = null;
+	}
+
+	/**
+	 * Creates a {@link LazyEdgeConfig}.
+	 *
+	 * @param json   the JSON configuration String
+	 * @param parser parses the JSON configuration String to an
+	 *               {@link EdgeConfig}
+	 */
+	public LazyEdgeConfig(String json, Function<String, EdgeConfig> parser) {
+		byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+		this.length = bytes.length;
+		this.compressed = deflate(bytes);
+		this.parser = parser;
+	}
+
+	@Override
+	public EdgeConfig get() {
+		if (this.parser == null) {
+			try {
+				return EdgeConfigSerializer.deserialize(this.compressed);
+			} catch (OpenemsNamedException e) {
+				throw new IllegalStateException("Unable to deserialize Edge-Config: " + e.getMessage(), e);
+			}
+		}
+		return this.parser.apply(this.getJson());
+	}
+
+	/**
+	 * Gets the JSON configuration String.
+	 *
+	 * @return the JSON String
+	 */
+	public String getJson() {
+		if (this.parser == null) {
+			return this.get().toJson().toString();
+		}
+		Inflater inflater = new Inflater();
+		try {
+			inflater.setInput(this.compressed);
+			byte[] bytes = new byte[this.length];
+			int offset = 0;
+			while (offset < this.length && !inflater.finished()) {
+				offset += inflater.inflate(bytes, offset, this.length - offset);
+			}
+			return new String(bytes, 0, offset, StandardCharsets.UTF_8);
+		} catch (DataFormatException e) {
+			throw new IllegalStateException("Unable to inflate Edge-Config: " + e.getMessage(), e);
+		} finally {
+			inflater.end();
+		}
+	}
+
+	private static byte[] deflate(byte[] bytes) {
+		Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+		try {
+			deflater.setInput(bytes);
+			deflater.finish();
+			ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, bytes.length / 8));
+			byte[] buffer = new byte[8192];
+			while (!deflater.finished()) {
+				out.write(buffer, 0, deflater.deflate(buffer));
+			}
+			return out.toByteArray();
+		} finally {
+			deflater.end();
+		}
+	}
+
+}
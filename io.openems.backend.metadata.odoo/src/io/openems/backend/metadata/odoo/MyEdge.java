@@ -23,4 +23,16 @@ public class MyEdge extends Edge {
 		return apikey;
 	}
 
+	/**
+	 * Keeps the configuration in the compact serialization of the
+	 * {@link io.openems.common.types.EdgeConfigSerializer} till it is requested
+	 * again, e.g. while the Edge is offline.
+	 */
+	public synchronized void compactConfig() {
+		EdgeConfig config = this.getResolvedConfig();
+		if (config != null) {
+			this.setLazyConfig(LazyEdgeConfig.of(config));
+		}
+	}
+
 }
@@ -4,9 +4,14 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 
 import org.slf4j.Logger;
@@ -14,16 +19,30 @@ import org.slf4j.LoggerFactory;
 
 import com.zaxxer.hikari.HikariDataSource;
 
+import io.openems.backend.metadata.odoo.EdgeCache;
 import io.openems.backend.metadata.odoo.Field;
 import io.openems.backend.metadata.odoo.Field.EdgeDevice;
+import io.openems.backend.metadata.odoo.LazyEdgeConfig;
 import io.openems.backend.metadata.odoo.MyEdge;
 import io.openems.backend.metadata.odoo.postgres.task.UpdateEdgeStatesSum;
 
+/**
+ * Reads all Edges from Postgres into the {@link EdgeCache} on startup.
+ *
+ * <p>
+ * In fast-start mode the Edges are read in pages of {@link #PAGE_SIZE} in
+ * parallel and the Edge-Configs are only parsed on first use (see
+ * {@link LazyEdgeConfig}).
+ */
 public class InitializeEdgesWorker {
 
+	private static final int PAGE_SIZE = 500;
+	private static final int FAST_START_THREADS = 4;
+
 	private final Logger log = LoggerFactory.getLogger(InitializeEdgesWorker.class);
 	protected final PostgresHandler parent;
 	private final HikariDataSource dataSource;
+	private final boolean fastStart;
 	private final Runnable onFinished;
 
 	/**
@@ -31,10 +50,18 @@ public class InitializeEdgesWorker {
 	 */
 	private final ExecutorService executor = Executors.newSingleThreadExecutor();
 
-	public InitializeEdgesWorker(PostgresHandler parent, HikariDataSource dataSource, Runnable onFinished) {
+	/**
+	 * Executor for reading pages in fast-start mode.
+	 */
+	private final ExecutorService pageExecutor;
+
+	public InitializeEdgesWorker(PostgresHandler parent, HikariDataSource dataSource, boolean fastStart,
+			Runnable onFinished) {
 		this.parent = parent;
 		this.dataSource = dataSource;
+		this.fastStart = fastStart;
 		this.onFinished = onFinished;
+		this.pageExecutor = fastStart ? Executors.newFixedThreadPool(FAST_START_THREADS) : null;
 	}
 
 	public synchronized void start() {
@@ -42,6 +69,9 @@ public class InitializeEdgesWorker {
 	}
 
 	public synchronized void stop() {
+		if (this.pageExecutor != null) {
+			this.pageExecutor.shutdownNow();
+		}
 		// Shutdown executor
 		if (this.executor != null) {
 			try {
@@ -75,35 +105,122 @@ public class InitializeEdgesWorker {
 		/**
 		 * Reads all Edges from Postgres and puts them in a local Cache.
 		 */
-		try (Connection con = self.dataSource.getConnection(); //
-				PreparedStatement pst = self.psQueryAllEdges(con); //
+		long start = System.nanoTime();
+		int edges;
+		if (self.fastStart) {
+			edges = self.readEdgesParallel();
+		} else {
+			edges = self.readEdges();
+		}
+
+		self.parent.logInfo(this.log, "Caching Edges from Postgres finished. " //
+				+ "Edges [" + edges + "] " //
+				+ "Time-to-ready [" + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + " ms] " //
+				+ "Parsed Edge-Configs [" + self.parent.edgeCache.getParsedConfigs() + "]");
+		self.onFinished.run();
+	};
+
+	/**
+	 * Reads all Edges in one query.
+	 *
+	 * @return the number of read Edges
+	 */
+	private int readEdges() {
+		int edges = 0;
+		try (Connection con = this.dataSource.getConnection(); //
+				PreparedStatement pst = this.psQueryAllEdges(con); //
 				ResultSet rs = pst.executeQuery(); //
 		) {
-			self.parent.logInfo(this.log, "Caching Edges from Postgres");
-			for (int i = 0; rs.next(); i++) {
-				if (i % 100 == 0) {
-					self.parent.logInfo(this.log, "Caching Edges from Postgres. Finished [" + i + "]");
-				}
-				try {
-					MyEdge edge = self.parent.edgeCache.addOrUpate(rs);
-
-					// Trigger update to Edge States Sum
-					self.parent.getQueueWriteWorker().addTask(new UpdateEdgeStatesSum(edge.getOdooId()));
-				} catch (Exception e) {
-					self.parent.logError(this.log,
-							"Unable to read Edge: " + e.getClass().getSimpleName() + ". " + e.getMessage());
-					e.printStackTrace();
+			this.parent.logInfo(this.log, "Caching Edges from Postgres");
+			for (; rs.next(); edges++) {
+				if (edges % 100 == 0) {
+					this.parent.logInfo(this.log, "Caching Edges from Postgres. Finished [" + edges + "]");
 				}
+				this.addOrUpdate(rs, false);
 			}
 		} catch (SQLException e) {
-			self.parent.logError(this.log,
+			this.parent.logError(this.log,
 					"Unable to initialize Edges: " + e.getClass().getSimpleName() + ". " + e.getMessage());
 			e.printStackTrace();
 		}
+		return edges;
+	}
 
-		self.parent.logInfo(this.log, "Caching Edges from Postgres finished");
-		self.onFinished.run();
-	};
+	/**
+	 * Reads all Edges in pages of {@link #PAGE_SIZE} in parallel.
+	 *
+	 * @return the number of read Edges
+	 */
+	private int readEdgesParallel() {
+		List<Integer> ids = new ArrayList<>();
+		try (Connection con = this.dataSource.getConnection(); //
+				PreparedStatement pst = this.psQueryAllEdgeIds(con); //
+				ResultSet rs = pst.executeQuery(); //
+		) {
+			while (rs.next()) {
+				ids.add(rs.getInt(1));
+			}
+		} catch (SQLException e) {
+			this.parent.logError(this.log,
+					"Unable to initialize Edges: " + e.getClass().getSimpleName() + ". " + e.getMessage());
+			e.printStackTrace();
+			return 0;
+		}
+		this.parent.logInfo(this.log, "Caching [" + ids.size() + "] Edges from Postgres in pages of [" + PAGE_SIZE
+				+ "] with [" + FAST_START_THREADS + "] threads");
+
+		AtomicInteger edges = new AtomicInteger(0);
+		List<Future<?>> pages = new ArrayList<>();
+		for (int i = 0; i < ids.size(); i += PAGE_SIZE) {
+			int fromId = ids.get(i);
+			int toId = ids.get(Math.min(i + PAGE_SIZE, ids.size()) - 1);
+			pages.add(this.pageExecutor.submit(() -> {
+				try (Connection con = this.dataSource.getConnection(); //
+						PreparedStatement pst = this.psQueryEdgesBetween(con, fromId, toId); //
+						ResultSet rs = pst.executeQuery(); //
+				) {
+					while (rs.next()) {
+						this.addOrUpdate(rs, true);
+						edges.incrementAndGet();
+					}
+				} catch (SQLException e) {
+					this.parent.logError(this.log, "Unable to read Edges [" + fromId + "-" + toId + "]: "
+							+ e.getClass().getSimpleName() + ". " + e.getMessage());
+					e.printStackTrace();
+				}
+				this.parent.logInfo(this.log, "Caching Edges from Postgres. Finished [" + edges.get() + "]");
+			}));
+		}
+		for (Future<?> page : pages) {
+			try {
+				page.get();
+			} catch (InterruptedException | ExecutionException e) {
+				this.parent.logWarn(this.log, "Caching Edges from Postgres interrupted: " + e.getMessage());
+				break;
+			}
+		}
+		this.pageExecutor.shutdown();
+		return edges.get();
+	}
+
+	/**
+	 * Adds or updates the Edge of the current record in the EdgeCache.
+	 *
+	 * @param rs         the ResultSet record
+	 * @param lazyConfig parse the Edge-Config on first use
+	 */
+	private void addOrUpdate(ResultSet rs, boolean lazyConfig) {
+		try {
+			MyEdge edge = this.parent.edgeCache.addOrUpate(rs, lazyConfig);
+
+			// Trigger update to Edge States Sum
+			this.parent.getQueueWriteWorker().addTask(new UpdateEdgeStatesSum(edge.getOdooId()));
+		} catch (Exception e) {
+			this.parent.logError(this.log,
+					"Unable to read Edge: " + e.getClass().getSimpleName() + ". " + e.getMessage());
+			e.printStackTrace();
+		}
+	}
 
 	/**
 	 * SELECT {} FROM {edge.device};
@@ -118,6 +235,37 @@ public class InitializeEdgesWorker {
 						+ ";");
 	}
 
+	/**
+	 * SELECT id FROM {edge.device} ORDER BY id;
+	 * 
+	 * @return the PreparedStatement
+	 * @throws SQLException on error
+	 */
+	private PreparedStatement psQueryAllEdgeIds(Connection connection) throws SQLException {
+		return connection.prepareStatement(//
+				"SELECT " + EdgeDevice.ID.id() //
+						+ " FROM " + EdgeDevice.ODOO_TABLE //
+						+ " ORDER BY " + EdgeDevice.ID.id() //
+						+ ";");
+	}
+
+	/**
+	 * SELECT {} FROM {edge.device} WHERE id BETWEEN {} AND {};
+	 * 
+	 * @return the PreparedStatement
+	 * @throws SQLException on error
+	 */
+	private PreparedStatement psQueryEdgesBetween(Connection connection, int fromId, int toId) throws SQLException {
+		PreparedStatement pst = connection.prepareStatement(//
+				"SELECT " + Field.getSqlQueryFields(EdgeDevice.values()) //
+						+ " FROM " + EdgeDevice.ODOO_TABLE //
+						+ " WHERE " + EdgeDevice.ID.id() + " BETWEEN ? AND ?" //
+						+ ";");
+		pst.setInt(1, fromId);
+		pst.setInt(2, toId);
+		return pst;
+	}
+
 	/**
 	 * UPDATE {} SET openems_is_connected = FALSE;
 	 * 
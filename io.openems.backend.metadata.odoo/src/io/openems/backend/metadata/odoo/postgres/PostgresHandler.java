@@ -41,7 +41,7 @@ public class PostgresHandler {
 		this.parent = parent;
 		this.edgeCache = edgeCache;
 		this.dataSource = this.getDataSource(config);
-		this.initializeEdgesWorker = new InitializeEdgesWorker(this, dataSource, () -> {
+		this.initializeEdgesWorker = new InitializeEdgesWorker(this, dataSource, config.fastStart(), () -> {
 			onInitialized.run();
 		});
 		this.initializeEdgesWorker.start();
@@ -1,199 +1,351 @@
 package io.openems.backend.metadata.odoo.postgres;
 
+import java.sql.BatchUpdateException;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
-import java.util.concurrent.Executors;
-import java.util.concurrent.LinkedBlockingQueue;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ThreadPoolExecutor;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sql.DataSource;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.zaxxer.hikari.HikariDataSource;
-
+import io.openems.backend.metadata.odoo.postgres.task.BatchableDatabaseTask;
 import io.openems.backend.metadata.odoo.postgres.task.DatabaseTask;
-import io.openems.backend.metadata.odoo.postgres.task.InsertEdgeConfigUpdate;
-import io.openems.backend.metadata.odoo.postgres.task.InsertOrUpdateDeviceState;
-import io.openems.backend.metadata.odoo.postgres.task.UpdateEdgeConfig;
-import io.openems.backend.metadata.odoo.postgres.task.UpdateEdgeProducttype;
-import io.openems.backend.metadata.odoo.postgres.task.UpdateEdgeStatesSum;
-import io.openems.backend.metadata.odoo.postgres.task.UpdateEdgeVersion;
 
 /**
  * This worker writes all Statements in a queue.
+ *
+ * <ul>
+ * <li>The queue is coalescing: a task supersedes a queued task with the same
+ * {@link DatabaseTask#getKey()}, e.g. only the latest version of an Edge is
+ * written. The new task is moved to the end of the queue, so that e.g. an
+ * 'UpdateEdgeStatesSum' is still executed after the 'InsertOrUpdateDeviceState'
+ * tasks it depends on.
+ * <li>The queue is bounded; if it is full, new tasks are dropped.
+ * <li>One thread takes up to {@link #DEFAULT_MAX_BATCH_SIZE} tasks and executes
+ * them on one single connection. {@link BatchableDatabaseTask}s with the same
+ * SQL are executed as one JDBC batch; other tasks afterwards one by one. If a
+ * batch fails, its tasks are retried one by one, so that only the failing
+ * tasks are dropped.
+ * </ul>
  */
 public class QueueWriteWorker {
 
-	private final static int NUMBER_OF_THREADS = 10;
+	private static final int DEFAULT_MAX_QUEUE_SIZE = 100_000;
+	private static final int DEFAULT_MAX_BATCH_SIZE = 1_000;
 
 	/**
 	 * DEBUG_MODE activates printing of reqular statistics about queued tasks.
 	 */
-	private final static boolean DEBUG_MODE = false;
+	private static final boolean DEBUG_MODE = false;
+	private static final int DEBUG_LOG_INTERVAL_SECONDS = 10;
 
 	private final Logger log = LoggerFactory.getLogger(QueueWriteWorker.class);
 	private final PostgresHandler parent;
-	private final HikariDataSource dataSource;
+	private final DataSource dataSource;
+	private final int maxQueueSize;
+	private final int maxBatchSize;
+
+	/**
+	 * Queued tasks by {@link DatabaseTask#getKey()} in order of execution.
+	 */
+	private final LinkedHashMap<Object, DatabaseTask> queue = new LinkedHashMap<>();
 
-	// Executor for subscriptions task.
-	private final ThreadPoolExecutor executor = new ThreadPoolExecutor(NUMBER_OF_THREADS, NUMBER_OF_THREADS, 0L,
-			TimeUnit.MILLISECONDS, new LinkedBlockingQueue<Runnable>());
+	private Thread thread = null;
+	private Thread debugLogThread = null;
+	private volatile boolean isStopped = false;
 
-	private final ScheduledExecutorService debugLogExecutor;
+	private final AtomicLong addedTasks = new AtomicLong(0);
+	private final AtomicLong supersededTasks = new AtomicLong(0);
+	private final AtomicLong droppedTasks = new AtomicLong(0);
+	private final AtomicLong executedTasks = new AtomicLong(0);
+	private final AtomicLong failedTasks = new AtomicLong(0);
+	private final AtomicLong flushes = new AtomicLong(0);
+	private volatile long lastFlushDuration = 0;
 
-	public QueueWriteWorker(PostgresHandler parent, HikariDataSource dataSource) {
+	public QueueWriteWorker(PostgresHandler parent, DataSource dataSource) {
+		this(parent, dataSource, DEFAULT_MAX_QUEUE_SIZE, DEFAULT_MAX_BATCH_SIZE);
+	}
+
+	/**
+	 * Creates a {@link QueueWriteWorker}.
+	 *
+	 * @param parent       the {@link PostgresHandler} for logging; possibly null
+	 * @param dataSource   the {@link DataSource}
+	 * @param maxQueueSize the maximum number of queued tasks
+	 * @param maxBatchSize the maximum number of tasks executed on one connection
+	 */
+	public QueueWriteWorker(PostgresHandler parent, DataSource dataSource, int maxQueueSize, int maxBatchSize) {
 		this.parent = parent;
 		this.dataSource = dataSource;
-
-		if (DEBUG_MODE) {
-			this.debugLogExecutor = Executors.newSingleThreadScheduledExecutor();
-		} else {
-			this.debugLogExecutor = null;
-		}
+		this.maxQueueSize = Math.max(1, maxQueueSize);
+		this.maxBatchSize = Math.max(1, maxBatchSize);
 	}
 
 	public synchronized void start() {
+		this.isStopped = false;
+		this.thread = new Thread(this::run, "Odoo.QueueWriteWorker");
+		this.thread.setDaemon(true);
+		this.thread.start();
 		if (DEBUG_MODE) {
-			this.initializeDebugLog();
+			this.debugLogThread = new Thread(this::debugLog, "Odoo.QueueWriteWorker-DebugLog");
+			this.debugLogThread.setDaemon(true);
+			this.debugLogThread.start();
 		}
 	}
 
+	/**
+	 * Stops the worker. Queued tasks are still executed within 5 seconds.
+	 */
 	public synchronized void stop() {
-		// Shutdown executor
-		if (this.executor != null) {
+		synchronized (this.queue) {
+			this.isStopped = true;
+			this.queue.notifyAll();
+		}
+		if (this.thread != null) {
 			try {
-				this.executor.shutdown();
-				this.executor.awaitTermination(5, TimeUnit.SECONDS);
+				this.thread.join(TimeUnit.SECONDS.toMillis(5));
 			} catch (InterruptedException e) {
-				this.parent.logWarn(this.log, "tasks interrupted");
-			} finally {
-				if (!this.executor.isTerminated()) {
-					this.parent.logWarn(this.log, "cancel non-finished tasks");
-				}
-				this.executor.shutdownNow();
+				this.logWarn("tasks interrupted");
+			}
+			if (this.thread.isAlive()) {
+				this.logWarn("cancel non-finished tasks");
 			}
+			this.thread = null;
 		}
-		if (this.debugLogExecutor != null) {
-			this.debugLogExecutor.shutdown();
+		if (this.debugLogThread != null) {
+			this.debugLogThread.interrupt();
+			this.debugLogThread = null;
 		}
 	}
 
+	/**
+	 * Adds a task to the queue. Never blocks.
+	 *
+	 * @param task the {@link DatabaseTask}
+	 */
 	public void addTask(DatabaseTask task) {
-		if (DEBUG_MODE) {
-			this.count(task, true);
+		Object key = task.getKey();
+		if (key == null) {
+			// never superseded
+			key = new Object();
 		}
+		synchronized (this.queue) {
+			if (this.queue.remove(key) != null) {
+				this.supersededTasks.incrementAndGet();
+			} else if (this.queue.size() >= this.maxQueueSize) {
+				long dropped = this.droppedTasks.incrementAndGet();
+				if (dropped % this.maxQueueSize == 1) {
+					this.logWarn("Queue is full. Dropped [" + dropped + "] tasks so far.");
+				}
+				return;
+			}
+			this.queue.put(key, task);
+			this.addedTasks.incrementAndGet();
+			this.queue.notifyAll();
+		}
+	}
 
-		this.executor.execute(() -> {
-			if (DEBUG_MODE) {
-				this.count(task, false);
+	private void run() {
+		while (true) {
+			List<DatabaseTask> tasks = new ArrayList<>(Math.min(this.maxBatchSize, 1024));
+			synchronized (this.queue) {
+				while (this.queue.isEmpty()) {
+					if (this.isStopped) {
+						return;
+					}
+					try {
+						this.queue.wait();
+					} catch (InterruptedException e) {
+						return;
+					}
+				}
+				Iterator<DatabaseTask> iterator = this.queue.values().iterator();
+				while (iterator.hasNext() && tasks.size() < this.maxBatchSize) {
+					tasks.add(iterator.next());
+					iterator.remove();
+				}
 			}
+			this.flush(tasks);
+		}
+	}
 
-			try (Connection con = this.dataSource.getConnection()) {
-				task.execute(con);
-			} catch (SQLException e) {
-				parent.logWarn(this.log,
-						"Unable to execute Task. " + task.getClass().getSimpleName() + ": " + e.getMessage());
-				e.printStackTrace();
+	/**
+	 * Executes the tasks on one connection.
+	 *
+	 * @param tasks the tasks in order of their arrival
+	 */
+	private void flush(List<DatabaseTask> tasks) {
+		long start = System.nanoTime();
+		Map<String, List<BatchableDatabaseTask>> batches = new LinkedHashMap<>();
+		List<DatabaseTask> others = new ArrayList<>();
+		for (DatabaseTask task : tasks) {
+			if (task instanceof BatchableDatabaseTask) {
+				BatchableDatabaseTask batchable = (BatchableDatabaseTask) task;
+				batches.computeIfAbsent(batchable.getSql(), sql -> new ArrayList<>()).add(batchable);
+			} else {
+				others.add(task);
+			}
+		}
+
+		int done = 0;
+		try (Connection con = this.dataSource.getConnection()) {
+			for (Entry<String, List<BatchableDatabaseTask>> batch : batches.entrySet()) {
+				List<BatchableDatabaseTask> batchTasks = batch.getValue();
+				try (PreparedStatement ps = con.prepareStatement(batch.getKey())) {
+					for (BatchableDatabaseTask task : batchTasks) {
+						task.setParameters(ps);
+						ps.addBatch();
+					}
+					ps.executeBatch();
+					this.executedTasks.addAndGet(batchTasks.size());
+				} catch (BatchUpdateException e) {
+					this.logWarn("Unable to execute [" + batchTasks.size() + "] Tasks as batch. Retrying one by one. "
+							+ batchTasks.get(0).getClass().getSimpleName() + ": " + e.getMessage());
+					for (BatchableDatabaseTask task : batchTasks) {
+						this.execute(con, task);
+					}
+				} catch (SQLException e) {
+					this.failedTasks.addAndGet(batchTasks.size());
+					this.logWarn("Unable to execute [" + batchTasks.size() + "] Tasks. "
+							+ batchTasks.get(0).getClass().getSimpleName() + ": " + e.getMessage());
+				}
+				done += batchTasks.size();
 			}
-		});
+			for (DatabaseTask task : others) {
+				this.execute(con, task);
+				done++;
+			}
+		} catch (SQLException e) {
+			this.failedTasks.addAndGet(tasks.size() - done);
+			this.logWarn("Unable to execute [" + (tasks.size() - done) + "] Tasks: " + e.getMessage());
+		}
+		this.flushes.incrementAndGet();
+		this.lastFlushDuration = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+	}
+
+	/**
+	 * Executes a single task.
+	 *
+	 * @param con  the {@link Connection}
+	 * @param task the task
+	 */
+	private void execute(Connection con, DatabaseTask task) {
+		try {
+			task.execute(con);
+			this.executedTasks.incrementAndGet();
+		} catch (SQLException e) {
+			this.failedTasks.incrementAndGet();
+			this.logWarn("Unable to execute Task. " + task.getClass().getSimpleName() + ": " + e.getMessage());
+		}
 	}
 
-	/*
-	 * From here required for DEBUG_MODE
+	/**
+	 * Gets the number of queued tasks.
+	 *
+	 * @return the number of tasks
 	 */
+	public int getQueueSize() {
+		synchronized (this.queue) {
+			return this.queue.size();
+		}
+	}
 
-	private void initializeDebugLog() {
-		this.debugLogExecutor.scheduleWithFixedDelay(() -> {
-			long totalTasks = this.executor.getTaskCount();
-			long completedTasks = this.executor.getCompletedTaskCount();
-			int countInsertEdgeConfigUpdateUp = this.countInsertEdgeConfigUpdateUp.get();
-			int countInsertEdgeConfigUpdateDown = this.countInsertEdgeConfigUpdateDown.get();
-			int countInsertOrUpdateDeviceStateUp = this.countInsertOrUpdateDeviceStateUp.get();
-			int countInsertOrUpdateDeviceStateDown = this.countInsertOrUpdateDeviceStateDown.get();
-			int countUpdateEdgeConfigUp = this.countUpdateEdgeConfigUp.get();
-			int countUpdateEdgeConfigDown = this.countUpdateEdgeConfigDown.get();
-			int countUpdateEdgeProducttypeUp = this.countUpdateEdgeProducttypeUp.get();
-			int countUpdateEdgeProducttypeDown = this.countUpdateEdgeProducttypeDown.get();
-			int countUpdateEdgeStatesSumUp = this.countUpdateEdgeStatesSumUp.get();
-			int countUpdateEdgeStatesSumDown = this.countUpdateEdgeStatesSumDown.get();
-			int countUpdateEdgeVersionUp = this.countUpdateEdgeVersionUp.get();
-			int countUpdateEdgeVersionDown = this.countUpdateEdgeVersionDown.get();
-
-			parent.logInfo(this.log, "QueueWriteWorker. " //
-					+ "Total tasks [" + totalTasks + "|" + completedTasks + "|" + (totalTasks - completedTasks) + "] " //
-					+ "Threads [" + this.executor.getPoolSize() + "] " //
-					+ "InsertEdgeConfigUpdate [" + countInsertEdgeConfigUpdateUp + "|" + countInsertEdgeConfigUpdateDown
-					+ "|" + (countInsertEdgeConfigUpdateUp - countInsertEdgeConfigUpdateDown) + "] " //
-					+ "InsertOrUpdateDeviceState [" + countInsertOrUpdateDeviceStateUp + "|"
-					+ countInsertOrUpdateDeviceStateDown + "|"
-					+ (countInsertOrUpdateDeviceStateUp - countInsertOrUpdateDeviceStateDown) + "] " //
-					+ "UpdateEdgeConfig [" + countUpdateEdgeConfigUp + "|" + countUpdateEdgeConfigDown + "|"
-					+ (countUpdateEdgeConfigUp - countUpdateEdgeConfigDown) + "] " //
-					+ "UpdateEdgeProducttype [" + countUpdateEdgeProducttypeUp + "|" + countUpdateEdgeProducttypeDown
-					+ "|" + (countUpdateEdgeProducttypeUp - countUpdateEdgeProducttypeDown) + "] " //
-					+ "UpdateEdgeStatesSum [" + countUpdateEdgeStatesSumUp + "|" + countUpdateEdgeStatesSumDown + "|"
-					+ (countUpdateEdgeStatesSumUp - countUpdateEdgeStatesSumDown) + "] " //
-					+ "UpdateEdgeVersion [" + countUpdateEdgeVersionUp + "|" + countUpdateEdgeVersionDown + "|"
-					+ (countUpdateEdgeVersionUp - countUpdateEdgeVersionDown) + "] " //
-			);
-		}, 10, 10, TimeUnit.SECONDS);
-	}
-
-	private final AtomicInteger countInsertEdgeConfigUpdateUp = new AtomicInteger(0);
-	private final AtomicInteger countInsertEdgeConfigUpdateDown = new AtomicInteger(0);
-	private final AtomicInteger countInsertOrUpdateDeviceStateUp = new AtomicInteger(0);
-	private final AtomicInteger countInsertOrUpdateDeviceStateDown = new AtomicInteger(0);
-	private final AtomicInteger countUpdateEdgeConfigUp = new AtomicInteger(0);
-	private final AtomicInteger countUpdateEdgeConfigDown = new AtomicInteger(0);
-	private final AtomicInteger countUpdateEdgeProducttypeUp = new AtomicInteger(0);
-	private final AtomicInteger countUpdateEdgeProducttypeDown = new AtomicInteger(0);
-	private final AtomicInteger countUpdateEdgeStatesSumUp = new AtomicInteger(0);
-	private final AtomicInteger countUpdateEdgeStatesSumDown = new AtomicInteger(0);
-	private final AtomicInteger countUpdateEdgeVersionUp = new AtomicInteger(0);
-	private final AtomicInteger countUpdateEdgeVersionDown = new AtomicInteger(0);
-
-	private void count(DatabaseTask task, boolean up) {
-		if (up) {
-			AtomicInteger counter;
-			if (task instanceof InsertEdgeConfigUpdate) {
-				counter = this.countInsertEdgeConfigUpdateUp;
-			} else if (task instanceof InsertOrUpdateDeviceState) {
-				counter = this.countInsertOrUpdateDeviceStateUp;
-			} else if (task instanceof UpdateEdgeConfig) {
-				counter = this.countUpdateEdgeConfigUp;
-			} else if (task instanceof UpdateEdgeProducttype) {
-				counter = this.countUpdateEdgeProducttypeUp;
-			} else if (task instanceof UpdateEdgeStatesSum) {
-				counter = this.countUpdateEdgeStatesSumUp;
-			} else if (task instanceof UpdateEdgeVersion) {
-				counter = this.countUpdateEdgeVersionUp;
-			} else {
-				System.out.println("Unknown Task " + task.getClass());
+	/**
+	 * Gets the number of tasks that were added to the queue.
+	 *
+	 * @return the number of tasks
+	 */
+	public long getAddedTasks() {
+		return this.addedTasks.get();
+	}
+
+	/**
+	 * Gets the number of queued tasks that were superseded by a newer task.
+	 *
+	 * @return the number of tasks
+	 */
+	public long getSupersededTasks() {
+		return this.supersededTasks.get();
+	}
+
+	/**
+	 * Gets the number of tasks that were dropped because the queue was full.
+	 *
+	 * @return the number of tasks
+	 */
+	public long getDroppedTasks() {
+		return this.droppedTasks.get();
+	}
+
+	/**
+	 * Gets the number of successfully executed tasks.
+	 *
+	 * @return the number of tasks
+	 */
+	public long getExecutedTasks() {
+		return this.executedTasks.get();
+	}
+
+	/**
+	 * Gets the number of failed tasks.
+	 *
+	 * @return the number of tasks
+	 */
+	public long getFailedTasks() {
+		return this.failedTasks.get();
+	}
+
+	/**
+	 * Gets the number of flushes, i.e. used connections.
+	 *
+	 * @return the number of flushes
+	 */
+	public long getFlushes() {
+		return this.flushes.get();
+	}
+
+	private void debugLog() {
+		while (!this.isStopped) {
+			try {
+				Thread.sleep(TimeUnit.SECONDS.toMillis(DEBUG_LOG_INTERVAL_SECONDS));
+			} catch (InterruptedException e) {
 				return;
 			}
-			counter.getAndIncrement();
+			this.logInfo("QueueWriteWorker. " //
+					+ "Queue [" + this.getQueueSize() + "/" + this.maxQueueSize + "] " //
+					+ "Added [" + this.getAddedTasks() + "] " //
+					+ "Superseded [" + this.getSupersededTasks() + "] " //
+					+ "Dropped [" + this.getDroppedTasks() + "] " //
+					+ "Executed [" + this.getExecutedTasks() + "] " //
+					+ "Failed [" + this.getFailedTasks() + "] " //
+					+ "Flushes [" + this.getFlushes() + "] " //
+					+ "LastFlush [" + this.lastFlushDuration + " ms]");
+		}
+	}
+
+	private void logInfo(String message) {
+		if (this.parent != null) {
+			this.parent.logInfo(this.log, message);
 		} else {
-			AtomicInteger counter;
-			if (task instanceof InsertEdgeConfigUpdate) {
-				counter = this.countInsertEdgeConfigUpdateDown;
-			} else if (task instanceof InsertOrUpdateDeviceState) {
-				counter = this.countInsertOrUpdateDeviceStateDown;
-			} else if (task instanceof UpdateEdgeConfig) {
-				counter = this.countUpdateEdgeConfigDown;
-			} else if (task instanceof UpdateEdgeProducttype) {
-				counter = this.countUpdateEdgeProducttypeDown;
-			} else if (task instanceof UpdateEdgeStatesSum) {
-				counter = this.countUpdateEdgeStatesSumDown;
-			} else if (task instanceof UpdateEdgeVersion) {
-				counter = this.countUpdateEdgeVersionDown;
-			} else {
-				System.out.println("Unknown Task " + task.getClass());
-				return;
-			}
-			counter.getAndIncrement();
+			this.log.info(message);
+		}
+	}
+
+	private void logWarn(String message) {
+		if (this.parent != null) {
+			this.parent.logWarn(this.log, message);
+		} else {
+			this.log.warn(message);
 		}
 	}
 
@@ -0,0 +1,37 @@
+package io.openems.backend.metadata.odoo.postgres.task;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * A {@link DatabaseTask} that consists of one single statement. Tasks with the
+ * same SQL are executed together as one JDBC batch.
+ */
+public interface BatchableDatabaseTask extends DatabaseTask {
+
+	/**
+	 * Gets the SQL of the {@link PreparedStatement}. It is the same for all tasks
+	 * of one type.
+	 * 
+	 * @return the SQL
+	 */
+	public String getSql();
+
+	/**
+	 * Sets the parameters of the {@link PreparedStatement}.
+	 * 
+	 * @param ps the {@link PreparedStatement} for {@link #getSql()}
+	 * @throws SQLException on error
+	 */
+	public void setParameters(PreparedStatement ps) throws SQLException;
+
+	@Override
+	public default void execute(Connection connection) throws SQLException {
+		try (PreparedStatement ps = connection.prepareStatement(this.getSql())) {
+			this.setParameters(ps);
+			ps.execute();
+		}
+	}
+
+}
@@ -4,5 +4,18 @@ import java.sql.Connection;
 import java.sql.SQLException;
 
 public interface DatabaseTask {
+
 	public void execute(Connection connection) throws SQLException;
-}
\ No newline at end of file
+
+	/**
+	 * Gets the key of this task. A queued task with an equal key is superseded by
+	 * this task, e.g. only the latest {@link UpdateEdgeVersion} of an Edge needs
+	 * to be written.
+	 * 
+	 * @return the {@link TaskKey}; null if this task must never be superseded
+	 */
+	public default TaskKey getKey() {
+		return null;
+	}
+
+}
@@ -1,6 +1,5 @@
 package io.openems.backend.metadata.odoo.postgres.task;
 
-import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.sql.Timestamp;
@@ -10,7 +9,15 @@ import java.time.ZoneOffset;
 import io.openems.backend.metadata.odoo.Field.EdgeConfigUpdate;
 import io.openems.common.types.EdgeConfigDiff;
 
-public class InsertEdgeConfigUpdate implements DatabaseTask {
+public class InsertEdgeConfigUpdate implements BatchableDatabaseTask {
+
+	private static final String SQL = //
+			"INSERT INTO " + EdgeConfigUpdate.ODOO_TABLE //
+					+ " (create_date" //
+					+ ", " + EdgeConfigUpdate.DEVICE_ID.id() //
+					+ ", " + EdgeConfigUpdate.TEASER.id() //
+					+ ", " + EdgeConfigUpdate.DETAILS.id() + ")" //
+					+ " VALUES(?, ?, ?, ?)";
 
 	private final Timestamp createDate;
 	private final int odooId;
@@ -25,30 +32,21 @@ public class InsertEdgeConfigUpdate implements DatabaseTask {
 	}
 
 	@Override
-	public void execute(Connection connection) throws SQLException {
-		PreparedStatement ps = this.psInsertEdgeConfigUpdate(connection);
+	public void setParameters(PreparedStatement ps) throws SQLException {
 		ps.setTimestamp(1, this.createDate);
 		ps.setInt(2, this.odooId);
 		ps.setString(3, this.teaser);
 		ps.setString(4, this.details);
-		ps.execute();
 	}
 
 	/**
-	 * UPDATE {} SET openems_config = {}, openems_config_components = {} WHERE id =
-	 * {};
+	 * INSERT INTO {} (create_date, device_id, teaser, details) VALUES (...);
 	 * 
-	 * @return the PreparedStatement
-	 * @throws SQLException on error
+	 * @return the SQL
 	 */
-	private PreparedStatement psInsertEdgeConfigUpdate(Connection connection) throws SQLException {
-		return connection.prepareStatement(//
-				"INSERT INTO " + EdgeConfigUpdate.ODOO_TABLE //
-						+ " (create_date" //
-						+ ", " + EdgeConfigUpdate.DEVICE_ID.id() //
-						+ ", " + EdgeConfigUpdate.TEASER.id() //
-						+ ", " + EdgeConfigUpdate.DETAILS.id() + ")" //
-						+ " VALUES(?, ?, ?, ?)");
+	@Override
+	public String getSql() {
+		return SQL;
 	}
 
 	@Override
@@ -1,6 +1,5 @@
 package io.openems.backend.metadata.odoo.postgres.task;
 
-import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.sql.Timestamp;
@@ -9,7 +8,17 @@ import io.openems.backend.metadata.odoo.Field.EdgeDeviceStatus;
 import io.openems.common.channel.Level;
 import io.openems.common.types.ChannelAddress;
 
-public class InsertOrUpdateDeviceState implements DatabaseTask {
+public class InsertOrUpdateDeviceState implements BatchableDatabaseTask {
+
+	private static final String SQL = //
+			"INSERT INTO " + EdgeDeviceStatus.ODOO_TABLE //
+					+ " (device_id, channel_address, level, component_id, channel_name, last_appearance)" //
+					+ " VALUES(?, ?, ?, ?, ?, ?)" //
+					+ "	ON CONFLICT (device_id, channel_address)" //
+					+ " DO UPDATE SET" //
+					+ " level=EXCLUDED.level,component_id=EXCLUDED.component_id,"//
+					+ "channel_name=EXCLUDED.channel_name,last_appearance=EXCLUDED.last_appearance";
+
 	private final int odooId;
 	private final ChannelAddress channelAddress;
 	private final Level level;
@@ -26,8 +35,7 @@ public class InsertOrUpdateDeviceState implements DatabaseTask {
 	}
 
 	@Override
-	public void execute(Connection connection) throws SQLException {
-		PreparedStatement ps = this.psInsertOrUpdateDeviceState(connection);
+	public void setParameters(PreparedStatement ps) throws SQLException {
 		// device_id
 		ps.setInt(1, this.odooId);
 		// channel_address
@@ -40,29 +48,22 @@ public class InsertOrUpdateDeviceState implements DatabaseTask {
 		ps.setString(5, this.stateChannelName);
 		// last_appearance
 		ps.setTimestamp(6, this.timestamp);
-
-		ps.execute();
 	}
 
 	/**
 	 * INSERT INTO {} (...) VALUES (...) ON CONFLICT (..) UPDATE SET
 	 * item=excluded.item;
 	 * 
-	 * <p>
-	 * Be careful to synchronize access to the resulting PreparedStatement.
-	 * 
-	 * @return the PreparedStatement
-	 * @throws SQLException on error
+	 * @return the SQL
 	 */
-	private PreparedStatement psInsertOrUpdateDeviceState(Connection connection) throws SQLException {
-		return connection.prepareStatement(//
-				"INSERT INTO " + EdgeDeviceStatus.ODOO_TABLE //
-						+ " (device_id, channel_address, level, component_id, channel_name, last_appearance)" //
-						+ " VALUES(?, ?, ?, ?, ?, ?)" //
-						+ "	ON CONFLICT (device_id, channel_address)" //
-						+ " DO UPDATE SET" //
-						+ " level=EXCLUDED.level,component_id=EXCLUDED.component_id,"//
-						+ "channel_name=EXCLUDED.channel_name,last_appearance=EXCLUDED.last_appearance");
+	@Override
+	public String getSql() {
+		return SQL;
+	}
+
+	@Override
+	public TaskKey getKey() {
+		return new TaskKey(InsertOrUpdateDeviceState.class, this.odooId, this.channelAddress.toString());
 	}
 
 	@Override
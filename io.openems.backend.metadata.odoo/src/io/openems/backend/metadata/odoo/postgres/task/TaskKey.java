@@ -0,0 +1,47 @@
+package io.openems.backend.metadata.odoo.postgres.task;
+
+import java.util.Objects;
+
+/**
+ * Identifies the target of a {@link DatabaseTask} by task type, Odoo-ID of the
+ * Edge and an optional detail, e.g. a Channel-Address.
+ */
+public final class TaskKey {
+
+	private final Class<? extends DatabaseTask> type;
+	private final int odooId;
+	private final String detail;
+
+	public TaskKey(Class<? extends DatabaseTask> type, int odooId) {
+		this(type, odooId, null);
+	}
+
+	public TaskKey(Class<? extends DatabaseTask> type, int odooId, String detail) {
+		this.type = type;
+		this.odooId = odooId;
+		this.detail = detail;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(this.type, this.odooId, this.detail);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null || this.getClass() != obj.getClass()) {
+			return false;
+		}
+		TaskKey other = (TaskKey) obj;
+		return this.type == other.type && this.odooId == other.odooId && Objects.equals(this.detail, other.detail);
+	}
+
+	@Override
+	public String toString() {
+		return this.type.getSimpleName() + "[" + this.odooId + (this.detail == null ? "" : "|" + this.detail) + "]";
+	}
+
+}
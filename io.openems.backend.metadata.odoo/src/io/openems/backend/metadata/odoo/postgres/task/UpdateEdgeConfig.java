@@ -1,6 +1,5 @@
 package io.openems.backend.metadata.odoo.postgres.task;
 
-import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
 
@@ -11,7 +10,14 @@ import io.openems.common.types.EdgeConfig;
 import io.openems.common.types.EdgeConfig.Component.JsonFormat;
 import io.openems.common.utils.StringUtils;
 
-public class UpdateEdgeConfig implements DatabaseTask {
+public class UpdateEdgeConfig implements BatchableDatabaseTask {
+
+	private static final String SQL = //
+			"UPDATE " + EdgeDevice.ODOO_TABLE //
+					+ " SET" //
+					+ " " + EdgeDevice.OPENEMS_CONFIG.id() + " = ?," //
+					+ " " + EdgeDevice.OPENEMS_CONFIG_COMPONENTS.id() + " = ?" //
+					+ " WHERE id = ?";
 
 	private final int odooId;
 	private final String fullConfig;
@@ -25,28 +31,26 @@ public class UpdateEdgeConfig implements DatabaseTask {
 	}
 
 	@Override
-	public void execute(Connection connection) throws SQLException {
-		PreparedStatement ps = this.psUpdateEdgeConfig(connection);
+	public void setParameters(PreparedStatement ps) throws SQLException {
 		ps.setString(1, this.fullConfig);
 		ps.setString(2, this.componentsConfig);
 		ps.setInt(3, this.odooId);
-		ps.execute();
 	}
 
 	/**
 	 * UPDATE {} SET openems_config = {}, openems_config_components = {} WHERE id =
 	 * {};
 	 * 
-	 * @return the PreparedStatement
-	 * @throws SQLException on error
+	 * @return the SQL
 	 */
-	private PreparedStatement psUpdateEdgeConfig(Connection connection) throws SQLException {
-		return connection.prepareStatement(//
-				"UPDATE " + EdgeDevice.ODOO_TABLE //
-						+ " SET" //
-						+ " " + EdgeDevice.OPENEMS_CONFIG.id() + " = ?," //
-						+ " " + EdgeDevice.OPENEMS_CONFIG_COMPONENTS.id() + " = ?" //
-						+ " WHERE id = ?");
+	@Override
+	public String getSql() {
+		return SQL;
+	}
+
+	@Override
+	public TaskKey getKey() {
+		return new TaskKey(UpdateEdgeConfig.class, this.odooId);
 	}
 
 	@Override
@@ -1,12 +1,17 @@
 package io.openems.backend.metadata.odoo.postgres.task;
 
-import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
 
 import io.openems.backend.metadata.odoo.Field.EdgeDevice;
 
-public class UpdateEdgeProducttype implements DatabaseTask {
+public class UpdateEdgeProducttype implements BatchableDatabaseTask {
+
+	private static final String SQL = //
+			"UPDATE " + EdgeDevice.ODOO_TABLE //
+					+ " SET" //
+					+ " " + EdgeDevice.PRODUCT_TYPE.id() + " = ?" //
+					+ " WHERE id = ?";
 
 	private final int odooId;
 	private final String producttype;
@@ -17,25 +22,24 @@ public class UpdateEdgeProducttype implements DatabaseTask {
 	}
 
 	@Override
-	public void execute(Connection connection) throws SQLException {
-		PreparedStatement ps = this.psUpdateProductType(connection);
+	public void setParameters(PreparedStatement ps) throws SQLException {
 		ps.setString(1, this.producttype);
 		ps.setInt(2, this.odooId);
-		ps.execute();
 	}
 
 	/**
 	 * UPDATE {} SET version = {} WHERE id = {};
 	 * 
-	 * @return the PreparedStatement
-	 * @throws SQLException on error
+	 * @return the SQL
 	 */
-	private PreparedStatement psUpdateProductType(Connection connection) throws SQLException {
-		return connection.prepareStatement(//
-				"UPDATE " + EdgeDevice.ODOO_TABLE //
-						+ " SET" //
-						+ " " + EdgeDevice.PRODUCT_TYPE.id() + " = ?" //
-						+ " WHERE id = ?");
+	@Override
+	public String getSql() {
+		return SQL;
+	}
+
+	@Override
+	public TaskKey getKey() {
+		return new TaskKey(UpdateEdgeProducttype.class, this.odooId);
 	}
 
 	@Override
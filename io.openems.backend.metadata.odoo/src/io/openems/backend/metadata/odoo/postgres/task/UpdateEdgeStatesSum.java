@@ -125,6 +125,11 @@ public class UpdateEdgeStatesSum implements DatabaseTask {
 						+ " WHERE id = ?");
 	}
 
+	@Override
+	public TaskKey getKey() {
+		return new TaskKey(UpdateEdgeStatesSum.class, this.odooId);
+	}
+
 	@Override
 	public String toString() {
 		return "UpdateEdgeStatesSum [odooId=" + odooId + "]";
@@ -1,13 +1,18 @@
 package io.openems.backend.metadata.odoo.postgres.task;
 
-import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
 
 import io.openems.backend.metadata.odoo.Field.EdgeDevice;
 import io.openems.common.types.SemanticVersion;
 
-public class UpdateEdgeVersion implements DatabaseTask {
+public class UpdateEdgeVersion implements BatchableDatabaseTask {
+
+	private static final String SQL = //
+			"UPDATE " + EdgeDevice.ODOO_TABLE //
+					+ " SET" //
+					+ " " + EdgeDevice.OPENEMS_VERSION.id() + " = ?" //
+					+ " WHERE id = ?";
 
 	private final int odooId;
 	private final String version;
@@ -18,25 +23,24 @@ public class UpdateEdgeVersion implements DatabaseTask {
 	}
 
 	@Override
-	public void execute(Connection connection) throws SQLException {
-		PreparedStatement ps = this.psUpdateEdgeVersion(connection);
+	public void setParameters(PreparedStatement ps) throws SQLException {
 		ps.setString(1, this.version);
 		ps.setInt(2, this.odooId);
-		ps.execute();
 	}
 
 	/**
 	 * UPDATE {} SET version = {} WHERE id = {};
 	 * 
-	 * @return the PreparedStatement
-	 * @throws SQLException on error
+	 * @return the SQL
 	 */
-	private PreparedStatement psUpdateEdgeVersion(Connection connection) throws SQLException {
-		return connection.prepareStatement(//
-				"UPDATE " + EdgeDevice.ODOO_TABLE //
-						+ " SET" //
-						+ " " + EdgeDevice.OPENEMS_VERSION.id() + " = ?" //
-						+ " WHERE id = ?");
+	@Override
+	public String getSql() {
+		return SQL;
+	}
+
+	@Override
+	public TaskKey getKey() {
+		return new TaskKey(UpdateEdgeVersion.class, this.odooId);
 	}
 
 	@Override
@@ -0,0 +1,83 @@
+package io.openems.backend.metadata.odoo;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import io.openems.backend.metadata.api.Edge.State;
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.types.EdgeConfig;
+import io.openems.common.types.EdgeConfig.Component;
+import io.openems.common.utils.JsonUtils;
+
+public class LazyEdgeConfigTest {
+
+	private static EdgeConfig parse(String json) {
+		try {
+			return EdgeConfig.fromJson(JsonUtils.getAsJsonObject(JsonUtils.parse(json)));
+		} catch (OpenemsNamedException e) {
+			throw new IllegalArgumentException(e);
+		}
+	}
+
+	private static String createConfig() {
+		EdgeConfig config = new EdgeConfig();
+		for (int i = 0; i < 50; i++) {
+			config.addComponent("meter" + i,
+					new Component("", "meter" + i, "Meter " + i, "Meter.Socomec", new TreeMap<>(), new TreeMap<>()));
+		}
+		return config.toJson().toString();
+	}
+
+	@Test
+	public void testRoundtrip() {
+		String json = createConfig();
+		LazyEdgeConfig sut = new LazyEdgeConfig(json, LazyEdgeConfigTest::parse);
+		assertEquals(json, sut.getJson());
+		assertEquals(parse(json).toJson(), sut.get().toJson());
+	}
+
+	@Test
+	public void testCompactConfig() {
+		String json = createConfig();
+		MyEdge edge = new MyEdge(1, "edge0", "apikey", "", State.ACTIVE, "2020.10.0", "", parse(json));
+		edge.compactConfig();
+		assertEquals(parse(json).toJson(), edge.getConfig().toJson());
+
+		LazyEdgeConfig sut = LazyEdgeConfig.of(parse(json));
+		assertEquals(parse(json).toJson(), sut.get().toJson());
+		assertEquals(parse(json).toJson().toString(), sut.getJson());
+	}
+
+	@Test
+	public void testParseOnFirstUse() {
+		AtomicInteger parsed = new AtomicInteger();
+		MyEdge edge = new MyEdge(1, "edge0", "apikey", "", State.ACTIVE, "2020.10.0", "", null);
+		edge.setLazyConfig(new LazyEdgeConfig(createConfig(), json -> {
+			parsed.incrementAndGet();
+			return parse(json);
+		}));
+		assertEquals(0, parsed.get());
+
+		EdgeConfig config = edge.getConfig();
+		assertEquals(1, parsed.get());
+		assertTrue(config.getComponents().containsKey("meter0"));
+		assertSame(config, edge.getConfig());
+		assertEquals(1, parsed.get());
+
+		// setConfig replaces the lazy config
+		edge.setLazyConfig(new LazyEdgeConfig(createConfig(), json -> {
+			parsed.incrementAndGet();
+			return parse(json);
+		}));
+		edge.setConfig(new EdgeConfig(), false);
+		assertEquals(1, parsed.get());
+		assertTrue(edge.getConfig().getComponents().isEmpty());
+	}
+
+}
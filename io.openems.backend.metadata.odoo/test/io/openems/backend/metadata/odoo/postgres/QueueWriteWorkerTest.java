@@ -0,0 +1,255 @@
+package io.openems.backend.metadata.odoo.postgres;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.sql.BatchUpdateException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.junit.Test;
+
+import io.openems.backend.metadata.odoo.postgres.task.InsertEdgeConfigUpdate;
+import io.openems.backend.metadata.odoo.postgres.task.InsertOrUpdateDeviceState;
+import io.openems.backend.metadata.odoo.postgres.task.UpdateEdgeConfig;
+import io.openems.backend.metadata.odoo.postgres.task.UpdateEdgeProducttype;
+import io.openems.backend.metadata.odoo.postgres.task.UpdateEdgeStatesSum;
+import io.openems.backend.metadata.odoo.postgres.task.UpdateEdgeVersion;
+import io.openems.common.channel.Level;
+import io.openems.common.types.ChannelAddress;
+import io.openems.common.types.EdgeConfig;
+import io.openems.common.types.EdgeConfigDiff;
+import io.openems.common.types.SemanticVersion;
+
+public class QueueWriteWorkerTest {
+
+	/**
+	 * A stand-in for Postgres, that records the JDBC calls. Statements with the
+	 * String parameter {@link #failingValue} fail.
+	 */
+	private static class RecordingDatabase {
+
+		private final AtomicInteger connections = new AtomicInteger();
+		private final AtomicInteger batchedRows = new AtomicInteger();
+		private final AtomicInteger roundtrips = new AtomicInteger();
+		private final List<String> log = Collections.synchronizedList(new ArrayList<>());
+		private volatile String failingValue = null;
+
+		private DataSource getDataSource() {
+			return proxy(DataSource.class, (method, args) -> {
+				if (method.equals("getConnection")) {
+					this.connections.incrementAndGet();
+					return this.getConnection();
+				}
+				return null;
+			});
+		}
+
+		private Connection getConnection() {
+			return proxy(Connection.class, (method, args) -> {
+				if (method.equals("prepareStatement")) {
+					return this.getPreparedStatement((String) args[0]);
+				}
+				return null;
+			});
+		}
+
+		private PreparedStatement getPreparedStatement(String sql) {
+			AtomicInteger rows = new AtomicInteger();
+			AtomicBoolean isFailing = new AtomicBoolean(false);
+			String operation = sql.substring(0, sql.indexOf(' '));
+			return proxy(PreparedStatement.class, (method, args) -> {
+				switch (method) {
+				case "setString":
+					if (args[1].equals(this.failingValue)) {
+						isFailing.set(true);
+					}
+					return null;
+				case "addBatch":
+					rows.incrementAndGet();
+					return null;
+				case "executeBatch":
+					this.roundtrips.incrementAndGet();
+					if (isFailing.getAndSet(false)) {
+						rows.set(0);
+						this.log.add(operation + " failed");
+						throw new BatchUpdateException();
+					}
+					this.batchedRows.addAndGet(rows.get());
+					this.log.add(operation + " x" + rows.get());
+					return new int[rows.getAndSet(0)];
+				case "execute":
+					this.roundtrips.incrementAndGet();
+					if (isFailing.getAndSet(false)) {
+						this.log.add(operation + " failed");
+						throw new SQLException("failing value");
+					}
+					this.log.add(operation);
+					return false;
+				case "executeQuery":
+					this.roundtrips.incrementAndGet();
+					this.log.add(operation);
+					return proxy(ResultSet.class, (m, a) -> null);
+				}
+				return null;
+			});
+		}
+	}
+
+	@FunctionalInterface
+	private interface Handler {
+		Object invoke(String method, Object[] args) throws Exception;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> T proxy(Class<T> type, Handler handler) {
+		return (T) Proxy.newProxyInstance(QueueWriteWorkerTest.class.getClassLoader(), new Class<?>[] { type },
+				(proxy, method, args) -> {
+					Object result = handler.invoke(method.getName(), args);
+					if (result == null && method.getReturnType() == boolean.class) {
+						return false;
+					}
+					if (result == null && method.getReturnType() == int.class) {
+						return 0;
+					}
+					return result;
+				});
+	}
+
+	private static void awaitExecuted(QueueWriteWorker sut, long tasks) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 30_000;
+		while (sut.getExecutedTasks() + sut.getFailedTasks() < tasks && System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+		}
+	}
+
+	private static InsertOrUpdateDeviceState deviceState(int odooId, String channelId) {
+		return new InsertOrUpdateDeviceState(odooId, new ChannelAddress("ess0", channelId), Level.WARNING, channelId,
+				Timestamp.valueOf(LocalDateTime.now()));
+	}
+
+	/**
+	 * Replays the writes of all Edges reconnecting after a Backend restart - three
+	 * times, like flapping connections.
+	 *
+	 * @throws InterruptedException on error
+	 */
+	@Test
+	public void testReconnectStorm() throws InterruptedException {
+		final int noOfEdges = 5_000;
+		final int noOfStates = 5;
+		final int noOfRounds = 3;
+		RecordingDatabase db = new RecordingDatabase();
+		QueueWriteWorker sut = new QueueWriteWorker(null, db.getDataSource(), 100_000, 1_000);
+		EdgeConfig config = new EdgeConfig();
+		EdgeConfigDiff diff = EdgeConfigDiff.diff(config, new EdgeConfig());
+
+		int naiveRoundtrips = 0;
+		for (int round = 0; round < noOfRounds; round++) {
+			for (int odooId = 0; odooId < noOfEdges; odooId++) {
+				sut.addTask(new UpdateEdgeVersion(odooId, SemanticVersion.fromString("2020.10." + round)));
+				sut.addTask(new UpdateEdgeProducttype(odooId, "Home"));
+				sut.addTask(new UpdateEdgeConfig(odooId, config));
+				naiveRoundtrips += 3;
+				if (round == 0) {
+					sut.addTask(new InsertEdgeConfigUpdate(odooId, diff));
+					naiveRoundtrips++;
+				}
+				for (int state = 0; state < noOfStates; state++) {
+					sut.addTask(deviceState(odooId, "State" + state));
+					naiveRoundtrips++;
+				}
+				sut.addTask(new UpdateEdgeStatesSum(odooId));
+				naiveRoundtrips += 2;
+			}
+		}
+
+		final int expectedTasks = noOfEdges * (3 + 1 + noOfStates + 1);
+		assertEquals(expectedTasks, sut.getQueueSize());
+		assertEquals((noOfRounds - 1) * noOfEdges * (3 + noOfStates + 1), sut.getSupersededTasks());
+		assertEquals(0, sut.getDroppedTasks());
+
+		sut.start();
+		awaitExecuted(sut, expectedTasks);
+		sut.stop();
+
+		assertEquals(expectedTasks, sut.getExecutedTasks());
+		assertEquals(0, sut.getFailedTasks());
+		assertEquals(0, sut.getQueueSize());
+		assertEquals(expectedTasks / 1_000, sut.getFlushes());
+		assertEquals(sut.getFlushes(), db.connections.get());
+		// all but UpdateEdgeStatesSum are batched
+		assertEquals(expectedTasks - noOfEdges, db.batchedRows.get());
+		// one connection per task and one roundtrip per statement before
+		assertTrue(db.connections.get() * 1_000 <= sut.getAddedTasks());
+		assertTrue(db.roundtrips.get() * 10 < naiveRoundtrips);
+	}
+
+	@Test
+	public void testFailingBatchIsRetriedOneByOne() throws InterruptedException {
+		RecordingDatabase db = new RecordingDatabase();
+		db.failingValue = "Invalid";
+		QueueWriteWorker sut = new QueueWriteWorker(null, db.getDataSource(), 100, 100);
+		sut.addTask(new UpdateEdgeProducttype(1, "Home"));
+		sut.addTask(new UpdateEdgeProducttype(2, "Invalid"));
+		sut.addTask(new UpdateEdgeProducttype(3, "Commercial"));
+
+		sut.start();
+		awaitExecuted(sut, 3);
+		sut.stop();
+
+		assertEquals(2, sut.getExecutedTasks());
+		assertEquals(1, sut.getFailedTasks());
+		assertEquals("[UPDATE failed, UPDATE, UPDATE failed, UPDATE]", db.log.toString());
+	}
+
+	@Test
+	public void testOrder() throws InterruptedException {
+		RecordingDatabase db = new RecordingDatabase();
+		QueueWriteWorker sut = new QueueWriteWorker(null, db.getDataSource(), 100, 100);
+		sut.addTask(deviceState(1, "StateA"));
+		sut.addTask(new UpdateEdgeStatesSum(1));
+		sut.addTask(deviceState(1, "StateB"));
+		sut.addTask(new UpdateEdgeStatesSum(1));
+		sut.addTask(deviceState(1, "StateA"));
+		assertEquals(3, sut.getQueueSize());
+
+		sut.start();
+		awaitExecuted(sut, 3);
+		sut.stop();
+
+		// Both States are written in one batch before UpdateEdgeStatesSum queries them
+		assertEquals("[INSERT x2, SELECT, UPDATE]", db.log.toString());
+	}
+
+	@Test
+	public void testBounded() {
+		RecordingDatabase db = new RecordingDatabase();
+		QueueWriteWorker sut = new QueueWriteWorker(null, db.getDataSource(), 10, 100);
+		for (int odooId = 0; odooId < 15; odooId++) {
+			sut.addTask(new UpdateEdgeProducttype(odooId, "Home"));
+		}
+		assertEquals(10, sut.getQueueSize());
+		assertEquals(5, sut.getDroppedTasks());
+
+		// superseding is still possible
+		sut.addTask(new UpdateEdgeProducttype(0, "Commercial"));
+		assertEquals(10, sut.getQueueSize());
+		assertEquals(1, sut.getSupersededTasks());
+		assertEquals(5, sut.getDroppedTasks());
+		assertTrue(db.log.isEmpty());
+	}
+
+}
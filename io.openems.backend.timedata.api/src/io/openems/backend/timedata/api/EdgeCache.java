@@ -1,45 +1,557 @@
 package io.openems.backend.timedata.api;
 
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.BiConsumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonPrimitive;
 
+import io.openems.common.jsonrpc.notification.TimestampedDataBatch;
 import io.openems.common.types.ChannelAddress;
+import io.openems.common.types.ChannelAddressIndex;
 
+/**
+ * Holds the latest Channel values of one Edge.
+ *
+ * <p>
+ * Channels are identified by their ID in the shared
+ * {@link ChannelAddressIndex}. Every Channel of this Edge gets a dense slot in
+ * the arrays of this cache, so their size depends only on the number of
+ * Channels of this Edge - not on the number of Channels of the whole fleet.
+ * Numeric values are kept in a primitive array instead of one
+ * {@link JsonElement} per value; only non-numeric values (e.g. Strings) are
+ * kept as {@link JsonElement}.
+ *
+ * <p>
+ * Channels that the {@link ChannelAddressIndex} rejects because it is full are
+ * kept in a per-Edge {@link ConcurrentHashMap} instead.
+ *
+ * <p>
+ * Writes are serialized per Edge. Reads are lock-free in the common case via
+ * an optimistic read of the {@link StampedLock}.
+ */
 public class EdgeCache {
 
-	private long timestamp = 0l;
-	private final ConcurrentHashMap<ChannelAddress, JsonElement> channelValueCache = new ConcurrentHashMap<>();
+	private final Logger log = LoggerFactory.getLogger(EdgeCache.class);
+
+	private static final byte TYPE_UNSET = 0;
+	private static final byte TYPE_NULL = 1;
+	private static final byte TYPE_LONG = 2;
+	private static final byte TYPE_DOUBLE = 3;
+	private static final byte TYPE_OBJECT = 4;
+
+	private final ChannelAddressIndex index;
+	private final StampedLock lock = new StampedLock();
+
+	private volatile long timestamp = 0L;
+
+	/*
+	 * The following fields are guarded by 'lock'.
+	 */
+	// Maps Channel-IDs to slots; open addressing with linear probing. A key is
+	// the Channel-ID + 1, so that 0 marks a free entry.
+	private int[] slotKeys = new int[16];
+	private int[] slotValues = new int[16];
+	// the Channel-ID of every slot
+	private int[] ids = new int[0];
+	private int noOfSlots = 0;
+
+	private byte[] types = new byte[0];
+	private long[] values = new long[0];
+	private JsonElement[] objects = null;
+	private volatile int size = 0;
+
+	// Channels that are not in the ChannelAddressIndex, because it is full
+	private final Map<ChannelAddress, JsonElement> overflow = new ConcurrentHashMap<>();
+	private volatile boolean isOverflowLogged = false;
+
+	public EdgeCache() {
+		this(ChannelAddressIndex.SHARED);
+	}
 
-	public synchronized final Optional<JsonElement> getChannelValue(ChannelAddress address) {
-		return Optional.ofNullable(this.channelValueCache.get(address));
+	public EdgeCache(ChannelAddressIndex index) {
+		this.index = index;
 	}
 
-	public synchronized final ConcurrentHashMap<ChannelAddress, JsonElement> getChannelCacheEntries() {
-		return this.channelValueCache;
+	/**
+	 * Gets the cached value of a Channel.
+	 *
+	 * @param address the {@link ChannelAddress}
+	 * @return the value; empty if there is no cached value
+	 */
+	public final Optional<JsonElement> getChannelValue(ChannelAddress address) {
+		int id = this.index.getId(address);
+		if (id < 0) {
+			return Optional.ofNullable(this.overflow.get(address));
+		}
+
+		byte type;
+		long value;
+		JsonElement object;
+		long stamp = this.lock.tryOptimisticRead();
+		{
+			int slot = findSlot(this.slotKeys, this.slotValues, id);
+			byte[] types = this.types;
+			long[] values = this.values;
+			JsonElement[] objects = this.objects;
+			if (slot >= 0 && slot < types.length && slot < values.length) {
+				type = types[slot];
+				value = values[slot];
+				object = objects != null && slot < objects.length ? objects[slot] : null;
+			} else {
+				type = TYPE_UNSET;
+				value = 0;
+				object = null;
+			}
+		}
+		if (!this.lock.validate(stamp)) {
+			// a write happened in between -> read again under lock
+			stamp = this.lock.readLock();
+			try {
+				int slot = findSlot(this.slotKeys, this.slotValues, id);
+				if (slot >= 0) {
+					type = this.types[slot];
+					value = this.values[slot];
+					object = this.objects != null ? this.objects[slot] : null;
+				} else {
+					type = TYPE_UNSET;
+					value = 0;
+					object = null;
+				}
+			} finally {
+				this.lock.unlockRead(stamp);
+			}
+		}
+		return Optional.ofNullable(toJson(type, value, object));
 	}
 
 	/**
-	 * Adds the channel value to the cache
+	 * Adds the Channel value to the cache.
 	 *
 	 * @param channel the Channel-Address
-	 * @param value the Value as a JsonElement
+	 * @param value   the Value as a JsonElement
+	 */
+	public void putToChannelCache(ChannelAddress channel, JsonElement value) {
+		int id = this.index.getOrCreateId(channel);
+		if (id < 0) {
+			this.putToOverflow(channel, value);
+			return;
+		}
+		long stamp = this.lock.writeLock();
+		try {
+			this.put(id, value);
+		} finally {
+			this.lock.unlockWrite(stamp);
+		}
+	}
+
+	/**
+	 * Adds all Channel values to the cache, taking the lock only once.
+	 *
+	 * @param values the Channel values
+	 */
+	public void putAllToChannelCache(Map<ChannelAddress, JsonElement> values) {
+		int[] ids = new int[values.size()];
+		JsonElement[] elements = new JsonElement[ids.length];
+		int i = 0;
+		for (Entry<ChannelAddress, JsonElement> entry : values.entrySet()) {
+			ids[i] = this.index.getOrCreateId(entry.getKey());
+			elements[i] = entry.getValue();
+			if (ids[i] < 0) {
+				this.putToOverflow(entry.getKey(), entry.getValue());
+			}
+			i++;
+		}
+		long stamp = this.lock.writeLock();
+		try {
+			for (i = 0; i < ids.length; i++) {
+				if (ids[i] >= 0) {
+					this.put(ids[i], elements[i]);
+				}
+			}
+		} finally {
+			this.lock.unlockWrite(stamp);
+		}
+	}
+
+	/**
+	 * Adds all values of one row of a {@link TimestampedDataBatch} to the cache,
+	 * taking the lock only once.
+	 *
+	 * @param data the {@link TimestampedDataBatch}; it must use the same
+	 *             {@link ChannelAddressIndex} as this cache
+	 * @param row  the row number
+	 */
+	public void putToChannelCache(TimestampedDataBatch data, int row) {
+		if (data.getIndex() != this.index) {
+			throw new IllegalArgumentException("TimestampedDataBatch uses a different ChannelAddressIndex");
+		}
+		long stamp = this.lock.writeLock();
+		try {
+			for (int i = data.getRowStart(row); i < data.getRowEnd(row); i++) {
+				int id = data.getChannelId(i);
+				switch (data.getType(i)) {
+				case TimestampedDataBatch.TYPE_LONG:
+					this.putPrimitive(id, TYPE_LONG, data.getLong(i));
+					break;
+				case TimestampedDataBatch.TYPE_DOUBLE:
+					this.putPrimitive(id, TYPE_DOUBLE, Double.doubleToRawLongBits(data.getDouble(i)));
+					break;
+				case TimestampedDataBatch.TYPE_NULL:
+					this.putPrimitive(id, TYPE_NULL, 0);
+					break;
+				default:
+					this.put(id, data.getValue(i));
+				}
+			}
+		} finally {
+			this.lock.unlockWrite(stamp);
+		}
+	}
+
+	/**
+	 * Calls the consumer for all cached values whose Channel-ID is not contained
+	 * in the given set.
+	 *
+	 * @param channelIds the Channel-IDs in the {@link ChannelAddressIndex} of this
+	 *                   cache that should be skipped
+	 * @param consumer   the consumer for {@link ChannelAddress} and value
+	 */
+	public void forEachMissing(BitSet channelIds, BiConsumer<ChannelAddress, JsonElement> consumer) {
+		long stamp = this.lock.readLock();
+		try {
+			for (int slot = 0; slot < this.noOfSlots; slot++) {
+				byte type = this.types[slot];
+				int id = this.ids[slot];
+				if (type == TYPE_UNSET || channelIds.get(id)) {
+					continue;
+				}
+				consumer.accept(this.index.getAddress(id),
+						toJson(type, this.values[slot], this.objects != null ? this.objects[slot] : null));
+			}
+		} finally {
+			this.lock.unlockRead(stamp);
+		}
+		// Channels in the overflow never have a Channel-ID
+		this.overflow.forEach(consumer);
+	}
+
+	/**
+	 * Gets the {@link ChannelAddressIndex} of the Channel-IDs.
+	 *
+	 * @return the {@link ChannelAddressIndex}
+	 */
+	public ChannelAddressIndex getIndex() {
+		return this.index;
+	}
+
+	/**
+	 * Adds all cached values to the target whose Channel is not yet contained in
+	 * the target.
+	 *
+	 * @param target the target Map, e.g. a row of data
+	 */
+	public void addMissingTo(Map<ChannelAddress, JsonElement> target) {
+		long stamp = this.lock.readLock();
+		try {
+			for (int slot = 0; slot < this.noOfSlots; slot++) {
+				byte type = this.types[slot];
+				if (type == TYPE_UNSET) {
+					continue;
+				}
+				ChannelAddress address = this.index.getAddress(this.ids[slot]);
+				if (!target.containsKey(address)) {
+					target.put(address,
+							toJson(type, this.values[slot], this.objects != null ? this.objects[slot] : null));
+				}
+			}
+		} finally {
+			this.lock.unlockRead(stamp);
+		}
+		for (Entry<ChannelAddress, JsonElement> entry : this.overflow.entrySet()) {
+			target.putIfAbsent(entry.getKey(), entry.getValue());
+		}
+	}
+
+	/**
+	 * Gets the number of cached values.
+	 *
+	 * @return the number of values
+	 */
+	public int size() {
+		return this.size + this.overflow.size();
+	}
+
+	/**
+	 * Gets the number of allocated slots for values.
+	 *
+	 * @return the number of slots
 	 */
-	public synchronized void putToChannelCache(ChannelAddress channel, JsonElement value) {
-		this.channelValueCache.put(channel, value);
+	int getCapacity() {
+		long stamp = this.lock.readLock();
+		try {
+			return this.types.length;
+		} finally {
+			this.lock.unlockRead(stamp);
+		}
 	}
 
 	public long getTimestamp() {
-		return timestamp;
+		return this.timestamp;
 	}
 
 	public void setTimestamp(long timestamp) {
 		this.timestamp = timestamp;
 	}
 
+	/**
+	 * Removes all cached values.
+	 */
 	public void clear() {
-		this.channelValueCache.clear();
+		long stamp = this.lock.writeLock();
+		try {
+			Arrays.fill(this.types, TYPE_UNSET);
+			this.objects = null;
+			this.size = 0;
+			this.overflow.clear();
+		} finally {
+			this.lock.unlockWrite(stamp);
+		}
+	}
+
+	/**
+	 * Stores the value of a Channel that the {@link ChannelAddressIndex} rejected.
+	 *
+	 * @param channel the Channel-Address
+	 * @param value   the value
+	 */
+	private void putToOverflow(ChannelAddress channel, JsonElement value) {
+		if (!this.isOverflowLogged) {
+			this.isOverflowLogged = true;
+			this.log.warn("ChannelAddressIndex is full with [" + this.index.size() + "] Channels. Keeping Channel ["
+					+ channel + "] and following in a Map.");
+		}
+		if (value == null) {
+			value = JsonNull.INSTANCE;
+		}
+		this.overflow.put(channel, value);
+	}
+
+	/**
+	 * Stores a primitive value. Must be called with write lock.
+	 *
+	 * @param id    the Channel ID
+	 * @param type  the type
+	 * @param value the value
+	 */
+	private void putPrimitive(int id, byte type, long value) {
+		int slot = this.prepare(id);
+		this.types[slot] = type;
+		this.values[slot] = value;
+	}
+
+	/**
+	 * Makes sure the slot for the ID exists and resets it. Must be called with
+	 * write lock.
+	 *
+	 * @param id the Channel ID
+	 * @return the slot
+	 */
+	private int prepare(int id) {
+		int slot = findSlot(this.slotKeys, this.slotValues, id);
+		if (slot < 0) {
+			slot = this.addSlot(id);
+		}
+		if (this.types[slot] == TYPE_UNSET) {
+			this.size++;
+		}
+		if (this.objects != null) {
+			this.objects[slot] = null;
+		}
+		return slot;
+	}
+
+	/**
+	 * Adds a slot for a new Channel ID. Must be called with write lock.
+	 *
+	 * @param id the Channel ID
+	 * @return the slot
+	 */
+	private int addSlot(int id) {
+		int slot = this.noOfSlots++;
+		if (slot >= this.types.length) {
+			int length = Math.max(16, this.types.length + (this.types.length >> 1));
+			this.ids = Arrays.copyOf(this.ids, length);
+			this.types = Arrays.copyOf(this.types, length);
+			this.values = Arrays.copyOf(this.values, length);
+			if (this.objects != null) {
+				this.objects = Arrays.copyOf(this.objects, length);
+			}
+		}
+		this.ids[slot] = id;
+
+		// keep the load factor of the hash table below 0.5
+		if (this.noOfSlots * 2 > this.slotKeys.length) {
+			int[] keys = new int[this.slotKeys.length * 2];
+			int[] values = new int[keys.length];
+			for (int i = 0; i < slot; i++) {
+				insertSlot(keys, values, this.ids[i], i);
+			}
+			insertSlot(keys, values, id, slot);
+			this.slotValues = values;
+			this.slotKeys = keys;
+		} else {
+			insertSlot(this.slotKeys, this.slotValues, id, slot);
+		}
+		return slot;
+	}
+
+	/**
+	 * Finds the slot of a Channel ID.
+	 *
+	 * <p>
+	 * This is also called during an optimistic read, so it must terminate for any
+	 * state of the arrays.
+	 *
+	 * @param keys   the keys of the hash table
+	 * @param values the values of the hash table
+	 * @param id     the Channel ID
+	 * @return the slot; -1 if there is none
+	 */
+	private static int findSlot(int[] keys, int[] values, int id) {
+		int mask = keys.length - 1;
+		int key = id + 1;
+		int i = mix(key) & mask;
+		for (int probes = 0; probes < keys.length; probes++) {
+			int k = keys[i];
+			if (k == key) {
+				return i < values.length ? values[i] : -1;
+			}
+			if (k == 0) {
+				return -1;
+			}
+			i = (i + 1) & mask;
+		}
+		return -1;
+	}
+
+	private static void insertSlot(int[] keys, int[] values, int id, int slot) {
+		int mask = keys.length - 1;
+		int key = id + 1;
+		int i = mix(key) & mask;
+		while (keys[i] != 0) {
+			i = (i + 1) & mask;
+		}
+		values[i] = slot;
+		keys[i] = key;
+	}
+
+	private static int mix(int key) {
+		int h = key * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+
+	/**
+	 * Stores a value. Must be called with write lock.
+	 *
+	 * @param id    the Channel ID
+	 * @param value the value
+	 */
+	private void put(int id, JsonElement value) {
+		int slot = this.prepare(id);
+
+		if (value == null || value.isJsonNull()) {
+			this.types[slot] = TYPE_NULL;
+			return;
+		}
+		if (value.isJsonPrimitive()) {
+			JsonPrimitive primitive = value.getAsJsonPrimitive();
+			if (primitive.isNumber()) {
+				Number number = primitive.getAsNumber();
+				if (number instanceof Integer || number instanceof Long || number instanceof Short
+						|| number instanceof Byte) {
+					this.types[slot] = TYPE_LONG;
+					this.values[slot] = number.longValue();
+					return;
+				}
+				if (number instanceof Double || number instanceof Float) {
+					this.types[slot] = TYPE_DOUBLE;
+					this.values[slot] = Double.doubleToRawLongBits(number.doubleValue());
+					return;
+				}
+				// e.g. LazilyParsedNumber after parsing JSON
+				if (this.putParsedNumber(slot, primitive.getAsString())) {
+					return;
+				}
+			}
+		}
+		// keep any other value as it is
+		if (this.objects == null) {
+			this.objects = new JsonElement[this.types.length];
+		}
+		this.types[slot] = TYPE_OBJECT;
+		this.objects[slot] = value;
+	}
+
+	/**
+	 * Stores a number that is only available as String, if it can be represented
+	 * without loss.
+	 *
+	 * @param slot the slot
+	 * @param text the number as String
+	 * @return true if stored; false otherwise
+	 */
+	private boolean putParsedNumber(int slot, String text) {
+		boolean isDecimal = false;
+		for (int i = 0; i < text.length(); i++) {
+			char c = text.charAt(i);
+			if (c == '.' || c == 'e' || c == 'E') {
+				isDecimal = true;
+				break;
+			}
+		}
+		try {
+			if (!isDecimal) {
+				this.values[slot] = Long.parseLong(text);
+				this.types[slot] = TYPE_LONG;
+				return true;
+			}
+			double d = Double.parseDouble(text);
+			if (Double.toString(d).equals(text)) {
+				this.values[slot] = Double.doubleToRawLongBits(d);
+				this.types[slot] = TYPE_DOUBLE;
+				return true;
+			}
+		} catch (NumberFormatException e) {
+			// not representable as long or double
+		}
+		return false;
+	}
+
+	private static JsonElement toJson(byte type, long value, JsonElement object) {
+		switch (type) {
+		case TYPE_NULL:
+			return JsonNull.INSTANCE;
+		case TYPE_LONG:
+			return new JsonPrimitive(value);
+		case TYPE_DOUBLE:
+			return new JsonPrimitive(Double.longBitsToDouble(value));
+		case TYPE_OBJECT:
+			return object;
+		case TYPE_UNSET:
+		default:
+			return null;
+		}
 	}
 
 }
@@ -8,6 +8,7 @@ import com.google.common.collect.TreeBasedTable;
 import com.google.gson.JsonElement;
 
 import io.openems.common.exceptions.OpenemsException;
+import io.openems.common.jsonrpc.notification.TimestampedDataBatch;
 import io.openems.common.timedata.CommonTimedataService;
 import io.openems.common.types.ChannelAddress;
 
@@ -24,6 +25,21 @@ public interface Timedata extends CommonTimedataService {
 	 */
 	public void write(String edgeId, TreeBasedTable<Long, ChannelAddress, JsonElement> data) throws OpenemsException;
 
+	/**
+	 * Sends the data points to the Timedata service.
+	 * 
+	 * <p>
+	 * By default the {@link TimestampedDataBatch} is converted to a table.
+	 * Implementations may handle the compact batch directly.
+	 * 
+	 * @param edgeId The unique Edge-ID
+	 * @param data   the {@link TimestampedDataBatch}
+	 * @throws OpenemsException on error
+	 */
+	public default void write(String edgeId, TimestampedDataBatch data) throws OpenemsException {
+		this.write(edgeId, data.toTable());
+	}
+
 	/**
 	 * Gets the latest value for the given ChannelAddress.
 	 * 
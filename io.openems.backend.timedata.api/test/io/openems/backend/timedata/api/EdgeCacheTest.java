@@ -0,0 +1,298 @@
+package io.openems.backend.timedata.api;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.Test;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+
+import io.openems.common.types.ChannelAddress;
+import io.openems.common.types.ChannelAddressIndex;
+
+public class EdgeCacheTest {
+
+	private static final ChannelAddress SOC = new ChannelAddress("_sum", "EssSoc");
+	private static final ChannelAddress POWER = new ChannelAddress("_sum", "GridActivePower");
+	private static final ChannelAddress STATE = new ChannelAddress("ctrl0", "State");
+	private static final ChannelAddress VOLTAGE = new ChannelAddress("meter0", "Voltage");
+	private static final ChannelAddress BIG = new ChannelAddress("meter0", "Energy");
+
+	@Test
+	public void testValues() {
+		EdgeCache cache = new EdgeCache(new ChannelAddressIndex());
+		assertFalse(cache.getChannelValue(SOC).isPresent());
+
+		cache.putToChannelCache(SOC, new JsonPrimitive(50));
+		cache.putToChannelCache(POWER, new JsonParser().parse("-1234"));
+		cache.putToChannelCache(VOLTAGE, new JsonParser().parse("230.5"));
+		cache.putToChannelCache(STATE, new JsonPrimitive("Running"));
+		cache.putToChannelCache(BIG, new JsonParser().parse("123456789012345678901234"));
+
+		assertEquals(5, cache.size());
+		assertEquals(50, cache.getChannelValue(SOC).get().getAsInt());
+		assertEquals(-1234, cache.getChannelValue(POWER).get().getAsInt());
+		assertEquals(230.5, cache.getChannelValue(VOLTAGE).get().getAsDouble(), 0);
+		assertEquals("Running", cache.getChannelValue(STATE).get().getAsString());
+		assertEquals("123456789012345678901234", cache.getChannelValue(BIG).get().getAsString());
+
+		// Overwrite with a different type
+		cache.putToChannelCache(STATE, JsonNull.INSTANCE);
+		assertEquals(JsonNull.INSTANCE, cache.getChannelValue(STATE).get());
+		cache.putToChannelCache(STATE, new JsonPrimitive(3));
+		assertEquals(3, cache.getChannelValue(STATE).get().getAsInt());
+		assertEquals(5, cache.size());
+
+		cache.clear();
+		assertEquals(0, cache.size());
+		assertFalse(cache.getChannelValue(SOC).isPresent());
+	}
+
+	@Test
+	public void testAddMissingTo() {
+		EdgeCache cache = new EdgeCache(new ChannelAddressIndex());
+		Map<ChannelAddress, JsonElement> values = new HashMap<>();
+		values.put(SOC, new JsonPrimitive(50));
+		values.put(POWER, new JsonPrimitive(1000));
+		cache.putAllToChannelCache(values);
+
+		Map<ChannelAddress, JsonElement> row = new TreeMap<>();
+		row.put(POWER, new JsonPrimitive(2000));
+		cache.addMissingTo(row);
+
+		assertEquals(2, row.size());
+		assertEquals(50, row.get(SOC).getAsInt());
+		assertEquals(2000, row.get(POWER).getAsInt());
+	}
+
+	@Test
+	public void testSharedIndex() {
+		ChannelAddressIndex index = new ChannelAddressIndex();
+		EdgeCache cache0 = new EdgeCache(index);
+		EdgeCache cache1 = new EdgeCache(index);
+		cache0.putToChannelCache(SOC, new JsonPrimitive(10));
+		cache1.putToChannelCache(POWER, new JsonPrimitive(20));
+		cache1.putToChannelCache(SOC, new JsonPrimitive(30));
+
+		assertEquals(2, index.size());
+		assertEquals(SOC, index.getAddress(index.getId(SOC)));
+		assertEquals(Optional.empty(), cache0.getChannelValue(POWER));
+		assertEquals(10, cache0.getChannelValue(SOC).get().getAsInt());
+		assertEquals(30, cache1.getChannelValue(SOC).get().getAsInt());
+	}
+
+	@Test
+	public void testFullIndex() {
+		ChannelAddressIndex index = new ChannelAddressIndex(1);
+		EdgeCache cache = new EdgeCache(index);
+		cache.putToChannelCache(SOC, new JsonPrimitive(10));
+		cache.putToChannelCache(POWER, new JsonPrimitive(20));
+		Map<ChannelAddress, JsonElement> values = new HashMap<>();
+		values.put(SOC, new JsonPrimitive(11));
+		values.put(STATE, new JsonPrimitive(1));
+		cache.putAllToChannelCache(values);
+
+		assertEquals(1, index.size());
+		assertEquals(3, cache.size());
+		assertEquals(11, cache.getChannelValue(SOC).get().getAsInt());
+		assertEquals(20, cache.getChannelValue(POWER).get().getAsInt());
+		assertEquals(1, cache.getChannelValue(STATE).get().getAsInt());
+
+		Map<ChannelAddress, JsonElement> row = new TreeMap<>();
+		cache.addMissingTo(row);
+		assertEquals(3, row.size());
+		Map<ChannelAddress, JsonElement> missing = new HashMap<>();
+		cache.forEachMissing(new BitSet(), missing::put);
+		assertEquals(row, missing);
+
+		cache.clear();
+		assertEquals(0, cache.size());
+		assertFalse(cache.getChannelValue(POWER).isPresent());
+	}
+
+	@Test
+	public void testDenseSlots() {
+		ChannelAddressIndex index = new ChannelAddressIndex();
+		EdgeCache cache0 = new EdgeCache(index);
+		EdgeCache cache1 = new EdgeCache(index);
+		for (ChannelAddress channel : channels(1000)) {
+			cache0.putToChannelCache(channel, new JsonPrimitive(1));
+		}
+		cache1.putToChannelCache(SOC, new JsonPrimitive(50));
+
+		// the size of a cache does not depend on the Channels of other Edges
+		assertTrue(index.getId(SOC) >= 1000);
+		assertTrue(cache1.getCapacity() < 100);
+		assertEquals(50, cache1.getChannelValue(SOC).get().getAsInt());
+		assertEquals(1000, cache0.size());
+		assertEquals(1, cache0.getChannelValue(channels(1)[0]).get().getAsInt());
+	}
+
+	@Test
+	public void testConcurrentReadWrite() throws InterruptedException {
+		EdgeCache cache = new EdgeCache(new ChannelAddressIndex());
+		ChannelAddress[] channels = channels(200);
+		Thread writer = new Thread(() -> {
+			for (int i = 0; i < 200_000; i++) {
+				cache.putToChannelCache(channels[i % channels.length], new JsonPrimitive(i % channels.length));
+			}
+		});
+		writer.start();
+		while (writer.isAlive()) {
+			for (int i = 0; i < channels.length; i++) {
+				Optional<JsonElement> value = cache.getChannelValue(channels[i]);
+				if (value.isPresent()) {
+					// every Channel only ever gets its own index as value
+					assertEquals(i, value.get().getAsInt());
+				}
+			}
+		}
+		assertTrue(cache.size() == channels.length);
+	}
+
+	/**
+	 * Compares heap footprint and read/write throughput of the previous
+	 * {@link ConcurrentHashMap} based cache with {@link EdgeCache}.
+	 *
+	 * <p>
+	 * Heap and throughput depend on the machine, so this is not part of the
+	 * default run. Uncomment the "@Test" annotation to run it.
+	 */
+	// @Test
+	public void benchmark() {
+		final int noOfEdges = 1_000;
+		final int noOfChannels = 500;
+		ChannelAddress[] channels = channels(noOfChannels);
+
+		// Map based cache
+		long before = usedMemory();
+		long start = System.nanoTime();
+		List<Map<ChannelAddress, JsonElement>> maps = new ArrayList<>(noOfEdges);
+		for (int e = 0; e < noOfEdges; e++) {
+			Map<ChannelAddress, JsonElement> map = new ConcurrentHashMap<>();
+			for (int c = 0; c < noOfChannels; c++) {
+				map.put(channels[c], value(c));
+			}
+			maps.add(map);
+		}
+		long mapWriteNanos = System.nanoTime() - start;
+		long mapBytes = usedMemory() - before;
+		start = System.nanoTime();
+		long mapSum = 0;
+		for (int e = 0; e < noOfEdges; e++) {
+			for (int c = 0; c < noOfChannels; c++) {
+				mapSum += Optional.ofNullable(maps.get(e).get(channels[c])).get().getAsLong();
+			}
+		}
+		long mapReadNanos = System.nanoTime() - start;
+		maps = null;
+
+		// EdgeCache
+		ChannelAddressIndex index = new ChannelAddressIndex();
+		before = usedMemory();
+		start = System.nanoTime();
+		EdgeCache[] caches = new EdgeCache[noOfEdges];
+		for (int e = 0; e < noOfEdges; e++) {
+			caches[e] = new EdgeCache(index);
+			for (int c = 0; c < noOfChannels; c++) {
+				caches[e].putToChannelCache(channels[c], value(c));
+			}
+		}
+		long cacheWriteNanos = System.nanoTime() - start;
+		long cacheBytes = usedMemory() - before;
+		start = System.nanoTime();
+		long cacheSum = 0;
+		for (int e = 0; e < noOfEdges; e++) {
+			for (int c = 0; c < noOfChannels; c++) {
+				cacheSum += caches[e].getChannelValue(channels[c]).get().getAsLong();
+			}
+		}
+		long cacheReadNanos = System.nanoTime() - start;
+
+		assertEquals(mapSum, cacheSum);
+		long ops = (long) noOfEdges * noOfChannels;
+		System.out.println("EdgeCache benchmark [" + noOfEdges + " Edges x " + noOfChannels + " Channels]");
+		System.out.println("  Map       heap [" + mapBytes / 1024 + " kB] write [" + ops * 1_000_000 / mapWriteNanos
+				+ " k/s] read [" + ops * 1_000_000 / mapReadNanos + " k/s]");
+		System.out.println("  EdgeCache heap [" + cacheBytes / 1024 + " kB] write [" + ops * 1_000_000 / cacheWriteNanos
+				+ " k/s] read [" + ops * 1_000_000 / cacheReadNanos + " k/s]");
+	}
+
+	/**
+	 * Compares the number of slots of {@link EdgeCache}s for a fleet where most
+	 * Channels exist only on one Edge with caches that are indexed directly by
+	 * the fleet-wide Channel-ID.
+	 */
+	@Test
+	public void testHeterogeneousFleet() {
+		final int noOfEdges = 200;
+		final int noOfCommonChannels = 100;
+		final int noOfOwnChannels = 400;
+		ChannelAddress[] common = channels(noOfCommonChannels);
+
+		ChannelAddressIndex index = new ChannelAddressIndex();
+		EdgeCache[] caches = new EdgeCache[noOfEdges];
+		long fleetWideSlots = 0;
+		long slots = 0;
+		for (int e = 0; e < noOfEdges; e++) {
+			caches[e] = new EdgeCache(index);
+			for (int c = 0; c < noOfCommonChannels; c++) {
+				caches[e].putToChannelCache(common[c], value(c));
+			}
+			for (int c = 0; c < noOfOwnChannels; c++) {
+				caches[e].putToChannelCache(new ChannelAddress("edge" + e, "Channel" + c), value(c));
+			}
+			// arrays indexed by Channel-ID would need one slot per ID up to the highest
+			fleetWideSlots += index.size();
+			slots += caches[e].getCapacity();
+		}
+
+		assertEquals(noOfCommonChannels + noOfEdges * noOfOwnChannels, index.size());
+		// at most four slots per Channel of the Edge itself
+		assertTrue(slots <= 4L * noOfEdges * (noOfCommonChannels + noOfOwnChannels));
+		assertTrue(slots < fleetWideSlots / 10);
+		for (int e = 0; e < noOfEdges; e++) {
+			assertEquals(noOfCommonChannels + noOfOwnChannels, caches[e].size());
+		}
+	}
+
+	/**
+	 * Creates a value like it is parsed from a JSON message.
+	 *
+	 * @param i the Channel index
+	 * @return the value
+	 */
+	private static JsonElement value(int i) {
+		return new JsonParser().parse(String.valueOf(i * 17));
+	}
+
+	private static ChannelAddress[] channels(int noOfChannels) {
+		ChannelAddress[] result = new ChannelAddress[noOfChannels];
+		for (int i = 0; i < noOfChannels; i++) {
+			result[i] = new ChannelAddress("component" + i / 10, "Channel" + i % 10);
+		}
+		return result;
+	}
+
+	private static long usedMemory() {
+		Runtime runtime = Runtime.getRuntime();
+		for (int i = 0; i < 3; i++) {
+			System.gc();
+		}
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+
+}
@@ -0,0 +1,644 @@
+package io.openems.backend.timedata.influx;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.influxdb.dto.Point;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.openems.common.exceptions.OpenemsException;
+import io.openems.shared.influxdb.InfluxConnector;
+
+/**
+ * Writes Points asynchronously in batches to InfluxDB.
+ *
+ * <ul>
+ * <li>Producers add Points to a bounded queue via {@link #write(Point)}; they
+ * are never blocked and never do any IO.
+ * <li>A configurable number of flush threads take up to 'batchSize' Points
+ * from the queue or all Points that arrived within 'flushInterval' and write
+ * them in one single request.
+ * <li>Failed requests are retried with increasing delay.
+ * <li>If the queue is full or a batch finally failed, the Points are 'spilled'
+ * to a file in InfluxDB line protocol - if a spill path is configured - and
+ * written later when InfluxDB is able to keep up again. Otherwise they are
+ * dropped. Spilling is done by the flush threads; a full queue only hands over
+ * a batch to them.
+ * <li>Spilled records are replayed after a successful flush, with a limited
+ * number of attempts; records that InfluxDB rejects or that finally failed are
+ * dropped and counted in {@link #getDroppedPoints()}.
+ * </ul>
+ */
+public class BatchWriteWorker {
+
+	/**
+	 * DEBUG_MODE activates printing of regular statistics.
+	 */
+	private static final boolean DEBUG_MODE = false;
+	private static final int DEBUG_LOG_INTERVAL_SECONDS = 60;
+
+	private static final int MAX_RETRIES = 3;
+	private static final int MAX_REPLAY_ATTEMPTS = 5;
+	private static final String REPLAY_ATTEMPTS_PREFIX = "#";
+	private static final long RETRY_DELAY_MILLIS = 1_000;
+	private static final String SPILL_FILE = "spill.lp";
+	private static final String REPLAY_FILE = "replay.lp";
+
+	/**
+	 * Receives the batches.
+	 */
+	@FunctionalInterface
+	public interface Sink {
+
+		/**
+		 * Writes a batch of Points.
+		 *
+		 * @param points the Points
+		 * @return false if the Points were rejected and are not worth a retry
+		 * @throws OpenemsException on error; the batch is retried
+		 */
+		public boolean write(List<Point> points) throws OpenemsException;
+	}
+
+	/**
+	 * Receives spilled records during replay.
+	 */
+	@FunctionalInterface
+	public interface LineProtocolSink {
+
+		/**
+		 * Writes records in InfluxDB line protocol.
+		 *
+		 * @param records the records
+		 * @return false if the records were rejected and are not worth a retry
+		 * @throws OpenemsException on error; the records are spilled again
+		 */
+		public boolean write(List<String> records) throws OpenemsException;
+	}
+
+	private final Logger log = LoggerFactory.getLogger(BatchWriteWorker.class);
+
+	private final Influx parent;
+	private final Sink sink;
+	private final LineProtocolSink lineProtocolSink;
+	private final BlockingQueue<Point> queue;
+	private final BlockingQueue<List<Point>> overflow;
+	private final int batchSize;
+	private final long flushIntervalMillis;
+	private final Thread[] threads;
+	private final Path spillPath;
+	private final Object spillLock = new Object();
+	private final AtomicBoolean isReplaying = new AtomicBoolean(false);
+
+	private volatile boolean isStopped = false;
+
+	private final AtomicLong writtenPoints = new AtomicLong(0);
+	private final AtomicLong spilledPoints = new AtomicLong(0);
+	private final AtomicLong droppedPoints = new AtomicLong(0);
+	private volatile int lastBatchSize = 0;
+	private volatile long lastFlushDuration = 0;
+	private volatile long maxFlushDuration = 0;
+
+	/**
+	 * Creates a {@link BatchWriteWorker} that writes via an
+	 * {@link InfluxConnector}.
+	 *
+	 * @param parent          the parent component for logging
+	 * @param influxConnector the {@link InfluxConnector}
+	 * @param config          the {@link Config}
+	 */
+	public BatchWriteWorker(Influx parent, InfluxConnector influxConnector, Config config) {
+		this(parent, influxConnector::writeBatch, influxConnector::writeLineProtocol, config.queueSize(),
+				config.batchSize(), config.flushInterval(), config.noOfFlushThreads(), config.spillPath());
+	}
+
+	/**
+	 * Creates a {@link BatchWriteWorker}.
+	 *
+	 * @param parent              the parent component for logging; possibly null
+	 * @param sink                writes the batches
+	 * @param lineProtocolSink    writes spilled records
+	 * @param queueSize           the maximum number of queued Points
+	 * @param batchSize           the maximum number of Points per batch
+	 * @param flushIntervalMillis the maximum time in [ms] a Point waits for its
+	 *                            batch to be filled
+	 * @param noOfFlushThreads    the number of threads writing to InfluxDB
+	 * @param spillPath           the directory for spilled Points; empty to drop
+	 *                            Points instead
+	 */
+	public BatchWriteWorker(Influx parent, Sink sink, LineProtocolSink lineProtocolSink, int queueSize,
+			int batchSize, int flushIntervalMillis, int noOfFlushThreads, String spillPath) {
+		this.parent = parent;
+		this.sink = sink;
+		this.lineProtocolSink = lineProtocolSink;
+		this.queue = new ArrayBlockingQueue<>(Math.max(1, queueSize));
+		this.batchSize = Math.max(1, batchSize);
+		// overflow batches hold about as many Points as the queue; at least two
+		this.overflow = new ArrayBlockingQueue<>(Math.max(2, queueSize / this.batchSize));
+		this.flushIntervalMillis = Math.max(0, flushIntervalMillis);
+		this.threads = new Thread[Math.max(1, noOfFlushThreads)];
+		if (spillPath == null || spillPath.trim().isEmpty()) {
+			this.spillPath = null;
+		} else {
+			this.spillPath = Paths.get(spillPath.trim());
+		}
+	}
+
+	/**
+	 * Starts the flush threads.
+	 */
+	public synchronized void start() {
+		this.isStopped = false;
+		this.recoverReplayFile();
+		for (int i = 0; i < this.threads.length; i++) {
+			Thread thread = new Thread(this::run, "Influx.BatchWriteWorker-" + i);
+			thread.setDaemon(true);
+			thread.start();
+			this.threads[i] = thread;
+		}
+		if (DEBUG_MODE) {
+			Thread thread = new Thread(this::debugLog, "Influx.BatchWriteWorker-DebugLog");
+			thread.setDaemon(true);
+			thread.start();
+		}
+	}
+
+	/**
+	 * Stops the flush threads. Points that are still queued are written or
+	 * spilled.
+	 */
+	public synchronized void stop() {
+		this.isStopped = true;
+		for (Thread thread : this.threads) {
+			if (thread != null) {
+				thread.interrupt();
+			}
+		}
+		for (Thread thread : this.threads) {
+			if (thread != null) {
+				try {
+					thread.join(TimeUnit.SECONDS.toMillis(5));
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		}
+		// Keep remaining Points
+		this.spillOverflow();
+		List<Point> remaining = new ArrayList<>();
+		this.queue.drainTo(remaining);
+		if (!remaining.isEmpty()) {
+			this.spill(remaining);
+		}
+	}
+
+	/**
+	 * Adds a Point to the queue. Never blocks and never does any IO.
+	 *
+	 * @param point the Point
+	 */
+	public void write(Point point) {
+		if (!this.queue.offer(point)) {
+			// Queue is full -> InfluxDB is not able to keep up. Hand over a whole batch
+			// to the flush threads for spilling to make room for the following Points.
+			List<Point> overflow = new ArrayList<>(this.batchSize);
+			overflow.add(point);
+			this.queue.drainTo(overflow, this.batchSize - 1);
+			if (!this.overflow.offer(overflow)) {
+				this.droppedPoints.addAndGet(overflow.size());
+			}
+		}
+	}
+
+	private void run() {
+		List<Point> batch = new ArrayList<>(this.batchSize);
+		while (!this.isStopped) {
+			this.spillOverflow();
+			try {
+				this.collectBatch(batch);
+			} catch (InterruptedException e) {
+				// stop() was called; flush the current batch
+			}
+			if (!batch.isEmpty()) {
+				boolean wasWritten = this.flush(batch);
+				batch.clear();
+
+				if (wasWritten && this.queue.size() < this.batchSize) {
+					// InfluxDB is keeping up -> write spilled Points
+					this.replaySpill();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Collects Points from the queue till either the batch is full or the flush
+	 * interval passed since the first Point.
+	 *
+	 * @param batch the target list
+	 * @throws InterruptedException on stop
+	 */
+	private void collectBatch(List<Point> batch) throws InterruptedException {
+		Point first = this.queue.poll(1, TimeUnit.SECONDS);
+		if (first == null) {
+			return;
+		}
+		batch.add(first);
+		long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(this.flushIntervalMillis);
+		while (batch.size() < this.batchSize) {
+			this.queue.drainTo(batch, this.batchSize - batch.size());
+			if (batch.size() >= this.batchSize) {
+				break;
+			}
+			long remaining = deadline - System.nanoTime();
+			if (remaining <= 0) {
+				break;
+			}
+			Point point = this.queue.poll(remaining, TimeUnit.NANOSECONDS);
+			if (point == null) {
+				break;
+			}
+			batch.add(point);
+		}
+	}
+
+	/**
+	 * Spills the batches that were handed over by {@link #write(Point)}.
+	 */
+	private void spillOverflow() {
+		List<Point> overflow;
+		while ((overflow = this.overflow.poll()) != null) {
+			this.spill(overflow);
+		}
+	}
+
+	/**
+	 * Writes a batch; retries on error and finally spills it.
+	 *
+	 * @param batch the batch
+	 * @return true if the batch was written
+	 */
+	private boolean flush(List<Point> batch) {
+		long start = System.nanoTime();
+		OpenemsException lastError = null;
+		boolean wasWritten = true;
+		for (int attempt = 0; attempt <= MAX_RETRIES; attempt++) {
+			if (attempt > 0) {
+				try {
+					Thread.sleep(RETRY_DELAY_MILLIS << (attempt - 1));
+				} catch (InterruptedException e) {
+					break;
+				}
+			}
+			try {
+				wasWritten = this.sink.write(batch);
+				lastError = null;
+				break;
+			} catch (OpenemsException e) {
+				lastError = e;
+			}
+		}
+		long duration = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+		this.lastBatchSize = batch.size();
+		this.lastFlushDuration = duration;
+		this.maxFlushDuration = Math.max(this.maxFlushDuration, duration);
+
+		if (lastError == null) {
+			if (wasWritten) {
+				this.writtenPoints.addAndGet(batch.size());
+			} else {
+				this.logWarn("Dropping [" + batch.size() + "] points that were rejected by InfluxDB");
+				this.droppedPoints.addAndGet(batch.size());
+			}
+			// InfluxDB is reachable in both cases
+			return true;
+		} else {
+			this.logWarn("Unable to write [" + batch.size() + "] points: " + lastError.getMessage());
+			this.spill(batch);
+			return false;
+		}
+	}
+
+	/**
+	 * Appends Points in line protocol to the spill file or drops them if no spill
+	 * path is configured.
+	 *
+	 * @param points the Points
+	 */
+	private void spill(List<Point> points) {
+		if (this.spillPath == null) {
+			this.droppedPoints.addAndGet(points.size());
+			return;
+		}
+		List<String> records = new ArrayList<>(points.size());
+		for (Point point : points) {
+			records.add(point.lineProtocol());
+		}
+		if (this.appendToSpillFile(records)) {
+			this.spilledPoints.addAndGet(points.size());
+		} else {
+			this.droppedPoints.addAndGet(points.size());
+		}
+	}
+
+	private boolean appendToSpillFile(List<String> records) {
+		synchronized (this.spillLock) {
+			try {
+				Files.createDirectories(this.spillPath);
+				try (BufferedWriter writer = Files.newBufferedWriter(this.spillPath.resolve(SPILL_FILE),
+						StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+					for (String record : records) {
+						writer.write(record);
+						writer.newLine();
+					}
+				}
+				return true;
+			} catch (IOException e) {
+				this.logWarn("Unable to spill [" + records.size() + "] points: " + e.getMessage());
+				return false;
+			}
+		}
+	}
+
+	/**
+	 * Appends the records of a replay that was interrupted - e.g. by a crash - to
+	 * the spill file, so that they are replayed again.
+	 */
+	private void recoverReplayFile() {
+		if (this.spillPath == null) {
+			return;
+		}
+		Path replayFile = this.spillPath.resolve(REPLAY_FILE);
+		synchronized (this.spillLock) {
+			if (!Files.exists(replayFile)) {
+				return;
+			}
+			try {
+				List<String> records = Files.readAllLines(replayFile, StandardCharsets.UTF_8);
+				if (records.isEmpty() || this.appendToSpillFile(records)) {
+					Files.delete(replayFile);
+				}
+			} catch (IOException e) {
+				this.logWarn("Unable to recover interrupted replay: " + e.getMessage());
+			}
+		}
+	}
+
+	/**
+	 * Writes the spilled records in batches. Records that cannot be written are
+	 * spilled again with an increased attempt counter, till MAX_REPLAY_ATTEMPTS
+	 * is reached.
+	 */
+	private void replaySpill() {
+		if (this.spillPath == null) {
+			return;
+		}
+		if (!this.isReplaying.compareAndSet(false, true)) {
+			// another thread is replaying
+			return;
+		}
+		try {
+			this.replaySpillFile();
+		} finally {
+			this.isReplaying.set(false);
+		}
+	}
+
+	private void replaySpillFile() {
+		Path replayFile = this.spillPath.resolve(REPLAY_FILE);
+		synchronized (this.spillLock) {
+			Path spillFile = this.spillPath.resolve(SPILL_FILE);
+			// a replay file left over from an interrupted replay is replayed first
+			if (!Files.exists(replayFile)) {
+				if (!Files.exists(spillFile)) {
+					// nothing to replay
+					return;
+				}
+				try {
+					Files.move(spillFile, replayFile, StandardCopyOption.ATOMIC_MOVE);
+				} catch (IOException e) {
+					this.logWarn("Unable to replay spilled points: " + e.getMessage());
+					return;
+				}
+			}
+		}
+
+		List<String> failed = new ArrayList<>();
+		try (BufferedReader reader = Files.newBufferedReader(replayFile, StandardCharsets.UTF_8)) {
+			List<String> records = new ArrayList<>(this.batchSize);
+			String line;
+			while ((line = reader.readLine()) != null) {
+				records.add(line);
+				if (records.size() >= this.batchSize) {
+					this.replay(records, failed);
+					records = new ArrayList<>(this.batchSize);
+				}
+			}
+			if (!records.isEmpty()) {
+				this.replay(records, failed);
+			}
+		} catch (IOException e) {
+			this.logWarn("Unable to read spilled points: " + e.getMessage());
+		}
+
+		synchronized (this.spillLock) {
+			try {
+				Files.deleteIfExists(replayFile);
+			} catch (IOException e) {
+				this.logWarn("Unable to delete replayed points: " + e.getMessage());
+			}
+		}
+		if (!failed.isEmpty()) {
+			this.appendToSpillFile(failed);
+		}
+	}
+
+	private void replay(List<String> lines, List<String> failed) {
+		if (!failed.isEmpty()) {
+			// InfluxDB is failing again; do not try the remaining records
+			failed.addAll(lines);
+			return;
+		}
+		List<String> records = new ArrayList<>(lines.size());
+		for (String line : lines) {
+			records.add(getRecord(line));
+		}
+		boolean wasWritten;
+		try {
+			wasWritten = this.lineProtocolSink.write(records);
+		} catch (OpenemsException e) {
+			int dropped = 0;
+			for (int i = 0; i < lines.size(); i++) {
+				int attempts = getReplayAttempts(lines.get(i)) + 1;
+				if (attempts < MAX_REPLAY_ATTEMPTS) {
+					failed.add(REPLAY_ATTEMPTS_PREFIX + attempts + " " + records.get(i));
+				} else {
+					dropped++;
+				}
+			}
+			if (dropped > 0) {
+				this.logWarn("Dropping [" + dropped + "] spilled points after [" + MAX_REPLAY_ATTEMPTS
+						+ "] attempts: " + e.getMessage());
+				this.removeSpilled(dropped);
+				this.droppedPoints.addAndGet(dropped);
+			}
+			return;
+		}
+		// spilled Points could also origin from a previous run
+		this.removeSpilled(records.size());
+		if (wasWritten) {
+			this.writtenPoints.addAndGet(records.size());
+		} else {
+			this.logWarn("Dropping [" + records.size() + "] spilled points that were rejected by InfluxDB");
+			this.droppedPoints.addAndGet(records.size());
+		}
+	}
+
+	private void removeSpilled(int count) {
+		this.spilledPoints.updateAndGet(v -> Math.max(0, v - count));
+	}
+
+	/**
+	 * Gets the number of previous replay attempts of a spilled line.
+	 *
+	 * @param line the line of the spill file
+	 * @return the number of attempts
+	 */
+	private static int getReplayAttempts(String line) {
+		if (!line.startsWith(REPLAY_ATTEMPTS_PREFIX)) {
+			return 0;
+		}
+		int end = line.indexOf(' ');
+		try {
+			return Integer.parseInt(line.substring(REPLAY_ATTEMPTS_PREFIX.length(), end));
+		} catch (NumberFormatException | IndexOutOfBoundsException e) {
+			return 0;
+		}
+	}
+
+	/**
+	 * Gets the record in line protocol of a spilled line.
+	 *
+	 * @param line the line of the spill file
+	 * @return the record
+	 */
+	private static String getRecord(String line) {
+		if (!line.startsWith(REPLAY_ATTEMPTS_PREFIX)) {
+			return line;
+		}
+		return line.substring(line.indexOf(' ') + 1);
+	}
+
+	private void debugLog() {
+		while (!this.isStopped) {
+			try {
+				Thread.sleep(TimeUnit.SECONDS.toMillis(DEBUG_LOG_INTERVAL_SECONDS));
+			} catch (InterruptedException e) {
+				return;
+			}
+			this.logInfo("BatchWriteWorker. " //
+					+ "Queue [" + this.getQueueSize() + "] " //
+					+ "Written [" + this.getWrittenPoints() + "] " //
+					+ "Spilled [" + this.getSpilledPoints() + "] " //
+					+ "Dropped [" + this.getDroppedPoints() + "] " //
+					+ "LastBatch [" + this.getLastBatchSize() + "] " //
+					+ "LastFlush [" + this.getLastFlushDuration() + "ms] " //
+					+ "MaxFlush [" + this.getMaxFlushDuration() + "ms]");
+		}
+	}
+
+	private void logInfo(String message) {
+		if (this.parent != null) {
+			this.parent.logInfo(this.log, message);
+		} else {
+			this.log.info(message);
+		}
+	}
+
+	private void logWarn(String message) {
+		if (this.parent != null) {
+			this.parent.logWarn(this.log, message);
+		} else {
+			this.log.warn(message);
+		}
+	}
+
+	/**
+	 * Gets the number of queued Points.
+	 *
+	 * @return the queue depth
+	 */
+	public int getQueueSize() {
+		return this.queue.size();
+	}
+
+	/**
+	 * Gets the number of successfully written Points since start.
+	 *
+	 * @return the number of Points
+	 */
+	public long getWrittenPoints() {
+		return this.writtenPoints.get();
+	}
+
+	/**
+	 * Gets the number of Points that are currently spilled to disk.
+	 *
+	 * @return the number of Points
+	 */
+	public long getSpilledPoints() {
+		return this.spilledPoints.get();
+	}
+
+	/**
+	 * Gets the number of Points that were dropped since start.
+	 *
+	 * @return the number of Points
+	 */
+	public long getDroppedPoints() {
+		return this.droppedPoints.get();
+	}
+
+	/**
+	 * Gets the size of the last written batch.
+	 *
+	 * @return the number of Points
+	 */
+	public int getLastBatchSize() {
+		return this.lastBatchSize;
+	}
+
+	/**
+	 * Gets the duration of the last flush, including retries.
+	 *
+	 * @return the duration in [ms]
+	 */
+	public long getLastFlushDuration() {
+		return this.lastFlushDuration;
+	}
+
+	/**
+	 * Gets the maximum duration of a flush since start.
+	 *
+	 * @return the duration in [ms]
+	 */
+	public long getMaxFlushDuration() {
+		return this.maxFlushDuration;
+	}
+
+}
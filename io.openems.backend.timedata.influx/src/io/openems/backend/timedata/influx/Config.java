@@ -32,6 +32,21 @@ import org.osgi.service.metatype.annotations.ObjectClassDefinition;
 	@AttributeDefinition(name = "Read-Only mode", description = "Activates the read-only mode. Then no data is written to InfluxDB.")
 	boolean isReadOnly() default false;
 
+	@AttributeDefinition(name = "Queue size", description = "The maximum number of Points waiting to be written. If the queue is full, Points are spilled or dropped.")
+	int queueSize() default 100_000;
+
+	@AttributeDefinition(name = "Batch size", description = "The maximum number of Points written in one request.")
+	int batchSize() default 5_000;
+
+	@AttributeDefinition(name = "Flush interval [ms]", description = "The maximum time a Point waits for its batch to be filled.")
+	int flushInterval() default 1_000;
+
+	@AttributeDefinition(name = "Number of flush threads", description = "The number of threads writing to InfluxDB in parallel.")
+	int noOfFlushThreads() default 2;
+
+	@AttributeDefinition(name = "Spill path", description = "Directory for Points that could not be written in time; they are written later. Leave empty to drop those Points instead.")
+	String spillPath() default "";
+
 	String webconsole_configurationFactory_nameHint() default "Timedata InfluxDB";
 
 }
@@ -1,6 +1,7 @@
 package io.openems.backend.timedata.influx;
 
 import java.time.ZonedDateTime;
+import java.util.BitSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -8,6 +9,7 @@ import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Set;
 import java.util.SortedMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.function.BiConsumer;
 import java.util.regex.Matcher;
@@ -37,7 +39,9 @@ import io.openems.backend.timedata.api.EdgeCache;
 import io.openems.backend.timedata.api.Timedata;
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.common.exceptions.OpenemsException;
+import io.openems.common.jsonrpc.notification.TimestampedDataBatch;
 import io.openems.common.types.ChannelAddress;
+import io.openems.common.types.ChannelAddressIndex;
 import io.openems.common.types.EdgeConfig;
 import io.openems.common.types.SemanticVersion;
 import io.openems.common.utils.StringUtils;
@@ -52,10 +56,11 @@ public class Influx extends AbstractOpenemsBackendComponent implements Timedata
 	private static final Pattern NAME_NUMBER_PATTERN = Pattern.compile("[^0-9]+([0-9]+)$");
 
 	private final Logger log = LoggerFactory.getLogger(Influx.class);
-	private final Map<String, EdgeCache> edgeCacheMap = new HashMap<>();
+	private final Map<String, EdgeCache> edgeCacheMap = new ConcurrentHashMap<>();
 	private final FieldTypeConflictHandler fieldTypeConflictHandler;
 
 	private InfluxConnector influxConnector = null;
+	private BatchWriteWorker batchWriteWorker = null;
 
 	public Influx() {
 		super("Timedata.InfluxDB");
@@ -75,6 +80,8 @@ public class Influx extends AbstractOpenemsBackendComponent implements Timedata
 				";username=" + config.username() + //
 				";password=" + (config.password() != null ? "ok" : "NOT_SET") + //
 				";measurement=" + config.measurement() + //
+				";batchSize=" + config.batchSize() + //
+				";noOfFlushThreads=" + config.noOfFlushThreads() + //
 				(config.isReadOnly() ? ";READ_ONLY_MODE" : "") + //
 				"]");
 
@@ -90,11 +97,16 @@ public class Influx extends AbstractOpenemsBackendComponent implements Timedata
 										+ StringUtils.toShortString(failedPoints.toString(), 100));
 					}
 				});
+		this.batchWriteWorker = new BatchWriteWorker(this, this.influxConnector, config);
+		this.batchWriteWorker.start();
 	}
 
 	@Deactivate
 	void deactivate() {
 		this.logInfo(this.log, "Deactivate");
+		if (this.batchWriteWorker != null) {
+			this.batchWriteWorker.stop();
+		}
 		if (this.influxConnector != null) {
 			this.influxConnector.deactivate();
 		}
@@ -106,11 +118,7 @@ public class Influx extends AbstractOpenemsBackendComponent implements Timedata
 		int influxEdgeId = Influx.parseNumberFromName(edgeId);
 
 		// get existing or create new DeviceCache
-		EdgeCache edgeCache = this.edgeCacheMap.get(edgeId);
-		if (edgeCache == null) {
-			edgeCache = new EdgeCache();
-			this.edgeCacheMap.put(edgeId, edgeCache);
-		}
+		EdgeCache edgeCache = this.edgeCacheMap.computeIfAbsent(edgeId, e -> new EdgeCache());
 
 		/*
 		 * Prepare data table. Takes entries starting with eldest timestamp (ascending
@@ -128,17 +136,9 @@ public class Influx extends AbstractOpenemsBackendComponent implements Timedata
 			} else {
 				// incoming data is more recent than cache
 				if (timestamp < cacheTimestamp + 5 * 60 * 1000) {
-					// cache is valid (not elder than 5 minutes)
-					for (Entry<ChannelAddress, JsonElement> cacheEntry : edgeCache.getChannelCacheEntries()
-							.entrySet()) {
-						ChannelAddress channel = cacheEntry.getKey();
-						// check if there is a current value for this timestamp + channel
-						JsonElement existingValue = data.get(timestamp, channel);
-						if (existingValue == null) {
-							// if not -> add cache data to write data
-							data.put(timestamp, channel, cacheEntry.getValue());
-						}
-					}
+					// cache is valid (not elder than 5 minutes): add cache data for channels
+					// without a current value for this timestamp
+					edgeCache.addMissingTo(data.row(timestamp));
 				} else {
 					// cache is not anymore valid (elder than 5 minutes)
 					if (cacheTimestamp != 0L) {
@@ -151,9 +151,7 @@ public class Influx extends AbstractOpenemsBackendComponent implements Timedata
 
 				// update cache
 				edgeCache.setTimestamp(timestamp);
-				for (Entry<ChannelAddress, JsonElement> channelEntry : entry.getValue().entrySet()) {
-					edgeCache.putToChannelCache(channelEntry.getKey(), channelEntry.getValue());
-				}
+				edgeCache.putAllToChannelCache(entry.getValue());
 			}
 		}
 
@@ -164,6 +162,69 @@ public class Influx extends AbstractOpenemsBackendComponent implements Timedata
 		this.writeDataToOldMiniMonitoring(edgeId, influxEdgeId, data);
 	}
 
+	@Override
+	public void write(String edgeId, TimestampedDataBatch data) throws OpenemsException {
+		if (data.getIndex() != ChannelAddressIndex.SHARED || this.isOldMiniMonitoring(edgeId)) {
+			Timedata.super.write(edgeId, data);
+			return;
+		}
+
+		// parse the numeric EdgeId
+		int influxEdgeId = Influx.parseNumberFromName(edgeId);
+
+		// get existing or create new DeviceCache
+		EdgeCache edgeCache = this.edgeCacheMap.computeIfAbsent(edgeId, e -> new EdgeCache());
+
+		// Takes rows starting with eldest timestamp (ascending order)
+		BitSet channelIds = new BitSet();
+		for (int row : data.getRowOrder()) {
+			long timestamp = data.getTimestamp(row);
+
+			// this builds an InfluxDB record ("point") for a given timestamp
+			Point.Builder builder = Point //
+					.measurement(InfluxConnector.MEASUREMENT) //
+					.tag(InfluxConstants.TAG, String.valueOf(influxEdgeId)) //
+					.time(timestamp, TimeUnit.MILLISECONDS);
+			channelIds.clear();
+			for (int i = data.getRowStart(row); i < data.getRowEnd(row); i++) {
+				channelIds.set(data.getChannelId(i));
+				this.addValue(builder, data, i);
+			}
+
+			// Check if cache is valid (it is not elder than 5 minutes compared to this
+			// timestamp)
+			long cacheTimestamp = edgeCache.getTimestamp();
+			if (timestamp < cacheTimestamp) {
+				// incoming data is older than cache -> do not apply cache
+
+			} else {
+				// incoming data is more recent than cache
+				if (timestamp < cacheTimestamp + 5 * 60 * 1000) {
+					// cache is valid (not elder than 5 minutes): add cache data for channels
+					// without a current value for this timestamp
+					edgeCache.forEachMissing(channelIds,
+							(address, value) -> this.addValue(builder, address.toString(), value));
+				} else {
+					// cache is not anymore valid (elder than 5 minutes)
+					if (cacheTimestamp != 0L) {
+						this.logInfo(this.log, "Edge [" + edgeId + "]: invalidate cache for influxId [" + influxEdgeId
+								+ "]. This timestamp [" + timestamp + "]. Cache timestamp [" + cacheTimestamp + "]");
+					}
+					// clear cache
+					edgeCache.clear();
+				}
+
+				// update cache
+				edgeCache.setTimestamp(timestamp);
+				edgeCache.putToChannelCache(data, row);
+			}
+
+			if (builder.hasFields()) {
+				this.batchWriteWorker.write(builder.build());
+			}
+		}
+	}
+
 	/**
 	 * Actually writes the data to InfluxDB.
 	 * 
@@ -196,7 +257,7 @@ public class Influx extends AbstractOpenemsBackendComponent implements Timedata
 				this.addValue(builder, channelEntry.getKey().toString(), channelEntry.getValue());
 			}
 			if (builder.hasFields()) {
-				this.influxConnector.write(builder.build());
+				this.batchWriteWorker.write(builder.build());
 			}
 		}
 	}
@@ -273,6 +334,37 @@ public class Influx extends AbstractOpenemsBackendComponent implements Timedata
 		}
 	}
 
+	/**
+	 * Adds the value of an entry of a {@link TimestampedDataBatch} in the correct
+	 * data format for InfluxDB; without creating a {@link JsonElement} for
+	 * numbers.
+	 *
+	 * @param builder the Influx PointBuilder
+	 * @param data    the {@link TimestampedDataBatch}
+	 * @param i       the entry index
+	 */
+	private void addValue(Builder builder, TimestampedDataBatch data, int i) {
+		String field = data.getAddress(i).toString();
+		if (this.fieldTypeConflictHandler.getHandler(field) != null) {
+			// special case handling requires JsonElement
+			this.addValue(builder, field, data.getValue(i));
+			return;
+		}
+		switch (data.getType(i)) {
+		case TimestampedDataBatch.TYPE_LONG:
+			builder.addField(field, data.getLong(i));
+			break;
+		case TimestampedDataBatch.TYPE_DOUBLE:
+			builder.addField(field, data.getDouble(i));
+			break;
+		case TimestampedDataBatch.TYPE_NULL:
+			// do not add
+			break;
+		default:
+			this.addValue(builder, field, data.getValue(i));
+		}
+	}
+
 	/**
 	 * Handles some special cases for fields.
 	 * 
@@ -296,6 +388,21 @@ public class Influx extends AbstractOpenemsBackendComponent implements Timedata
 		return true;
 	}
 
+	/**
+	 * Does the Edge still write data for old Mini monitoring?.
+	 * 
+	 * <p>
+	 * XXX remove after full migration
+	 * 
+	 * @param edgeId the Edge-ID
+	 * @return true for Mini
+	 * @throws OpenemsException on error
+	 */
+	private boolean isOldMiniMonitoring(String edgeId) throws OpenemsException {
+		Edge edge = this.metadata.getEdgeOrError(edgeId);
+		return edge.getProducttype().equals("MiniES 3-3");
+	}
+
 	/**
 	 * Writes data to old database for old Mini monitoring.
 	 * 
@@ -309,8 +416,7 @@ public class Influx extends AbstractOpenemsBackendComponent implements Timedata
 	 */
 	private void writeDataToOldMiniMonitoring(String edgeId, int influxId,
 			TreeBasedTable<Long, ChannelAddress, JsonElement> data) throws OpenemsException {
-		Edge edge = this.metadata.getEdgeOrError(edgeId);
-		if (!edge.getProducttype().equals("MiniES 3-3")) {
+		if (!this.isOldMiniMonitoring(edgeId)) {
 			return;
 		}
 
@@ -367,7 +473,7 @@ public class Influx extends AbstractOpenemsBackendComponent implements Timedata
 			if (fields.size() > 0) {
 				// write to DB
 				builder.fields(fields);
-				this.influxConnector.write(builder.build());
+				this.batchWriteWorker.write(builder.build());
 			}
 		}
 	}
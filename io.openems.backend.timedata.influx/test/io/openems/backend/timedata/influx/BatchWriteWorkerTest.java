@@ -0,0 +1,290 @@
+package io.openems.backend.timedata.influx;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPInputStream;
+
+import org.influxdb.dto.Point;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import io.openems.common.exceptions.OpenemsException;
+import io.openems.shared.influxdb.InfluxConnector;
+
+public class BatchWriteWorkerTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	/**
+	 * A local stand-in for the InfluxDB HTTP API. Counts the received records.
+	 */
+	private static class InfluxStandIn implements AutoCloseable {
+
+		private final HttpServer server;
+		private final AtomicLong records = new AtomicLong(0);
+		private final AtomicLong requests = new AtomicLong(0);
+
+		private InfluxStandIn() throws IOException {
+			this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+			this.server.createContext("/write", exchange -> {
+				this.requests.incrementAndGet();
+				try (BufferedReader reader = new BufferedReader(
+						new InputStreamReader(getRequestBody(exchange), StandardCharsets.UTF_8))) {
+					this.records.addAndGet(reader.lines().filter(line -> !line.isEmpty()).count());
+				}
+				exchange.sendResponseHeaders(204, -1);
+				exchange.close();
+			});
+			this.server.createContext("/query", exchange -> {
+				byte[] response = "{\"results\":[{\"statement_id\":0}]}".getBytes(StandardCharsets.UTF_8);
+				exchange.getResponseHeaders().add("Content-Type", "application/json");
+				exchange.sendResponseHeaders(200, response.length);
+				try (OutputStream os = exchange.getResponseBody()) {
+					os.write(response);
+				}
+			});
+			this.server.start();
+		}
+
+		private static java.io.InputStream getRequestBody(HttpExchange exchange) throws IOException {
+			if ("gzip".equals(exchange.getRequestHeaders().getFirst("Content-Encoding"))) {
+				return new GZIPInputStream(exchange.getRequestBody());
+			}
+			return exchange.getRequestBody();
+		}
+
+		private int getPort() {
+			return this.server.getAddress().getPort();
+		}
+
+		@Override
+		public void close() {
+			this.server.stop(0);
+		}
+	}
+
+	private static Point point(int edge, long timestamp) {
+		return Point.measurement(InfluxConnector.MEASUREMENT) //
+				.tag("edge", String.valueOf(edge)) //
+				.time(timestamp, TimeUnit.MILLISECONDS) //
+				.addField("_sum/EssSoc", 50) //
+				.addField("_sum/GridActivePower", 1234) //
+				.build();
+	}
+
+	private static void waitFor(java.util.function.BooleanSupplier condition, long timeoutMillis)
+			throws InterruptedException {
+		long deadline = System.currentTimeMillis() + timeoutMillis;
+		while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+		}
+	}
+
+	/**
+	 * Writes Points from multiple producers to a local stand-in HTTP endpoint and
+	 * prints throughput, batch size and flush latency. Only the number of records
+	 * is asserted, as batching depends on the speed of the machine.
+	 *
+	 * @throws Exception on error
+	 */
+	@Test
+	public void testLoad() throws Exception {
+		final int noOfProducers = 4;
+		final int pointsPerProducer = 25_000;
+		final long totalPoints = (long) noOfProducers * pointsPerProducer;
+
+		try (InfluxStandIn influx = new InfluxStandIn()) {
+			InfluxConnector connector = new InfluxConnector("127.0.0.1", influx.getPort(), "user", "password", "db",
+					"autogen", false, (failedPoints, throwable) -> {
+					});
+			BatchWriteWorker worker = new BatchWriteWorker(null, connector::writeBatch,
+					connector::writeLineProtocol, 50_000, 5_000, 100, 2, "");
+			worker.start();
+
+			long start = System.nanoTime();
+			Thread[] producers = new Thread[noOfProducers];
+			for (int p = 0; p < noOfProducers; p++) {
+				final int edge = p;
+				producers[p] = new Thread(() -> {
+					for (int i = 0; i < pointsPerProducer; i++) {
+						worker.write(point(edge, i));
+					}
+				});
+				producers[p].start();
+			}
+			for (Thread producer : producers) {
+				producer.join();
+			}
+			long produceNanos = System.nanoTime() - start;
+
+			waitFor(() -> worker.getWrittenPoints() + worker.getDroppedPoints() >= totalPoints, 30_000);
+			long totalNanos = System.nanoTime() - start;
+			worker.stop();
+			connector.deactivate();
+
+			assertEquals(totalPoints, worker.getWrittenPoints() + worker.getDroppedPoints());
+			assertEquals(worker.getWrittenPoints(), influx.records.get());
+
+			System.out.println("Influx BatchWriteWorker: [" + totalPoints + "] points " //
+					+ "enqueued in [" + TimeUnit.NANOSECONDS.toMillis(produceNanos) + "ms], " //
+					+ "written in [" + TimeUnit.NANOSECONDS.toMillis(totalNanos) + "ms] " //
+					+ "with [" + influx.requests.get() + "] requests; " //
+					+ "dropped [" + worker.getDroppedPoints() + "], " //
+					+ "last batch [" + worker.getLastBatchSize() + "], " //
+					+ "max flush [" + worker.getMaxFlushDuration() + "ms]");
+		}
+	}
+
+	@Test
+	public void testSpillAndReplay() throws Exception {
+		List<String> written = new CopyOnWriteArrayList<>();
+		String spillPath = this.folder.newFolder().toString();
+		BatchWriteWorker worker = new BatchWriteWorker(null, //
+				points -> {
+					points.forEach(p -> written.add(p.lineProtocol()));
+					return true;
+				}, //
+				records -> written.addAll(records), //
+				10, 10, 10, 1, spillPath);
+
+		// Not started -> queue runs full and Points are handed over for spilling
+		for (int i = 0; i < 25; i++) {
+			worker.write(point(0, i));
+		}
+		assertEquals(5, worker.getQueueSize());
+		assertEquals(0, worker.getSpilledPoints()); // no IO in write()
+
+		// After start the Points are spilled, the queue is written and the spilled
+		// Points are replayed
+		worker.start();
+		waitFor(() -> written.size() >= 25, 5_000);
+		worker.stop();
+
+		assertEquals(25, written.size());
+		assertEquals(25, worker.getWrittenPoints());
+		assertEquals(0, worker.getSpilledPoints());
+		assertEquals(0, worker.getDroppedPoints());
+	}
+
+	@Test
+	public void testReplayAttemptsAreLimited() throws Exception {
+		AtomicLong replayAttempts = new AtomicLong(0);
+		String spillPath = this.folder.newFolder().toString();
+		BatchWriteWorker worker = new BatchWriteWorker(null, //
+				points -> true, //
+				records -> {
+					replayAttempts.incrementAndGet();
+					throw new OpenemsException("always failing");
+				}, //
+				10, 10, 10, 1, spillPath);
+
+		for (int i = 0; i < 25; i++) {
+			worker.write(point(0, i));
+		}
+		worker.start();
+		// keep live Points flowing; spilled Points are replayed after every flush
+		for (int i = 0; i < 1000 && worker.getDroppedPoints() < 20; i++) {
+			worker.write(point(1, i));
+			Thread.sleep(5);
+		}
+		worker.stop();
+
+		assertEquals(20, worker.getDroppedPoints());
+		assertEquals(0, worker.getSpilledPoints());
+		// two batches of ten records, five attempts each
+		assertEquals(10, replayAttempts.get());
+	}
+
+	@Test
+	public void testRejectedAreDropped() throws Exception {
+		List<String> written = new CopyOnWriteArrayList<>();
+		String spillPath = this.folder.newFolder().toString();
+		BatchWriteWorker worker = new BatchWriteWorker(null, //
+				points -> {
+					points.forEach(p -> written.add(p.lineProtocol()));
+					return true;
+				}, //
+				records -> false, // e.g. a field type conflict
+				10, 10, 10, 1, spillPath);
+
+		for (int i = 0; i < 25; i++) {
+			worker.write(point(0, i));
+		}
+		worker.start();
+		waitFor(() -> worker.getDroppedPoints() >= 20, 5_000);
+		worker.stop();
+
+		assertEquals(5, worker.getWrittenPoints());
+		assertEquals(20, worker.getDroppedPoints());
+		assertEquals(0, worker.getSpilledPoints());
+	}
+
+	@Test
+	public void testRejectedBatchesAreDropped() throws Exception {
+		BatchWriteWorker worker = new BatchWriteWorker(null, //
+				points -> false, // e.g. a field type conflict
+				records -> true, //
+				10, 10, 10, 1, this.folder.newFolder().toString());
+
+		for (int i = 0; i < 5; i++) {
+			worker.write(point(0, i));
+		}
+		worker.start();
+		waitFor(() -> worker.getDroppedPoints() >= 5, 5_000);
+		worker.stop();
+
+		assertEquals(0, worker.getWrittenPoints());
+		assertEquals(5, worker.getDroppedPoints());
+		assertEquals(0, worker.getSpilledPoints());
+	}
+
+	@Test
+	public void testInterruptedReplayIsRecovered() throws Exception {
+		List<String> written = new CopyOnWriteArrayList<>();
+		Path spillPath = this.folder.newFolder().toPath();
+		// e.g. the Backend crashed during a replay
+		Files.write(spillPath.resolve("replay.lp"), Arrays.asList(point(0, 0).lineProtocol(),
+				point(0, 1).lineProtocol()), StandardCharsets.UTF_8);
+		Files.write(spillPath.resolve("spill.lp"), Arrays.asList(point(0, 2).lineProtocol()),
+				StandardCharsets.UTF_8);
+		BatchWriteWorker worker = new BatchWriteWorker(null, //
+				points -> {
+					points.forEach(p -> written.add(p.lineProtocol()));
+					return true;
+				}, //
+				records -> written.addAll(records), //
+				10, 10, 10, 1, spillPath.toString());
+
+		worker.start();
+		// replay is triggered by a successful flush
+		worker.write(point(1, 0));
+		waitFor(() -> written.size() >= 4, 5_000);
+		worker.stop();
+
+		assertEquals(4, written.size());
+		assertEquals(4, worker.getWrittenPoints());
+		assertEquals(0, worker.getDroppedPoints());
+		assertFalse(Files.exists(spillPath.resolve("replay.lp")));
+		assertFalse(Files.exists(spillPath.resolve("spill.lp")));
+	}
+
+}
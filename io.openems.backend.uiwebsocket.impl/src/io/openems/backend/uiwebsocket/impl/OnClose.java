@@ -30,6 +30,7 @@ public class OnClose implements io.openems.common.websocket.OnClose {
 			this.parent.logInfo(this.log, "User [" + wsData.getUserId().orElse("UNKNOWN") + "] disconnected.");
 		}
 
+		this.parent.sessions.remove(wsData);
 		wsData.dispose();
 	}
 
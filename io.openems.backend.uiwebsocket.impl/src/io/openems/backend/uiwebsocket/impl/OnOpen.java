@@ -67,6 +67,9 @@ public class OnOpen implements io.openems.common.websocket.OnOpen {
 		UUID token = UUID.randomUUID();
 		wsData.setToken(token);
 
+		// add to index for routing by token and Edge-ID
+		this.parent.sessions.add(wsData, token, user);
+
 		// send connection successful reply
 		List<EdgeMetadata> metadatas = new ArrayList<>();
 		for (Entry<String, Role> edgeRole : user.getEdgeRoles().entrySet()) {
@@ -68,7 +68,11 @@ public class OnRequest implements io.openems.common.websocket.OnRequest {
 			throw OpenemsError.COMMON_USER_NOT_AUTHENTICATED.exception("User with ID [" + userIdOpt.get()
 					+ "] is unknown. Ignoring request [" + request.getMethod() + "]");
 		}
-		return userOpt.get();
+		BackendUser user = userOpt.get();
+
+		// keep the index up-to-date if the Roles of the User changed
+		this.parent.sessions.update(wsData, user);
+		return user;
 	}
 
 	/**
@@ -0,0 +1,163 @@
+package io.openems.backend.uiwebsocket.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+import io.openems.backend.metadata.api.BackendUser;
+import io.openems.common.session.Role;
+
+/**
+ * Indexes the UI connections by token and by the Edge-IDs the authenticated
+ * User has a Role for.
+ *
+ * <p>
+ * Routing of notifications to a token or to all sessions of an Edge is a hash
+ * lookup instead of walking all connections. The index is updated on login
+ * ({@link #add(WsData, UUID, BackendUser)}), on close
+ * ({@link #remove(WsData)}) and whenever the Roles of a User changed: either
+ * via {@link BackendUser#onAddEdgeRole(BiConsumer)}, e.g. when Metadata
+ * assigns a new Edge to the User, or when a request sees a different
+ * {@link BackendUser} object (see {@link #update(WsData, BackendUser)}).
+ */
+public class SessionIndex {
+
+	private static class Session {
+		private final UUID token;
+		private final BackendUser user;
+		private final int noOfEdgeRoles;
+		private final Set<String> edgeIds;
+		private final BiConsumer<String, Role> onAddEdgeRole;
+
+		private Session(UUID token, BackendUser user, BiConsumer<String, Role> onAddEdgeRole) {
+			this.token = token;
+			this.user = user;
+			this.edgeIds = new TreeSet<>(user.getEdgeRoles().keySet());
+			this.noOfEdgeRoles = this.edgeIds.size();
+			this.onAddEdgeRole = onAddEdgeRole;
+		}
+
+		/**
+		 * Did the User or its Roles change since indexing?.
+		 *
+		 * <p>
+		 * Roles are only ever added to a {@link BackendUser}, so a changed number of
+		 * Roles or a new User object indicates a change.
+		 *
+		 * @param user the current {@link BackendUser}
+		 * @return true if changed
+		 */
+		private boolean isOutdated(BackendUser user) {
+			return this.user != user || this.noOfEdgeRoles != user.getEdgeRoles().size();
+		}
+	}
+
+	private final Map<UUID, WsData> sessionsByToken = new ConcurrentHashMap<>();
+	private final Map<String, Set<WsData>> sessionsByEdgeId = new ConcurrentHashMap<>();
+	private final Map<WsData, Session> sessions = new ConcurrentHashMap<>();
+
+	/**
+	 * Adds an authenticated session.
+	 *
+	 * @param wsData the WebSocket attachment
+	 * @param token  the UI token
+	 * @param user   the authenticated {@link BackendUser}
+	 */
+	public synchronized void add(WsData wsData, UUID token, BackendUser user) {
+		this.remove(wsData);
+		// register before reading the Roles, so that no added Role is missed
+		BiConsumer<String, Role> onAddEdgeRole = (edgeId, role) -> this.update(wsData, user);
+		user.onAddEdgeRole(onAddEdgeRole);
+		Session session = new Session(token, user, onAddEdgeRole);
+		this.sessions.put(wsData, session);
+		this.sessionsByToken.put(token, wsData);
+		for (String edgeId : session.edgeIds) {
+			this.sessionsByEdgeId.computeIfAbsent(edgeId, e -> ConcurrentHashMap.newKeySet()).add(wsData);
+		}
+	}
+
+	/**
+	 * Updates the Edge-IDs of a session if the {@link BackendUser} or its Roles
+	 * changed. This is cheap if nothing changed.
+	 *
+	 * @param wsData the WebSocket attachment
+	 * @param user   the current {@link BackendUser}
+	 */
+	public void update(WsData wsData, BackendUser user) {
+		Session session = this.sessions.get(wsData);
+		if (session == null || !session.isOutdated(user)) {
+			return;
+		}
+		synchronized (this) {
+			session = this.sessions.get(wsData);
+			if (session != null && session.isOutdated(user)) {
+				this.add(wsData, session.token, user);
+			}
+		}
+	}
+
+	/**
+	 * Removes a session, e.g. on close.
+	 *
+	 * @param wsData the WebSocket attachment
+	 */
+	public synchronized void remove(WsData wsData) {
+		Session session = this.sessions.remove(wsData);
+		if (session == null) {
+			return;
+		}
+		session.user.removeOnAddEdgeRole(session.onAddEdgeRole);
+		this.sessionsByToken.remove(session.token, wsData);
+		for (String edgeId : session.edgeIds) {
+			Set<WsData> edgeSessions = this.sessionsByEdgeId.get(edgeId);
+			if (edgeSessions != null) {
+				edgeSessions.remove(wsData);
+				if (edgeSessions.isEmpty()) {
+					this.sessionsByEdgeId.remove(edgeId);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Gets the session for a UI token.
+	 *
+	 * @param token the UI token
+	 * @return the WebSocket attachment; empty if there is no session with this
+	 *         token
+	 */
+	public Optional<WsData> getByToken(UUID token) {
+		return Optional.ofNullable(this.sessionsByToken.get(token));
+	}
+
+	/**
+	 * Gets all sessions whose User has a Role for the given Edge-ID.
+	 *
+	 * @param edgeId the Edge-ID
+	 * @return the WebSocket attachments; empty list if there are none
+	 */
+	public List<WsData> getByEdgeId(String edgeId) {
+		Set<WsData> edgeSessions = this.sessionsByEdgeId.get(edgeId);
+		if (edgeSessions == null) {
+			return Collections.emptyList();
+		}
+		return new ArrayList<>(edgeSessions);
+	}
+
+	/**
+	 * Gets the number of indexed sessions.
+	 *
+	 * @return the number of sessions
+	 */
+	public int size() {
+		return this.sessions.size();
+	}
+
+}
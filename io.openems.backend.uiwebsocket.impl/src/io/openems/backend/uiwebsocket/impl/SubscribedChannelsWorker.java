@@ -1,20 +1,37 @@
 package io.openems.backend.uiwebsocket.impl;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Optional;
+import java.util.Set;
+
+import org.java_websocket.WebSocket;
 
 import com.google.gson.JsonElement;
 import com.google.gson.JsonNull;
 
+import io.openems.backend.common.websocket.SubscriptionScheduler;
+import io.openems.backend.common.websocket.SubscriptionScheduler.Tick;
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.common.jsonrpc.base.JsonrpcNotification;
 import io.openems.common.jsonrpc.notification.CurrentDataNotification;
 import io.openems.common.jsonrpc.notification.EdgeRpcNotification;
 import io.openems.common.types.ChannelAddress;
+import io.openems.common.websocket.EncodedMessage;
 
-public class SubscribedChannelsWorker extends io.openems.common.websocket.SubscribedChannelsWorker {
+/**
+ * Takes care of the subscribed Channels of one UI connection.
+ *
+ * <p>
+ * Instead of an own thread per connection, the shared
+ * {@link SubscriptionScheduler} of {@link UiWebsocketImpl} is used.
+ */
+public class SubscribedChannelsWorker extends io.openems.common.websocket.SubscribedChannelsWorker
+		implements SubscriptionScheduler.Subscription {
 
 	private final UiWebsocketImpl parent;
 
-	private String edgeId = null;
+	private volatile String edgeId = null;
 
 	public SubscribedChannelsWorker(UiWebsocketImpl parent, WsData wsData) {
 		super(wsData);
@@ -23,13 +40,56 @@ public class SubscribedChannelsWorker extends io.openems.common.websocket.Subscr
 
 	/**
 	 * Sets the Edge-ID.
-	 * 
+	 *
 	 * @param edgeId the Edge-ID
 	 */
 	public void setEdgeId(String edgeId) {
 		this.edgeId = edgeId;
 	}
 
+	@Override
+	protected synchronized void updateSubscription() {
+		if (this.getChannels().isEmpty()) {
+			this.parent.subscriptionScheduler.unsubscribe(this);
+		} else {
+			this.parent.subscriptionScheduler.subscribe(this);
+		}
+	}
+
+	@Override
+	public synchronized void dispose() {
+		this.parent.subscriptionScheduler.unsubscribe(this);
+	}
+
+	@Override
+	public boolean isActive() {
+		WebSocket ws = this.wsData.getWebsocket();
+		return ws != null && ws.isOpen();
+	}
+
+	@Override
+	public Set<String> getEdgeIds() {
+		String edgeId = this.edgeId;
+		if (edgeId == null) {
+			return Collections.emptySet();
+		}
+		return Collections.singleton(edgeId);
+	}
+
+	@Override
+	public void sendCurrentData(Tick tick) throws OpenemsNamedException {
+		String edgeId = this.edgeId;
+		Set<ChannelAddress> channels = this.getChannels();
+		EncodedMessage message = tick.getEncoded(Arrays.asList(edgeId, channels), () -> {
+			CurrentDataNotification currentData = new CurrentDataNotification();
+			for (ChannelAddress channel : channels) {
+				currentData.add(channel, edgeId == null ? JsonNull.INSTANCE : tick.getChannelValue(edgeId, channel));
+			}
+			return new EdgeRpcNotification(edgeId, currentData);
+		});
+		this.wsData.sendEncoded(message);
+	}
+
 	@Override
 	protected JsonElement getChannelValue(ChannelAddress channelAddress) {
 		if (this.edgeId == null) {
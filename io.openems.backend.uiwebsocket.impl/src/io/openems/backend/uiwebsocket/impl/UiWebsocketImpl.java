@@ -1,14 +1,10 @@
 package io.openems.backend.uiwebsocket.impl;
 
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 
-import org.java_websocket.WebSocket;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.ConfigurationPolicy;
@@ -19,8 +15,8 @@ import org.slf4j.Logger;
 
 import io.openems.backend.common.component.AbstractOpenemsBackendComponent;
 import io.openems.backend.common.jsonrpc.JsonRpcRequestHandler;
+import io.openems.backend.common.websocket.SubscriptionScheduler;
 import io.openems.backend.edgewebsocket.api.EdgeWebsocket;
-import io.openems.backend.metadata.api.BackendUser;
 import io.openems.backend.metadata.api.Metadata;
 import io.openems.backend.timedata.api.Timedata;
 import io.openems.backend.uiwebsocket.api.UiWebsocket;
@@ -29,7 +25,7 @@ import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.common.jsonrpc.base.JsonrpcNotification;
 import io.openems.common.jsonrpc.base.JsonrpcRequest;
 import io.openems.common.jsonrpc.base.JsonrpcResponseSuccess;
-import io.openems.common.session.Role;
+import io.openems.common.websocket.EncodedMessage;
 
 @Designate(ocd = Config.class, factory = false)
 @Component(name = "Ui.Websocket", configurationPolicy = ConfigurationPolicy.REQUIRE, immediate = true)
@@ -39,6 +35,17 @@ public class UiWebsocketImpl extends AbstractOpenemsBackendComponent implements
 
 	protected WebsocketServer server = null;
 
+	/**
+	 * Indexes the connections by token and Edge-ID.
+	 */
+	protected final SessionIndex sessions = new SessionIndex();
+
+	/**
+	 * Sends the subscribed Channels of all connections.
+	 */
+	protected final SubscriptionScheduler subscriptionScheduler = new SubscriptionScheduler("Ui.Websocket",
+			(edgeId, channel) -> this.timeData.getChannelValue(edgeId, channel));
+
 	@Reference
 	protected volatile JsonRpcRequestHandler jsonRpcRequestHandler;
 
@@ -57,12 +64,14 @@ public class UiWebsocketImpl extends AbstractOpenemsBackendComponent implements
 
 	@Activate
 	void activate(Config config) {
+		this.subscriptionScheduler.start();
 		this.startServer(config.port());
 	}
 
 	@Deactivate
 	void deactivate() {
 		this.stopServer();
+		this.subscriptionScheduler.stop();
 	}
 
 	/**
@@ -110,10 +119,15 @@ public class UiWebsocketImpl extends AbstractOpenemsBackendComponent implements
 	@Override
 	public void send(String edgeId, JsonrpcNotification notification) throws OpenemsNamedException {
 		List<WsData> wsDatas = this.getWsDatasForEdgeId(edgeId);
+		if (wsDatas.isEmpty()) {
+			return;
+		}
+		// encode only once for all UIs of this Edge
+		EncodedMessage message = EncodedMessage.from(notification);
 		OpenemsNamedException exception = null;
 		for (WsData wsData : wsDatas) {
 			try {
-				wsData.send(notification);
+				wsData.sendEncoded(message);
 			} catch (OpenemsNamedException e) {
 				exception = e;
 			}
@@ -131,14 +145,9 @@ public class UiWebsocketImpl extends AbstractOpenemsBackendComponent implements
 	 * @throws OpenemsNamedException if there is no connection with this token
 	 */
 	private WsData getWsDataForTokenOrError(UUID token) throws OpenemsNamedException {
-		Collection<WebSocket> connections = this.server.getConnections();
-		for (Iterator<WebSocket> iter = connections.iterator(); iter.hasNext();) {
-			WebSocket websocket = iter.next();
-			WsData wsData = websocket.getAttachment();
-			Optional<UUID> thisToken = wsData.getToken();
-			if (thisToken.isPresent() && thisToken.get().equals(token)) {
-				return wsData;
-			}
+		Optional<WsData> wsDataOpt = this.sessions.getByToken(token);
+		if (wsDataOpt.isPresent()) {
+			return wsDataOpt.get();
 		}
 		throw OpenemsError.BACKEND_NO_UI_WITH_TOKEN.exception(token);
 	}
@@ -151,28 +160,7 @@ public class UiWebsocketImpl extends AbstractOpenemsBackendComponent implements
 	 * @return the WsDatas; empty list if there are none
 	 */
 	private List<WsData> getWsDatasForEdgeId(String edgeId) {
-		List<WsData> result = new ArrayList<>();
-		Collection<WebSocket> connections = this.server.getConnections();
-		for (Iterator<WebSocket> iter = connections.iterator(); iter.hasNext();) {
-			WebSocket websocket = iter.next();
-			WsData wsData = websocket.getAttachment();
-			// get attachment User-ID
-			Optional<String> userIdOpt = wsData.getUserId();
-			if (userIdOpt.isPresent()) {
-				String userId = userIdOpt.get();
-				// get BackendUser for User-ID
-				Optional<BackendUser> userOpt = this.metadata.getUser(userId);
-				if (userOpt.isPresent()) {
-					BackendUser user = userOpt.get();
-					Optional<Role> edgeRoleOpt = user.getEdgeRole(edgeId);
-					if (edgeRoleOpt.isPresent()) {
-						// User has access to this Edge-ID
-						result.add(wsData);
-					}
-				}
-			}
-		}
-		return result;
+		return this.sessions.getByEdgeId(edgeId);
 	}
 
 }
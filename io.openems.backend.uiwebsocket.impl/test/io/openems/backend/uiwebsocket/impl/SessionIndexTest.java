@@ -0,0 +1,106 @@
+package io.openems.backend.uiwebsocket.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.UUID;
+
+import org.junit.Test;
+
+import io.openems.backend.metadata.api.BackendUser;
+import io.openems.common.session.Role;
+
+public class SessionIndexTest {
+
+	private static final UiWebsocketImpl PARENT = new UiWebsocketImpl();
+
+	private static BackendUser user(String... edgeIds) {
+		BackendUser user = new BackendUser("user0", "User 0");
+		for (String edgeId : edgeIds) {
+			user.addEdgeRole(edgeId, Role.ADMIN);
+		}
+		return user;
+	}
+
+	@Test
+	public void testAddAndRemove() {
+		SessionIndex sut = new SessionIndex();
+		WsData ws0 = new WsData(PARENT);
+		WsData ws1 = new WsData(PARENT);
+		UUID token0 = UUID.randomUUID();
+		UUID token1 = UUID.randomUUID();
+		BackendUser user = user("edge0", "edge1");
+
+		sut.add(ws0, token0, user);
+		sut.add(ws1, token1, user("edge1"));
+		assertEquals(2, sut.size());
+		assertSame(ws0, sut.getByToken(token0).get());
+		assertSame(ws1, sut.getByToken(token1).get());
+		assertEquals(Arrays.asList(ws0), sut.getByEdgeId("edge0"));
+		assertEquals(2, sut.getByEdgeId("edge1").size());
+		assertEquals(Collections.emptyList(), sut.getByEdgeId("edge2"));
+
+		sut.remove(ws0);
+		assertEquals(1, sut.size());
+		assertFalse(sut.getByToken(token0).isPresent());
+		assertEquals(Collections.emptyList(), sut.getByEdgeId("edge0"));
+		assertEquals(Arrays.asList(ws1), sut.getByEdgeId("edge1"));
+
+		// a removed session is not updated anymore
+		user.addEdgeRole("edge2", Role.ADMIN);
+		assertEquals(Collections.emptyList(), sut.getByEdgeId("edge2"));
+		assertEquals(1, sut.size());
+	}
+
+	@Test
+	public void testAddEdgeRole() {
+		SessionIndex sut = new SessionIndex();
+		WsData ws0 = new WsData(PARENT);
+		UUID token0 = UUID.randomUUID();
+		BackendUser user = user("edge0");
+		sut.add(ws0, token0, user);
+
+		// e.g. Metadata assigns a new Edge to the User; no request required
+		user.addEdgeRole("edge1", Role.GUEST);
+		assertEquals(Arrays.asList(ws0), sut.getByEdgeId("edge1"));
+		assertEquals(Arrays.asList(ws0), sut.getByEdgeId("edge0"));
+		assertSame(ws0, sut.getByToken(token0).get());
+		assertEquals(1, sut.size());
+	}
+
+	@Test
+	public void testUpdate() {
+		SessionIndex sut = new SessionIndex();
+		WsData ws0 = new WsData(PARENT);
+		UUID token0 = UUID.randomUUID();
+		BackendUser user = user("edge0");
+		sut.add(ws0, token0, user);
+
+		// unchanged
+		sut.update(ws0, user);
+		assertEquals(Arrays.asList(ws0), sut.getByEdgeId("edge0"));
+
+		// e.g. the User authenticated again and Metadata holds a new object
+		BackendUser newUser = user("edge1");
+		sut.update(ws0, newUser);
+		assertEquals(Collections.emptyList(), sut.getByEdgeId("edge0"));
+		assertEquals(Arrays.asList(ws0), sut.getByEdgeId("edge1"));
+		assertSame(ws0, sut.getByToken(token0).get());
+
+		// the index follows the new object only
+		user.addEdgeRole("edge2", Role.ADMIN);
+		assertEquals(Collections.emptyList(), sut.getByEdgeId("edge2"));
+		newUser.addEdgeRole("edge3", Role.ADMIN);
+		assertEquals(Arrays.asList(ws0), sut.getByEdgeId("edge3"));
+
+		// unknown sessions are ignored
+		sut.update(new WsData(PARENT), newUser);
+		assertEquals(1, sut.size());
+		assertTrue(sut.getByEdgeId("edge1").contains(ws0));
+	}
+
+}
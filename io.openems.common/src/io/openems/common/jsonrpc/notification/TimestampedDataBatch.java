@@ -0,0 +1,374 @@
+package io.openems.common.jsonrpc.notification;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import com.google.common.collect.TreeBasedTable;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonPrimitive;
+
+import io.openems.common.types.ChannelAddress;
+import io.openems.common.types.ChannelAddressIndex;
+
+/**
+ * Holds the data of a {@link TimestampedDataNotification} in compact, columnar
+ * form.
+ *
+ * <p>
+ * Every value is one entry with a Channel-ID (see {@link ChannelAddressIndex}),
+ * a type and - for numbers - a primitive value. Entries are grouped in rows of
+ * the same timestamp. Only non-numeric values (e.g. Strings) are kept as
+ * {@link JsonElement}.
+ */
+public final class TimestampedDataBatch {
+
+	public static final byte TYPE_NULL = 1;
+	public static final byte TYPE_LONG = 2;
+	public static final byte TYPE_DOUBLE = 3;
+	public static final byte TYPE_OBJECT = 4;
+
+	private final ChannelAddressIndex index;
+
+	private int noOfRows = 0;
+	private long[] rowTimestamps = new long[4];
+	private int[] rowEnds = new int[4];
+
+	private int size = 0;
+	private int[] channelIds;
+	private byte[] types;
+	private long[] values;
+	private JsonElement[] objects = null;
+
+	public TimestampedDataBatch(ChannelAddressIndex index) {
+		this(index, 64);
+	}
+
+	public TimestampedDataBatch(ChannelAddressIndex index, int initialCapacity) {
+		this.index = index;
+		int capacity = Math.max(1, initialCapacity);
+		this.channelIds = new int[capacity];
+		this.types = new byte[capacity];
+		this.values = new long[capacity];
+	}
+
+	/**
+	 * Creates a {@link TimestampedDataBatch} from a data table.
+	 *
+	 * <p>
+	 * If the {@link ChannelAddressIndex} is full, a separate
+	 * {@link ChannelAddressIndex} is used for the result.
+	 *
+	 * @param index the {@link ChannelAddressIndex}
+	 * @param data  Table of timestamp, Channel-Address and the Channel value
+	 * @return the {@link TimestampedDataBatch}
+	 */
+	public static TimestampedDataBatch from(ChannelAddressIndex index,
+			TreeBasedTable<Long, ChannelAddress, JsonElement> data) {
+		TimestampedDataBatch result = new TimestampedDataBatch(index, data.size());
+		for (Entry<Long, Map<ChannelAddress, JsonElement>> row : data.rowMap().entrySet()) {
+			result.startRow(row.getKey());
+			for (Entry<ChannelAddress, JsonElement> entry : row.getValue().entrySet()) {
+				int channelId = index.getOrCreateId(entry.getKey());
+				if (channelId < 0) {
+					return from(new ChannelAddressIndex(), data);
+				}
+				result.add(channelId, entry.getValue());
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Starts a new row. All following values belong to this timestamp.
+	 *
+	 * @param timestamp the timestamp
+	 */
+	void startRow(long timestamp) {
+		if (this.noOfRows == this.rowTimestamps.length) {
+			this.rowTimestamps = Arrays.copyOf(this.rowTimestamps, this.noOfRows * 2);
+			this.rowEnds = Arrays.copyOf(this.rowEnds, this.noOfRows * 2);
+		}
+		this.rowTimestamps[this.noOfRows] = timestamp;
+		this.rowEnds[this.noOfRows] = this.size;
+		this.noOfRows++;
+	}
+
+	void addNull(int channelId) {
+		this.addEntry(channelId, TYPE_NULL, 0);
+	}
+
+	void addLong(int channelId, long value) {
+		this.addEntry(channelId, TYPE_LONG, value);
+	}
+
+	void addDouble(int channelId, double value) {
+		this.addEntry(channelId, TYPE_DOUBLE, Double.doubleToRawLongBits(value));
+	}
+
+	void addObject(int channelId, JsonElement value) {
+		int i = this.addEntry(channelId, TYPE_OBJECT, 0);
+		if (this.objects == null) {
+			this.objects = new JsonElement[this.types.length];
+		}
+		this.objects[i] = value;
+	}
+
+	/**
+	 * Adds a number that is given as text, e.g. while parsing JSON. The number is
+	 * kept as primitive if it can be represented without loss.
+	 *
+	 * @param channelId the Channel-ID
+	 * @param text      the number as text
+	 */
+	void addNumber(int channelId, String text) {
+		boolean isDecimal = false;
+		for (int i = 0; i < text.length(); i++) {
+			char c = text.charAt(i);
+			if (c == '.' || c == 'e' || c == 'E') {
+				isDecimal = true;
+				break;
+			}
+		}
+		try {
+			if (!isDecimal) {
+				this.addLong(channelId, Long.parseLong(text));
+				return;
+			}
+			double d = Double.parseDouble(text);
+			if (Double.toString(d).equals(text)) {
+				this.addDouble(channelId, d);
+				return;
+			}
+		} catch (NumberFormatException e) {
+			// not representable as long or double
+		}
+		try {
+			this.addObject(channelId, new JsonPrimitive(new BigDecimal(text)));
+		} catch (NumberFormatException e) {
+			// e.g. 'NaN' in lenient JSON
+			this.addObject(channelId, new JsonPrimitive(text));
+		}
+	}
+
+	/**
+	 * Adds a value given as {@link JsonElement}.
+	 *
+	 * @param channelId the Channel-ID
+	 * @param value     the value
+	 */
+	void add(int channelId, JsonElement value) {
+		if (value == null || value.isJsonNull()) {
+			this.addNull(channelId);
+			return;
+		}
+		if (value.isJsonPrimitive()) {
+			JsonPrimitive primitive = value.getAsJsonPrimitive();
+			if (primitive.isNumber()) {
+				Number number = primitive.getAsNumber();
+				if (number instanceof Integer || number instanceof Long || number instanceof Short
+						|| number instanceof Byte) {
+					this.addLong(channelId, number.longValue());
+				} else if (number instanceof Double || number instanceof Float) {
+					this.addDouble(channelId, number.doubleValue());
+				} else {
+					this.addNumber(channelId, primitive.getAsString());
+				}
+				return;
+			}
+		}
+		this.addObject(channelId, value);
+	}
+
+	private int addEntry(int channelId, byte type, long value) {
+		if (this.noOfRows == 0) {
+			throw new IllegalStateException("No row was started");
+		}
+		if (this.size == this.types.length) {
+			int length = this.size * 2;
+			this.channelIds = Arrays.copyOf(this.channelIds, length);
+			this.types = Arrays.copyOf(this.types, length);
+			this.values = Arrays.copyOf(this.values, length);
+			if (this.objects != null) {
+				this.objects = Arrays.copyOf(this.objects, length);
+			}
+		}
+		int i = this.size++;
+		this.channelIds[i] = channelId;
+		this.types[i] = type;
+		this.values[i] = value;
+		this.rowEnds[this.noOfRows - 1] = this.size;
+		return i;
+	}
+
+	/**
+	 * Gets the {@link ChannelAddressIndex} of the Channel-IDs.
+	 *
+	 * @return the {@link ChannelAddressIndex}
+	 */
+	public ChannelAddressIndex getIndex() {
+		return this.index;
+	}
+
+	/**
+	 * Gets the number of rows, i.e. timestamps.
+	 *
+	 * @return the number of rows
+	 */
+	public int getNoOfRows() {
+		return this.noOfRows;
+	}
+
+	/**
+	 * Gets the row numbers in ascending order of their timestamps.
+	 *
+	 * @return the row numbers
+	 */
+	public int[] getRowOrder() {
+		int[] order = new int[this.noOfRows];
+		boolean isSorted = true;
+		for (int row = 0; row < this.noOfRows; row++) {
+			order[row] = row;
+			if (row > 0 && this.rowTimestamps[row] < this.rowTimestamps[row - 1]) {
+				isSorted = false;
+			}
+		}
+		if (isSorted) {
+			return order;
+		}
+		return Arrays.stream(order).boxed() //
+				.sorted((r1, r2) -> Long.compare(this.rowTimestamps[r1], this.rowTimestamps[r2])) //
+				.mapToInt(Integer::intValue) //
+				.toArray();
+	}
+
+	/**
+	 * Gets the timestamp of a row.
+	 *
+	 * @param row the row number
+	 * @return the timestamp
+	 */
+	public long getTimestamp(int row) {
+		return this.rowTimestamps[row];
+	}
+
+	/**
+	 * Gets the index of the first entry of a row.
+	 *
+	 * @param row the row number
+	 * @return the entry index
+	 */
+	public int getRowStart(int row) {
+		return row == 0 ? 0 : this.rowEnds[row - 1];
+	}
+
+	/**
+	 * Gets the index after the last entry of a row.
+	 *
+	 * @param row the row number
+	 * @return the entry index
+	 */
+	public int getRowEnd(int row) {
+		return this.rowEnds[row];
+	}
+
+	/**
+	 * Gets the total number of entries.
+	 *
+	 * @return the number of entries
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * Gets the Channel-ID of an entry.
+	 *
+	 * @param i the entry index
+	 * @return the Channel-ID in the {@link ChannelAddressIndex}
+	 */
+	public int getChannelId(int i) {
+		return this.channelIds[i];
+	}
+
+	/**
+	 * Gets the {@link ChannelAddress} of an entry.
+	 *
+	 * @param i the entry index
+	 * @return the {@link ChannelAddress}
+	 */
+	public ChannelAddress getAddress(int i) {
+		return this.index.getAddress(this.channelIds[i]);
+	}
+
+	/**
+	 * Gets the type of an entry; one of TYPE_NULL, TYPE_LONG, TYPE_DOUBLE or
+	 * TYPE_OBJECT.
+	 *
+	 * @param i the entry index
+	 * @return the type
+	 */
+	public byte getType(int i) {
+		return this.types[i];
+	}
+
+	/**
+	 * Gets the value of a TYPE_LONG entry.
+	 *
+	 * @param i the entry index
+	 * @return the value
+	 */
+	public long getLong(int i) {
+		return this.values[i];
+	}
+
+	/**
+	 * Gets the value of a TYPE_DOUBLE entry.
+	 *
+	 * @param i the entry index
+	 * @return the value
+	 */
+	public double getDouble(int i) {
+		return Double.longBitsToDouble(this.values[i]);
+	}
+
+	/**
+	 * Gets the value of an entry as {@link JsonElement}. For numbers this creates
+	 * a new {@link JsonPrimitive}.
+	 *
+	 * @param i the entry index
+	 * @return the value
+	 */
+	public JsonElement getValue(int i) {
+		switch (this.types[i]) {
+		case TYPE_LONG:
+			return new JsonPrimitive(this.values[i]);
+		case TYPE_DOUBLE:
+			return new JsonPrimitive(Double.longBitsToDouble(this.values[i]));
+		case TYPE_OBJECT:
+			return this.objects[i];
+		case TYPE_NULL:
+		default:
+			return JsonNull.INSTANCE;
+		}
+	}
+
+	/**
+	 * Converts this batch to a data table.
+	 *
+	 * @return Table of timestamp, Channel-Address and the Channel value
+	 */
+	public TreeBasedTable<Long, ChannelAddress, JsonElement> toTable() {
+		TreeBasedTable<Long, ChannelAddress, JsonElement> result = TreeBasedTable.create();
+		for (int row = 0; row < this.noOfRows; row++) {
+			Long timestamp = this.rowTimestamps[row];
+			for (int i = this.getRowStart(row); i < this.rowEnds[row]; i++) {
+				result.put(timestamp, this.getAddress(i), this.getValue(i));
+			}
+		}
+		return result;
+	}
+
+}
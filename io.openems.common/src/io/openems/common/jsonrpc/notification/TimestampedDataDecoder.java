@@ -0,0 +1,167 @@
+package io.openems.common.jsonrpc.notification;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import io.openems.common.exceptions.OpenemsError;
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.jsonrpc.base.JsonrpcMessage;
+import io.openems.common.types.ChannelAddressIndex;
+
+/**
+ * Parses JSON-RPC messages with a streaming {@link JsonReader}.
+ *
+ * <p>
+ * The 'params' of a {@link TimestampedDataNotification} are read directly into
+ * a {@link TimestampedDataBatch} - without building a {@link JsonObject} tree
+ * and a table of {@link JsonPrimitive}s first. All other messages are handled
+ * like {@link JsonrpcMessage#from(String)}.
+ *
+ * <p>
+ * If the given {@link ChannelAddressIndex} is full, the message is decoded
+ * again with a separate {@link ChannelAddressIndex}, so that Channel-Addresses
+ * received from an Edge can never grow a shared index without limit.
+ */
+public class TimestampedDataDecoder {
+
+	private static final JsonParser PARSER = new JsonParser();
+
+	/**
+	 * Thrown if the {@link ChannelAddressIndex} has no more free IDs.
+	 */
+	private static class IndexFullException extends RuntimeException {
+
+		private static final long serialVersionUID = 1L;
+
+		private IndexFullException() {
+			super(null, null, false, false);
+		}
+	}
+
+	private TimestampedDataDecoder() {
+	}
+
+	/**
+	 * Parses a JSON-RPC message.
+	 *
+	 * @param json  the message as String
+	 * @param index the {@link ChannelAddressIndex} for the Channel-IDs of a
+	 *              {@link TimestampedDataBatch}
+	 * @return the {@link JsonrpcMessage}; a {@link TimestampedDataNotification}
+	 *         backed by a {@link TimestampedDataBatch} for 'timestampedData'
+	 * @throws OpenemsNamedException on error
+	 */
+	public static JsonrpcMessage decode(String json, ChannelAddressIndex index) throws OpenemsNamedException {
+		try {
+			return decodeWithIndex(json, index);
+		} catch (IndexFullException e) {
+			return decodeWithIndex(json, new ChannelAddressIndex());
+		}
+	}
+
+	private static JsonrpcMessage decodeWithIndex(String json, ChannelAddressIndex index)
+			throws OpenemsNamedException {
+		try (JsonReader reader = new JsonReader(new StringReader(json))) {
+			reader.setLenient(true);
+			return decode(reader, index);
+		} catch (IOException | JsonParseException | IllegalStateException | NumberFormatException e) {
+			throw OpenemsError.JSON_PARSE_FAILED.exception(e.getMessage(), json);
+		}
+	}
+
+	private static JsonrpcMessage decode(JsonReader reader, ChannelAddressIndex index)
+			throws IOException, OpenemsNamedException {
+		JsonObject j = new JsonObject();
+		String method = null;
+		TimestampedDataBatch batch = null;
+
+		reader.beginObject();
+		while (reader.hasNext()) {
+			String name = reader.nextName();
+			if (name.equals("method") && reader.peek() == JsonToken.STRING) {
+				method = reader.nextString();
+				j.addProperty("method", method);
+
+			} else if (name.equals("params") && TimestampedDataNotification.METHOD.equals(method)
+					&& reader.peek() == JsonToken.BEGIN_OBJECT) {
+				batch = readParams(reader, index);
+
+			} else {
+				j.add(name, PARSER.parse(reader));
+			}
+		}
+		reader.endObject();
+
+		if (batch != null) {
+			TimestampedDataNotification notification = new TimestampedDataNotification(batch);
+			if (!j.has("id")) {
+				return notification;
+			}
+			// not a Notification -> handle like any other message
+			j.add("params", notification.getParams());
+		}
+		return JsonrpcMessage.from(j);
+	}
+
+	/**
+	 * Reads the 'params' of a {@link TimestampedDataNotification}.
+	 *
+	 * <pre>
+	 * {
+	 *   [timestamp: epoch in seconds]: {
+	 *     [channelAddress]: String | Number
+	 *   }
+	 * }
+	 * </pre>
+	 *
+	 * @param reader the {@link JsonReader}, positioned at the start of 'params'
+	 * @param index  the {@link ChannelAddressIndex}
+	 * @return the {@link TimestampedDataBatch}
+	 * @throws IOException           on error
+	 * @throws OpenemsNamedException on invalid Channel-Address
+	 * @throws IndexFullException    if the {@link ChannelAddressIndex} is full
+	 */
+	private static TimestampedDataBatch readParams(JsonReader reader, ChannelAddressIndex index)
+			throws IOException, OpenemsNamedException {
+		TimestampedDataBatch batch = new TimestampedDataBatch(index);
+		reader.beginObject();
+		while (reader.hasNext()) {
+			batch.startRow(Long.parseLong(reader.nextName()));
+			reader.beginObject();
+			while (reader.hasNext()) {
+				int channelId = index.getOrCreateId(reader.nextName());
+				if (channelId < 0) {
+					throw new IndexFullException();
+				}
+				switch (reader.peek()) {
+				case NUMBER:
+					batch.addNumber(channelId, reader.nextString());
+					break;
+				case NULL:
+					reader.nextNull();
+					batch.addNull(channelId);
+					break;
+				case STRING:
+					batch.addObject(channelId, new JsonPrimitive(reader.nextString()));
+					break;
+				case BOOLEAN:
+					batch.addObject(channelId, new JsonPrimitive(reader.nextBoolean()));
+					break;
+				default:
+					batch.addObject(channelId, PARSER.parse(reader));
+				}
+			}
+			reader.endObject();
+		}
+		reader.endObject();
+		return batch;
+	}
+
+}
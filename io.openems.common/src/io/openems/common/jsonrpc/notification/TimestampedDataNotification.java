@@ -10,6 +10,7 @@ import com.google.gson.JsonObject;
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.common.jsonrpc.base.JsonrpcNotification;
 import io.openems.common.types.ChannelAddress;
+import io.openems.common.types.ChannelAddressIndex;
 import io.openems.common.utils.JsonUtils;
 
 /**
@@ -30,7 +31,20 @@ import io.openems.common.utils.JsonUtils;
  */
 public class TimestampedDataNotification extends JsonrpcNotification {
 
+	/**
+	 * Creates a {@link TimestampedDataNotification} from a
+	 * {@link JsonrpcNotification}.
+	 *
+	 * @param notification the {@link JsonrpcNotification}; if it already is a
+	 *                     {@link TimestampedDataNotification}, e.g. parsed by
+	 *                     {@link TimestampedDataDecoder}, it is returned as is
+	 * @return the {@link TimestampedDataNotification}
+	 * @throws OpenemsNamedException on error
+	 */
 	public static TimestampedDataNotification from(JsonrpcNotification notification) throws OpenemsNamedException {
+		if (notification instanceof TimestampedDataNotification) {
+			return (TimestampedDataNotification) notification;
+		}
 		TimestampedDataNotification result = new TimestampedDataNotification();
 		JsonObject j = notification.getParams();
 		for (Entry<String, JsonElement> e1 : j.entrySet()) {
@@ -45,10 +59,23 @@ public class TimestampedDataNotification extends JsonrpcNotification {
 
 	public static final String METHOD = "timestampedData";
 
-	private final TreeBasedTable<Long, ChannelAddress, JsonElement> data = TreeBasedTable.create();
+	/**
+	 * The data; either as table or as {@link TimestampedDataBatch}. The other
+	 * representation is created on demand.
+	 */
+	private TreeBasedTable<Long, ChannelAddress, JsonElement> data;
+	private TimestampedDataBatch batch;
 
 	public TimestampedDataNotification() {
 		super(METHOD);
+		this.data = TreeBasedTable.create();
+		this.batch = null;
+	}
+
+	public TimestampedDataNotification(TimestampedDataBatch batch) {
+		super(METHOD);
+		this.data = null;
+		this.batch = batch;
 	}
 
 	public void add(long timestamp, Map<ChannelAddress, JsonElement> data) {
@@ -58,13 +85,14 @@ public class TimestampedDataNotification extends JsonrpcNotification {
 	}
 
 	public void add(long timestamp, ChannelAddress address, JsonElement value) {
-		this.data.put(timestamp, address, value);
+		this.getData().put(timestamp, address, value);
+		this.batch = null;
 	}
 
 	@Override
 	public JsonObject getParams() {
 		JsonObject p = new JsonObject();
-		for (Entry<Long, Map<ChannelAddress, JsonElement>> e1 : this.data.rowMap().entrySet()) {
+		for (Entry<Long, Map<ChannelAddress, JsonElement>> e1 : this.getData().rowMap().entrySet()) {
 			JsonObject jTime = new JsonObject();
 			for (Entry<ChannelAddress, JsonElement> e2 : e1.getValue().entrySet()) {
 				ChannelAddress address = e2.getKey();
@@ -76,7 +104,27 @@ public class TimestampedDataNotification extends JsonrpcNotification {
 		return p;
 	}
 
+	/**
+	 * Gets the data as table.
+	 *
+	 * @return Table of timestamp, Channel-Address and the Channel value
+	 */
 	public TreeBasedTable<Long, ChannelAddress, JsonElement> getData() {
-		return data;
+		if (this.data == null) {
+			this.data = this.batch.toTable();
+		}
+		return this.data;
+	}
+
+	/**
+	 * Gets the data as {@link TimestampedDataBatch}.
+	 *
+	 * @return the {@link TimestampedDataBatch}
+	 */
+	public TimestampedDataBatch getBatch() {
+		if (this.batch == null) {
+			this.batch = TimestampedDataBatch.from(ChannelAddressIndex.SHARED, this.data);
+		}
+		return this.batch;
 	}
 }
@@ -1,5 +1,7 @@
 package io.openems.common.types;
 
+import java.util.Objects;
+
 import io.openems.common.exceptions.OpenemsError;
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 
@@ -8,6 +10,16 @@ public class ChannelAddress implements Comparable<ChannelAddress> {
 	private final String componentId;
 	private final String channelId;
 
+	/**
+	 * Caches {@link #toString()}; lazily initialized.
+	 */
+	private String string = null;
+
+	/**
+	 * Caches {@link #hashCode()}; lazily initialized.
+	 */
+	private int hash = 0;
+
 	public ChannelAddress(String componentId, String channelId) {
 		super();
 		this.componentId = componentId;
@@ -34,7 +46,12 @@ public class ChannelAddress implements Comparable<ChannelAddress> {
 
 	@Override
 	public String toString() {
-		return componentId + "/" + channelId;
+		String string = this.string;
+		if (string == null) {
+			string = this.componentId + "/" + this.channelId;
+			this.string = string;
+		}
+		return string;
 	}
 
 	/**
@@ -57,12 +74,20 @@ public class ChannelAddress implements Comparable<ChannelAddress> {
 
 	@Override
 	public int compareTo(ChannelAddress other) {
+		if (this == other) {
+			return 0;
+		}
 		return this.toString().compareTo(other.toString());
 	}
 
 	@Override
 	public int hashCode() {
-		return this.toString().hashCode();
+		int hash = this.hash;
+		if (hash == 0) {
+			hash = 31 * Objects.hashCode(this.componentId) + Objects.hashCode(this.channelId);
+			this.hash = hash;
+		}
+		return hash;
 	}
 
 	@Override
@@ -77,6 +102,8 @@ public class ChannelAddress implements Comparable<ChannelAddress> {
 			return false;
 		}
 		ChannelAddress other = (ChannelAddress) obj;
-		return this.toString().equals(other.toString());
+		return this.hashCode() == other.hashCode() //
+				&& Objects.equals(this.channelId, other.channelId) //
+				&& Objects.equals(this.componentId, other.componentId);
 	}
 }
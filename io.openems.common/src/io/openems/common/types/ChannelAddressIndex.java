@@ -0,0 +1,146 @@
+package io.openems.common.types;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+
+/**
+ * Interns {@link ChannelAddress}es to dense, numeric IDs.
+ *
+ * <p>
+ * The same Channels exist on many Edges (e.g. '_sum/EssSoc'), so one
+ * {@link ChannelAddressIndex} is shared e.g. by all caches of latest values.
+ * The IDs can be used as array index. IDs are never released.
+ *
+ * <p>
+ * As the addresses are received from Edges, the number of IDs is limited. If
+ * the index is full, {@link #getOrCreateId(ChannelAddress)} returns -1 for new
+ * addresses and callers need to fall back, e.g. to a separate
+ * {@link ChannelAddressIndex} per message.
+ */
+public final class ChannelAddressIndex {
+
+	/**
+	 * The shared {@link ChannelAddressIndex}.
+	 */
+	public static final ChannelAddressIndex SHARED = new ChannelAddressIndex(1 << 18);
+
+	private final int maxSize;
+	private final Map<ChannelAddress, Integer> ids = new ConcurrentHashMap<>();
+	private final Map<String, Integer> idsByString = new ConcurrentHashMap<>();
+	private volatile ChannelAddress[] addresses = new ChannelAddress[64];
+	private volatile int size = 0;
+
+	/**
+	 * Creates a {@link ChannelAddressIndex} without limit.
+	 */
+	public ChannelAddressIndex() {
+		this(Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Creates a {@link ChannelAddressIndex}.
+	 *
+	 * @param maxSize the maximum number of IDs
+	 */
+	public ChannelAddressIndex(int maxSize) {
+		this.maxSize = maxSize;
+	}
+
+	/**
+	 * Gets the ID of a {@link ChannelAddress}; registers a new ID if required.
+	 *
+	 * @param address the {@link ChannelAddress}
+	 * @return the ID; -1 if the address is unknown and the index is full
+	 */
+	public int getOrCreateId(ChannelAddress address) {
+		Integer id = this.ids.get(address);
+		if (id != null) {
+			return id;
+		}
+		return this.register(address);
+	}
+
+	/**
+	 * Gets the ID of a {@link ChannelAddress} given as String
+	 * "Component-ID/Channel-ID"; registers a new ID if required.
+	 *
+	 * <p>
+	 * This avoids parsing the String if it is already known.
+	 *
+	 * @param address the address as a String
+	 * @return the ID; -1 if the address is unknown and the index is full
+	 * @throws OpenemsNamedException on parse error
+	 */
+	public int getOrCreateId(String address) throws OpenemsNamedException {
+		Integer id = this.idsByString.get(address);
+		if (id != null) {
+			return id;
+		}
+		int newId = this.getOrCreateId(ChannelAddress.fromString(address));
+		if (newId >= 0 && this.idsByString.size() < this.maxSize) {
+			this.idsByString.put(address, newId);
+		}
+		return newId;
+	}
+
+	private synchronized int register(ChannelAddress address) {
+		Integer id = this.ids.get(address);
+		if (id != null) {
+			return id;
+		}
+		int newId = this.size;
+		if (newId >= this.maxSize) {
+			return -1;
+		}
+		ChannelAddress[] addresses = this.addresses;
+		if (newId == addresses.length) {
+			addresses = Arrays.copyOf(addresses, addresses.length * 2);
+		}
+		addresses[newId] = address;
+		this.addresses = addresses;
+		this.size = newId + 1;
+		this.ids.put(address, newId);
+		return newId;
+	}
+
+	/**
+	 * Gets the ID of a {@link ChannelAddress} without registering it.
+	 *
+	 * @param address the {@link ChannelAddress}
+	 * @return the ID; -1 if the {@link ChannelAddress} is unknown
+	 */
+	public int getId(ChannelAddress address) {
+		Integer id = this.ids.get(address);
+		if (id == null) {
+			return -1;
+		}
+		return id;
+	}
+
+	/**
+	 * Gets the {@link ChannelAddress} for an ID.
+	 *
+	 * @param id the ID
+	 * @return the {@link ChannelAddress}; null if the ID is unknown
+	 */
+	public ChannelAddress getAddress(int id) {
+		ChannelAddress[] addresses = this.addresses;
+		if (id < 0 || id >= addresses.length) {
+			return null;
+		}
+		return addresses[id];
+	}
+
+	/**
+	 * Gets the number of registered {@link ChannelAddress}es.
+	 *
+	 * @return the number of IDs
+	 */
+	public int size() {
+		return this.size;
+	}
+
+}
@@ -1,11 +1,14 @@
 package io.openems.common.types;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.SortedMap;
 import java.util.TreeMap;
 import java.util.stream.Collectors;
 
@@ -68,6 +71,22 @@ public class EdgeConfig {
 				public JsonObject toJson() {
 					return new JsonObject();
 				}
+
+				@Override
+				public int hashCode() {
+					return ChannelCategory.OPENEMS_TYPE.hashCode();
+				}
+
+				@Override
+				public boolean equals(Object o) {
+					if (this == o) {
+						return true;
+					}
+					if (o == null || this.getClass() != o.getClass()) {
+						return false;
+					}
+					return true;
+				}
 			}
 
 			/**
@@ -100,6 +119,22 @@ public class EdgeConfig {
 							.add("options", options) //
 							.build();
 				}
+
+				@Override
+				public int hashCode() {
+					return this.options.hashCode();
+				}
+
+				@Override
+				public boolean equals(Object o) {
+					if (this == o) {
+						return true;
+					}
+					if (o == null || this.getClass() != o.getClass()) {
+						return false;
+					}
+					return this.options.equals(((ChannelDetailEnum) o).options);
+				}
 			}
 
 			/**
@@ -128,6 +163,22 @@ public class EdgeConfig {
 							.addProperty("level", this.level.name()) //
 							.build();
 				}
+
+				@Override
+				public int hashCode() {
+					return this.level.hashCode();
+				}
+
+				@Override
+				public boolean equals(Object o) {
+					if (this == o) {
+						return true;
+					}
+					if (o == null || this.getClass() != o.getClass()) {
+						return false;
+					}
+					return this.level == ((ChannelDetailState) o).level;
+				}
 			}
 
 			/**
@@ -241,17 +292,54 @@ public class EdgeConfig {
 						.addProperty("category", this.detail.getCategory().name()) //
 						.build();
 			}
+
+			@Override
+			public int hashCode() {
+				return Objects.hash(this.id, this.type, this.accessMode, this.text, this.unit, this.detail);
+			}
+
+			@Override
+			public boolean equals(Object o) {
+				if (this == o) {
+					return true;
+				}
+				if (o == null || this.getClass() != o.getClass()) {
+					return false;
+				}
+				Channel other = (Channel) o;
+				return this.id.equals(other.id) && this.type == other.type && this.accessMode == other.accessMode
+						&& this.text.equals(other.text) && this.unit == other.unit
+						&& this.detail.equals(other.detail);
+			}
 		}
 
 		private final String servicePid;
 		private final String id;
 		private final String alias;
 		private final String factoryId;
-		private final TreeMap<String, JsonElement> properties;
-		private final TreeMap<String, Channel> channels;
+		private final SortedMap<String, JsonElement> properties;
+		private final SortedMap<String, Channel> channels;
 
 		public Component(String servicePid, String id, String alias, String factoryId,
 				TreeMap<String, JsonElement> properties, TreeMap<String, Channel> channels) {
+			this(servicePid, id, alias, factoryId, (SortedMap<String, JsonElement>) properties,
+					(SortedMap<String, Channel>) channels);
+		}
+
+		/**
+		 * Creates a Component with the given maps. They are not copied, i.e. they
+		 * may be immutable and shared with other Components (see
+		 * {@link EdgeConfigInterner}).
+		 * 
+		 * @param servicePid the Service-PID
+		 * @param id         the Component-ID
+		 * @param alias      the alias
+		 * @param factoryId  the Factory-ID
+		 * @param properties the properties
+		 * @param channels   the Channels
+		 */
+		Component(String servicePid, String id, String alias, String factoryId,
+				SortedMap<String, JsonElement> properties, SortedMap<String, Channel> channels) {
 			this.servicePid = servicePid;
 			this.id = id;
 			this.alias = alias;
@@ -673,6 +761,32 @@ public class EdgeConfig {
 			public JsonElement getDefaultValue() {
 				return defaultValue;
 			}
+
+			public JsonObject getSchema() {
+				return this.schema;
+			}
+
+			@Override
+			public int hashCode() {
+				return Objects.hash(this.id, this.name, this.description, this.isRequired, this.isPassword,
+						this.defaultValue, this.schema);
+			}
+
+			@Override
+			public boolean equals(Object o) {
+				if (this == o) {
+					return true;
+				}
+				if (o == null || this.getClass() != o.getClass()) {
+					return false;
+				}
+				Property other = (Property) o;
+				return this.isRequired == other.isRequired && this.isPassword == other.isPassword
+						&& Objects.equals(this.id, other.id) && Objects.equals(this.name, other.name)
+						&& Objects.equals(this.description, other.description)
+						&& Objects.equals(this.defaultValue, other.defaultValue)
+						&& Objects.equals(this.schema, other.schema);
+			}
 		}
 
 		private final String id;
@@ -752,6 +866,27 @@ public class EdgeConfig {
 					.build();
 		}
 
+		@Override
+		public int hashCode() {
+			return Objects.hash(this.id, this.name, this.description, Arrays.hashCode(this.properties),
+					Arrays.hashCode(this.natureIds));
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (o == null || this.getClass() != o.getClass()) {
+				return false;
+			}
+			Factory other = (Factory) o;
+			return Objects.equals(this.id, other.id) && Objects.equals(this.name, other.name)
+					&& Objects.equals(this.description, other.description)
+					&& Arrays.equals(this.properties, other.properties)
+					&& Arrays.equals(this.natureIds, other.natureIds);
+		}
+
 		/**
 		 * Creates a Factory from JSON.
 		 * 
@@ -785,10 +920,23 @@ public class EdgeConfig {
 		}
 	}
 
-	private final TreeMap<String, Component> components = new TreeMap<>();
-	private final TreeMap<String, Factory> factories = new TreeMap<>();
+	private final SortedMap<String, Component> components;
+	private final SortedMap<String, Factory> factories;
 
 	public EdgeConfig() {
+		this(new TreeMap<>(), new TreeMap<>());
+	}
+
+	/**
+	 * Creates an EdgeConfig with the given maps. They are not copied, i.e. they
+	 * may be immutable (see {@link EdgeConfigInterner}).
+	 * 
+	 * @param components the Components
+	 * @param factories  the Factories
+	 */
+	EdgeConfig(SortedMap<String, Component> components, SortedMap<String, Factory> factories) {
+		this.components = components;
+		this.factories = factories;
 	}
 
 	public void addComponent(String id, Component component) {
@@ -810,11 +958,11 @@ public class EdgeConfig {
 		return this.factories.put(id, factory) != null;
 	}
 
-	public TreeMap<String, Component> getComponents() {
+	public SortedMap<String, Component> getComponents() {
 		return this.components;
 	}
 
-	public TreeMap<String, Factory> getFactories() {
+	public SortedMap<String, Factory> getFactories() {
 		return factories;
 	}
 
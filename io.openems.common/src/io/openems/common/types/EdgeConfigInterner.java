@@ -0,0 +1,126 @@
+package io.openems.common.types;
+
+import java.util.Map;
+import java.util.Map.Entry;
+
+import com.google.common.collect.ImmutableSortedMap;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import com.google.gson.JsonElement;
+
+import io.openems.common.types.EdgeConfig.Component;
+import io.openems.common.types.EdgeConfig.Component.Channel;
+import io.openems.common.types.EdgeConfig.Factory;
+
+/**
+ * Creates immutable {@link EdgeConfig}s, that share equal {@link Channel}s,
+ * Channel-Maps and {@link Factory}s with all other {@link EdgeConfig}s interned
+ * by the same {@link EdgeConfigInterner}.
+ *
+ * <p>
+ * Edges of the same type and version run the same Components; interning avoids
+ * holding the same Channel and Factory definitions once per Edge. Shared
+ * objects are held weakly, i.e. they are released together with the last
+ * {@link EdgeConfig} using them.
+ *
+ * <p>
+ * The maps of an interned {@link EdgeConfig} and of its {@link Component}s are
+ * unmodifiable.
+ */
+public class EdgeConfigInterner {
+
+	/**
+	 * The {@link EdgeConfigInterner} shared by all Backend services.
+	 */
+	public static final EdgeConfigInterner SHARED = new EdgeConfigInterner();
+
+	private final Interner<String> strings = Interners.newWeakInterner();
+	private final Interner<JsonElement> primitives = Interners.newWeakInterner();
+	private final Interner<Channel> channels = Interners.newWeakInterner();
+	private final Interner<ImmutableSortedMap<String, Channel>> channelMaps = Interners.newWeakInterner();
+	private final Interner<Factory> factories = Interners.newWeakInterner();
+
+	/**
+	 * Creates an immutable copy of the given {@link EdgeConfig}, that shares its
+	 * definitions with other interned {@link EdgeConfig}s.
+	 *
+	 * @param config the {@link EdgeConfig}
+	 * @return the interned {@link EdgeConfig}
+	 */
+	public EdgeConfig intern(EdgeConfig config) {
+		ImmutableSortedMap.Builder<String, Component> components = ImmutableSortedMap.naturalOrder();
+		for (Entry<String, Component> entry : config.getComponents().entrySet()) {
+			components.put(this.intern(entry.getKey()), this.intern(entry.getValue()));
+		}
+		ImmutableSortedMap.Builder<String, Factory> factories = ImmutableSortedMap.naturalOrder();
+		for (Entry<String, Factory> entry : config.getFactories().entrySet()) {
+			Factory factory = this.factories.intern(entry.getValue());
+			factories.put(entry.getKey().equals(factory.getId()) ? factory.getId() : this.intern(entry.getKey()),
+					factory);
+		}
+		return new EdgeConfig(components.build(), factories.build());
+	}
+
+	/**
+	 * Creates an immutable copy of the given {@link Component}, that shares its
+	 * {@link Channel}s with other interned {@link Component}s.
+	 *
+	 * @param component the {@link Component}
+	 * @return the interned {@link Component}
+	 */
+	public Component intern(Component component) {
+		ImmutableSortedMap.Builder<String, JsonElement> properties = ImmutableSortedMap.naturalOrder();
+		for (Entry<String, JsonElement> entry : component.getProperties().entrySet()) {
+			JsonElement value = entry.getValue();
+			if (value.isJsonPrimitive() && !value.getAsJsonPrimitive().isNumber()) {
+				// JsonObjects and JsonArrays are mutable; equal Numbers might have a different
+				// JSON representation, e.g. '1' and '1.0'
+				value = this.primitives.intern(value);
+			}
+			properties.put(this.intern(entry.getKey()), value);
+		}
+		return new Component(this.intern(component.getPid()), this.intern(component.getId()),
+				this.intern(component.getAlias()), this.intern(component.getFactoryId()), properties.build(),
+				this.intern(component.getChannels()));
+	}
+
+	/**
+	 * Gets a shared, immutable copy of the given Channel-Map.
+	 *
+	 * @param channels the Channel-Map
+	 * @return the interned Channel-Map
+	 */
+	public ImmutableSortedMap<String, Channel> intern(Map<String, Channel> channels) {
+		ImmutableSortedMap.Builder<String, Channel> result = ImmutableSortedMap.naturalOrder();
+		for (Entry<String, Channel> entry : channels.entrySet()) {
+			Channel channel = this.channels.intern(entry.getValue());
+			result.put(entry.getKey().equals(channel.getId()) ? channel.getId() : this.intern(entry.getKey()),
+					channel);
+		}
+		return this.channelMaps.intern(result.build());
+	}
+
+	/**
+	 * Gets the shared instance of the given {@link Factory}.
+	 *
+	 * @param factory the {@link Factory}
+	 * @return the interned {@link Factory}
+	 */
+	public Factory intern(Factory factory) {
+		return this.factories.intern(factory);
+	}
+
+	/**
+	 * Gets the shared instance of the given String.
+	 *
+	 * @param string the String; possibly null
+	 * @return the interned String
+	 */
+	public String intern(String string) {
+		if (string == null) {
+			return null;
+		}
+		return this.strings.intern(string);
+	}
+
+}
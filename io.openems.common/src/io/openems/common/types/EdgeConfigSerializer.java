@@ -0,0 +1,366 @@
+package io.openems.common.types;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+import io.openems.common.channel.AccessMode;
+import io.openems.common.channel.Level;
+import io.openems.common.channel.Unit;
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.exceptions.OpenemsException;
+import io.openems.common.types.EdgeConfig.Component;
+import io.openems.common.types.EdgeConfig.Component.Channel;
+import io.openems.common.types.EdgeConfig.Component.Channel.ChannelDetail;
+import io.openems.common.types.EdgeConfig.Component.Channel.ChannelDetailEnum;
+import io.openems.common.types.EdgeConfig.Component.Channel.ChannelDetailOpenemsType;
+import io.openems.common.types.EdgeConfig.Component.Channel.ChannelDetailState;
+import io.openems.common.types.EdgeConfig.Factory;
+import io.openems.common.types.EdgeConfig.Factory.Property;
+import io.openems.common.utils.JsonUtils;
+
+/**
+ * Compact binary serialization of an {@link EdgeConfig} for storage.
+ *
+ * <p>
+ * Every String is written once to a String table and afterwards referenced by
+ * its index; index '0' represents null. Equal {@link Channel}s and Channel-Maps
+ * - e.g. of multiple Components of the same Factory - are written once and
+ * afterwards referenced. The result is deflated.
+ *
+ * <p>
+ * In contrast to {@link EdgeConfig#toJson()} the serialization is lossless,
+ * e.g. for the {@link Unit} of a {@link Channel}.
+ */
+public class EdgeConfigSerializer {
+
+	private static final byte VERSION = 1;
+
+	private static final byte CATEGORY_OPENEMS_TYPE = 0;
+	private static final byte CATEGORY_ENUM = 1;
+	private static final byte CATEGORY_STATE = 2;
+
+	private static final byte FLAG_REQUIRED = 1;
+	private static final byte FLAG_PASSWORD = 2;
+
+	private EdgeConfigSerializer() {
+	}
+
+	/**
+	 * Serializes an {@link EdgeConfig}.
+	 *
+	 * @param config the {@link EdgeConfig}
+	 * @return the serialized bytes
+	 */
+	public static byte[] serialize(EdgeConfig config) {
+		try {
+			Writer writer = new Writer();
+			writer.write(config);
+
+			ByteArrayOutputStream result = new ByteArrayOutputStream();
+			result.write(VERSION);
+			try (DataOutputStream out = new DataOutputStream(new DeflaterOutputStream(result))) {
+				writeVarInt(out, writer.strings.size());
+				for (String string : writer.strings) {
+					byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+					writeVarInt(out, bytes.length);
+					out.write(bytes);
+				}
+				writer.body.writeTo(out);
+			}
+			return result.toByteArray();
+
+		} catch (IOException e) {
+			// ByteArrayOutputStream does not throw IOExceptions
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Deserializes an {@link EdgeConfig}.
+	 *
+	 * @param bytes the serialized bytes
+	 * @return the {@link EdgeConfig}
+	 * @throws OpenemsNamedException on error
+	 */
+	public static EdgeConfig deserialize(byte[] bytes) throws OpenemsNamedException {
+		if (bytes.length == 0 || bytes[0] != VERSION) {
+			throw new OpenemsException("Unsupported EdgeConfig serialization");
+		}
+		try (DataInputStream in = new DataInputStream(
+				new InflaterInputStream(new ByteArrayInputStream(bytes, 1, bytes.length - 1)))) {
+			String[] strings = new String[readVarInt(in)];
+			for (int i = 0; i < strings.length; i++) {
+				byte[] string = new byte[readVarInt(in)];
+				in.readFully(string);
+				strings[i] = new String(string, StandardCharsets.UTF_8);
+			}
+			return new Reader(in, strings).readConfig();
+
+		} catch (IOException | IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+			throw new OpenemsException("Unable to deserialize EdgeConfig: " + e.getMessage());
+		}
+	}
+
+	private static class Writer {
+
+		private final List<String> strings = new ArrayList<>();
+		private final Map<String, Integer> stringIds = new HashMap<>();
+		private final Map<Channel, Integer> channelIds = new HashMap<>();
+		private final Map<Map<String, Channel>, Integer> channelMapIds = new HashMap<>();
+		private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+		private final DataOutputStream out = new DataOutputStream(this.body);
+
+		private void write(EdgeConfig config) throws IOException {
+			writeVarInt(this.out, config.getComponents().size());
+			for (Entry<String, Component> entry : config.getComponents().entrySet()) {
+				Component component = entry.getValue();
+				this.writeString(entry.getKey());
+				this.writeString(component.getPid());
+				this.writeString(component.getAlias());
+				this.writeString(component.getFactoryId());
+				writeVarInt(this.out, component.getProperties().size());
+				for (Entry<String, JsonElement> property : component.getProperties().entrySet()) {
+					this.writeString(property.getKey());
+					this.writeString(property.getValue().toString());
+				}
+				this.writeChannels(component.getChannels());
+			}
+
+			writeVarInt(this.out, config.getFactories().size());
+			for (Entry<String, Factory> entry : config.getFactories().entrySet()) {
+				Factory factory = entry.getValue();
+				this.writeString(entry.getKey());
+				this.writeString(factory.getId());
+				this.writeString(factory.getName());
+				this.writeString(factory.getDescription());
+				writeVarInt(this.out, factory.getNatureIds().length);
+				for (String natureId : factory.getNatureIds()) {
+					this.writeString(natureId);
+				}
+				writeVarInt(this.out, factory.getProperties().length);
+				for (Property property : factory.getProperties()) {
+					this.writeString(property.getId());
+					this.writeString(property.getName());
+					this.writeString(property.getDescription());
+					this.out.writeByte((property.isRequired() ? FLAG_REQUIRED : 0) //
+							| (property.isPassword() ? FLAG_PASSWORD : 0));
+					this.writeString(property.getDefaultValue().toString());
+					this.writeString(property.getSchema().toString());
+				}
+			}
+		}
+
+		private void writeChannels(Map<String, Channel> channels) throws IOException {
+			Integer id = this.channelMapIds.get(channels);
+			if (id != null) {
+				writeVarInt(this.out, id);
+				return;
+			}
+			writeVarInt(this.out, this.channelMapIds.size());
+			this.channelMapIds.put(channels, this.channelMapIds.size());
+			writeVarInt(this.out, channels.size());
+			for (Entry<String, Channel> entry : channels.entrySet()) {
+				this.writeString(entry.getKey());
+				this.writeChannel(entry.getValue());
+			}
+		}
+
+		private void writeChannel(Channel channel) throws IOException {
+			Integer id = this.channelIds.get(channel);
+			if (id != null) {
+				writeVarInt(this.out, id);
+				return;
+			}
+			writeVarInt(this.out, this.channelIds.size());
+			this.channelIds.put(channel, this.channelIds.size());
+			this.writeString(channel.getId());
+			this.writeString(channel.getType().name());
+			this.writeString(channel.getAccessMode().name());
+			this.writeString(channel.getText());
+			this.writeString(channel.getUnit().name());
+			ChannelDetail detail = channel.getDetail();
+			switch (detail.getCategory()) {
+			case OPENEMS_TYPE:
+				this.out.writeByte(CATEGORY_OPENEMS_TYPE);
+				break;
+			case ENUM:
+				this.out.writeByte(CATEGORY_ENUM);
+				Map<String, JsonElement> options = ((ChannelDetailEnum) detail).getOptions();
+				writeVarInt(this.out, options.size());
+				for (Entry<String, JsonElement> option : options.entrySet()) {
+					this.writeString(option.getKey());
+					this.writeString(option.getValue().toString());
+				}
+				break;
+			case STATE:
+				this.out.writeByte(CATEGORY_STATE);
+				this.writeString(((ChannelDetailState) detail).getLevel().name());
+				break;
+			}
+		}
+
+		private void writeString(String string) throws IOException {
+			if (string == null) {
+				writeVarInt(this.out, 0);
+				return;
+			}
+			Integer id = this.stringIds.get(string);
+			if (id == null) {
+				id = this.strings.size() + 1;
+				this.strings.add(string);
+				this.stringIds.put(string, id);
+			}
+			writeVarInt(this.out, id);
+		}
+	}
+
+	private static class Reader {
+
+		private final DataInputStream in;
+		private final String[] strings;
+		private final List<Channel> channels = new ArrayList<>();
+		private final List<TreeMap<String, Channel>> channelMaps = new ArrayList<>();
+
+		private Reader(DataInputStream in, String[] strings) {
+			this.in = in;
+			this.strings = strings;
+		}
+
+		private EdgeConfig readConfig() throws IOException, OpenemsNamedException {
+			EdgeConfig result = new EdgeConfig();
+			int noOfComponents = readVarInt(this.in);
+			for (int i = 0; i < noOfComponents; i++) {
+				String id = this.readString();
+				String servicePid = this.readString();
+				String alias = this.readString();
+				String factoryId = this.readString();
+				TreeMap<String, JsonElement> properties = new TreeMap<>();
+				int noOfProperties = readVarInt(this.in);
+				for (int j = 0; j < noOfProperties; j++) {
+					properties.put(this.readString(), JsonUtils.parse(this.readString()));
+				}
+				result.addComponent(id,
+						new Component(servicePid, id, alias, factoryId, properties, this.readChannels()));
+			}
+
+			int noOfFactories = readVarInt(this.in);
+			for (int i = 0; i < noOfFactories; i++) {
+				String key = this.readString();
+				String id = this.readString();
+				String name = this.readString();
+				String description = this.readString();
+				String[] natureIds = new String[readVarInt(this.in)];
+				for (int j = 0; j < natureIds.length; j++) {
+					natureIds[j] = this.readString();
+				}
+				Property[] properties = new Property[readVarInt(this.in)];
+				for (int j = 0; j < properties.length; j++) {
+					String propertyId = this.readString();
+					String propertyName = this.readString();
+					String propertyDescription = this.readString();
+					byte flags = this.in.readByte();
+					JsonElement defaultValue = JsonUtils.parse(this.readString());
+					JsonObject schema = JsonUtils.getAsJsonObject(JsonUtils.parse(this.readString()));
+					properties[j] = new Property(propertyId, propertyName, propertyDescription,
+							(flags & FLAG_REQUIRED) != 0, (flags & FLAG_PASSWORD) != 0, defaultValue, schema);
+				}
+				result.addFactory(key, new Factory(id, name, description, properties, natureIds));
+			}
+			return result;
+		}
+
+		private TreeMap<String, Channel> readChannels() throws IOException, OpenemsNamedException {
+			int id = readVarInt(this.in);
+			if (id < this.channelMaps.size()) {
+				// Components must not share a mutable map
+				return new TreeMap<>(this.channelMaps.get(id));
+			}
+			TreeMap<String, Channel> result = new TreeMap<>();
+			int noOfChannels = readVarInt(this.in);
+			for (int i = 0; i < noOfChannels; i++) {
+				result.put(this.readString(), this.readChannel());
+			}
+			this.channelMaps.add(result);
+			return new TreeMap<>(result);
+		}
+
+		private Channel readChannel() throws IOException, OpenemsNamedException {
+			int id = readVarInt(this.in);
+			if (id < this.channels.size()) {
+				return this.channels.get(id);
+			}
+			String channelId = this.readString();
+			OpenemsType type = OpenemsType.valueOf(this.readString());
+			AccessMode accessMode = AccessMode.valueOf(this.readString());
+			String text = this.readString();
+			Unit unit = Unit.valueOf(this.readString());
+			ChannelDetail detail;
+			byte category = this.in.readByte();
+			switch (category) {
+			case CATEGORY_OPENEMS_TYPE:
+				detail = new ChannelDetailOpenemsType();
+				break;
+			case CATEGORY_ENUM:
+				Map<String, JsonElement> options = new HashMap<>();
+				int noOfOptions = readVarInt(this.in);
+				for (int i = 0; i < noOfOptions; i++) {
+					options.put(this.readString(), JsonUtils.parse(this.readString()));
+				}
+				detail = new ChannelDetailEnum(options);
+				break;
+			case CATEGORY_STATE:
+				detail = new ChannelDetailState(Level.valueOf(this.readString()));
+				break;
+			default:
+				throw new OpenemsException("Unknown Category-Key [" + category + "]");
+			}
+			Channel result = new Channel(channelId, type, accessMode, text, unit, detail);
+			this.channels.add(result);
+			return result;
+		}
+
+		private String readString() throws IOException {
+			int id = readVarInt(this.in);
+			if (id == 0) {
+				return null;
+			}
+			return this.strings[id - 1];
+		}
+	}
+
+	private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+		while ((value & ~0x7F) != 0) {
+			out.writeByte((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		out.writeByte(value);
+	}
+
+	private static int readVarInt(DataInputStream in) throws IOException {
+		int result = 0;
+		for (int shift = 0; shift < 32; shift += 7) {
+			byte b = in.readByte();
+			result |= (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				return result;
+			}
+		}
+		throw new IOException("Malformed VarInt");
+	}
+
+}
@@ -54,7 +54,7 @@ public abstract class AbstractWebsocketServer<T extends WsData> extends Abstract
 				try {
 					JsonrpcMessage message;
 					try {
-						message = JsonrpcMessage.from(stringMessage);
+						message = AbstractWebsocketServer.this.parseMessage(stringMessage);
 
 					} catch (OpenemsNamedException e) {
 						// handle deprecated non-JSON-RPC messages
@@ -126,13 +126,29 @@ public abstract class AbstractWebsocketServer<T extends WsData> extends Abstract
 	}
 
 	/**
-	 * Broadcasts a message to all connected WebSockets.
+	 * Sends an already encoded message to WebSocket.
+	 * 
+	 * @param ws      the WebSocket
+	 * @param message the {@link EncodedMessage}
+	 */
+	public void sendMessage(WebSocket ws, EncodedMessage message) {
+		ws.sendFrame(message.toFrame());
+	}
+
+	/**
+	 * Broadcasts a message to all connected WebSockets. The message is encoded
+	 * only once.
 	 * 
 	 * @param message the JSON-RPC Message
 	 */
 	public void broadcastMessage(JsonrpcMessage message) {
-		for (WebSocket ws : this.getConnections()) {
-			this.sendMessage(ws, message);
+		Collection<WebSocket> connections = this.getConnections();
+		if (connections.isEmpty()) {
+			return;
+		}
+		EncodedMessage encoded = EncodedMessage.from(message);
+		for (WebSocket ws : connections) {
+			this.sendMessage(ws, encoded);
 		}
 	}
 
@@ -166,6 +182,21 @@ public abstract class AbstractWebsocketServer<T extends WsData> extends Abstract
 		this.log.error("Stopping websocket server [" + this.getName() + "] failed too often.");
 	}
 
+	/**
+	 * Parses a received message to a JSON-RPC message.
+	 * 
+	 * <p>
+	 * Override to use a specialized parser, e.g. a streaming parser for
+	 * frequent, large messages.
+	 * 
+	 * @param stringMessage the message
+	 * @return the {@link JsonrpcMessage}
+	 * @throws OpenemsNamedException on error
+	 */
+	protected JsonrpcMessage parseMessage(String stringMessage) throws OpenemsNamedException {
+		return JsonrpcMessage.from(stringMessage);
+	}
+
 	/**
 	 * Convert deprecated Non-JSON-RPC messages to JSON-RPC messages.
 	 * 
@@ -0,0 +1,74 @@
+package io.openems.common.websocket;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.java_websocket.framing.Framedata;
+import org.java_websocket.framing.TextFrame;
+
+import io.openems.common.jsonrpc.base.JsonrpcMessage;
+
+/**
+ * A JSON-RPC message, that is encoded once to an immutable UTF-8 payload and
+ * can then be sent to many WebSockets without serializing it again.
+ *
+ * <p>
+ * Every WebSocket gets its own {@link TextFrame} that shares the payload, so
+ * an {@link EncodedMessage} may be sent concurrently by multiple threads.
+ */
+public final class EncodedMessage {
+
+	/**
+	 * Encodes a JSON-RPC message.
+	 *
+	 * @param message the {@link JsonrpcMessage}
+	 * @return the {@link EncodedMessage}
+	 */
+	public static EncodedMessage from(JsonrpcMessage message) {
+		return EncodedMessage.from(message.toString());
+	}
+
+	/**
+	 * Encodes a serialized JSON-RPC message.
+	 *
+	 * @param message the JSON-RPC message String
+	 * @return the {@link EncodedMessage}
+	 */
+	public static EncodedMessage from(String message) {
+		return new EncodedMessage(ByteBuffer.wrap(message.getBytes(StandardCharsets.UTF_8)).asReadOnlyBuffer());
+	}
+
+	private final ByteBuffer payload;
+
+	private EncodedMessage(ByteBuffer payload) {
+		this.payload = payload;
+	}
+
+	/**
+	 * Creates a new WebSocket {@link TextFrame} for this message. The frame
+	 * shares the payload, but has its own position.
+	 *
+	 * @return the {@link Framedata}
+	 */
+	public Framedata toFrame() {
+		TextFrame frame = new TextFrame();
+		frame.setPayload(this.payload.duplicate());
+		frame.setFin(true);
+		return frame;
+	}
+
+	/**
+	 * Gets the size of the encoded message in bytes.
+	 *
+	 * @return the size
+	 */
+	public int size() {
+		return this.payload.remaining();
+	}
+
+	@Override
+	public String toString() {
+		return StandardCharsets.UTF_8.decode(this.payload.duplicate()).toString();
+	}
+
+}
@@ -1,5 +1,6 @@
 package io.openems.common.websocket;
 
+import java.util.Collections;
 import java.util.Optional;
 import java.util.Set;
 import java.util.TreeSet;
@@ -28,14 +29,14 @@ public abstract class SubscribedChannelsWorker {
 	private final Logger log = LoggerFactory.getLogger(SubscribedChannelsWorker.class);
 
 	/**
-	 * Executor for subscriptions task
+	 * Executor for subscriptions task; created on first subscription
 	 */
-	private final ScheduledExecutorService executor = Executors.newScheduledThreadPool(1);
+	private ScheduledExecutorService executor = null;
 
 	/**
-	 * Holds subscribed channels
+	 * Holds subscribed channels; an immutable set that is replaced on change
 	 */
-	private final TreeSet<ChannelAddress> channels = new TreeSet<>();
+	private volatile Set<ChannelAddress> channels = Collections.emptySet();
 
 	/**
 	 * Holds the scheduled task for currentData
@@ -69,19 +70,41 @@ public abstract class SubscribedChannelsWorker {
 	 * @param channels Set of ChannelAddresses
 	 */
 	private synchronized void setChannels(Set<ChannelAddress> channels) {
+		// set new channels
+		this.channels = Collections.unmodifiableSet(new TreeSet<>(channels));
+
+		this.updateSubscription();
+	}
+
+	/**
+	 * Gets the subscribed Channels.
+	 * 
+	 * @return an immutable Set of ChannelAddresses
+	 */
+	public Set<ChannelAddress> getChannels() {
+		return this.channels;
+	}
+
+	/**
+	 * Starts or stops regularly sending the subscribed Channels after they
+	 * changed.
+	 * 
+	 * <p>
+	 * By default a task is scheduled on an own thread of this worker. Override
+	 * this method together with {@link #dispose()} to use a shared scheduler
+	 * instead.
+	 */
+	protected synchronized void updateSubscription() {
 		// stop current thread
 		if (this.futureOpt.isPresent()) {
 			this.futureOpt.get().cancel(true);
 			this.futureOpt = Optional.empty();
 		}
 
-		// clear existing channels
-		this.channels.clear();
-
-		// set new channels
-		this.channels.addAll(channels);
-
-		if (!channels.isEmpty()) {
+		if (!this.channels.isEmpty()) {
+			if (this.executor == null) {
+				this.executor = Executors.newSingleThreadScheduledExecutor();
+			}
 			// registered channels -> create new thread
 			this.futureOpt = Optional.of(this.executor.scheduleWithFixedDelay(() -> {
 				/*
@@ -104,10 +127,18 @@ public abstract class SubscribedChannelsWorker {
 		}
 	}
 
-	public void dispose() {
+	/**
+	 * Stops sending and releases the thread.
+	 */
+	public synchronized void dispose() {
 		// unsubscribe regular task
 		if (this.futureOpt.isPresent()) {
-			futureOpt.get().cancel(true);
+			this.futureOpt.get().cancel(true);
+			this.futureOpt = Optional.empty();
+		}
+		if (this.executor != null) {
+			this.executor.shutdown();
+			this.executor = null;
 		}
 	}
 
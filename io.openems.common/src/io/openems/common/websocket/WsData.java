@@ -95,16 +95,38 @@ public abstract class WsData {
 	 * @throws OpenemsException on error
 	 */
 	private void sendMessage(JsonrpcMessage message) throws OpenemsException {
-		if (this.websocket == null) {
-			throw new OpenemsException("There is no Websocket defined for this WsData.");
+		WebSocket websocket = this.getWebsocketOrError();
+		try {
+			websocket.send(message.toString());
+		} catch (WebsocketNotConnectedException e) {
+			throw new OpenemsException("Websocket is not connected: " + e.getMessage());
 		}
+	}
+
+	/**
+	 * Sends an already encoded JSON-RPC message. This allows to encode a message
+	 * only once for multiple WebSockets.
+	 * 
+	 * @param message the {@link EncodedMessage}
+	 * @throws OpenemsException on error
+	 */
+	public void sendEncoded(EncodedMessage message) throws OpenemsException {
+		WebSocket websocket = this.getWebsocketOrError();
 		try {
-			this.websocket.send(message.toString());
+			websocket.sendFrame(message.toFrame());
 		} catch (WebsocketNotConnectedException e) {
 			throw new OpenemsException("Websocket is not connected: " + e.getMessage());
 		}
 	}
 
+	private WebSocket getWebsocketOrError() throws OpenemsException {
+		WebSocket websocket = this.websocket;
+		if (websocket == null) {
+			throw new OpenemsException("There is no Websocket defined for this WsData.");
+		}
+		return websocket;
+	}
+
 	/**
 	 * Handles a JSON-RPC response by completing the previously registers request
 	 * Future.
@@ -0,0 +1,210 @@
+package io.openems.common.jsonrpc.notification;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+import org.junit.Test;
+
+import com.google.common.collect.TreeBasedTable;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonPrimitive;
+
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.jsonrpc.base.GenericJsonrpcNotification;
+import io.openems.common.jsonrpc.base.GenericJsonrpcRequest;
+import io.openems.common.jsonrpc.base.JsonrpcMessage;
+import io.openems.common.jsonrpc.base.JsonrpcNotification;
+import io.openems.common.types.ChannelAddress;
+import io.openems.common.types.ChannelAddressIndex;
+
+public class TimestampedDataDecoderTest {
+
+	private static TimestampedDataNotification createNotification(int noOfRows, int noOfChannels) {
+		TimestampedDataNotification result = new TimestampedDataNotification();
+		for (int row = 0; row < noOfRows; row++) {
+			long timestamp = 1_577_836_800_000L + row * 2_000L;
+			for (int c = 0; c < noOfChannels; c++) {
+				ChannelAddress address = new ChannelAddress("component" + c / 20, "Channel" + c % 20);
+				JsonElement value;
+				switch (c % 5) {
+				case 0:
+					value = new JsonPrimitive(c * 1.5);
+					break;
+				case 1:
+					value = new JsonPrimitive("text" + c);
+					break;
+				case 2:
+					value = JsonNull.INSTANCE;
+					break;
+				default:
+					value = new JsonPrimitive(row * 1000 + c);
+				}
+				result.add(timestamp, address, value);
+			}
+		}
+		return result;
+	}
+
+	private static TreeBasedTable<Long, ChannelAddress, JsonElement> decodeOld(String json)
+			throws OpenemsNamedException {
+		JsonrpcMessage message = JsonrpcMessage.from(json);
+		return TimestampedDataNotification.from((JsonrpcNotification) message).getData();
+	}
+
+	private static TimestampedDataBatch decodeNew(String json, ChannelAddressIndex index)
+			throws OpenemsNamedException {
+		JsonrpcMessage message = TimestampedDataDecoder.decode(json, index);
+		return TimestampedDataNotification.from((JsonrpcNotification) message).getBatch();
+	}
+
+	@Test
+	public void testDecode() throws OpenemsNamedException {
+		String json = createNotification(3, 50).toString();
+		ChannelAddressIndex index = new ChannelAddressIndex();
+
+		TimestampedDataBatch batch = decodeNew(json, index);
+		assertEquals(3, batch.getNoOfRows());
+		assertEquals(150, batch.size());
+		assertEquals(50, index.size());
+		assertEquals(decodeOld(json), batch.toTable());
+	}
+
+	@Test
+	public void testNumbers() throws OpenemsNamedException {
+		ChannelAddressIndex index = new ChannelAddressIndex();
+		TimestampedDataBatch batch = decodeNew("{\"jsonrpc\":\"2.0\",\"method\":\"timestampedData\",\"params\":{" //
+				+ "\"1000\":{\"a/Long\":-5,\"a/Double\":1.5,\"a/IntDouble\":1.0,\"a/Big\":123456789012345678901234," //
+				+ "\"a/Bool\":true,\"a/Obj\":{\"x\":1}}}}", index);
+		assertEquals(TimestampedDataBatch.TYPE_LONG, batch.getType(0));
+		assertEquals(-5, batch.getLong(0));
+		assertEquals(TimestampedDataBatch.TYPE_DOUBLE, batch.getType(1));
+		assertEquals(1.5, batch.getDouble(1), 0);
+		// keeps the floating point type, e.g. for the InfluxDB field type
+		assertEquals(TimestampedDataBatch.TYPE_DOUBLE, batch.getType(2));
+		assertEquals(TimestampedDataBatch.TYPE_OBJECT, batch.getType(3));
+		assertEquals("123456789012345678901234", batch.getValue(3).getAsString());
+		assertEquals(new JsonPrimitive(true), batch.getValue(4));
+		assertTrue(batch.getValue(5).isJsonObject());
+	}
+
+	@Test
+	public void testOtherMessages() throws OpenemsNamedException {
+		ChannelAddressIndex index = new ChannelAddressIndex();
+
+		// params before method
+		JsonrpcMessage message = TimestampedDataDecoder.decode(
+				"{\"params\":{\"1000\":{\"a/B\":1}},\"method\":\"timestampedData\",\"jsonrpc\":\"2.0\"}", index);
+		assertTrue(message instanceof GenericJsonrpcNotification);
+		assertEquals(1, TimestampedDataNotification.from((JsonrpcNotification) message).getData().size());
+
+		// other Notification
+		message = TimestampedDataDecoder.decode("{\"jsonrpc\":\"2.0\",\"method\":\"foo\",\"params\":{\"bar\":1}}",
+				index);
+		assertTrue(message instanceof GenericJsonrpcNotification);
+
+		// Request
+		message = TimestampedDataDecoder.decode(
+				"{\"jsonrpc\":\"2.0\",\"id\":\"9d5b8e2e-6c5e-4d5a-a0a6-0f9e4b0d2b1c\",\"method\":\"foo\",\"params\":{}}",
+				index);
+		assertTrue(message instanceof GenericJsonrpcRequest);
+		assertEquals(0, index.size());
+	}
+
+	@Test
+	public void testIndexFull() throws OpenemsNamedException {
+		ChannelAddressIndex index = new ChannelAddressIndex(50);
+		String known = createNotification(1, 50).toString();
+		String unknown = createNotification(1, 60).toString();
+		assertSame(index, decodeNew(known, index).getIndex());
+
+		// unknown Channels do not grow a full index
+		TimestampedDataBatch batch = decodeNew(unknown, index);
+		assertNotSame(index, batch.getIndex());
+		assertEquals(50, index.size());
+		assertEquals(decodeOld(unknown), batch.toTable());
+
+		// same for data that was not parsed by the decoder
+		batch = TimestampedDataBatch.from(index, decodeOld(unknown));
+		assertNotSame(index, batch.getIndex());
+		assertEquals(decodeOld(unknown), batch.toTable());
+
+		// known Channels still use the index
+		assertSame(index, decodeNew(known, index).getIndex());
+		assertEquals(50, index.size());
+	}
+
+	@Test(expected = OpenemsNamedException.class)
+	public void testInvalid() throws OpenemsNamedException {
+		TimestampedDataDecoder.decode("{\"jsonrpc\":\"2.0\",\"method\":\"timestampedData\",\"params\":{\"x\":{}}}",
+				new ChannelAddressIndex());
+	}
+
+	/**
+	 * Compares allocation and throughput of the tree based parsing and the
+	 * streaming {@link TimestampedDataDecoder}.
+	 *
+	 * <p>
+	 * Timings and allocations vary between runs; uncomment the "@Test"
+	 * annotation to print them.
+	 *
+	 * @throws OpenemsNamedException on error
+	 */
+	// @Test
+	public void benchmark() throws OpenemsNamedException {
+		final int iterations = 2_000;
+		String json = createNotification(5, 400).toString();
+		ChannelAddressIndex index = new ChannelAddressIndex();
+
+		// warm-up
+		for (int i = 0; i < iterations / 4; i++) {
+			decodeOld(json);
+			decodeNew(json, index);
+		}
+
+		long oldBytes = allocatedBytes();
+		long start = System.nanoTime();
+		long oldSize = 0;
+		for (int i = 0; i < iterations; i++) {
+			oldSize += decodeOld(json).size();
+		}
+		long oldNanos = System.nanoTime() - start;
+		oldBytes = allocatedBytes() - oldBytes;
+
+		long newBytes = allocatedBytes();
+		start = System.nanoTime();
+		long newSize = 0;
+		for (int i = 0; i < iterations; i++) {
+			newSize += decodeNew(json, index).size();
+		}
+		long newNanos = System.nanoTime() - start;
+		newBytes = allocatedBytes() - newBytes;
+
+		assertEquals(oldSize, newSize);
+		System.out.println("TimestampedDataDecoder benchmark [" + json.length() / 1024 + " kB message]");
+		System.out.println("  Tree      [" + oldNanos / iterations / 1000 + " us/msg] [" + oldBytes / iterations / 1024
+				+ " kB/msg]");
+		System.out.println("  Streaming [" + newNanos / iterations / 1000 + " us/msg] [" + newBytes / iterations / 1024
+				+ " kB/msg]");
+	}
+
+	/**
+	 * Gets the bytes allocated by the current thread; -1 if not supported by the
+	 * JVM.
+	 *
+	 * @return the allocated bytes
+	 */
+	private static long allocatedBytes() {
+		ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		if (bean instanceof com.sun.management.ThreadMXBean) {
+			return ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(Thread.currentThread().getId());
+		}
+		return -1;
+	}
+
+}
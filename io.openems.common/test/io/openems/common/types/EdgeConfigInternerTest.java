@@ -0,0 +1,215 @@
+package io.openems.common.types;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.junit.Test;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonPrimitive;
+
+import io.openems.common.channel.AccessMode;
+import io.openems.common.channel.Level;
+import io.openems.common.channel.Unit;
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.types.EdgeConfig.Component;
+import io.openems.common.types.EdgeConfig.Component.Channel;
+import io.openems.common.types.EdgeConfig.Component.Channel.ChannelDetailEnum;
+import io.openems.common.types.EdgeConfig.Component.Channel.ChannelDetailOpenemsType;
+import io.openems.common.types.EdgeConfig.Component.Channel.ChannelDetailState;
+import io.openems.common.types.EdgeConfig.Factory;
+import io.openems.common.types.EdgeConfig.Factory.Property;
+import io.openems.common.utils.JsonUtils;
+
+public class EdgeConfigInternerTest {
+
+	private static final String[] FACTORIES = { "Ess.Generic", "Meter.Socomec", "Controller.Balancing",
+			"Battery.Generic", "Io.KMtronic", "Evcs.Keba" };
+	private static final int NO_OF_CHANNELS = 80;
+	private static final int NO_OF_PROPERTIES = 10;
+
+	/**
+	 * Creates the JSON configuration of an Edge like it is stored in Metadata.
+	 *
+	 * @param edge the number of the Edge
+	 * @return the JSON String
+	 */
+	private static String createConfig(int edge) {
+		EdgeConfig config = new EdgeConfig();
+		for (int c = 0; c < 12; c++) {
+			String factoryId = FACTORIES[c % FACTORIES.length];
+			String componentId = "component" + c;
+			TreeMap<String, JsonElement> properties = new TreeMap<>();
+			properties.put("id", new JsonPrimitive(componentId));
+			properties.put("alias", new JsonPrimitive("Component " + c));
+			properties.put("enabled", new JsonPrimitive(true));
+			properties.put("modbus.id", new JsonPrimitive("modbus0"));
+			properties.put("modbusUnitId", new JsonPrimitive(edge % 7 + c));
+			TreeMap<String, Channel> channels = new TreeMap<>();
+			for (int i = 0; i < NO_OF_CHANNELS; i++) {
+				String channelId = factoryId.replace(".", "") + "Channel" + i;
+				Channel channel;
+				if (i % 8 == 0) {
+					channel = new Channel(channelId, OpenemsType.BOOLEAN, AccessMode.READ_ONLY,
+							"State " + i + " of " + factoryId, Unit.NONE, new ChannelDetailState(Level.WARNING));
+				} else if (i % 16 == 1) {
+					Map<String, JsonElement> options = new HashMap<>();
+					for (int o = 0; o < 6; o++) {
+						options.put("OPTION_" + o, new JsonPrimitive(o));
+					}
+					channel = new Channel(channelId, OpenemsType.INTEGER, AccessMode.READ_WRITE, "", Unit.NONE,
+							new ChannelDetailEnum(options));
+				} else {
+					channel = new Channel(channelId, OpenemsType.INTEGER, AccessMode.READ_ONLY, "", Unit.WATT,
+							new ChannelDetailOpenemsType());
+				}
+				channels.put(channelId, channel);
+			}
+			config.addComponent(componentId,
+					new Component("NO_SERVICE_PID", componentId, "Component " + c, factoryId, properties, channels));
+		}
+		for (String factoryId : FACTORIES) {
+			Property[] properties = new Property[NO_OF_PROPERTIES];
+			for (int p = 0; p < NO_OF_PROPERTIES; p++) {
+				properties[p] = new Property("property" + p, "Property " + p, "The description of Property " + p,
+						p % 2 == 0, false, new JsonPrimitive(p), JsonUtils.buildJsonObject() //
+								.addProperty("type", "input") //
+								.add("templateOptions", JsonUtils.buildJsonObject() //
+										.addProperty("type", "number") //
+										.build()) //
+								.build());
+			}
+			config.addFactory(factoryId, new Factory(factoryId, factoryId, "The " + factoryId + " Factory",
+					properties, new String[] { "io.openems.edge.common.component.OpenemsComponent" }));
+		}
+		return config.toJson().toString();
+	}
+
+	private static EdgeConfig parse(String json) throws OpenemsNamedException {
+		return EdgeConfig.fromJson(JsonUtils.getAsJsonObject(JsonUtils.parse(json)));
+	}
+
+	@Test
+	public void testIntern() throws OpenemsNamedException {
+		EdgeConfigInterner interner = new EdgeConfigInterner();
+		EdgeConfig config0 = parse(createConfig(0));
+		EdgeConfig config1 = parse(createConfig(1));
+		EdgeConfig interned0 = interner.intern(config0);
+		EdgeConfig interned1 = interner.intern(config1);
+
+		assertEquals(config0.toJson(), interned0.toJson());
+		assertEquals(config1.toJson(), interned1.toJson());
+
+		// Channels and Factories are shared
+		assertNotSame(config0.getFactories().get("Ess.Generic"), config1.getFactories().get("Ess.Generic"));
+		assertSame(interned0.getFactories().get("Ess.Generic"), interned1.getFactories().get("Ess.Generic"));
+		assertSame(interned0.getComponents().get("component0").getChannels(),
+				interned1.getComponents().get("component0").getChannels());
+		assertSame(interned0.getComponents().get("component0").getChannels(),
+				interned0.getComponents().get("component6").getChannels());
+
+		// Properties are not
+		assertEquals(new JsonPrimitive(0), interned0.getComponents().get("component0").getProperties()
+				.get("modbusUnitId"));
+		assertEquals(new JsonPrimitive(1), interned1.getComponents().get("component0").getProperties()
+				.get("modbusUnitId"));
+
+		// State-Channels are still found
+		assertTrue(interned0.getStateChannel(new ChannelAddress("component0", "EssGenericChannel8")).isPresent());
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void testImmutable() throws OpenemsNamedException {
+		EdgeConfig interned = new EdgeConfigInterner().intern(parse(createConfig(0)));
+		interned.addComponent("foo", new Component("", "foo", "foo", "foo", new TreeMap<>(), new TreeMap<>()));
+	}
+
+	@Test
+	public void testSerializer() throws OpenemsNamedException {
+		String json = createConfig(0);
+		EdgeConfig config = parse(json);
+		byte[] bytes = EdgeConfigSerializer.serialize(config);
+		EdgeConfig deserialized = EdgeConfigSerializer.deserialize(bytes);
+		assertEquals(config.toJson(), deserialized.toJson());
+
+		// serialization of an interned EdgeConfig is equal
+		EdgeConfig interned = new EdgeConfigInterner().intern(config);
+		assertEquals(config.toJson(), EdgeConfigSerializer.deserialize(EdgeConfigSerializer.serialize(interned))
+				.toJson());
+
+		// the deserialized EdgeConfig is mutable
+		deserialized.getComponents().get("component0").setChannels(new TreeMap<>());
+		assertEquals(NO_OF_CHANNELS, deserialized.getComponents().get("component6").getChannels().size());
+
+		// compact serialization is at least ten times smaller than JSON
+		assertTrue(bytes.length * 10 < json.length());
+	}
+
+	@Test
+	public void testUnit() throws OpenemsNamedException {
+		// the Unit is not restored from JSON, but from the compact serialization
+		EdgeConfig config = new EdgeConfig();
+		TreeMap<String, Channel> channels = new TreeMap<>();
+		channels.put("ActivePower", new Channel("ActivePower", OpenemsType.INTEGER, AccessMode.READ_ONLY, "",
+				Unit.WATT, new ChannelDetailOpenemsType()));
+		config.addComponent("meter0", new Component("", "meter0", "meter0", "Meter", new TreeMap<>(), channels));
+		EdgeConfig deserialized = EdgeConfigSerializer.deserialize(EdgeConfigSerializer.serialize(config));
+		assertEquals(Unit.WATT, deserialized.getComponents().get("meter0").getChannels().get("ActivePower").getUnit());
+	}
+
+	/**
+	 * Reports the heap use per Edge with and without interning.
+	 *
+	 * <p>
+	 * The results depend on the machine and the JVM, so they are only printed.
+	 * Uncomment the "@Test" annotation to run it.
+	 *
+	 * @throws OpenemsNamedException on error
+	 */
+	// @Test
+	public void heapUsage() throws OpenemsNamedException {
+		final int noOfEdges = 200;
+		List<String> jsons = new ArrayList<>();
+		for (int i = 0; i < noOfEdges; i++) {
+			jsons.add(createConfig(i));
+		}
+		EdgeConfigInterner interner = new EdgeConfigInterner();
+
+		long before = usedHeap();
+		List<EdgeConfig> plain = new ArrayList<>();
+		for (String json : jsons) {
+			plain.add(parse(json));
+		}
+		long plainBytes = usedHeap() - before;
+		assertEquals(noOfEdges, plain.size());
+		plain = null;
+
+		before = usedHeap();
+		List<EdgeConfig> interned = new ArrayList<>();
+		for (String json : jsons) {
+			interned.add(interner.intern(parse(json)));
+		}
+		long internedBytes = usedHeap() - before;
+		assertEquals(noOfEdges, interned.size());
+
+		System.out.println("EdgeConfig heap per Edge: plain [" + plainBytes / noOfEdges / 1024 + " kB] interned ["
+				+ internedBytes / noOfEdges / 1024 + " kB]");
+	}
+
+	private static long usedHeap() {
+		Runtime runtime = Runtime.getRuntime();
+		for (int i = 0; i < 5; i++) {
+			System.gc();
+		}
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+
+}
@@ -0,0 +1,134 @@
+package io.openems.common.websocket;
+
+import static org.junit.Assert.assertEquals;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.java_websocket.drafts.Draft_6455;
+import org.java_websocket.framing.Framedata;
+import org.junit.Test;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+
+import io.openems.common.jsonrpc.base.JsonrpcMessage;
+import io.openems.common.jsonrpc.notification.CurrentDataNotification;
+import io.openems.common.jsonrpc.notification.EdgeRpcNotification;
+import io.openems.common.types.ChannelAddress;
+
+public class EncodedMessageTest {
+
+	private static JsonrpcMessage createNotification() {
+		return createNotification(new CurrentDataNotification());
+	}
+
+	private static JsonrpcMessage createNotification(CurrentDataNotification currentData) {
+		for (int i = 0; i < 100; i++) {
+			currentData.add(new ChannelAddress("component" + i / 10, "Channel" + i), new JsonPrimitive(i * 1000));
+		}
+		return new EdgeRpcNotification("edge0", currentData);
+	}
+
+	@Test
+	public void testEncode() {
+		JsonrpcMessage notification = createNotification();
+		EncodedMessage sut = EncodedMessage.from(notification);
+		assertEquals(notification.toString(), sut.toString());
+
+		// every frame has its own position
+		Framedata frame1 = sut.toFrame();
+		Framedata frame2 = sut.toFrame();
+		ByteBuffer payload1 = frame1.getPayloadData();
+		payload1.position(payload1.limit());
+		assertEquals(sut.size(), frame2.getPayloadData().remaining());
+		assertEquals(sut.size(), sut.toFrame().getPayloadData().remaining());
+	}
+
+	@Test
+	public void testBroadcast() {
+		AtomicInteger serialized = new AtomicInteger();
+		JsonrpcMessage notification = createNotification(new CurrentDataNotification() {
+			@Override
+			public JsonObject toJsonObject() {
+				serialized.incrementAndGet();
+				return super.toJsonObject();
+			}
+		});
+		Draft_6455 draft = new Draft_6455();
+
+		// the frames on the wire are the same
+		ByteBuffer expected = draft.createBinaryFrame(draft.createFrames(notification.toString(), false).get(0));
+		assertEquals(expected, draft.createBinaryFrame(EncodedMessage.from(notification).toFrame()));
+
+		// ...but the notification is serialized only once per broadcast
+		serialized.set(0);
+		int perReceiverBytes = broadcastPerReceiver(draft, notification, 100);
+		assertEquals(100, serialized.get());
+
+		serialized.set(0);
+		int encodedBytes = broadcastEncoded(draft, notification, 100);
+		assertEquals(1, serialized.get());
+		assertEquals(perReceiverBytes, encodedBytes);
+	}
+
+	/**
+	 * Compares the CPU time per broadcast of serializing a notification for every
+	 * receiver with encoding it once. For every receiver the server-side
+	 * WebSocket frame is created like in WebSocketImpl#send().
+	 *
+	 * <p>
+	 * The results depend on the machine, so this only prints them. Uncomment the
+	 * "@Test" annotation to run it.
+	 */
+	// @Test
+	public void benchmarkBroadcast() {
+		ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		Draft_6455 draft = new Draft_6455();
+		JsonrpcMessage notification = createNotification();
+		final int broadcasts = 50;
+
+		for (int receivers : new int[] { 1, 10, 100, 1000 }) {
+			// Warm-up
+			broadcastPerReceiver(draft, notification, receivers);
+			broadcastEncoded(draft, notification, receivers);
+
+			long start = bean.getCurrentThreadCpuTime();
+			for (int i = 0; i < broadcasts; i++) {
+				broadcastPerReceiver(draft, notification, receivers);
+			}
+			long perReceiver = (bean.getCurrentThreadCpuTime() - start) / broadcasts / 1000;
+
+			start = bean.getCurrentThreadCpuTime();
+			for (int i = 0; i < broadcasts; i++) {
+				broadcastEncoded(draft, notification, receivers);
+			}
+			long encoded = (bean.getCurrentThreadCpuTime() - start) / broadcasts / 1000;
+
+			System.out.println("Broadcast to [" + receivers + "] receivers: CPU per broadcast serialized per receiver ["
+					+ perReceiver + " us] encoded once [" + encoded + " us]");
+		}
+	}
+
+	private static int broadcastPerReceiver(Draft_6455 draft, JsonrpcMessage notification, int receivers) {
+		int bytes = 0;
+		for (int i = 0; i < receivers; i++) {
+			for (Framedata frame : draft.createFrames(notification.toString(), false)) {
+				bytes += draft.createBinaryFrame(frame).remaining();
+			}
+		}
+		return bytes;
+	}
+
+	private static int broadcastEncoded(Draft_6455 draft, JsonrpcMessage notification, int receivers) {
+		int bytes = 0;
+		EncodedMessage encoded = EncodedMessage.from(notification);
+		for (int i = 0; i < receivers; i++) {
+			bytes += draft.createBinaryFrame(encoded.toFrame()).remaining();
+		}
+		return bytes;
+	}
+
+}
@@ -14,8 +14,7 @@ import io.openems.edge.battery.soltaro.SoltaroBattery;
 import io.openems.edge.battery.soltaro.controller.BatteryHandlingController;
 import io.openems.edge.battery.soltaro.controller.IState;
 import io.openems.edge.common.channel.Channel;
-import io.openems.edge.common.channel.value.Value;
-import io.openems.edge.common.type.CircularTreeMap;
+import io.openems.edge.common.type.pastvalues.PastValues;
 import io.openems.edge.ess.api.ManagedSymmetricEss;
 import io.openems.edge.ess.power.api.Phase;
 import io.openems.edge.ess.power.api.Pwr;
@@ -77,18 +76,17 @@ public abstract class BaseState implements IState {
 	@SuppressWarnings("unused")
 	private Map<LocalDateTime, ?> getValuesInTimeSpan(long timeInSeconds) {
 		Map<LocalDateTime, Object> values = new HashMap<>();
-		Map<LocalDateTime, ?> pastValues = this.getChargeIndicationValues();
-
-		for (LocalDateTime key : pastValues.keySet()) {
-			if (key.plusSeconds(timeInSeconds).isAfter(LocalDateTime.now())) {
-				// entry is in the time span
-				Object o = pastValues.get(key);
-				if (o != null && o instanceof Value<?>) {
-					Value<?> v = (Value<?>) o;
-					if (v.get() != null) {
-						values.put(key, o);
-					}
-				}
+		PastValues<?> pastValues = this.getChargeIndicationValues();
+		if (pastValues == null) {
+			return values;
+		}
+
+		// entries in the time span
+		long from = PastValues.toMillis(LocalDateTime.now().minusSeconds(timeInSeconds));
+		for (int i = pastValues.positionAfter(from, false); i < pastValues.size(); i++) {
+			Object value = pastValues.getValue(i);
+			if (value != null) {
+				values.put(PastValues.toLocalDateTime(pastValues.getTimestamp(i)), value);
 			}
 		}
 		return values;
@@ -98,7 +96,7 @@ public abstract class BaseState implements IState {
 	private boolean hasBmsBeenChargedOrDischarged(Map<LocalDateTime, ?> values) {
 		for (LocalDateTime dateTime : values.keySet()) {
 			try {
-				Object x = ((Value<?>) values.get(dateTime)).get();
+				Object x = values.get(dateTime);
 				System.out.println("Value: " + x + " is in time: " + dateTime);
 				if (x instanceof Integer) {
 					if ((Integer) x > 0) {
@@ -175,12 +173,12 @@ public abstract class BaseState implements IState {
 		return ess;
 	}
 
-	public CircularTreeMap<LocalDateTime, ?> getChargeIndicationValues() {
-		CircularTreeMap<LocalDateTime, ?> pastValues = null;
+	public PastValues<?> getChargeIndicationValues() {
+		PastValues<?> pastValues = null;
 
 		Channel<?> channel = bms.getChargeIndication();
 		if (channel != null) {
-			pastValues = channel.getPastValues();
+			pastValues = channel.pastValues();
 		}
 		return pastValues;
 	}
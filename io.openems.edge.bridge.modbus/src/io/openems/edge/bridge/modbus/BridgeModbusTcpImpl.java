@@ -21,6 +21,7 @@ import io.openems.common.exceptions.OpenemsException;
 import io.openems.edge.bridge.modbus.api.AbstractModbusBridge;
 import io.openems.edge.bridge.modbus.api.BridgeModbus;
 import io.openems.edge.bridge.modbus.api.BridgeModbusTcp;
+import io.openems.edge.bridge.modbus.api.ModbusLanes;
 import io.openems.edge.common.channel.Doc;
 import io.openems.edge.common.component.OpenemsComponent;
 import io.openems.edge.common.event.EdgeEventConstants;
@@ -48,6 +49,12 @@ public class BridgeModbusTcpImpl extends AbstractModbusBridge
 	 */
 	private InetAddress ipAddress = null;
 
+	/**
+	 * Executes Read-Tasks of different Unit-IDs concurrently; null if only one
+	 * connection is configured.
+	 */
+	private ModbusLanes lanes = null;
+
 	public enum ChannelId implements io.openems.edge.common.channel.ChannelId {
 		;
 		private final Doc doc;
@@ -72,21 +79,43 @@ public class BridgeModbusTcpImpl extends AbstractModbusBridge
 
 	@Activate
 	protected void activate(ComponentContext context, ConfigTcp config) throws UnknownHostException {
+		int noOfConnections = Math.max(1, config.noOfConnections());
+		this.connections = new TCPMasterConnection[noOfConnections];
+		if (noOfConnections > 1) {
+			this.lanes = new ModbusLanes(config.id(), noOfConnections);
+			for (ModbusLanes.LaneChannelId channelId : this.lanes.createChannelIds()) {
+				this.lanes.setChannel(channelId.getLane(), this.addChannel(channelId));
+			}
+			this.setLanes(this.lanes);
+		}
 		super.activate(context, config.id(), config.alias(), config.enabled(), config.logVerbosity(),
-				config.invalidateElementsAfterReadErrors());
+				config.invalidateElementsAfterReadErrors(), config.mergeReadTasksMaxGap());
 		this.setIpAddress(InetAddress.getByName(config.ip()));
 	}
 
 	@Deactivate
 	protected void deactivate() {
 		super.deactivate();
+		if (this.lanes != null) {
+			this.lanes.shutdown();
+		}
+		for (int i = 0; i < this.connections.length; i++) {
+			this.closeModbusConnection(i);
+		}
 	}
 
+	/**
+	 * Closes the Modbus connection of the current lane.
+	 */
 	@Override
 	public void closeModbusConnection() {
-		if (this._connection != null) {
-			this._connection.close();
-			this._connection = null;
+		this.closeModbusConnection(this.getCurrentLane());
+	}
+
+	private synchronized void closeModbusConnection(int lane) {
+		if (this.connections[lane] != null) {
+			this.connections[lane].close();
+			this.connections[lane] = null;
 		}
 	}
 
@@ -98,27 +127,44 @@ public class BridgeModbusTcpImpl extends AbstractModbusBridge
 		return transaction;
 	}
 
-	private TCPMasterConnection _connection = null;
-
-	private synchronized TCPMasterConnection getModbusConnection() throws OpenemsException {
-		if (this._connection == null) {
-			/*
-			 * create new connection
-			 */
-			TCPMasterConnection connection = new TCPMasterConnection(this.getIpAddress());
-			connection.setPort(Modbus.DEFAULT_PORT);
-			this._connection = connection;
+	/**
+	 * Holds one connection per lane.
+	 */
+	private TCPMasterConnection[] connections = new TCPMasterConnection[1];
+
+	private TCPMasterConnection getModbusConnection() throws OpenemsException {
+		int lane = this.getCurrentLane();
+		TCPMasterConnection connection;
+		synchronized (this) {
+			connection = this.connections[lane];
+			if (connection == null) {
+				/*
+				 * create new connection
+				 */
+				connection = new TCPMasterConnection(this.getIpAddress());
+				connection.setPort(Modbus.DEFAULT_PORT);
+				this.connections[lane] = connection;
+			}
 		}
-		if (!this._connection.isConnected()) {
+		// Every connection is only used by the thread of its lane
+		if (!connection.isConnected()) {
 			try {
-				this._connection.connect();
+				connection.connect();
 			} catch (Exception e) {
 				throw new OpenemsException(
 						"Connection to [" + this.getIpAddress().getHostAddress() + "] failed: " + e.getMessage());
 			}
-			this._connection.getModbusTransport().setTimeout(AbstractModbusBridge.DEFAULT_TIMEOUT);
+			connection.getModbusTransport().setTimeout(AbstractModbusBridge.DEFAULT_TIMEOUT);
+		}
+		return connection;
+	}
+
+	private int getCurrentLane() {
+		int lane = ModbusLanes.getCurrentLane();
+		if (lane >= this.connections.length) {
+			return 0;
 		}
-		return this._connection;
+		return lane;
 	}
 
 	public InetAddress getIpAddress() {
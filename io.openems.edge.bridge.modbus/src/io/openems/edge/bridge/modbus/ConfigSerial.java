@@ -42,5 +42,8 @@ import io.openems.edge.bridge.modbus.api.Stopbit;
 	@AttributeDefinition(name = "Invalidate elements after how many read Errors?", description = "Increase this value if modbus read errors happen frequently.")
 	int invalidateElementsAfterReadErrors() default 1;
 
+	@AttributeDefinition(name = "Merge Read-Tasks with gap up to", description = "Merge high priority read tasks of the same Component into one request, if at most this many unused registers are in-between. '-1' disables merging; '0' merges only directly adjacent tasks.")
+	int mergeReadTasksMaxGap() default -1;
+
 	String webconsole_configurationFactory_nameHint() default "Bridge Modbus/RTU Serial [{id}]";
 }
\ No newline at end of file
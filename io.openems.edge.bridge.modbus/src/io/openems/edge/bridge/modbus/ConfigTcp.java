@@ -27,6 +27,12 @@ import io.openems.edge.bridge.modbus.api.LogVerbosity;
 
 	@AttributeDefinition(name = "Invalidate elements after how many read Errors?", description = "Increase this value if modbus read errors happen frequently.")
 	int invalidateElementsAfterReadErrors() default 1;
+
+	@AttributeDefinition(name = "Merge Read-Tasks with gap up to", description = "Merge high priority read tasks of the same Component into one request, if at most this many unused registers are in-between. '-1' disables merging; '0' merges only directly adjacent tasks.")
+	int mergeReadTasksMaxGap() default -1;
+
+	@AttributeDefinition(name = "Number of connections", description = "Read-Tasks of different Unit-IDs are executed concurrently on up to this many connections, e.g. for a gateway with multiple devices. '1' executes all Tasks one after the other.")
+	int noOfConnections() default 1;
 	
 	String webconsole_configurationFactory_nameHint() default "Bridge Modbus/TCP [{id}]";
 }
\ No newline at end of file
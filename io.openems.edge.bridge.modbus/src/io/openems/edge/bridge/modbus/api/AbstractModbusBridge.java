@@ -47,15 +47,30 @@ public abstract class AbstractModbusBridge extends AbstractOpenemsComponent impl
 	}
 
 	protected void activate(ComponentContext context, String id, String alias, boolean enabled,
-			LogVerbosity logVerbosity, int invalidateElementsAfterReadErrors) {
+			LogVerbosity logVerbosity, int invalidateElementsAfterReadErrors, int mergeReadTasksMaxGap) {
 		super.activate(context, id, alias, enabled);
 		this.logVerbosity = logVerbosity;
 		this.invalidateElementsAfterReadErrors = invalidateElementsAfterReadErrors;
+		if (mergeReadTasksMaxGap >= 0) {
+			this.worker.setReadTaskOptimizer(new ReadTaskOptimizer(mergeReadTasksMaxGap));
+		} else {
+			this.worker.setReadTaskOptimizer(null);
+		}
 		if (this.isEnabled()) {
 			this.worker.activate(id);
 		}
 	}
 
+	/**
+	 * Sets the {@link ModbusLanes} for concurrent execution of Read-Tasks.
+	 * 
+	 * @param lanes the {@link ModbusLanes}; null to execute all Tasks one after
+	 *              the other
+	 */
+	protected void setLanes(ModbusLanes lanes) {
+		this.worker.setLanes(lanes);
+	}
+
 	protected void deactivate() {
 		super.deactivate();
 		this.worker.deactivate();
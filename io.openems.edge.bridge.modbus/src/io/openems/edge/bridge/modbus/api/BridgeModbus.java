@@ -4,6 +4,7 @@ import org.osgi.annotation.versioning.ProviderType;
 
 import io.openems.common.channel.Debounce;
 import io.openems.common.channel.Level;
+import io.openems.common.channel.Unit;
 import io.openems.common.types.OpenemsType;
 import io.openems.edge.common.channel.Doc;
 import io.openems.edge.common.component.OpenemsComponent;
@@ -16,7 +17,19 @@ public interface BridgeModbus extends OpenemsComponent {
 				.debounce(10, Debounce.TRUE_VALUES_IN_A_ROW_TO_SET_TRUE)), //
 		CYCLE_TIME_IS_TOO_SHORT(Doc.of(Level.WARNING) //
 				.debounce(10, Debounce.TRUE_VALUES_IN_A_ROW_TO_SET_TRUE)), //
-		EXECUTION_DURATION(Doc.of(OpenemsType.LONG));
+		EXECUTION_DURATION(Doc.of(OpenemsType.LONG) //
+				.unit(Unit.MILLISECONDS) //
+				.text("Expected duration of all planned Tasks")), //
+		AVERAGE_EXECUTION_DURATION(Doc.of(OpenemsType.LONG) //
+				.unit(Unit.MILLISECONDS) //
+				.text("Moving average of the duration of all planned Tasks")), //
+		PLANNED_LOW_PRIORITY_TASKS(Doc.of(OpenemsType.INTEGER) //
+				.text("Number of low priority Read-Tasks that were planned together with the high priority Tasks")), //
+		PLANNED_CYCLES(Doc.of(OpenemsType.LONG) //
+				.text("Number of Cycles that are required to execute the planned Tasks")), //
+		PLANNED_IDLE_TIME(Doc.of(OpenemsType.LONG) //
+				.unit(Unit.MILLISECONDS) //
+				.text("Planned waiting time after executing the planned Tasks"));
 
 		private final Doc doc;
 
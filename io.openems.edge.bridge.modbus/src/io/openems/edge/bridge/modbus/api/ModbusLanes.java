@@ -0,0 +1,263 @@
+package io.openems.edge.bridge.modbus.api;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import io.openems.common.channel.Unit;
+import io.openems.common.types.OpenemsType;
+import io.openems.edge.bridge.modbus.api.task.Task;
+import io.openems.edge.common.channel.Channel;
+import io.openems.edge.common.channel.ChannelId;
+import io.openems.edge.common.channel.Doc;
+
+/**
+ * Executes Read-Tasks of different Modbus Unit-IDs concurrently.
+ *
+ * <p>
+ * Every lane has its own thread and - provided by the Modbus-Bridge via
+ * {@link #getCurrentLane()} - its own connection. All tasks of one Unit-ID are
+ * always executed in the same lane, i.e. one after the other. Unit-IDs are
+ * distributed to the lanes in the order they are seen first.
+ */
+public class ModbusLanes {
+
+	/**
+	 * Holds the lane index of the current thread. Threads that are not owned by a
+	 * lane - like the {@link ModbusWorker} thread itself - use lane '0'.
+	 */
+	private static final ThreadLocal<Integer> CURRENT_LANE = ThreadLocal.withInitial(() -> 0);
+
+	/**
+	 * Gets the index of the lane that is executing on the current thread.
+	 *
+	 * @return the lane index; '0' if the current thread is not owned by a lane
+	 */
+	public static int getCurrentLane() {
+		return CURRENT_LANE.get();
+	}
+
+	/**
+	 * A dynamically created Channel-ID for the execution duration of one lane,
+	 * e.g. "Lane0ExecutionDuration".
+	 */
+	public static class LaneChannelId implements ChannelId {
+
+		private final int lane;
+		private final String name;
+		private final Doc doc;
+
+		public LaneChannelId(int lane) {
+			this.lane = lane;
+			this.name = "LANE" + lane + "_EXECUTION_DURATION";
+			this.doc = Doc.of(OpenemsType.LONG) //
+					.unit(Unit.MILLISECONDS) //
+					.text("Execution duration of all tasks of lane " + lane + " in the last Cycle");
+		}
+
+		public int getLane() {
+			return this.lane;
+		}
+
+		@Override
+		public String name() {
+			return this.name;
+		}
+
+		@Override
+		public Doc doc() {
+			return this.doc;
+		}
+	}
+
+	private final ExecutorService[] executors;
+	private final AtomicLong[] durations;
+	private final Channel<?>[] channels;
+	private final Map<Integer, Integer> lanesByUnitId = new ConcurrentHashMap<>();
+
+	/**
+	 * Creates {@link ModbusLanes}.
+	 *
+	 * @param name      the name used for the threads, e.g. the Component-ID
+	 * @param noOfLanes the number of lanes
+	 */
+	public ModbusLanes(String name, int noOfLanes) {
+		this.executors = new ExecutorService[noOfLanes];
+		this.durations = new AtomicLong[noOfLanes];
+		this.channels = new Channel<?>[noOfLanes];
+		for (int i = 0; i < noOfLanes; i++) {
+			final int lane = i;
+			this.executors[i] = Executors.newSingleThreadExecutor(runnable -> {
+				Thread thread = new Thread(() -> {
+					CURRENT_LANE.set(lane);
+					runnable.run();
+				}, name + "-Lane" + lane);
+				thread.setDaemon(true);
+				return thread;
+			});
+			this.durations[i] = new AtomicLong(0);
+		}
+	}
+
+	/**
+	 * Gets the Channel-IDs that need to be added to the Modbus-Bridge.
+	 *
+	 * @return the Channel-IDs per lane
+	 */
+	public LaneChannelId[] createChannelIds() {
+		LaneChannelId[] result = new LaneChannelId[this.executors.length];
+		for (int i = 0; i < result.length; i++) {
+			result[i] = new LaneChannelId(i);
+		}
+		return result;
+	}
+
+	/**
+	 * Sets the execution duration Channel of a lane.
+	 *
+	 * @param lane    the lane index
+	 * @param channel the Channel
+	 */
+	public void setChannel(int lane, Channel<?> channel) {
+		this.channels[lane] = channel;
+	}
+
+	/**
+	 * Gets the number of lanes.
+	 *
+	 * @return the number of lanes
+	 */
+	public int getNoOfLanes() {
+		return this.executors.length;
+	}
+
+	/**
+	 * Gets the lane of a Task.
+	 *
+	 * @param task the Task
+	 * @return the lane index
+	 */
+	public int getLane(Task task) {
+		if (task.getParent() == null) {
+			return 0;
+		}
+		Integer unitId = task.getParent().getUnitId();
+		Integer lane = this.lanesByUnitId.get(unitId);
+		if (lane == null) {
+			lane = this.lanesByUnitId.computeIfAbsent(unitId,
+					k -> this.lanesByUnitId.size() % this.executors.length);
+		}
+		return lane;
+	}
+
+	/**
+	 * Executes the given Tasks in their lanes and waits till all of them
+	 * finished.
+	 *
+	 * <p>
+	 * The results of the Tasks are aggregated, so that one lane cannot overwrite
+	 * the failure of another lane: the execution failed if any Task in any lane
+	 * failed.
+	 *
+	 * @param <T>    the type of the Tasks
+	 * @param tasks  the Tasks
+	 * @param runner executes one Task and returns true if it failed, false if it
+	 *               was executed successfully or null if nothing was executed;
+	 *               must not throw
+	 * @return true if any Task failed, false if at least one Task was executed
+	 *         successfully and none failed or null if nothing was executed
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	public <T extends Task> Boolean execute(List<T> tasks, Function<T, Boolean> runner) throws InterruptedException {
+		List<List<T>> tasksPerLane = new ArrayList<>(this.executors.length);
+		for (int i = 0; i < this.executors.length; i++) {
+			tasksPerLane.add(new ArrayList<>());
+		}
+		for (T task : tasks) {
+			tasksPerLane.get(this.getLane(task)).add(task);
+		}
+
+		List<Future<Boolean>> futures = new ArrayList<>(this.executors.length);
+		for (int i = 0; i < this.executors.length; i++) {
+			List<T> laneTasks = tasksPerLane.get(i);
+			if (laneTasks.isEmpty()) {
+				continue;
+			}
+			AtomicLong duration = this.durations[i];
+			futures.add(this.executors[i].submit(() -> {
+				long start = System.nanoTime();
+				try {
+					Boolean laneFailed = null;
+					for (T task : laneTasks) {
+						laneFailed = or(laneFailed, runner.apply(task));
+					}
+					return laneFailed;
+				} finally {
+					duration.addAndGet(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+				}
+			}));
+		}
+
+		Boolean failed = null;
+		for (Future<Boolean> future : futures) {
+			try {
+				failed = or(failed, future.get());
+			} catch (ExecutionException e) {
+				if (e.getCause() instanceof RuntimeException) {
+					throw (RuntimeException) e.getCause();
+				}
+				throw new IllegalStateException(e.getCause());
+			}
+		}
+		return failed;
+	}
+
+	/**
+	 * Combines two nullable results; null means 'nothing executed'.
+	 *
+	 * @param a the first result
+	 * @param b the second result
+	 * @return the combined result
+	 */
+	private static Boolean or(Boolean a, Boolean b) {
+		if (a == null) {
+			return b;
+		}
+		if (b == null) {
+			return a;
+		}
+		return a || b;
+	}
+
+	/**
+	 * Applies the execution durations since the last call to the Channels and
+	 * resets them.
+	 */
+	public void updateChannels() {
+		for (int i = 0; i < this.durations.length; i++) {
+			long duration = this.durations[i].getAndSet(0);
+			Channel<?> channel = this.channels[i];
+			if (channel != null) {
+				channel.setNextValue(duration);
+			}
+		}
+	}
+
+	/**
+	 * Stops the lane threads.
+	 */
+	public void shutdown() {
+		for (ExecutorService executor : this.executors) {
+			executor.shutdownNow();
+		}
+	}
+
+}
@@ -3,14 +3,15 @@ package io.openems.edge.bridge.modbus.api;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Deque;
-import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.LinkedBlockingDeque;
 import java.util.concurrent.TimeUnit;
+import java.util.function.ToLongFunction;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -42,6 +43,11 @@ import io.openems.edge.common.taskmanager.Priority;
  */
 public class ModbusWorker extends AbstractImmediateWorker {
 
+	/**
+	 * Reserve for the time between the Tasks and for the Cycle events. Jitter of
+	 * the Tasks themselves is already covered by planning with the 95th percentile
+	 * of their execution durations.
+	 */
 	private static final long TASK_DURATION_BUFFER = 50;
 
 	private final Logger log = LoggerFactory.getLogger(ModbusWorker.class);
@@ -51,9 +57,17 @@ public class ModbusWorker extends AbstractImmediateWorker {
 	private final MetaTasksManager<ReadTask> readTasksManager = new MetaTasksManager<>();
 	private final MetaTasksManager<WriteTask> writeTasksManager = new MetaTasksManager<>();
 	// Holds source Component-IDs that are known to have errors.
-	private final Set<String> defectiveComponents = new HashSet<>();
+	private final Set<String> defectiveComponents = ConcurrentHashMap.newKeySet();
 	private final AbstractModbusBridge parent;
 
+	// Merges adjacent Read-Tasks; null if merging is disabled
+	private volatile ReadTaskOptimizer readTaskOptimizer = null;
+	// Executes Read-Tasks of different Unit-IDs concurrently; null if disabled
+	private volatile ModbusLanes lanes = null;
+
+	// The low priority task that was skipped in the last planning
+	private volatile ReadTask nextLowPriorityTask = null;
+
 	// The measured duration between BeforeProcessImage event and ExecuteWrite event
 	private long durationBetweenBeforeProcessImageTillExecuteWrite = 0;
 
@@ -79,24 +93,48 @@ public class ModbusWorker extends AbstractImmediateWorker {
 			return;
 		}
 
-		// Collect the next read-tasks
-		List<ReadTask> nextReadTasks = new ArrayList<>();
-		ReadTask lowPriorityTask = this.getOneLowPriorityReadTask();
-		if (lowPriorityTask != null) {
-			nextReadTasks.add(lowPriorityTask);
-		}
-		nextReadTasks.addAll(this.getAllHighPriorityReadTasks());
-		long readTasksDuration = 0;
-		for (ReadTask task : nextReadTasks) {
-			readTasksDuration += task.getExecuteDuration();
+		ModbusLanes lanes = this.lanes;
+		if (lanes != null) {
+			lanes.updateChannels();
 		}
 
 		// collect the next write-tasks
 		long writeTasksDuration = 0;
+		long writeTasksAverageDuration = 0;
 		List<WriteTask> nextWriteTasks = this.getAllWriteTasks();
 		for (WriteTask task : nextWriteTasks) {
-			writeTasksDuration += task.getExecuteDuration();
+			writeTasksDuration += task.getExpectedExecuteDuration();
+			writeTasksAverageDuration += task.getAverageExecuteDuration();
+		}
+
+		// Collect the next read-tasks: all high priority tasks and as many low priority
+		// tasks as fit in the remaining time of the Cycle - but at least one.
+		List<ReadTask> highPriorityTasks = this.getAllHighPriorityReadTasks();
+		List<ReadTask> nextReadTasks = new ArrayList<>(highPriorityTasks);
+		List<ReadTask> lowPriorityTasks = new ArrayList<>();
+		ReadTask lowPriorityTask;
+		while ((lowPriorityTask = this.getOneLowPriorityReadTask()) != null) {
+			if (lowPriorityTasks.contains(lowPriorityTask)) {
+				// all low priority tasks were planned -> start with this one next time
+				this.nextLowPriorityTask = lowPriorityTask;
+				break;
+			}
+			nextReadTasks.add(lowPriorityTask);
+			if (!lowPriorityTasks.isEmpty()
+					&& this.getDuration(nextReadTasks, Task::getExpectedExecuteDuration) + writeTasksDuration
+					+ TASK_DURATION_BUFFER > cycleTime) {
+				// does not fit in this Cycle -> start with this one next time
+				nextReadTasks.remove(nextReadTasks.size() - 1);
+				this.nextLowPriorityTask = lowPriorityTask;
+				break;
+			}
+			lowPriorityTasks.add(lowPriorityTask);
 		}
+		// low priority tasks are executed first; i.e. after the ExecuteWrite event
+		nextReadTasks.clear();
+		nextReadTasks.addAll(lowPriorityTasks);
+		nextReadTasks.addAll(highPriorityTasks);
+		long readTasksDuration = this.getDuration(nextReadTasks, Task::getExpectedExecuteDuration);
 
 		// plan the execution for the next cycles
 		long totalDuration = readTasksDuration + writeTasksDuration;
@@ -106,6 +144,13 @@ public class ModbusWorker extends AbstractImmediateWorker {
 		// Set EXECUTION_DURATION channel
 		LongReadChannel executionDurationChannel = this.parent.channel(BridgeModbus.ChannelId.EXECUTION_DURATION);
 		executionDurationChannel.setNextValue(totalDuration);
+		this.parent.channel(BridgeModbus.ChannelId.AVERAGE_EXECUTION_DURATION).setNextValue(
+				this.getDuration(nextReadTasks, Task::getAverageExecuteDuration) + writeTasksAverageDuration);
+
+		// Set the Channels for the planning
+		this.parent.channel(BridgeModbus.ChannelId.PLANNED_LOW_PRIORITY_TASKS)
+				.setNextValue(lowPriorityTasks.size());
+		this.parent.channel(BridgeModbus.ChannelId.PLANNED_CYCLES).setNextValue(noOfRequiredCycles);
 
 		// Set CYCLE_TIME_IS_TOO_SHORT state-channel if more than one cycle is required;
 		// but only if SlaveCommunicationFailed-Channel is not set
@@ -123,7 +168,7 @@ public class ModbusWorker extends AbstractImmediateWorker {
 				break;
 			}
 			noOfTasksBeforeExecuteWriteEvent++;
-			durationOfTasksBeforeExecuteWriteEvent += task.getExecuteDuration();
+			durationOfTasksBeforeExecuteWriteEvent += task.getExpectedExecuteDuration();
 		}
 
 		// Build Queue
@@ -149,12 +194,43 @@ public class ModbusWorker extends AbstractImmediateWorker {
 		// Add a waiting-task to the end of the queue
 		long waitTillStart = noOfRequiredCycles * cycleTime - totalDurationWithBuffer;
 		tasksQueue.addLast(new WaitTask(waitTillStart));
+		this.parent.channel(BridgeModbus.ChannelId.PLANNED_IDLE_TIME).setNextValue(waitTillStart);
 
 		// Copy all Tasks to the global tasks-queue
 		this.tasksQueue.clear();
 		this.tasksQueue.addAll(tasksQueue);
 	}
 
+	/**
+	 * Gets the duration for executing the given Read-Tasks.
+	 * 
+	 * @param tasks    the Read-Tasks
+	 * @param duration the duration of one Task, e.g. the 95th percentile of its
+	 *                 recent execution durations for planning
+	 * @return the duration in [ms]
+	 */
+	private long getDuration(List<ReadTask> tasks, ToLongFunction<Task> duration) {
+		ModbusLanes lanes = this.lanes;
+		if (lanes == null) {
+			long result = 0;
+			for (ReadTask task : tasks) {
+				result += duration.applyAsLong(task);
+			}
+			return result;
+		}
+
+		// Read-Tasks are executed concurrently -> the slowest lane is relevant
+		long[] laneDurations = new long[lanes.getNoOfLanes()];
+		for (ReadTask task : tasks) {
+			laneDurations[lanes.getLane(task)] += duration.applyAsLong(task);
+		}
+		long result = 0;
+		for (long laneDuration : laneDurations) {
+			result = Math.max(result, laneDuration);
+		}
+		return result;
+	}
+
 	/**
 	 * This is called on TOPIC_CYCLE_EXECUTE_WRITE cycle event.
 	 */
@@ -171,19 +247,48 @@ public class ModbusWorker extends AbstractImmediateWorker {
 	@Override
 	protected void forever() throws InterruptedException {
 		Task task = this.tasksQueue.takeLast();
+		ModbusLanes lanes = this.lanes;
+		if (lanes != null && task instanceof ReadTask) {
+			// Collect all directly following Read-Tasks and execute them concurrently
+			List<ReadTask> readTasks = new ArrayList<>();
+			readTasks.add((ReadTask) task);
+			while (this.tasksQueue.peekLast() instanceof ReadTask) {
+				readTasks.add((ReadTask) this.tasksQueue.pollLast());
+			}
+			this.setSlaveCommunicationFailed(lanes.execute(readTasks, this::execute));
+
+		} else {
+			this.setSlaveCommunicationFailed(this.execute(task));
+		}
+	}
+
+	/**
+	 * Executes a Task and handles its result.
+	 * 
+	 * <p>
+	 * This method is thread-safe, as it is called concurrently by the
+	 * {@link ModbusLanes}. It does not set the SlaveCommunicationFailed-Channel
+	 * itself, as the results of concurrently executed Tasks need to be aggregated
+	 * first.
+	 * 
+	 * @param task the Task
+	 * @return true if the execution failed; false if at least one sub-task was
+	 *         executed successfully; null if nothing was executed
+	 */
+	private Boolean execute(Task task) {
 		try {
 			// execute the task
 			int noOfExecutedSubTasks = task.execute(this.parent);
 
 			if (noOfExecutedSubTasks > 0) {
 				// no exception & at least one sub-task executed -> remove this component from
-				// erroneous list and set the CommunicationFailedChannel to false
+				// erroneous list
 				if (task.getParent() != null) {
 					this.defectiveComponents.remove(task.getParent().id());
 				}
-
-				this.parent.getSlaveCommunicationFailedChannel().setNextValue(false);
+				return false;
 			}
+			return null;
 
 		} catch (OpenemsException e) {
 			this.parent.logWarn(this.log, task.toString() + " execution failed: " + e.getMessage());
@@ -193,13 +298,23 @@ public class ModbusWorker extends AbstractImmediateWorker {
 				this.defectiveComponents.add(task.getParent().id());
 			}
 
-			// set the CommunicationFailedChannel to true
-			this.parent.getSlaveCommunicationFailedChannel().setNextValue(true);
-
 			// invalidate elements of this task
 			for (ModbusElement<?> element : task.getElements()) {
 				element.invalidate(this.parent);
 			}
+			return true;
+		}
+	}
+
+	/**
+	 * Sets the SlaveCommunicationFailed-Channel from the result of
+	 * {@link #execute(Task)}.
+	 * 
+	 * @param failed the (aggregated) result; null to keep the current value
+	 */
+	private void setSlaveCommunicationFailed(Boolean failed) {
+		if (failed != null) {
+			this.parent.getSlaveCommunicationFailedChannel().setNextValue(failed);
 		}
 	}
 
@@ -209,6 +324,13 @@ public class ModbusWorker extends AbstractImmediateWorker {
 	 * @return a list of ReadTasks by Source-ID
 	 */
 	private ReadTask getOneLowPriorityReadTask() {
+		// Start with the task that did not fit in the last Cycle
+		if (this.nextLowPriorityTask != null) {
+			ReadTask task = this.nextLowPriorityTask;
+			this.nextLowPriorityTask = null;
+			return task;
+		}
+
 		// Get next Priority ONCE task
 		ReadTask oncePriorityTask = this.readTasksManager.getOneTask(Priority.ONCE);
 		if (oncePriorityTask != null && !oncePriorityTask.hasBeenExecuted()) {
@@ -229,13 +351,19 @@ public class ModbusWorker extends AbstractImmediateWorker {
 	 * 
 	 * <p>
 	 * This checks if a device is listed as defective and - if it is - adds only one
-	 * ReadTask of this Source-Component to the queue
+	 * ReadTask of this Source-Component to the queue. If a
+	 * {@link ReadTaskOptimizer} is set, adjacent ReadTasks are merged.
 	 * 
 	 * @return a list of ReadTasks
 	 */
 	private List<ReadTask> getAllHighPriorityReadTasks() {
 		Multimap<String, ReadTask> tasks = this.readTasksManager.getAllTasksBySourceId(Priority.HIGH);
-		return this.filterDefectiveComponents(tasks);
+		List<ReadTask> result = this.filterDefectiveComponents(tasks);
+		ReadTaskOptimizer readTaskOptimizer = this.readTaskOptimizer;
+		if (readTaskOptimizer != null) {
+			result = readTaskOptimizer.optimize(result);
+		}
+		return result;
 	}
 
 	/**
@@ -281,6 +409,26 @@ public class ModbusWorker extends AbstractImmediateWorker {
 		return result;
 	}
 
+	/**
+	 * Sets the {@link ReadTaskOptimizer} for High-Priority Read-Tasks.
+	 * 
+	 * @param readTaskOptimizer the {@link ReadTaskOptimizer}; null to disable
+	 *                          merging of Read-Tasks
+	 */
+	protected void setReadTaskOptimizer(ReadTaskOptimizer readTaskOptimizer) {
+		this.readTaskOptimizer = readTaskOptimizer;
+	}
+
+	/**
+	 * Sets the {@link ModbusLanes} for concurrent execution of Read-Tasks.
+	 * 
+	 * @param lanes the {@link ModbusLanes}; null to execute all Tasks one after
+	 *              the other
+	 */
+	protected void setLanes(ModbusLanes lanes) {
+		this.lanes = lanes;
+	}
+
 	/**
 	 * Adds the protocol.
 	 * 
@@ -300,6 +448,14 @@ public class ModbusWorker extends AbstractImmediateWorker {
 	public void removeProtocol(String sourceId) {
 		this.readTasksManager.removeTasksManager(sourceId);
 		this.writeTasksManager.removeTasksManager(sourceId);
+		this.defectiveComponents.remove(sourceId);
+
+		// do not plan a skipped Task of the removed Component in the next Cycle
+		ReadTask nextLowPriorityTask = this.nextLowPriorityTask;
+		if (nextLowPriorityTask != null && nextLowPriorityTask.getParent() != null
+				&& sourceId.equals(nextLowPriorityTask.getParent().id())) {
+			this.nextLowPriorityTask = null;
+		}
 	}
 
 	/**
@@ -0,0 +1,149 @@
+package io.openems.edge.bridge.modbus.api;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import io.openems.edge.bridge.modbus.api.task.AbstractReadInputRegistersTask;
+import io.openems.edge.bridge.modbus.api.task.FC3ReadRegistersTask;
+import io.openems.edge.bridge.modbus.api.task.FC4ReadInputRegistersTask;
+import io.openems.edge.bridge.modbus.api.task.MergedReadRegistersTask;
+import io.openems.edge.bridge.modbus.api.task.ReadTask;
+
+/**
+ * Reduces the number of Modbus transactions by merging
+ * {@link FC3ReadRegistersTask}s and {@link FC4ReadInputRegistersTask}s of the
+ * same Component with adjacent register ranges into one
+ * {@link MergedReadRegistersTask}.
+ *
+ * <p>
+ * Two tasks are merged if the number of unused registers between them is not
+ * bigger than the configured maximum gap and if the merged request does not
+ * exceed {@link #MAX_NO_OF_REGISTERS}. Tasks of different Components are never
+ * merged, so that a failed merged request only marks its own Component as
+ * defective.
+ *
+ * <p>
+ * Merged tasks are kept over the Cycles as long as their Component provides
+ * tasks, so that their execution duration is available for planning and a
+ * merge that was rejected by the device (see
+ * {@link MergedReadRegistersTask#isMergeFailed()}) is not tried again - even
+ * if the tasks were meanwhile filtered because the Component was defective.
+ */
+public class ReadTaskOptimizer {
+
+	/**
+	 * The maximum number of registers in one FC3 or FC4 request.
+	 */
+	public static final int MAX_NO_OF_REGISTERS = 125;
+
+	private final int maxGap;
+	private final Map<List<AbstractReadInputRegistersTask>, MergedReadRegistersTask> mergedTasks = new HashMap<>();
+
+	/**
+	 * Creates a {@link ReadTaskOptimizer}.
+	 *
+	 * @param maxGap the maximum number of unused registers between two merged
+	 *               tasks
+	 */
+	public ReadTaskOptimizer(int maxGap) {
+		this.maxGap = maxGap;
+	}
+
+	/**
+	 * Merges the given Read-Tasks where possible.
+	 *
+	 * @param tasks the Read-Tasks
+	 * @return a list of Read-Tasks, containing the {@link MergedReadRegistersTask}s
+	 *         and all tasks that could not be merged
+	 */
+	public List<ReadTask> optimize(List<ReadTask> tasks) {
+		List<ReadTask> result = new ArrayList<>(tasks.size());
+
+		// Group by Component and Function-Code
+		Map<String, List<AbstractReadInputRegistersTask>> groups = new LinkedHashMap<>();
+		for (ReadTask task : tasks) {
+			String functionCode;
+			if (task instanceof FC3ReadRegistersTask) {
+				functionCode = "FC3";
+			} else if (task instanceof FC4ReadInputRegistersTask) {
+				functionCode = "FC4";
+			} else {
+				result.add(task);
+				continue;
+			}
+			if (task.getParent() == null) {
+				result.add(task);
+				continue;
+			}
+			String key = task.getParent().id() + "/" + functionCode;
+			groups.computeIfAbsent(key, k -> new ArrayList<>()).add((AbstractReadInputRegistersTask) task);
+		}
+
+		// Merge within every group
+		Set<AbstractOpenemsModbusComponent> parents = new HashSet<>();
+		for (List<AbstractReadInputRegistersTask> group : groups.values()) {
+			parents.add(group.get(0).getParent());
+			for (List<AbstractReadInputRegistersTask> run : mergeByAddress(group, this.maxGap)) {
+				if (run.size() == 1) {
+					result.add(run.get(0));
+					continue;
+				}
+				MergedReadRegistersTask mergedTask = this.mergedTasks.computeIfAbsent(run,
+						MergedReadRegistersTask::new);
+				if (mergedTask.isMergeFailed()) {
+					// The device rejected the merged request before
+					result.addAll(run);
+				} else {
+					result.add(mergedTask);
+				}
+			}
+		}
+
+		// Forget merged tasks of Components that do not provide tasks anymore
+		this.mergedTasks.values().removeIf(mergedTask -> !parents.contains(mergedTask.getParent()));
+		return result;
+	}
+
+	/**
+	 * Splits the tasks into runs of tasks that can be read in one request.
+	 *
+	 * @param <T>    the type of the tasks
+	 * @param tasks  the tasks
+	 * @param maxGap the maximum number of unused registers between two tasks of a
+	 *               run
+	 * @return the runs, each sorted by start address
+	 */
+	protected static <T extends AbstractReadInputRegistersTask> List<List<T>> mergeByAddress(List<T> tasks,
+			int maxGap) {
+		List<T> sorted = new ArrayList<>(tasks);
+		sorted.sort(Comparator.comparingInt(T::getStartAddress));
+
+		List<List<T>> result = new ArrayList<>();
+		List<T> run = null;
+		int runStart = 0;
+		int runEnd = 0;
+		for (T task : sorted) {
+			int start = task.getStartAddress();
+			int end = start + task.getLength();
+			int gap = start - runEnd;
+			if (run != null && gap >= 0 && gap <= maxGap && end - runStart <= MAX_NO_OF_REGISTERS) {
+				run.add(task);
+				runEnd = end;
+			} else {
+				run = new ArrayList<>();
+				run.add(task);
+				result.add(run);
+				runStart = start;
+				runEnd = end;
+			}
+		}
+		return result;
+	}
+
+}
@@ -1,12 +1,12 @@
 package io.openems.edge.bridge.modbus.api.element;
 
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.Optional;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.ghgande.j2mod.modbus.procimg.InputRegister;
 import com.ghgande.j2mod.modbus.procimg.Register;
 import com.ghgande.j2mod.modbus.procimg.SimpleRegister;
 
@@ -40,30 +40,30 @@ public abstract class AbstractDoubleWordElement<E, T> extends AbstractModbusRegi
 	}
 
 	@Override
-	protected final void _setInputRegisters(InputRegister... registers) {
-		// fill buffer
-		ByteBuffer buff = ByteBuffer.allocate(4).order(this.getByteOrder());
-		if (wordOrder == WordOrder.MSWLSW) {
-			buff.put(registers[0].toBytes());
-			buff.put(registers[1].toBytes());
+	protected final void _setInputRegisters(byte[] bytes, int offset) {
+		// combine registers
+		int first = getUnsignedWord(bytes, offset);
+		int second = getUnsignedWord(bytes, offset + 2);
+		int value;
+		if (this.wordOrder == WordOrder.MSWLSW) {
+			value = first << 16 | second;
 		} else {
-			buff.put(registers[1].toBytes());
-			buff.put(registers[0].toBytes());
+			value = second << 16 | first;
+		}
+		if (this.getByteOrder() == ByteOrder.LITTLE_ENDIAN) {
+			value = Integer.reverseBytes(value);
 		}
-		buff.rewind();
-		// convert registers to Long
-		T value = fromByteBuffer(buff);
 		// set value
-		super.setValue(value);
+		super.setValue(this.fromInt(value));
 	}
 
 	/**
-	 * Converts a 4-byte ByteBuffer to the the current OpenemsType.
+	 * Converts a 32 bit value to the the current OpenemsType.
 	 * 
-	 * @param buff the ByteBuffer
+	 * @param value the value
 	 * @return an instance of the given OpenemsType
 	 */
-	protected abstract T fromByteBuffer(ByteBuffer buff);
+	protected abstract T fromInt(int value);
 
 	@Override
 	public final void _setNextWriteValue(Optional<T> valueOpt) throws OpenemsException {
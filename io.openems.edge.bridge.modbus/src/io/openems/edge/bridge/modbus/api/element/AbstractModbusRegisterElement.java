@@ -69,24 +69,61 @@ public abstract class AbstractModbusRegisterElement<E, T> extends AbstractModbus
 
 	@Override
 	public void setInputRegisters(InputRegister... registers) throws OpenemsException {
+		if (registers.length != this.getLength()) {
+			throw new OpenemsException("Modbus Element [" + this + "]: registers length [" + registers.length
+					+ "] does not match required size of [" + this.getLength() + "]");
+		}
+		byte[] bytes = new byte[registers.length * 2];
+		for (int i = 0; i < registers.length; i++) {
+			int value = registers[i].getValue();
+			bytes[i * 2] = (byte) (value >> 8);
+			bytes[i * 2 + 1] = (byte) value;
+		}
+		this.setInputRegisters(bytes, 0);
+	}
+
+	@Override
+	public void setInputRegisters(byte[] bytes, int offset) throws OpenemsException {
+		if (offset < 0 || offset + this.getLength() * 2 > bytes.length) {
+			throw new OpenemsException("Modbus Element [" + this + "]: bytes length [" + bytes.length
+					+ "] does not match required size of [" + this.getLength() + "] registers at offset [" + offset
+					+ "]");
+		}
 		if (this.isDebug()) {
 			StringBuilder b = new StringBuilder("Element [" + this + "] set input registers to [");
-			for (int i = 0; i < registers.length; i++) {
-				b.append(registers[i].getValue());
-				if (i < registers.length - 1) {
+			for (int i = 0; i < this.getLength(); i++) {
+				b.append(getUnsignedWord(bytes, offset + i * 2));
+				if (i < this.getLength() - 1) {
 					b.append(",");
 				}
 			}
 			b.append("].");
 			log.info(b.toString());
 		}
-		if (registers.length != this.getLength()) {
-			throw new OpenemsException("Modbus Element [" + this + "]: registers length [" + registers.length
-					+ "] does not match required size of [" + this.getLength() + "]");
-		}
-		this._setInputRegisters(registers);
+		this._setInputRegisters(bytes, offset);
 	}
 
-	protected abstract void _setInputRegisters(InputRegister... registers);
+	/**
+	 * Converts the raw bytes of the Registers of this Element and sets the value.
+	 * 
+	 * <p>
+	 * Implementations decode the value directly from the given array; the length
+	 * was already validated.
+	 * 
+	 * @param bytes  the bytes of all Registers of the response, high byte first
+	 * @param offset the offset of the first byte of this Element
+	 */
+	protected abstract void _setInputRegisters(byte[] bytes, int offset);
+
+	/**
+	 * Gets the value of one Register from raw bytes as unsigned 16 bit.
+	 * 
+	 * @param bytes  the bytes, high byte first
+	 * @param offset the offset of the high byte
+	 * @return the value between 0 and 65535
+	 */
+	protected static int getUnsignedWord(byte[] bytes, int offset) {
+		return (bytes[offset] & 0xff) << 8 | (bytes[offset + 1] & 0xff);
+	}
 
 }
@@ -1,12 +1,12 @@
 package io.openems.edge.bridge.modbus.api.element;
 
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.Optional;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.ghgande.j2mod.modbus.procimg.InputRegister;
 import com.ghgande.j2mod.modbus.procimg.Register;
 import com.ghgande.j2mod.modbus.procimg.SimpleRegister;
 
@@ -33,34 +33,32 @@ public abstract class AbstractQuadrupleWordElement<E, T> extends AbstractModbusR
 	}
 
 	@Override
-	protected final void _setInputRegisters(InputRegister... registers) {
-		// fill buffer
-		ByteBuffer buff = ByteBuffer.allocate(8).order(this.getByteOrder());
-		if (this.wordOrder == WordOrder.MSWLSW) {
-			buff.put(registers[0].toBytes());
-			buff.put(registers[1].toBytes());
-			buff.put(registers[2].toBytes());
-			buff.put(registers[3].toBytes());
-		} else {
-			buff.put(registers[3].toBytes());
-			buff.put(registers[2].toBytes());
-			buff.put(registers[1].toBytes());
-			buff.put(registers[0].toBytes());
+	protected final void _setInputRegisters(byte[] bytes, int offset) {
+		// combine registers
+		long value = 0;
+		for (int i = 0; i < 4; i++) {
+			int word;
+			if (this.wordOrder == WordOrder.MSWLSW) {
+				word = getUnsignedWord(bytes, offset + i * 2);
+			} else {
+				word = getUnsignedWord(bytes, offset + (3 - i) * 2);
+			}
+			value = value << 16 | word;
+		}
+		if (this.getByteOrder() == ByteOrder.LITTLE_ENDIAN) {
+			value = Long.reverseBytes(value);
 		}
-		buff.rewind();
-		// convert registers to Long
-		T value = fromByteBuffer(buff);
 		// set value
-		super.setValue(value);
+		super.setValue(this.fromLong(value));
 	}
 
 	/**
-	 * Converts a 8-byte ByteBuffer to the current OpenemsType.
+	 * Converts a 64 bit value to the current OpenemsType.
 	 * 
-	 * @param buff the ByteBuffer
+	 * @param value the value
 	 * @return an instance of the current OpenemsType
 	 */
-	protected abstract T fromByteBuffer(ByteBuffer buff);
+	protected abstract T fromLong(long value);
 
 	@Override
 	public final void _setNextWriteValue(Optional<T> valueOpt) throws OpenemsException {
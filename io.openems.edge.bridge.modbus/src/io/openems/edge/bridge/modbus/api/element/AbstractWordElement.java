@@ -1,12 +1,12 @@
 package io.openems.edge.bridge.modbus.api.element;
 
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.Optional;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.ghgande.j2mod.modbus.procimg.InputRegister;
 import com.ghgande.j2mod.modbus.procimg.Register;
 import com.ghgande.j2mod.modbus.procimg.SimpleRegister;
 
@@ -33,22 +33,36 @@ public abstract class AbstractWordElement<E, T> extends AbstractModbusRegisterEl
 	}
 
 	@Override
-	protected void _setInputRegisters(InputRegister... registers) {
-		// convert registers
-		ByteBuffer buff = ByteBuffer.allocate(2).order(getByteOrder());
-		buff.put(registers[0].toBytes());
-		T value = fromByteBuffer(buff);
+	protected void _setInputRegisters(byte[] bytes, int offset) {
+		// convert register
+		T value = this.fromShort(this.getShort(bytes, offset));
 		// set value
 		super.setValue(value);
 	}
 
 	/**
-	 * Converts a 2-byte ByteBuffer to the the current OpenemsType.
+	 * Gets the 16 bit value of the Register at the given offset, considering the
+	 * Byte-Order.
 	 * 
-	 * @param buff the ByteBuffer
+	 * @param bytes  the bytes, high byte first
+	 * @param offset the offset of the Register
+	 * @return the value
+	 */
+	protected final short getShort(byte[] bytes, int offset) {
+		short value = (short) getUnsignedWord(bytes, offset);
+		if (this.getByteOrder() == ByteOrder.LITTLE_ENDIAN) {
+			return Short.reverseBytes(value);
+		}
+		return value;
+	}
+
+	/**
+	 * Converts a 16 bit value to the current OpenemsType.
+	 * 
+	 * @param value the value
 	 * @return an instance of the current OpenemsType
 	 */
-	protected abstract T fromByteBuffer(ByteBuffer buff);
+	protected abstract T fromShort(short value);
 
 	@Override
 	public void _setNextWriteValue(Optional<T> valueOpt) throws OpenemsException {
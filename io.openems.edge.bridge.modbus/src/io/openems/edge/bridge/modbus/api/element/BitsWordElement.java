@@ -10,7 +10,6 @@ import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.ghgande.j2mod.modbus.procimg.InputRegister;
 import com.ghgande.j2mod.modbus.procimg.Register;
 import com.ghgande.j2mod.modbus.procimg.SimpleRegister;
 
@@ -94,20 +93,16 @@ public class BitsWordElement extends UnsignedWordElement {
 	}
 
 	/**
-	 * Sets the individual BooleanChannel-Values from an InputRegister.
+	 * Sets the individual BooleanChannel-Values from the bytes of an
+	 * InputRegister.
 	 * 
-	 * @param registers the InputRegisters
+	 * @param bytes  the bytes of all Registers of the response
+	 * @param offset the offset of the Register
 	 */
-	protected void _setInputRegisters(InputRegister... registers) {
-		if (registers.length != 1) {
-			throw new IllegalArgumentException("Expected only one Register instead of [" + registers.length
-					+ "] for Component [" + this.component.id() + "] on address [" + this.getStartAddress() + "]");
-		}
-
+	@Override
+	protected void _setInputRegisters(byte[] bytes, int offset) {
 		// convert Register to int
-		ByteBuffer buff = ByteBuffer.allocate(2).order(this.getByteOrder());
-		buff.put(registers[0].toBytes());
-		int value = Short.toUnsignedInt(buff.getShort(0));
+		int value = Short.toUnsignedInt(this.getShort(bytes, offset));
 
 		for (int bitIndex = 0; bitIndex < 16; bitIndex++) {
 			// Get Wrapper
@@ -222,8 +217,8 @@ public class BitsWordElement extends UnsignedWordElement {
 
 	}
 
-	protected Integer fromByteBuffer(ByteBuffer buff) {
-		throw new IllegalArgumentException("BitsWordElement.fromByteBuffer() should never be called");
+	protected Integer fromShort(short value) {
+		throw new IllegalArgumentException("BitsWordElement.fromShort() should never be called");
 	}
 
 	public Optional<Register[]> getNextWriteValue() {
@@ -37,6 +37,14 @@ public class DummyRegisterElement extends AbstractModbusElement<Void> implements
 		return;
 	}
 
+	/**
+	 * We are not setting a value for a DummyElement.
+	 */
+	@Override
+	public void setInputRegisters(byte[] bytes, int offset) {
+		return;
+	}
+
 	@Override
 	@Deprecated
 	public void _setNextWriteValue(Optional<Void> valueOpt) {
@@ -19,8 +19,8 @@ public class FloatDoublewordElement extends AbstractDoubleWordElement<FloatDoubl
 		return this;
 	}
 
-	protected Float fromByteBuffer(ByteBuffer buff) {
-		return buff.order(this.getByteOrder()).getFloat(0);
+	protected Float fromInt(int value) {
+		return Float.intBitsToFloat(value);
 	}
 
 	protected ByteBuffer toByteBuffer(ByteBuffer buff, Float value) {
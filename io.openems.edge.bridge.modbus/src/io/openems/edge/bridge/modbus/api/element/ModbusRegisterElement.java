@@ -4,6 +4,7 @@ import java.util.Optional;
 
 import com.ghgande.j2mod.modbus.procimg.InputRegister;
 import com.ghgande.j2mod.modbus.procimg.Register;
+import com.ghgande.j2mod.modbus.procimg.SimpleInputRegister;
 
 import io.openems.common.exceptions.OpenemsException;
 import io.openems.edge.common.type.TypeUtils;
@@ -21,6 +22,26 @@ public interface ModbusRegisterElement<T> extends ModbusElement<T> {
 	 */
 	public void setInputRegisters(InputRegister... registers) throws OpenemsException;
 
+	/**
+	 * Sets the value of this Element from the raw bytes of a Modbus response.
+	 * 
+	 * <p>
+	 * Every Register is represented by two bytes in the order they were
+	 * received, i.e. high byte first. This allows read tasks to hand over one
+	 * buffer for all Elements instead of creating Register arrays.
+	 * 
+	 * @param bytes  the bytes of all Registers of the response
+	 * @param offset the offset of the first byte of this Element
+	 * @throws OpenemsException on error
+	 */
+	public default void setInputRegisters(byte[] bytes, int offset) throws OpenemsException {
+		InputRegister[] registers = new InputRegister[this.getLength()];
+		for (int i = 0; i < registers.length; i++) {
+			registers[i] = new SimpleInputRegister(bytes[offset + i * 2], bytes[offset + i * 2 + 1]);
+		}
+		this.setInputRegisters(registers);
+	}
+
 	/**
 	 * Sets a value that should be written to the Modbus device.
 	 * 
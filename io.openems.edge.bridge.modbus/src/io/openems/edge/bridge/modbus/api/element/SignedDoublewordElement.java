@@ -19,8 +19,8 @@ public class SignedDoublewordElement extends AbstractDoubleWordElement<SignedDou
 		return this;
 	}
 
-	protected Long fromByteBuffer(ByteBuffer buff) {
-		return Long.valueOf(buff.getInt());
+	protected Long fromInt(int value) {
+		return Long.valueOf(value);
 	}
 
 	protected ByteBuffer toByteBuffer(ByteBuffer buff, Long value) {
@@ -19,8 +19,8 @@ public class SignedQuadruplewordElement extends AbstractQuadrupleWordElement<Sig
 		return this;
 	}
 
-	protected Long fromByteBuffer(ByteBuffer buff) {
-		return Long.valueOf(buff.getLong());
+	protected Long fromLong(long value) {
+		return value;
 	}
 
 	protected ByteBuffer toByteBuffer(ByteBuffer buff, Long value) {
@@ -19,8 +19,8 @@ public class SignedWordElement extends AbstractWordElement<SignedWordElement, Sh
 		return this;
 	}
 
-	protected Short fromByteBuffer(ByteBuffer buff) {
-		return buff.order(getByteOrder()).getShort(0);
+	protected Short fromShort(short value) {
+		return value;
 	}
 
 	protected ByteBuffer toByteBuffer(ByteBuffer buff, Short value) {
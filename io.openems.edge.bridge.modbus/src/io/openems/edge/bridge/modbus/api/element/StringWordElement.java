@@ -2,12 +2,12 @@ package io.openems.edge.bridge.modbus.api.element;
 
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.util.Arrays;
 import java.util.Optional;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.ghgande.j2mod.modbus.procimg.InputRegister;
 import com.ghgande.j2mod.modbus.procimg.Register;
 import com.ghgande.j2mod.modbus.procimg.SimpleRegister;
 
@@ -38,20 +38,16 @@ public class StringWordElement extends AbstractModbusRegisterElement<StringWordE
 	}
 
 	@Override
-	protected final void _setInputRegisters(InputRegister... registers) {
+	protected final void _setInputRegisters(byte[] bytes, int offset) {
 		// convert registers
-		ByteBuffer buff = ByteBuffer.allocate(this.length * 2).order(getByteOrder());
-		for (InputRegister r : registers) {
-			byte[] bs = r.toBytes();
-			for (int i = 0; i < bs.length; i++) {
-				if (bs[i] == 0) {
-					bs[i] = 32; // replace '0' with ASCII space
-				}
+		byte[] bs = Arrays.copyOfRange(bytes, offset, offset + this.length * 2);
+		for (int i = 0; i < bs.length; i++) {
+			if (bs[i] == 0) {
+				bs[i] = 32; // replace '0' with ASCII space
 			}
-			buff.put(bs);
 		}
 
-		String value = this.fromByteBuffer(buff);
+		String value = this.fromByteBuffer(ByteBuffer.wrap(bs));
 		// set value
 		super.setValue(value);
 	}
@@ -19,8 +19,8 @@ public class UnsignedDoublewordElement extends AbstractDoubleWordElement<Unsigne
 		return this;
 	}
 
-	protected Long fromByteBuffer(ByteBuffer buff) {
-		return Integer.toUnsignedLong(buff.getInt(0));
+	protected Long fromInt(int value) {
+		return Integer.toUnsignedLong(value);
 	}
 
 	protected ByteBuffer toByteBuffer(ByteBuffer buff, Long value) {
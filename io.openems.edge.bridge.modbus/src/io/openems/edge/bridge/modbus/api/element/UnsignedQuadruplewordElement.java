@@ -19,9 +19,8 @@ public class UnsignedQuadruplewordElement extends AbstractQuadrupleWordElement<U
 		return this;
 	}
 
-	protected Long fromByteBuffer(ByteBuffer buff) {
-
-		return buff.getLong(0);
+	protected Long fromLong(long value) {
+		return value;
 	}
 
 	protected ByteBuffer toByteBuffer(ByteBuffer buff, Long value) {
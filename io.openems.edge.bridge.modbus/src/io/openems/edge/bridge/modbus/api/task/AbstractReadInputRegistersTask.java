@@ -12,6 +12,9 @@ import io.openems.edge.common.taskmanager.Priority;
 
 public abstract class AbstractReadInputRegistersTask extends AbstractReadTask<InputRegister> {
 
+	// Reused buffer for the bytes of the response
+	private byte[] buffer = new byte[0];
+
 	public AbstractReadInputRegistersTask(int startAddress, Priority priority, AbstractModbusElement<?>... elements) {
 		super(startAddress, priority, elements);
 	}
@@ -21,6 +24,61 @@ public abstract class AbstractReadInputRegistersTask extends AbstractReadTask<In
 		return modbusElement instanceof ModbusRegisterElement;
 	}
 
+	/**
+	 * Fills the elements from the response. The registers are converted to one
+	 * reused byte array, which is handed over to the elements with an offset.
+	 * 
+	 * @param response the InputRegisters of the response
+	 */
+	@Override
+	protected void fillElements(InputRegister[] response) {
+		this.buffer = toBytes(response, this.buffer);
+		this.fillElements(this.buffer, 0);
+	}
+
+	/**
+	 * Fills the elements from the raw bytes of a response.
+	 * 
+	 * @param bytes  the bytes of the Registers, high byte first
+	 * @param offset the offset of the first byte of this task
+	 */
+	protected void fillElements(byte[] bytes, int offset) {
+		int position = offset;
+		for (ModbusElement<?> modbusElement : this.getElements()) {
+			if (!(this.isCorrectElementInstance(modbusElement))) {
+				this.doErrorLog(modbusElement);
+			} else {
+				try {
+					if (!modbusElement.isIgnored()) {
+						((ModbusRegisterElement<?>) modbusElement).setInputRegisters(bytes, position);
+					}
+				} catch (OpenemsException e) {
+					this.doWarnLog(e);
+				}
+			}
+			position += modbusElement.getLength() * 2;
+		}
+	}
+
+	/**
+	 * Converts InputRegisters to bytes, high byte first.
+	 * 
+	 * @param registers the InputRegisters
+	 * @param buffer    a buffer that is reused if it is big enough
+	 * @return the buffer with the bytes
+	 */
+	protected static byte[] toBytes(InputRegister[] registers, byte[] buffer) {
+		if (buffer.length < registers.length * 2) {
+			buffer = new byte[registers.length * 2];
+		}
+		for (int i = 0; i < registers.length; i++) {
+			int value = registers[i].getValue();
+			buffer[i * 2] = (byte) (value >> 8);
+			buffer[i * 2 + 1] = (byte) value;
+		}
+		return buffer;
+	}
+
 	@Override
 	protected void doElementSetInput(ModbusElement<?> modbusElement, int position, InputRegister[] response)
 			throws OpenemsException {
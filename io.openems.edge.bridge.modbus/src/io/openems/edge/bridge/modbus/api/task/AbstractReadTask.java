@@ -137,12 +137,12 @@ public abstract class AbstractReadTask<T> extends AbstractTask implements ReadTa
 
 	protected abstract T[] handleResponse(ModbusResponse response) throws OpenemsException;
 
-	private void doWarnLog(OpenemsException e) {
+	protected void doWarnLog(OpenemsException e) {
 		log.warn("Unable to fill modbus element. UnitId [" + this.getParent().getUnitId() + "] Address ["
 				+ getStartAddress() + "] Length [" + getLength() + "]: " + e.getMessage());
 	}
 
-	private void doErrorLog(ModbusElement<?> modbusElement) {
+	protected void doErrorLog(ModbusElement<?> modbusElement) {
 		log.error("A " + getRequiredElementName() + " is required for a " + getActiondescription() + "Task! Element ["
 				+ modbusElement + "]");
 	}
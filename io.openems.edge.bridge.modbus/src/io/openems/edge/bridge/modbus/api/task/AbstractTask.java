@@ -28,6 +28,8 @@ public abstract class AbstractTask implements Task {
 	private AbstractOpenemsModbusComponent parent = null; // this is always set by ModbusProtocol.addTask()
 	private boolean hasBeenExecutedSuccessfully = false;
 	private long lastExecuteDuration = DEFAULT_EXECUTION_DURATION; // initialize to some default
+	private final ExecuteDurationStatistics executeDurationStatistics = new ExecuteDurationStatistics(
+			DEFAULT_EXECUTION_DURATION);
 
 	public AbstractTask(int startAddress, AbstractModbusElement<?>... elements) {
 		this.startAddress = startAddress;
@@ -86,6 +88,7 @@ public abstract class AbstractTask implements Task {
 
 		} finally {
 			this.lastExecuteDuration = this.stopwatch.elapsed(TimeUnit.MILLISECONDS);
+			this.executeDurationStatistics.record(this.lastExecuteDuration);
 		}
 	}
 
@@ -153,5 +156,24 @@ public abstract class AbstractTask implements Task {
 		return lastExecuteDuration;
 	}
 
+	@Override
+	public long getExpectedExecuteDuration() {
+		return this.executeDurationStatistics.getP95();
+	}
+
+	@Override
+	public long getAverageExecuteDuration() {
+		return this.executeDurationStatistics.getEwma();
+	}
+
+	/**
+	 * Gets the {@link ExecuteDurationStatistics} of this Task.
+	 * 
+	 * @return the statistics
+	 */
+	public ExecuteDurationStatistics getExecuteDurationStatistics() {
+		return this.executeDurationStatistics;
+	}
+
 	protected abstract String getActiondescription();
 }
@@ -0,0 +1,106 @@
+package io.openems.edge.bridge.modbus.api.task;
+
+import java.util.Arrays;
+
+/**
+ * Holds statistics about the execution durations of a {@link Task}.
+ *
+ * <p>
+ * Provides an exponentially weighted moving average (EWMA) and the 95th
+ * percentile over the last {@link #WINDOW_SIZE} executions. The percentile is
+ * used for planning, as single outliers do not influence it; the average is
+ * published in the AverageExecutionDuration Channel of the Modbus-Bridge.
+ */
+public class ExecuteDurationStatistics {
+
+	/**
+	 * The number of durations used for the percentile.
+	 */
+	public static final int WINDOW_SIZE = 20;
+
+	/**
+	 * The weight of the latest duration in the moving average.
+	 */
+	private static final double EWMA_ALPHA = 0.2;
+
+	private final long[] samples = new long[WINDOW_SIZE];
+	private final long[] sorted = new long[WINDOW_SIZE];
+	private final long defaultDuration;
+
+	private int nextIndex = 0;
+	private int count = 0;
+	private double ewma;
+	private long p95;
+
+	/**
+	 * Creates {@link ExecuteDurationStatistics}.
+	 *
+	 * @param defaultDuration the duration in [ms] that is assumed as long as there
+	 *                        are no recorded executions
+	 */
+	public ExecuteDurationStatistics(long defaultDuration) {
+		this.defaultDuration = defaultDuration;
+		this.ewma = defaultDuration;
+		this.p95 = defaultDuration;
+	}
+
+	/**
+	 * Records the duration of an execution.
+	 *
+	 * @param duration the duration in [ms]
+	 */
+	public synchronized void record(long duration) {
+		this.samples[this.nextIndex] = duration;
+		this.nextIndex = (this.nextIndex + 1) % WINDOW_SIZE;
+		if (this.count < WINDOW_SIZE) {
+			this.count++;
+		}
+		if (this.count == 1) {
+			this.ewma = duration;
+		} else {
+			this.ewma = EWMA_ALPHA * duration + (1 - EWMA_ALPHA) * this.ewma;
+		}
+
+		System.arraycopy(this.samples, 0, this.sorted, 0, this.count);
+		Arrays.sort(this.sorted, 0, this.count);
+		// nearest-rank method
+		int rank = (int) Math.ceil(0.95 * this.count);
+		this.p95 = this.sorted[Math.max(rank, 1) - 1];
+	}
+
+	/**
+	 * Gets the exponentially weighted moving average.
+	 *
+	 * @return the duration in [ms]; the default duration if nothing was recorded
+	 */
+	public synchronized long getEwma() {
+		return Math.round(this.ewma);
+	}
+
+	/**
+	 * Gets the 95th percentile of the last {@link #WINDOW_SIZE} executions.
+	 *
+	 * @return the duration in [ms]; the default duration if nothing was recorded
+	 */
+	public synchronized long getP95() {
+		return this.p95;
+	}
+
+	/**
+	 * Gets the number of recorded executions, limited to {@link #WINDOW_SIZE}.
+	 *
+	 * @return the number of executions
+	 */
+	public synchronized int getCount() {
+		return this.count;
+	}
+
+	/**
+	 * Gets the default duration.
+	 *
+	 * @return the duration in [ms]
+	 */
+	public long getDefaultDuration() {
+		return this.defaultDuration;
+	}
+}
@@ -0,0 +1,277 @@
+package io.openems.edge.bridge.modbus.api.task;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.ghgande.j2mod.modbus.ModbusException;
+import com.ghgande.j2mod.modbus.ModbusSlaveException;
+import com.ghgande.j2mod.modbus.msg.ModbusRequest;
+import com.ghgande.j2mod.modbus.msg.ModbusResponse;
+import com.ghgande.j2mod.modbus.msg.ReadInputRegistersRequest;
+import com.ghgande.j2mod.modbus.msg.ReadMultipleRegistersRequest;
+import com.ghgande.j2mod.modbus.procimg.InputRegister;
+import com.google.common.base.Stopwatch;
+
+import io.openems.common.exceptions.OpenemsException;
+import io.openems.edge.bridge.modbus.api.AbstractModbusBridge;
+import io.openems.edge.bridge.modbus.api.AbstractOpenemsModbusComponent;
+import io.openems.edge.bridge.modbus.api.element.ModbusElement;
+import io.openems.edge.common.taskmanager.Priority;
+
+/**
+ * Executes multiple {@link FC3ReadRegistersTask}s or
+ * {@link FC4ReadInputRegistersTask}s of the same Component in one single Modbus
+ * transaction.
+ *
+ * <p>
+ * The request covers the complete register range of all tasks, including the
+ * gaps in-between. The response is split and handed over to the original tasks.
+ * If the device replies with a Modbus exception - e.g. because a register
+ * inside a gap is not readable - the merge is marked as failed (see
+ * {@link #isMergeFailed()}) and the original tasks should be used again.
+ */
+public class MergedReadRegistersTask implements ReadTask {
+
+	private final Logger log = LoggerFactory.getLogger(MergedReadRegistersTask.class);
+
+	private final AbstractReadInputRegistersTask[] tasks;
+	private final ModbusElement<?>[] elements;
+	private final int startAddress;
+	private final int length;
+	private final Stopwatch stopwatch = Stopwatch.createUnstarted();
+
+	private boolean hasBeenExecutedSuccessfully = false;
+	private long lastExecuteDuration;
+	private final ExecuteDurationStatistics executeDurationStatistics;
+	private volatile boolean mergeFailed = false;
+
+	// Reused buffer for the bytes of the response
+	private byte[] buffer = new byte[0];
+
+	/**
+	 * Creates a {@link MergedReadRegistersTask}.
+	 *
+	 * @param tasks the tasks, sorted by start address. All tasks need to be of the
+	 *              same type and need to belong to the same Component.
+	 */
+	public MergedReadRegistersTask(List<? extends AbstractReadInputRegistersTask> tasks) {
+		this.tasks = tasks.toArray(new AbstractReadInputRegistersTask[tasks.size()]);
+		for (AbstractReadInputRegistersTask task : this.tasks) {
+			if (task.getParent() != this.tasks[0].getParent()) {
+				throw new IllegalArgumentException("Tasks of different Components must not be merged");
+			}
+		}
+		this.startAddress = this.tasks[0].getStartAddress();
+		int endAddress = this.startAddress;
+		int noOfElements = 0;
+		long executeDuration = 0;
+		for (AbstractReadInputRegistersTask task : this.tasks) {
+			endAddress = Math.max(endAddress, task.getStartAddress() + task.getLength());
+			noOfElements += task.getElements().length;
+			// initialize with the duration of the single tasks; this is updated after
+			// the first execution
+			executeDuration += task.getExpectedExecuteDuration();
+		}
+		this.length = endAddress - this.startAddress;
+		this.lastExecuteDuration = executeDuration;
+		this.executeDurationStatistics = new ExecuteDurationStatistics(executeDuration);
+
+		this.elements = new ModbusElement<?>[noOfElements];
+		int position = 0;
+		for (AbstractReadInputRegistersTask task : this.tasks) {
+			ModbusElement<?>[] taskElements = task.getElements();
+			System.arraycopy(taskElements, 0, this.elements, position, taskElements.length);
+			position += taskElements.length;
+		}
+	}
+
+	@Override
+	public synchronized int execute(AbstractModbusBridge bridge) throws OpenemsException {
+		this.stopwatch.reset();
+		this.stopwatch.start();
+		try {
+			InputRegister[] response;
+			try {
+				/*
+				 * First try
+				 */
+				response = this.readRegisters(bridge);
+
+			} catch (ModbusSlaveException e) {
+				// The device does not accept the merged request -> do not try again
+				this.mergeFailed = true;
+				throw new OpenemsException("Merged transaction was rejected: " + e.getMessage(), e);
+
+			} catch (OpenemsException | ModbusException e) {
+				/*
+				 * Second try: with new connection
+				 */
+				bridge.closeModbusConnection();
+				try {
+					response = this.readRegisters(bridge);
+
+				} catch (ModbusException e2) {
+					if (e2 instanceof ModbusSlaveException) {
+						this.mergeFailed = true;
+					}
+					throw new OpenemsException("Transaction failed: " + e.getMessage(), e2);
+				}
+			}
+
+			// Verify response length
+			if (response.length < this.length) {
+				throw new OpenemsException(
+						"Received message is too short. Expected [" + this.length + "], got [" + response.length + "]");
+			}
+
+			// Fill the elements of the original tasks from one buffer
+			this.buffer = AbstractReadInputRegistersTask.toBytes(response, this.buffer);
+			for (AbstractReadInputRegistersTask task : this.tasks) {
+				int offset = task.getStartAddress() - this.startAddress;
+				task.fillElements(this.buffer, offset * 2);
+			}
+
+			// no exception -> mark this task as successfully executed
+			this.hasBeenExecutedSuccessfully = true;
+			return 1;
+
+		} finally {
+			this.lastExecuteDuration = this.stopwatch.elapsed(TimeUnit.MILLISECONDS);
+			this.executeDurationStatistics.record(this.lastExecuteDuration);
+		}
+	}
+
+	private InputRegister[] readRegisters(AbstractModbusBridge bridge) throws OpenemsException, ModbusException {
+		ModbusRequest request = this.getRequest();
+		int unitId = this.getParent().getUnitId();
+		ModbusResponse response = Utils.getResponse(request, unitId, bridge);
+
+		// the first task is able to parse the response for all tasks
+		InputRegister[] result = this.tasks[0].handleResponse(response);
+
+		// debug output
+		switch (bridge.getLogVerbosity()) {
+		case READS_AND_WRITES:
+			bridge.logInfo(this.log, "Merged " + this.tasks[0].getActiondescription() //
+					+ " [" + unitId + ":" + this.startAddress + "/0x" + Integer.toHexString(this.startAddress) //
+					+ ";length=" + this.length + ";tasks=" + this.tasks.length + "]");
+			break;
+		case WRITES:
+		case NONE:
+			break;
+		}
+
+		return result;
+	}
+
+	private ModbusRequest getRequest() {
+		if (this.tasks[0] instanceof FC4ReadInputRegistersTask) {
+			return new ReadInputRegistersRequest(this.startAddress, this.length);
+		} else {
+			return new ReadMultipleRegistersRequest(this.startAddress, this.length);
+		}
+	}
+
+	/**
+	 * Gets whether the device rejected the merged request.
+	 *
+	 * @return true if the original tasks should be executed instead
+	 */
+	public boolean isMergeFailed() {
+		return this.mergeFailed;
+	}
+
+	/**
+	 * Gets the number of merged tasks.
+	 *
+	 * @return the number of tasks
+	 */
+	public int getNoOfTasks() {
+		return this.tasks.length;
+	}
+
+	@Override
+	public ModbusElement<?>[] getElements() {
+		return this.elements;
+	}
+
+	@Override
+	public int getStartAddress() {
+		return this.startAddress;
+	}
+
+	/**
+	 * Gets the number of registers that are read by this task, including the
+	 * gaps.
+	 *
+	 * @return the number of registers
+	 */
+	public int getLength() {
+		return this.length;
+	}
+
+	@Override
+	public void setParent(AbstractOpenemsModbusComponent parent) {
+		// the parent is always taken from the original tasks
+	}
+
+	@Override
+	public AbstractOpenemsModbusComponent getParent() {
+		// all tasks belong to the same Component
+		return this.tasks[0].getParent();
+	}
+
+	@Override
+	public void deactivate() {
+		// Elements are deactivated via the original tasks
+	}
+
+	@Override
+	public boolean hasBeenExecuted() {
+		return this.hasBeenExecutedSuccessfully;
+	}
+
+	@Override
+	public long getExecuteDuration() {
+		return this.lastExecuteDuration;
+	}
+
+	@Override
+	public long getExpectedExecuteDuration() {
+		return this.executeDurationStatistics.getP95();
+	}
+
+	@Override
+	public long getAverageExecuteDuration() {
+		return this.executeDurationStatistics.getEwma();
+	}
+
+	@Override
+	public Priority getPriority() {
+		return this.tasks[0].getPriority();
+	}
+
+	@Override
+	public String toString() {
+		StringBuffer sb = new StringBuffer();
+		sb.append("Merged");
+		sb.append(this.tasks[0].getActiondescription());
+		sb.append(" [");
+		sb.append(this.getParent().id());
+		sb.append(";unitid=");
+		sb.append(this.getParent().getUnitId());
+		sb.append(";ref=");
+		sb.append(this.startAddress);
+		sb.append("/0x");
+		sb.append(Integer.toHexString(this.startAddress));
+		sb.append(";length=");
+		sb.append(this.length);
+		sb.append(";tasks=");
+		sb.append(this.tasks.length);
+		sb.append("]");
+		return sb.toString();
+	}
+}
@@ -68,4 +68,24 @@ public interface Task extends ManagedTask {
 	 */
 	long getExecuteDuration();
 
+	/**
+	 * Gets the expected execution duration in [ms], i.e. the 95th percentile of
+	 * the recent executions. This is used for planning the execution of the Tasks.
+	 * 
+	 * @return the duration in [ms]
+	 */
+	public default long getExpectedExecuteDuration() {
+		return this.getExecuteDuration();
+	}
+
+	/**
+	 * Gets the moving average of the execution duration in [ms]. Other than
+	 * {@link #getExpectedExecuteDuration()} this follows single slow executions.
+	 * 
+	 * @return the duration in [ms]
+	 */
+	public default long getAverageExecuteDuration() {
+		return this.getExecuteDuration();
+	}
+
 }
\ No newline at end of file
@@ -0,0 +1,125 @@
+package io.openems.edge.bridge.modbus.api;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import io.openems.edge.bridge.modbus.api.element.DummyRegisterElement;
+import io.openems.edge.bridge.modbus.api.task.FC3ReadRegistersTask;
+import io.openems.edge.common.component.OpenemsComponent;
+import io.openems.edge.common.taskmanager.Priority;
+
+public class ModbusLanesTest {
+
+	private static FC3ReadRegistersTask task(int unitId) {
+		FC3ReadRegistersTask task = new FC3ReadRegistersTask(0, Priority.HIGH, new DummyRegisterElement(0, 9));
+		task.setParent(new AbstractOpenemsModbusComponent(OpenemsComponent.ChannelId.values()) {
+
+			@Override
+			public Integer getUnitId() {
+				return unitId;
+			}
+
+			@Override
+			protected ModbusProtocol defineModbusProtocol() {
+				return null;
+			}
+		});
+		return task;
+	}
+
+	@Test
+	public void testGetLane() {
+		ModbusLanes sut = new ModbusLanes("test", 2);
+		try {
+			FC3ReadRegistersTask unit1 = task(1);
+			FC3ReadRegistersTask unit2 = task(2);
+			FC3ReadRegistersTask unit3 = task(3);
+
+			// distributed in the order the Unit-IDs are seen first
+			assertEquals(0, sut.getLane(unit1));
+			assertEquals(1, sut.getLane(unit2));
+			assertEquals(0, sut.getLane(unit3));
+			assertEquals(1, sut.getLane(unit2));
+			assertEquals(0, sut.getLane(task(1)));
+		} finally {
+			sut.shutdown();
+		}
+	}
+
+	@Test
+	public void testExecute() throws InterruptedException {
+		ModbusLanes sut = new ModbusLanes("test", 2);
+		try {
+			List<FC3ReadRegistersTask> tasks = Arrays.asList(task(1), task(2), task(1), task(2));
+			Map<FC3ReadRegistersTask, Integer> lanes = new ConcurrentHashMap<>();
+			List<FC3ReadRegistersTask> unit1Order = Collections.synchronizedList(new ArrayList<>());
+			// both lanes need to run at the same time to pass the latch
+			CountDownLatch bothLanesStarted = new CountDownLatch(2);
+
+			Boolean failed = sut.execute(tasks, task -> {
+				lanes.put(task, ModbusLanes.getCurrentLane());
+				if (task.getParent().getUnitId() == 1) {
+					unit1Order.add(task);
+				}
+				bothLanesStarted.countDown();
+				try {
+					assertTrue(bothLanesStarted.await(10, TimeUnit.SECONDS));
+				} catch (InterruptedException e) {
+					throw new IllegalStateException(e);
+				}
+				return false;
+			});
+
+			assertFalse(failed);
+			assertEquals(4, lanes.size());
+			assertEquals(2, new HashSet<>(lanes.values()).size());
+			assertEquals(lanes.get(tasks.get(0)), lanes.get(tasks.get(2)));
+			assertNotEquals(lanes.get(tasks.get(0)), lanes.get(tasks.get(1)));
+			// Tasks of one Unit-ID are executed one after the other in the given order
+			assertEquals(Arrays.asList(tasks.get(0), tasks.get(2)), unit1Order);
+			// the ModbusWorker thread uses lane '0'
+			assertEquals(0, ModbusLanes.getCurrentLane());
+		} finally {
+			sut.shutdown();
+		}
+	}
+
+	@Test
+	public void testExecuteAggregatesFailures() throws InterruptedException {
+		ModbusLanes sut = new ModbusLanes("test", 2);
+		try {
+			FC3ReadRegistersTask unit1 = task(1);
+			FC3ReadRegistersTask unit2 = task(2);
+			List<FC3ReadRegistersTask> tasks = Arrays.asList(unit1, unit2, task(1), task(2));
+
+			// one failed Task in one lane is not overwritten by successful Tasks
+			assertTrue(sut.execute(tasks, task -> task == unit1));
+			assertTrue(sut.execute(tasks, task -> task == unit2));
+			assertFalse(sut.execute(tasks, task -> false));
+
+			// nothing executed -> no result
+			assertNull(sut.execute(tasks, task -> null));
+			assertFalse(sut.execute(tasks, task -> task == unit2 ? false : null));
+			assertTrue(sut.execute(tasks, task -> task == unit2 ? true : null));
+			assertNull(sut.execute(Collections.emptyList(), task -> true));
+		} finally {
+			sut.shutdown();
+		}
+	}
+
+}
@@ -0,0 +1,128 @@
+package io.openems.edge.bridge.modbus.api;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+import io.openems.edge.bridge.modbus.api.element.DummyRegisterElement;
+import io.openems.edge.bridge.modbus.api.task.FC3ReadRegistersTask;
+import io.openems.edge.bridge.modbus.api.task.MergedReadRegistersTask;
+import io.openems.edge.bridge.modbus.api.task.ReadTask;
+import io.openems.edge.common.component.OpenemsComponent;
+import io.openems.edge.common.taskmanager.Priority;
+
+public class ReadTaskOptimizerTest {
+
+	private static FC3ReadRegistersTask task(int fromAddress, int toAddress) {
+		return new FC3ReadRegistersTask(fromAddress, Priority.HIGH,
+				new DummyRegisterElement(fromAddress, toAddress));
+	}
+
+	private static FC3ReadRegistersTask task(AbstractOpenemsModbusComponent parent, int fromAddress,
+			int toAddress) {
+		FC3ReadRegistersTask task = task(fromAddress, toAddress);
+		task.setParent(parent);
+		return task;
+	}
+
+	private static AbstractOpenemsModbusComponent component(String id) {
+		return new AbstractOpenemsModbusComponent(OpenemsComponent.ChannelId.values()) {
+
+			@Override
+			public String id() {
+				return id;
+			}
+
+			@Override
+			protected ModbusProtocol defineModbusProtocol() {
+				return null;
+			}
+		};
+	}
+
+	@Test
+	public void testMergeByAddress() {
+		FC3ReadRegistersTask t1 = task(100, 109);
+		FC3ReadRegistersTask t2 = task(110, 119); // adjacent to t1
+		FC3ReadRegistersTask t3 = task(125, 129); // gap of 5 to t2
+		FC3ReadRegistersTask t4 = task(200, 209); // gap of 70 to t3
+
+		// unsorted input
+		List<List<FC3ReadRegistersTask>> runs = ReadTaskOptimizer.mergeByAddress(Arrays.asList(t3, t1, t4, t2), 0);
+		assertEquals(3, runs.size());
+		assertEquals(Arrays.asList(t1, t2), runs.get(0));
+		assertEquals(Arrays.asList(t3), runs.get(1));
+		assertEquals(Arrays.asList(t4), runs.get(2));
+
+		runs = ReadTaskOptimizer.mergeByAddress(Arrays.asList(t3, t1, t4, t2), 5);
+		assertEquals(2, runs.size());
+		assertEquals(Arrays.asList(t1, t2, t3), runs.get(0));
+		assertSame(t4, runs.get(1).get(0));
+	}
+
+	@Test
+	public void testMaxNoOfRegisters() {
+		FC3ReadRegistersTask t1 = task(0, 99);
+		FC3ReadRegistersTask t2 = task(100, 124); // fits exactly
+		FC3ReadRegistersTask t3 = task(125, 125); // exceeds the limit
+
+		List<List<FC3ReadRegistersTask>> runs = ReadTaskOptimizer.mergeByAddress(Arrays.asList(t1, t2, t3), 0);
+		assertEquals(2, runs.size());
+		assertEquals(Arrays.asList(t1, t2), runs.get(0));
+		assertEquals(Arrays.asList(t3), runs.get(1));
+	}
+
+	@Test
+	public void testOverlappingTasksAreNotMerged() {
+		FC3ReadRegistersTask t1 = task(0, 9);
+		FC3ReadRegistersTask t2 = task(5, 14);
+
+		List<List<FC3ReadRegistersTask>> runs = ReadTaskOptimizer.mergeByAddress(Arrays.asList(t1, t2), 10);
+		assertEquals(2, runs.size());
+	}
+
+	@Test
+	public void testTasksOfDifferentComponentsAreNotMerged() {
+		AbstractOpenemsModbusComponent c1 = component("c1");
+		AbstractOpenemsModbusComponent c2 = component("c2");
+		FC3ReadRegistersTask t1 = task(c1, 100, 109);
+		FC3ReadRegistersTask t2 = task(c2, 110, 119);
+		FC3ReadRegistersTask t3 = task(c1, 120, 129);
+
+		List<ReadTask> result = new ReadTaskOptimizer(20).optimize(Arrays.asList(t1, t2, t3));
+		assertEquals(2, result.size());
+		assertTrue(result.get(0) instanceof MergedReadRegistersTask);
+		assertSame(c1, result.get(0).getParent());
+		assertSame(t2, result.get(1));
+	}
+
+	@Test
+	public void testMergedTasksAreKeptWhileComponentIsFiltered() {
+		AbstractOpenemsModbusComponent c1 = component("c1");
+		FC3ReadRegistersTask t1 = task(c1, 100, 109);
+		FC3ReadRegistersTask t2 = task(c1, 110, 119);
+		ReadTaskOptimizer sut = new ReadTaskOptimizer(0);
+
+		ReadTask merged = sut.optimize(Arrays.asList(t1, t2)).get(0);
+		assertTrue(merged instanceof MergedReadRegistersTask);
+
+		// Component is defective: only one task is provided
+		assertEquals(Arrays.asList(t1), sut.optimize(Arrays.asList(t1)));
+
+		// Component recovered: the same merged task - including its 'mergeFailed'
+		// state - is used again
+		assertSame(merged, sut.optimize(Arrays.asList(t1, t2)).get(0));
+
+		// Component was removed: the merged task is forgotten
+		sut.optimize(Collections.emptyList());
+		assertNotSame(merged, sut.optimize(Arrays.asList(t1, t2)).get(0));
+	}
+
+}
@@ -0,0 +1,32 @@
+package io.openems.edge.bridge.modbus.api.task;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+public class ExecuteDurationStatisticsTest {
+
+	@Test
+	public void testDefault() {
+		ExecuteDurationStatistics statistics = new ExecuteDurationStatistics(300);
+		assertEquals(300, statistics.getEwma());
+		assertEquals(300, statistics.getP95());
+		assertEquals(0, statistics.getCount());
+	}
+
+	@Test
+	public void testSingleOutlierIsIgnored() {
+		ExecuteDurationStatistics statistics = new ExecuteDurationStatistics(300);
+		for (int i = 0; i < ExecuteDurationStatistics.WINDOW_SIZE - 1; i++) {
+			statistics.record(10);
+		}
+		statistics.record(500);
+		assertEquals(10, statistics.getP95());
+		assertEquals(108, statistics.getEwma()); // 0.2 * 500 + 0.8 * 10
+
+		// two outliers within the window are considered
+		statistics.record(500);
+		assertEquals(500, statistics.getP95());
+	}
+
+}
@@ -0,0 +1,217 @@
+package io.openems.edge.bridge.modbus.api.task;
+
+import static org.junit.Assert.assertEquals;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Consumer;
+
+import org.junit.Test;
+
+import com.ghgande.j2mod.modbus.procimg.InputRegister;
+import com.ghgande.j2mod.modbus.procimg.SimpleRegister;
+
+import io.openems.edge.bridge.modbus.api.element.AbstractModbusElement;
+import io.openems.edge.bridge.modbus.api.element.AbstractModbusRegisterElement;
+import io.openems.edge.bridge.modbus.api.element.DummyRegisterElement;
+import io.openems.edge.bridge.modbus.api.element.FloatDoublewordElement;
+import io.openems.edge.bridge.modbus.api.element.ModbusElement;
+import io.openems.edge.bridge.modbus.api.element.SignedDoublewordElement;
+import io.openems.edge.bridge.modbus.api.element.SignedQuadruplewordElement;
+import io.openems.edge.bridge.modbus.api.element.SignedWordElement;
+import io.openems.edge.bridge.modbus.api.element.StringWordElement;
+import io.openems.edge.bridge.modbus.api.element.UnsignedDoublewordElement;
+import io.openems.edge.bridge.modbus.api.element.UnsignedQuadruplewordElement;
+import io.openems.edge.bridge.modbus.api.element.UnsignedWordElement;
+import io.openems.edge.bridge.modbus.api.element.WordOrder;
+import io.openems.edge.common.taskmanager.Priority;
+
+public class FC3ReadRegistersTaskTest {
+
+	private static final ByteOrder[] BYTE_ORDERS = { ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN };
+
+	/**
+	 * Compares the values decoded from bytes with the previous implementation
+	 * using {@link ByteBuffer}s for random registers and all Byte- and
+	 * Word-Orders.
+	 */
+	@Test
+	public void testSameAsByteBuffer() {
+		Random random = new Random(0);
+		for (int i = 0; i < 1000; i++) {
+			for (ByteOrder byteOrder : BYTE_ORDERS) {
+				for (WordOrder wordOrder : WordOrder.values()) {
+					List<Object> values = new ArrayList<>();
+					AbstractModbusElement<?>[] elements = { //
+							new UnsignedWordElement(0).byteOrder(byteOrder), //
+							new SignedWordElement(1).byteOrder(byteOrder), //
+							new DummyRegisterElement(2, 3), //
+							new UnsignedDoublewordElement(4).byteOrder(byteOrder).wordOrder(wordOrder), //
+							new SignedDoublewordElement(6).byteOrder(byteOrder).wordOrder(wordOrder), //
+							new FloatDoublewordElement(8).byteOrder(byteOrder).wordOrder(wordOrder), //
+							new UnsignedQuadruplewordElement(10).byteOrder(byteOrder).wordOrder(wordOrder), //
+							new SignedQuadruplewordElement(14).byteOrder(byteOrder).wordOrder(wordOrder) //
+					};
+					for (AbstractModbusElement<?> element : elements) {
+						element.onUpdateCallback(values::add);
+					}
+					FC3ReadRegistersTask sut = new FC3ReadRegistersTask(0, Priority.HIGH, elements);
+
+					InputRegister[] registers = new InputRegister[sut.getLength()];
+					for (int r = 0; r < registers.length; r++) {
+						registers[r] = new SimpleRegister(random.nextInt(65536));
+					}
+					sut.fillElements(registers);
+
+					List<Object> expected = new ArrayList<>();
+					fillElementsLikeBefore(sut, registers, wordOrder, expected::add);
+					assertEquals(expected, values);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testOffset() {
+		List<Object> values = new ArrayList<>();
+		UnsignedWordElement word = new UnsignedWordElement(100);
+		FloatDoublewordElement float32 = new FloatDoublewordElement(101).wordOrder(WordOrder.LSWMSW);
+		StringWordElement string = new StringWordElement(103, 3);
+		word.onUpdateCallback(values::add);
+		float32.onUpdateCallback(values::add);
+		string.onUpdateCallback(values::add);
+		FC3ReadRegistersTask sut = new FC3ReadRegistersTask(100, Priority.HIGH, word, float32, string);
+
+		ByteBuffer buff = ByteBuffer.allocate(24);
+		buff.putShort(10, (short) 0xFFFF);
+		buff.putShort(12, (short) (Float.floatToIntBits(1.5f) & 0xFFFF)); // LSW
+		buff.putShort(14, (short) (Float.floatToIntBits(1.5f) >>> 16)); // MSW
+		buff.put(16, (byte) 'O');
+		buff.put(17, (byte) 'K');
+
+		// e.g. handed over by a MergedReadRegistersTask
+		sut.fillElements(buff.array(), 10);
+		assertEquals(Arrays.asList(65535, 1.5f, "OK"), values);
+	}
+
+	/*
+	 * Benchmark
+	 */
+
+	/**
+	 * Compares time and allocated memory per Register of filling the elements like
+	 * before via InputRegister arrays and ByteBuffers with decoding from one byte
+	 * array.
+	 *
+	 * <p>
+	 * Allocations depend on the JIT (escape analysis), so the results are only
+	 * printed. Uncomment the "@Test" annotation to run it.
+	 */
+	// @Test
+	public void benchmarkFillElements() {
+		List<AbstractModbusElement<?>> elements = new ArrayList<>();
+		for (int address = 0; address + 6 <= 1000;) {
+			elements.add(new UnsignedWordElement(address++));
+			elements.add(new SignedWordElement(address++));
+			elements.add(new SignedDoublewordElement(address).wordOrder(WordOrder.LSWMSW));
+			address += 2;
+			elements.add(new FloatDoublewordElement(address).wordOrder(WordOrder.LSWMSW));
+			address += 2;
+		}
+		long[] sum = new long[1];
+		Consumer<Object> consumer = value -> sum[0] += value.hashCode();
+		for (AbstractModbusElement<?> element : elements) {
+			element.onUpdateCallback(consumer::accept);
+		}
+		FC3ReadRegistersTask sut = new FC3ReadRegistersTask(0, Priority.HIGH,
+				elements.toArray(new AbstractModbusElement<?>[elements.size()]));
+
+		Random random = new Random(0);
+		InputRegister[] registers = new InputRegister[sut.getLength()];
+		for (int r = 0; r < registers.length; r++) {
+			registers[r] = new SimpleRegister(random.nextInt(65536));
+		}
+
+		final int iterations = 2000;
+		for (int run = 0; run < 2; run++) { // first run is warm-up
+			long start = System.nanoTime();
+			long allocated = getAllocatedBytes();
+			for (int i = 0; i < iterations; i++) {
+				fillElementsLikeBefore(sut, registers, WordOrder.LSWMSW, consumer);
+			}
+			long previousTime = System.nanoTime() - start;
+			long previousAllocated = getAllocatedBytes() - allocated;
+
+			start = System.nanoTime();
+			allocated = getAllocatedBytes();
+			for (int i = 0; i < iterations; i++) {
+				sut.fillElements(registers);
+			}
+			long currentTime = System.nanoTime() - start;
+			long currentAllocated = getAllocatedBytes() - allocated;
+
+			if (run == 1) {
+				long count = (long) iterations * registers.length;
+				System.out.println("FillElements for [" + registers.length + "] Registers: per Register before ["
+						+ previousTime / count + " ns; " + previousAllocated / count + " bytes] from bytes ["
+						+ currentTime / count + " ns; " + currentAllocated / count + " bytes]");
+			}
+		}
+	}
+
+	private static long getAllocatedBytes() {
+		ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		if (bean instanceof com.sun.management.ThreadMXBean) {
+			return ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(Thread.currentThread().getId());
+		}
+		return 0;
+	}
+
+	/**
+	 * The previous implementation of AbstractReadTask#fillElements() and the
+	 * element conversions.
+	 */
+	private static void fillElementsLikeBefore(AbstractReadTask<?> task, InputRegister[] response,
+			WordOrder wordOrder, Consumer<Object> consumer) {
+		int position = 0;
+		for (ModbusElement<?> element : task.getElements()) {
+			InputRegister[] registers = Arrays.copyOfRange(response, position, position + element.getLength());
+			position += element.getLength();
+			if (element instanceof DummyRegisterElement) {
+				continue;
+			}
+			ByteOrder byteOrder = ((AbstractModbusRegisterElement<?, ?>) element).getByteOrder();
+			ByteBuffer buff = ByteBuffer.allocate(registers.length * 2).order(byteOrder);
+			if (wordOrder == WordOrder.MSWLSW) {
+				for (InputRegister register : registers) {
+					buff.put(register.toBytes());
+				}
+			} else {
+				for (int i = registers.length - 1; i >= 0; i--) {
+					buff.put(registers[i].toBytes());
+				}
+			}
+			buff.rewind();
+			if (element instanceof UnsignedWordElement) {
+				consumer.accept(Short.toUnsignedInt(buff.getShort(0)));
+			} else if (element instanceof SignedWordElement) {
+				consumer.accept(buff.getShort(0));
+			} else if (element instanceof UnsignedDoublewordElement) {
+				consumer.accept(Integer.toUnsignedLong(buff.getInt(0)));
+			} else if (element instanceof SignedDoublewordElement) {
+				consumer.accept(Long.valueOf(buff.getInt()));
+			} else if (element instanceof FloatDoublewordElement) {
+				consumer.accept(buff.getFloat(0));
+			} else {
+				consumer.accept(buff.getLong(0));
+			}
+		}
+	}
+
+}
@@ -10,6 +10,7 @@ import io.openems.edge.common.channel.internal.AbstractReadChannel;
 import io.openems.edge.common.channel.value.Value;
 import io.openems.edge.common.component.OpenemsComponent;
 import io.openems.edge.common.type.CircularTreeMap;
+import io.openems.edge.common.type.pastvalues.PastValues;
 import io.openems.edge.common.type.TypeUtils;
 
 /**
@@ -129,11 +130,20 @@ public interface Channel<T> {
 	 */
 	Value<T> value();
 
+	/**
+	 * Gets the past values for this Channel.
+	 * 
+	 * @return the {@link PastValues}
+	 */
+	public PastValues<T> pastValues();
+
 	/**
 	 * Gets the past values for this Channel.
 	 * 
 	 * @return a map of recording time and historic value at that time
+	 * @deprecated creates a new map on every call; use {@link #pastValues()}
 	 */
+	@Deprecated
 	public CircularTreeMap<LocalDateTime, Value<T>> getPastValues();
 
 	/**
@@ -150,6 +160,14 @@ public interface Channel<T> {
 	 */
 	public void onChange(BiConsumer<Value<T>, Value<T>> callback);
 
+	/**
+	 * Removes an onChange callback that was added via
+	 * {@link #onChange(BiConsumer)}.
+	 * 
+	 * @param callback the callback
+	 */
+	public void removeOnChangeCallback(BiConsumer<Value<T>, Value<T>> callback);
+
 	/**
 	 * Deactivates the Channel and makes sure all callbacks are released for garbe
 	 * collection to avoid memory-leaks.
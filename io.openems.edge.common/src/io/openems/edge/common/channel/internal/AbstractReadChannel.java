@@ -19,6 +19,7 @@ import io.openems.edge.common.channel.WriteChannel;
 import io.openems.edge.common.channel.value.Value;
 import io.openems.edge.common.component.OpenemsComponent;
 import io.openems.edge.common.type.CircularTreeMap;
+import io.openems.edge.common.type.pastvalues.PastValues;
 
 public abstract class AbstractReadChannel<D extends AbstractDoc<T>, T> implements Channel<T> {
 
@@ -38,17 +39,23 @@ public abstract class AbstractReadChannel<D extends AbstractDoc<T>, T> implement
 	private final List<Consumer<Value<T>>> onUpdateCallbacks = new CopyOnWriteArrayList<>();
 	private final List<Consumer<Value<T>>> onSetNextValueCallbacks = new CopyOnWriteArrayList<>();
 	private final List<BiConsumer<Value<T>, Value<T>>> onChangeCallbacks = new CopyOnWriteArrayList<>();
-	private final CircularTreeMap<LocalDateTime, Value<T>> pastValues = new CircularTreeMap<>(NO_OF_PAST_VALUES);
+	private final PastValues<T> pastValues;
 
 	private volatile Value<T> nextValue = null;
 	private volatile Value<T> activeValue = null;
 
+	/**
+	 * Caches the {@link ChannelAddress}; see {@link #address()}.
+	 */
+	private volatile ChannelAddress address = null;
+
 	protected AbstractReadChannel(OpenemsType type, OpenemsComponent parent, ChannelId channelId, D channelDoc,
 			T initialValue) {
 		this.type = type;
 		this.parent = parent;
 		this.channelId = channelId;
 		this.channelDoc = channelDoc;
+		this.pastValues = PastValues.of(type, NO_OF_PAST_VALUES);
 		this.nextValue = new Value<T>(this, null);
 		this.activeValue = new Value<T>(this, null);
 
@@ -112,12 +119,19 @@ public abstract class AbstractReadChannel<D extends AbstractDoc<T>, T> implement
 		if (valueHasChanged) {
 			this.onChangeCallbacks.forEach(callback -> callback.accept(oldValue, this.activeValue));
 		}
-		this.pastValues.put(this.activeValue.getTimestamp(), this.activeValue);
+		this.pastValues.add(PastValues.toMillis(this.activeValue.getTimestamp()), this.activeValue.get());
 	}
 
 	@Override
 	public ChannelAddress address() {
-		return new ChannelAddress(this.parent.id(), this.channelId().id());
+		ChannelAddress address = this.address;
+		String componentId = this.parent.id();
+		if (address == null || !Objects.equals(address.getComponentId(), componentId)) {
+			// the Component-ID is only known after activation and might change
+			address = new ChannelAddress(componentId, this.channelId().id());
+			this.address = address;
+		}
+		return address;
 	}
 
 	@Override
@@ -169,6 +183,11 @@ public abstract class AbstractReadChannel<D extends AbstractDoc<T>, T> implement
 		this.onChangeCallbacks.add(callback);
 	}
 
+	@Override
+	public void removeOnChangeCallback(BiConsumer<Value<T>, Value<T>> callback) {
+		this.onChangeCallbacks.remove(callback);
+	}
+
 	/*
 	 * This is to help WriteChannels implement the WriteChannel interface.
 	 * 'onSetNextWriteCallbacks' is not final by purpose, because it might be called
@@ -219,13 +238,25 @@ public abstract class AbstractReadChannel<D extends AbstractDoc<T>, T> implement
 		return false;
 	}
 
+	@Override
+	public PastValues<T> pastValues() {
+		return this.pastValues;
+	}
+
 	/**
 	 * Gets the past values for this Channel.
 	 * 
-	 * @return a map of recording time and historic value at that time
+	 * @return a new map of recording time and historic value at that time
+	 * @deprecated use {@link #pastValues()}
 	 */
+	@Deprecated
 	@Override
 	public CircularTreeMap<LocalDateTime, Value<T>> getPastValues() {
-		return this.pastValues;
+		CircularTreeMap<LocalDateTime, Value<T>> result = new CircularTreeMap<>(NO_OF_PAST_VALUES);
+		for (int i = 0; i < this.pastValues.size(); i++) {
+			LocalDateTime timestamp = PastValues.toLocalDateTime(this.pastValues.getTimestamp(i));
+			result.put(timestamp, new Value<T>(this, this.pastValues.getValue(i), timestamp));
+		}
+		return result;
 	}
 }
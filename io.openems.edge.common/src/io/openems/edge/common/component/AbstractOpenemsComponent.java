@@ -40,6 +40,12 @@ public abstract class AbstractOpenemsComponent implements OpenemsComponent {
 	private static final String PROPERTY_CHANNEL_ID_PREFIX = "_PROPERTY_";
 	private static final AtomicInteger NEXT_GENERATED_COMPONENT_ID = new AtomicInteger(-1);
 
+	/**
+	 * Counts every add or remove of a Channel on any Component. Used to detect
+	 * when cached lists of Channels need to be rebuilt.
+	 */
+	private static final AtomicInteger CHANNELS_MODIFICATION_COUNT = new AtomicInteger(0);
+
 	private final Logger log = LoggerFactory.getLogger(AbstractOpenemsComponent.class);
 
 	/**
@@ -313,6 +319,7 @@ public abstract class AbstractOpenemsComponent implements OpenemsComponent {
 		}
 		// Add Channel to channels list
 		this.channels.put(channel.channelId().id(), channel);
+		CHANNELS_MODIFICATION_COUNT.incrementAndGet();
 		// Handle StateChannels
 		if (channel instanceof StateChannel) {
 			this.getState().addChannel((StateChannel) channel);
@@ -326,8 +333,10 @@ public abstract class AbstractOpenemsComponent implements OpenemsComponent {
 	 */
 	// TODO remove Channel(s) using Channel-ID; see addChannels()-method above.
 	protected void removeChannel(Channel<?> channel) {
-		// Add Channel to channels list
-		this.channels.remove(channel.channelId().id(), channel);
+		// Remove Channel from channels list
+		if (this.channels.remove(channel.channelId().id(), channel)) {
+			CHANNELS_MODIFICATION_COUNT.incrementAndGet();
+		}
 		// Handle StateChannels
 		if (channel instanceof StateChannel) {
 			this.getState().removeChannel((StateChannel) channel);
@@ -339,6 +348,20 @@ public abstract class AbstractOpenemsComponent implements OpenemsComponent {
 		return this.channels.values();
 	}
 
+	/**
+	 * Gets the number of Channels that were added to or removed from any
+	 * Component since startup.
+	 * 
+	 * <p>
+	 * This can be used to invalidate caches that hold Channels of many
+	 * Components.
+	 * 
+	 * @return the modification count
+	 */
+	public static int getChannelsModificationCount() {
+		return CHANNELS_MODIFICATION_COUNT.get();
+	}
+
 	/**
 	 * Log a debug message including the Component ID.
 	 * 
@@ -1,5 +1,6 @@
 package io.openems.edge.common.component;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import io.openems.common.OpenemsConstants;
@@ -11,6 +12,7 @@ import io.openems.common.types.EdgeConfig;
 import io.openems.edge.common.channel.Channel;
 import io.openems.edge.common.channel.Doc;
 import io.openems.edge.common.jsonapi.JsonApi;
+import io.openems.edge.common.sum.Sum;
 
 /**
  * A Service that provides access to OpenEMS-Components.
@@ -52,6 +54,27 @@ public interface ComponentManager extends OpenemsComponent, JsonApi {
 	 */
 	public List<OpenemsComponent> getAllComponents();
 
+	/**
+	 * Gets the Channels of all enabled OpenEMS-Components as a flat array. This is
+	 * used to switch the process image in every Cycle. Channels of the
+	 * {@link Sum}-Component are excluded, as they are updated separately.
+	 * 
+	 * <p>
+	 * Implementations may cache and share the returned array; it must not be
+	 * modified.
+	 * 
+	 * @return an array of Channels
+	 */
+	public default Channel<?>[] getProcessImageChannels() {
+		List<Channel<?>> result = new ArrayList<>();
+		for (OpenemsComponent component : this.getEnabledComponents()) {
+			if (component.isEnabled() && !(component instanceof Sum)) {
+				result.addAll(component.channels());
+			}
+		}
+		return result.toArray(new Channel<?>[result.size()]);
+	}
+
 	/**
 	 * Gets a OpenEMS-Component by its Component-ID. The Component is guaranteed to
 	 * be enabled.
@@ -0,0 +1,34 @@
+package io.openems.edge.common.event;
+
+/**
+ * The events of the OpenEMS Edge Cycle in the order of their execution.
+ * 
+ * <p>
+ * See {@link EdgeEventConstants} for a description of the events and
+ * {@link CycleListener} for a way to receive them without the OSGi
+ * EventAdmin.
+ */
+public enum CycleEvent {
+	BEFORE_PROCESS_IMAGE(EdgeEventConstants.TOPIC_CYCLE_BEFORE_PROCESS_IMAGE), //
+	AFTER_PROCESS_IMAGE(EdgeEventConstants.TOPIC_CYCLE_AFTER_PROCESS_IMAGE), //
+	BEFORE_CONTROLLERS(EdgeEventConstants.TOPIC_CYCLE_BEFORE_CONTROLLERS), //
+	AFTER_CONTROLLERS(EdgeEventConstants.TOPIC_CYCLE_AFTER_CONTROLLERS), //
+	BEFORE_WRITE(EdgeEventConstants.TOPIC_CYCLE_BEFORE_WRITE), //
+	EXECUTE_WRITE(EdgeEventConstants.TOPIC_CYCLE_EXECUTE_WRITE), //
+	AFTER_WRITE(EdgeEventConstants.TOPIC_CYCLE_AFTER_WRITE);
+
+	private final String topic;
+
+	private CycleEvent(String topic) {
+		this.topic = topic;
+	}
+
+	/**
+	 * Gets the EventAdmin topic of this event.
+	 * 
+	 * @return the topic
+	 */
+	public String getTopic() {
+		return this.topic;
+	}
+}
@@ -0,0 +1,54 @@
+package io.openems.edge.common.event;
+
+import java.util.EnumSet;
+
+/**
+ * A service that gets notified about {@link CycleEvent}s of the OpenEMS Edge
+ * Cycle.
+ * 
+ * <p>
+ * This is an alternative to implementing the OSGi EventHandler for the
+ * "io/openems/edge/cycle/*" topics. The Cycle resolves the listeners once when
+ * they are bound and calls them directly, i.e. without topic matching and
+ * without allocating an Event object.
+ * 
+ * <p>
+ * Use as follows:
+ * 
+ * <pre>
+ * public class MyComponent extends AbstractOpenemsComponent implements OpenemsComponent, CycleListener {
+ * 
+ * 	&#64;Override
+ * 	public EnumSet&lt;CycleEvent&gt; getCycleEvents() {
+ * 		return EnumSet.of(CycleEvent.BEFORE_WRITE);
+ * 	}
+ * 
+ * 	&#64;Override
+ * 	public void onCycleEvent(CycleEvent event) {
+ * 		// ...
+ * 	}
+ * }
+ * </pre>
+ */
+public interface CycleListener {
+
+	/**
+	 * Gets the {@link CycleEvent}s this listener wants to be notified about.
+	 * 
+	 * <p>
+	 * This method is called only once when the listener is bound, so the result
+	 * must not change afterwards.
+	 * 
+	 * @return a Set of {@link CycleEvent}s
+	 */
+	public EnumSet<CycleEvent> getCycleEvents();
+
+	/**
+	 * Handles a {@link CycleEvent}. This method is called synchronously on the
+	 * Cycle thread.
+	 * 
+	 * @param event the {@link CycleEvent}
+	 */
+	public void onCycleEvent(CycleEvent event);
+
+}
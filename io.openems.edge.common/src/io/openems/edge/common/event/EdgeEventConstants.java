@@ -12,6 +12,10 @@ public final class EdgeEventConstants {
 
 	/**
 	 * Base for CYCLE events. See @{link CycleWorker} for implementation details.
+	 * 
+	 * <p>
+	 * Instead of subscribing to these topics via EventHandler, Components may
+	 * implement {@link CycleListener} to get notified directly.
 	 */
 	public static final String TOPIC_CYCLE = "io/openems/edge/cycle/";
 
@@ -0,0 +1,30 @@
+package io.openems.edge.common.type.pastvalues;
+
+/**
+ * {@link PastValues} of {@link Boolean} values in a {@code boolean[]}.
+ */
+final class BooleanPastValues extends PastValues<Boolean> {
+
+	private final boolean[] values;
+
+	BooleanPastValues(int capacity) {
+		super(capacity);
+		this.values = new boolean[capacity];
+	}
+
+	@Override
+	protected void set(int index, Boolean value) {
+		this.values[index] = value;
+	}
+
+	@Override
+	protected Boolean get(int index) {
+		return this.values[index];
+	}
+
+	@Override
+	protected double getDouble(int index) {
+		return this.values[index] ? 1d : 0d;
+	}
+
+}
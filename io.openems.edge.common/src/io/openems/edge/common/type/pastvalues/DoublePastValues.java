@@ -0,0 +1,30 @@
+package io.openems.edge.common.type.pastvalues;
+
+/**
+ * {@link PastValues} of {@link Double} values in a {@code double[]}.
+ */
+final class DoublePastValues extends PastValues<Double> {
+
+	private final double[] values;
+
+	DoublePastValues(int capacity) {
+		super(capacity);
+		this.values = new double[capacity];
+	}
+
+	@Override
+	protected void set(int index, Double value) {
+		this.values[index] = value;
+	}
+
+	@Override
+	protected Double get(int index) {
+		return this.values[index];
+	}
+
+	@Override
+	protected double getDouble(int index) {
+		return this.values[index];
+	}
+
+}
@@ -0,0 +1,30 @@
+package io.openems.edge.common.type.pastvalues;
+
+/**
+ * {@link PastValues} of {@link Float} values in a {@code float[]}.
+ */
+final class FloatPastValues extends PastValues<Float> {
+
+	private final float[] values;
+
+	FloatPastValues(int capacity) {
+		super(capacity);
+		this.values = new float[capacity];
+	}
+
+	@Override
+	protected void set(int index, Float value) {
+		this.values[index] = value;
+	}
+
+	@Override
+	protected Float get(int index) {
+		return this.values[index];
+	}
+
+	@Override
+	protected double getDouble(int index) {
+		return this.values[index];
+	}
+
+}
@@ -0,0 +1,30 @@
+package io.openems.edge.common.type.pastvalues;
+
+/**
+ * {@link PastValues} of {@link Integer} values in an {@code int[]}.
+ */
+final class IntegerPastValues extends PastValues<Integer> {
+
+	private final int[] values;
+
+	IntegerPastValues(int capacity) {
+		super(capacity);
+		this.values = new int[capacity];
+	}
+
+	@Override
+	protected void set(int index, Integer value) {
+		this.values[index] = value;
+	}
+
+	@Override
+	protected Integer get(int index) {
+		return this.values[index];
+	}
+
+	@Override
+	protected double getDouble(int index) {
+		return this.values[index];
+	}
+
+}
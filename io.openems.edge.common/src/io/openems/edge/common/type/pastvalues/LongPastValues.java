@@ -0,0 +1,30 @@
+package io.openems.edge.common.type.pastvalues;
+
+/**
+ * {@link PastValues} of {@link Long} values in a {@code long[]}.
+ */
+final class LongPastValues extends PastValues<Long> {
+
+	private final long[] values;
+
+	LongPastValues(int capacity) {
+		super(capacity);
+		this.values = new long[capacity];
+	}
+
+	@Override
+	protected void set(int index, Long value) {
+		this.values[index] = value;
+	}
+
+	@Override
+	protected Long get(int index) {
+		return this.values[index];
+	}
+
+	@Override
+	protected double getDouble(int index) {
+		return this.values[index];
+	}
+
+}
@@ -0,0 +1,311 @@
+package io.openems.edge.common.type.pastvalues;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import io.openems.common.types.OpenemsType;
+
+/**
+ * A circular buffer of the past values of a Channel, that stores timestamps and
+ * values in primitive arrays.
+ *
+ * <p>
+ * Values are stored in order of addition; when the buffer is full, the eldest
+ * value is overwritten. Positions are counted from the eldest (0) to the
+ * latest ({@link #size()} - 1) value. Timestamps are milliseconds of the local
+ * date-time as returned by {@link #toMillis(LocalDateTime)}.
+ *
+ * <p>
+ * Range queries and aggregations do not allocate. This class is not
+ * thread-safe; it is written by the Cycle and should be read within the Cycle.
+ *
+ * @param <T> the type of the values
+ */
+public abstract class PastValues<T> {
+
+	/**
+	 * Aggregates the values of a {@link PastValues} after a timestamp.
+	 */
+	@FunctionalInterface
+	public interface Aggregation {
+
+		/**
+		 * Aggregates the defined values after the given timestamp.
+		 *
+		 * @param pastValues    the {@link PastValues}
+		 * @param fromTimestamp the timestamp; exclusive
+		 * @return the aggregated value; {@link Double#NaN} if there is no value
+		 */
+		public double apply(PastValues<?> pastValues, long fromTimestamp);
+	}
+
+	/**
+	 * Creates a {@link PastValues} for the given {@link OpenemsType}.
+	 *
+	 * @param <T>      the type of the values
+	 * @param type     the {@link OpenemsType}
+	 * @param capacity the maximum number of values
+	 * @return the {@link PastValues}
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> PastValues<T> of(OpenemsType type, int capacity) {
+		switch (type) {
+		case BOOLEAN:
+			return (PastValues<T>) new BooleanPastValues(capacity);
+		case SHORT:
+			return (PastValues<T>) new ShortPastValues(capacity);
+		case INTEGER:
+			return (PastValues<T>) new IntegerPastValues(capacity);
+		case LONG:
+			return (PastValues<T>) new LongPastValues(capacity);
+		case FLOAT:
+			return (PastValues<T>) new FloatPastValues(capacity);
+		case DOUBLE:
+			return (PastValues<T>) new DoublePastValues(capacity);
+		case STRING:
+			return (PastValues<T>) new StringPastValues(capacity);
+		}
+		throw new IllegalArgumentException("Type [" + type + "] is not supported.");
+	}
+
+	/**
+	 * Converts a {@link LocalDateTime} to the timestamp format of
+	 * {@link PastValues}.
+	 *
+	 * @param dateTime the {@link LocalDateTime}
+	 * @return the timestamp in milliseconds
+	 */
+	public static long toMillis(LocalDateTime dateTime) {
+		return dateTime.toEpochSecond(ZoneOffset.UTC) * 1000 + dateTime.getNano() / 1_000_000;
+	}
+
+	/**
+	 * Converts a timestamp of {@link PastValues} to a {@link LocalDateTime}.
+	 *
+	 * @param timestamp the timestamp in milliseconds
+	 * @return the {@link LocalDateTime}
+	 */
+	public static LocalDateTime toLocalDateTime(long timestamp) {
+		return LocalDateTime.ofInstant(Instant.ofEpochMilli(timestamp), ZoneOffset.UTC);
+	}
+
+	protected final int capacity;
+	private final long[] timestamps;
+	private final boolean[] defined;
+
+	/**
+	 * Index of the next value in the arrays.
+	 */
+	private int next = 0;
+	private int size = 0;
+
+	protected PastValues(int capacity) {
+		this.capacity = capacity;
+		this.timestamps = new long[capacity];
+		this.defined = new boolean[capacity];
+	}
+
+	/**
+	 * Adds a value.
+	 *
+	 * @param timestamp the timestamp in milliseconds
+	 * @param value     the value; null if undefined
+	 */
+	public void add(long timestamp, T value) {
+		int index = this.next;
+		this.timestamps[index] = timestamp;
+		if (value == null) {
+			this.defined[index] = false;
+		} else {
+			this.defined[index] = true;
+			this.set(index, value);
+		}
+		this.next = index + 1 == this.capacity ? 0 : index + 1;
+		if (this.size < this.capacity) {
+			this.size++;
+		}
+	}
+
+	/**
+	 * Stores a value at an index of the arrays.
+	 *
+	 * @param index the index
+	 * @param value the value; not null
+	 */
+	protected abstract void set(int index, T value);
+
+	/**
+	 * Gets the value at an index of the arrays.
+	 *
+	 * @param index the index
+	 * @return the value
+	 */
+	protected abstract T get(int index);
+
+	/**
+	 * Gets the value at an index of the arrays as double.
+	 *
+	 * @param index the index
+	 * @return the value
+	 */
+	protected abstract double getDouble(int index);
+
+	/**
+	 * Gets the number of values.
+	 *
+	 * @return the number of values
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * Gets the maximum number of values.
+	 *
+	 * @return the capacity
+	 */
+	public int capacity() {
+		return this.capacity;
+	}
+
+	/**
+	 * Gets the timestamp at a position.
+	 *
+	 * @param position the position; 0 is the eldest value
+	 * @return the timestamp in milliseconds
+	 */
+	public long getTimestamp(int position) {
+		return this.timestamps[this.index(position)];
+	}
+
+	/**
+	 * Is the value at a position defined?.
+	 *
+	 * @param position the position; 0 is the eldest value
+	 * @return true if the value is not null
+	 */
+	public boolean isDefined(int position) {
+		return this.defined[this.index(position)];
+	}
+
+	/**
+	 * Gets the value at a position.
+	 *
+	 * @param position the position; 0 is the eldest value
+	 * @return the value; null if undefined
+	 */
+	public T getValue(int position) {
+		int index = this.index(position);
+		return this.defined[index] ? this.get(index) : null;
+	}
+
+	/**
+	 * Gets the value at a position as double. Booleans are converted to 1 and 0;
+	 * Strings to 0.
+	 *
+	 * @param position the position; 0 is the eldest value
+	 * @return the value; {@link Double#NaN} if undefined
+	 */
+	public double getAsDouble(int position) {
+		int index = this.index(position);
+		return this.defined[index] ? this.getDouble(index) : Double.NaN;
+	}
+
+	/**
+	 * Gets the position of the first value after a timestamp. Use it to iterate
+	 * over a time range:
+	 *
+	 * <pre>
+	 * for (int i = pastValues.positionAfter(from, true); i &lt; pastValues.size(); i++) {
+	 * 	pastValues.getAsDouble(i);
+	 * }
+	 * </pre>
+	 *
+	 * @param timestamp the timestamp in milliseconds
+	 * @param inclusive true to include values with exactly this timestamp
+	 * @return the position; {@link #size()} if there is no such value
+	 */
+	public int positionAfter(long timestamp, boolean inclusive) {
+		int position = this.size;
+		while (position > 0) {
+			long t = this.getTimestamp(position - 1);
+			if (t < timestamp || (!inclusive && t == timestamp)) {
+				break;
+			}
+			position--;
+		}
+		return position;
+	}
+
+	/**
+	 * Gets the average of the defined values after a timestamp.
+	 *
+	 * @param timestamp the timestamp in milliseconds
+	 * @param inclusive true to include values with exactly this timestamp
+	 * @return the average; {@link Double#NaN} if there is no defined value
+	 */
+	public double average(long timestamp, boolean inclusive) {
+		double sum = 0;
+		int count = 0;
+		for (int i = this.positionAfter(timestamp, inclusive); i < this.size; i++) {
+			int index = this.index(i);
+			if (this.defined[index]) {
+				sum += this.getDouble(index);
+				count++;
+			}
+		}
+		return count == 0 ? Double.NaN : sum / count;
+	}
+
+	/**
+	 * Gets the maximum of the defined values after a timestamp.
+	 *
+	 * @param timestamp the timestamp in milliseconds
+	 * @param inclusive true to include values with exactly this timestamp
+	 * @return the maximum; {@link Double#NaN} if there is no defined value
+	 */
+	public double max(long timestamp, boolean inclusive) {
+		double max = Double.NaN;
+		for (int i = this.positionAfter(timestamp, inclusive); i < this.size; i++) {
+			int index = this.index(i);
+			if (this.defined[index]) {
+				double value = this.getDouble(index);
+				if (Double.isNaN(max) || value > max) {
+					max = value;
+				}
+			}
+		}
+		return max;
+	}
+
+	/**
+	 * Gets the minimum of the defined values after a timestamp.
+	 *
+	 * @param timestamp the timestamp in milliseconds
+	 * @param inclusive true to include values with exactly this timestamp
+	 * @return the minimum; {@link Double#NaN} if there is no defined value
+	 */
+	public double min(long timestamp, boolean inclusive) {
+		double min = Double.NaN;
+		for (int i = this.positionAfter(timestamp, inclusive); i < this.size; i++) {
+			int index = this.index(i);
+			if (this.defined[index]) {
+				double value = this.getDouble(index);
+				if (Double.isNaN(min) || value < min) {
+					min = value;
+				}
+			}
+		}
+		return min;
+	}
+
+	private int index(int position) {
+		if (position < 0 || position >= this.size) {
+			throw new IndexOutOfBoundsException("Position [" + position + "] Size [" + this.size + "]");
+		}
+		int index = this.next - this.size + position;
+		return index < 0 ? index + this.capacity : index;
+	}
+
+}
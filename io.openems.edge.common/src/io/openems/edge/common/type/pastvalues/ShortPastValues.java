@@ -0,0 +1,30 @@
+package io.openems.edge.common.type.pastvalues;
+
+/**
+ * {@link PastValues} of {@link Short} values in a {@code short[]}.
+ */
+final class ShortPastValues extends PastValues<Short> {
+
+	private final short[] values;
+
+	ShortPastValues(int capacity) {
+		super(capacity);
+		this.values = new short[capacity];
+	}
+
+	@Override
+	protected void set(int index, Short value) {
+		this.values[index] = value;
+	}
+
+	@Override
+	protected Short get(int index) {
+		return this.values[index];
+	}
+
+	@Override
+	protected double getDouble(int index) {
+		return this.values[index];
+	}
+
+}
@@ -0,0 +1,31 @@
+package io.openems.edge.common.type.pastvalues;
+
+/**
+ * {@link PastValues} of {@link String} values.
+ */
+final class StringPastValues extends PastValues<String> {
+
+	private final String[] values;
+
+	StringPastValues(int capacity) {
+		super(capacity);
+		this.values = new String[capacity];
+	}
+
+	@Override
+	protected void set(int index, String value) {
+		this.values[index] = value;
+	}
+
+	@Override
+	protected String get(int index) {
+		return this.values[index];
+	}
+
+	@Override
+	protected double getDouble(int index) {
+		// Strings have no numeric representation
+		return 0d;
+	}
+
+}
@@ -3,16 +3,21 @@ package io.openems.edge.common.channel;
 import static org.junit.Assert.assertEquals;
 
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
 
 import org.junit.Test;
 
 import io.openems.common.channel.AccessMode;
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.types.OpenemsType;
+import io.openems.edge.common.channel.value.Value;
 
 public class ChannelTest {
 
 	private static enum TestChannelId implements ChannelId {
-		TEST_CHANNEL_WITH_OPTIONS(Doc.of(TestOptions.values()).accessMode(AccessMode.READ_WRITE));
+		TEST_CHANNEL_WITH_OPTIONS(Doc.of(TestOptions.values()).accessMode(AccessMode.READ_WRITE)), //
+		TEST_INTEGER_CHANNEL(Doc.of(OpenemsType.INTEGER));
 
 		private final Doc doc;
 
@@ -42,4 +47,22 @@ public class ChannelTest {
 		assertEquals(TestOptions.OPTION_1.getValue(), writtenValue.get());
 	}
 
+	@Test
+	public void testRemoveOnChangeCallback() {
+		TestChannelId channelId = TestChannelId.TEST_INTEGER_CHANNEL;
+		IntegerReadChannel channel = channelId.doc().createChannelInstance(null, channelId);
+		AtomicInteger changes = new AtomicInteger(0);
+		BiConsumer<Value<Integer>, Value<Integer>> callback = (oldValue, newValue) -> changes.incrementAndGet();
+		channel.onChange(callback);
+
+		channel.setNextValue(1);
+		channel.nextProcessImage();
+		assertEquals(1, changes.get());
+
+		channel.removeOnChangeCallback(callback);
+		channel.setNextValue(2);
+		channel.nextProcessImage();
+		assertEquals(1, changes.get());
+	}
+
 }
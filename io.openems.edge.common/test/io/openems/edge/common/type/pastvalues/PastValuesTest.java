@@ -0,0 +1,83 @@
+package io.openems.edge.common.type.pastvalues;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDateTime;
+
+import org.junit.Test;
+
+import io.openems.common.types.OpenemsType;
+
+public class PastValuesTest {
+
+	@Test
+	public void testCircular() {
+		PastValues<Integer> sut = PastValues.of(OpenemsType.INTEGER, 3);
+		assertEquals(0, sut.size());
+		sut.add(1000, 1);
+		sut.add(2000, 2);
+		assertEquals(2, sut.size());
+		assertEquals(1, (int) sut.getValue(0));
+		sut.add(3000, null);
+		sut.add(4000, 4);
+
+		// eldest value was overwritten
+		assertEquals(3, sut.size());
+		assertEquals(2000, sut.getTimestamp(0));
+		assertEquals(2, (int) sut.getValue(0));
+		assertFalse(sut.isDefined(1));
+		assertNull(sut.getValue(1));
+		assertTrue(Double.isNaN(sut.getAsDouble(1)));
+		assertEquals(4, (int) sut.getValue(2));
+	}
+
+	@Test
+	public void testRange() {
+		PastValues<Integer> sut = PastValues.of(OpenemsType.INTEGER, 5);
+		for (int i = 1; i <= 8; i++) {
+			sut.add(i * 1000, i == 6 ? null : i * 10);
+		}
+		// holds 4000 to 8000
+		assertEquals(0, sut.positionAfter(1000, false));
+		assertEquals(2, sut.positionAfter(6000, true));
+		assertEquals(3, sut.positionAfter(6000, false));
+		assertEquals(5, sut.positionAfter(8000, false));
+
+		assertEquals((70 + 80) / 2d, sut.average(6000, true), 0.001);
+		assertEquals((40 + 50 + 70 + 80) / 4d, sut.average(0, false), 0.001);
+		assertEquals(80, sut.max(0, false), 0.001);
+		assertEquals(40, sut.min(0, false), 0.001);
+		assertTrue(Double.isNaN(sut.average(8000, false)));
+		assertTrue(Double.isNaN(sut.max(8000, false)));
+	}
+
+	@Test
+	public void testTypes() {
+		PastValues<Boolean> booleans = PastValues.of(OpenemsType.BOOLEAN, 10);
+		booleans.add(1000, true);
+		booleans.add(2000, false);
+		booleans.add(3000, true);
+		assertEquals(2 / 3d, booleans.average(0, false), 0.001);
+		assertEquals(Boolean.FALSE, booleans.getValue(1));
+
+		PastValues<Long> longs = PastValues.of(OpenemsType.LONG, 10);
+		longs.add(1000, Long.MAX_VALUE);
+		assertEquals(Long.MAX_VALUE, (long) longs.getValue(0));
+
+		PastValues<String> strings = PastValues.of(OpenemsType.STRING, 10);
+		strings.add(1000, "foo");
+		assertEquals("foo", strings.getValue(0));
+		assertEquals(0, strings.average(0, false), 0.001);
+	}
+
+	@Test
+	public void testTimestamps() {
+		LocalDateTime dateTime = LocalDateTime.of(2020, 10, 18, 12, 30, 15, 123_000_000);
+		assertEquals(dateTime, PastValues.toLocalDateTime(PastValues.toMillis(dateTime)));
+		assertTrue(PastValues.toMillis(dateTime) < PastValues.toMillis(dateTime.plusNanos(1_000_000)));
+	}
+
+}
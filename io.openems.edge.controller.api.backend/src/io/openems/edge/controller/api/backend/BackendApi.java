@@ -1,11 +1,14 @@
 package io.openems.edge.controller.api.backend;
 
+import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.net.Proxy;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.file.Paths;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import org.ops4j.pax.logging.spi.PaxAppender;
 import org.ops4j.pax.logging.spi.PaxLoggingEvent;
@@ -25,10 +28,12 @@ import org.osgi.service.metatype.annotations.Designate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import io.openems.common.OpenemsConstants;
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.common.jsonrpc.notification.EdgeConfigNotification;
 import io.openems.common.jsonrpc.notification.SystemLogNotification;
 import io.openems.common.types.EdgeConfig;
+import io.openems.common.types.OpenemsType;
 import io.openems.common.websocket.AbstractWebsocketClient;
 import io.openems.edge.common.channel.Doc;
 import io.openems.edge.common.component.AbstractOpenemsComponent;
@@ -54,6 +59,8 @@ public class BackendApi extends AbstractOpenemsComponent
 
 	protected static final int DEFAULT_NO_OF_CYCLES = 10;
 	protected static final String COMPONENT_NAME = "Controller.Api.Backend";
+	protected static final String OUTBOX_PATH = "backend-outbox";
+	protected static final int OUTBOX_SEGMENT_SIZE = 1024 * 1024; // [bytes]
 
 	protected final BackendWorker worker = new BackendWorker(this);
 
@@ -63,6 +70,9 @@ public class BackendApi extends AbstractOpenemsComponent
 
 	protected WebsocketClient websocket = null;
 	protected int noOfCycles = DEFAULT_NO_OF_CYCLES; // default, is going to be overwritten by config
+	protected Outbox outbox = null; // null if data is cached in memory
+	protected int outboxReplayRate = 0;
+	protected int outboxReplayBatchSize = 1;
 	protected boolean debug = false;
 
 	// Used for SubscribeSystemLogRequests
@@ -75,7 +85,15 @@ public class BackendApi extends AbstractOpenemsComponent
 	protected ComponentManager componentManager;
 
 	public enum ChannelId implements io.openems.edge.common.channel.ChannelId {
-		;
+		OUTBOX_RECORDS(Doc.of(OpenemsType.INTEGER) //
+				.text("Number of unsent records in the Outbox")), //
+		OUTBOX_SIZE(Doc.of(OpenemsType.LONG) //
+				.text("Size of unsent records in the Outbox in bytes")), //
+		OUTBOX_DROPPED_RECORDS(Doc.of(OpenemsType.LONG) //
+				.text("Number of records dropped from the Outbox because of size or age limits")), //
+		OUTBOX_REPLAY_THROUGHPUT(Doc.of(OpenemsType.INTEGER) //
+				.text("Replayed records from the Outbox per second")); //
+
 		private final Doc doc;
 
 		private ChannelId(Doc doc) {
@@ -134,6 +152,20 @@ public class BackendApi extends AbstractOpenemsComponent
 		this.websocket = new WebsocketClient(this, COMPONENT_NAME + ":" + this.id(), uri, httpHeaders, proxy);
 		this.websocket.start();
 
+		// Open Outbox for data that could not be sent
+		this.outboxReplayRate = config.outboxReplayRate();
+		this.outboxReplayBatchSize = Math.max(1, config.outboxReplayBatchSize());
+		if (config.outboxMaxSize() > 0) {
+			try {
+				this.outbox = new Outbox(Paths.get(OpenemsConstants.getOpenemsDataDir(), OUTBOX_PATH, this.id()), //
+						OUTBOX_SEGMENT_SIZE, //
+						config.outboxMaxSize() * 1024L * 1024L, //
+						TimeUnit.DAYS.toMillis(config.outboxMaxAge()));
+			} catch (IOException e) {
+				this.logWarn(this.log, "Unable to open Outbox. Caching data in memory: " + e.getMessage());
+			}
+		}
+
 		// Activate worker
 		this.worker.activate(config.id());
 	}
@@ -145,6 +177,9 @@ public class BackendApi extends AbstractOpenemsComponent
 		if (this.websocket != null) {
 			this.websocket.stop();
 		}
+		if (this.outbox != null) {
+			this.outbox.close();
+		}
 	}
 
 	@Override
@@ -1,36 +1,28 @@
 package io.openems.edge.controller.api.backend;
 
-import java.util.HashMap;
+import java.io.IOException;
 import java.util.Iterator;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import com.google.common.collect.EvictingQueue;
 import com.google.gson.JsonElement;
 
-import io.openems.common.channel.AccessMode;
 import io.openems.common.jsonrpc.base.JsonrpcMessage;
 import io.openems.common.jsonrpc.notification.TimestampedDataNotification;
 import io.openems.common.types.ChannelAddress;
-import io.openems.common.types.OpenemsType;
 import io.openems.common.worker.AbstractCycleWorker;
-import io.openems.edge.common.channel.EnumReadChannel;
-import io.openems.edge.common.type.slidingvalue.DoubleSlidingValue;
-import io.openems.edge.common.type.slidingvalue.FloatSlidingValue;
-import io.openems.edge.common.type.slidingvalue.IntegerSlidingValue;
-import io.openems.edge.common.type.slidingvalue.LatestSlidingValue;
-import io.openems.edge.common.type.slidingvalue.LongSlidingValue;
-import io.openems.edge.common.type.slidingvalue.ShortSlidingValue;
-import io.openems.edge.common.type.slidingvalue.SlidingValue;
 
 class BackendWorker extends AbstractCycleWorker {
 
 	private static final int MAX_CACHED_MESSAGES = 1000;
+	private static final long MAX_REPLAY_INTERVAL = 60_000; // [ms]
 
-	// private final Logger log = LoggerFactory.getLogger(BackendWorker.class);
+	private final Logger log = LoggerFactory.getLogger(BackendWorker.class);
 
 	private final BackendApi parent;
 
@@ -41,17 +33,21 @@ class BackendWorker extends AbstractCycleWorker {
 	private Optional<Integer> increasedNoOfCycles = Optional.empty();
 
 	// Current values
-	private final ConcurrentHashMap<ChannelAddress, SlidingValue<?>> data = new ConcurrentHashMap<>();
+	private final ChannelAggregator data;
 
-	// Unsent queue (FIFO)
+	// Unsent queue (FIFO); used if there is no Outbox
 	private EvictingQueue<JsonrpcMessage> unsent = EvictingQueue.create(MAX_CACHED_MESSAGES);
 
+	// Timestamp of the last replay from the Outbox
+	private long lastReplay = 0;
+
 	// By default the worker reads and sends only changed values. If this variable
 	// is set to 'false', it sends all values once.
 	private final AtomicBoolean sendChangedValuesOnly = new AtomicBoolean(false);
 
 	BackendWorker(BackendApi parent) {
 		this.parent = parent;
+		this.data = new ChannelAggregator(() -> parent.componentManager.getEnabledComponents());
 	}
 
 	@Override
@@ -62,6 +58,7 @@ class BackendWorker extends AbstractCycleWorker {
 	@Override
 	public void deactivate() {
 		super.deactivate();
+		this.data.deactivate();
 	}
 
 	/**
@@ -75,8 +72,8 @@ class BackendWorker extends AbstractCycleWorker {
 
 	@Override
 	protected void forever() {
-		// Update the data from ChannelValues
-		this.updateData();
+		// Update the data from changed ChannelValues
+		this.data.update(this.cycleCount);
 
 		// Increase CycleCount
 		if (++this.cycleCount < this.parent.noOfCycles) {
@@ -88,27 +85,20 @@ class BackendWorker extends AbstractCycleWorker {
 		 * Reached CycleCount -> Send data
 		 */
 		// Reset CycleCount
+		int cycles = this.cycleCount;
 		this.cycleCount = 0;
 
 		// resets the mode to 'send changed values only'
 		boolean sendChangedValuesOnly = this.sendChangedValuesOnly.getAndSet(true);
 
 		// Prepare message values
-		Map<ChannelAddress, JsonElement> sendValues = new HashMap<>();
-
+		Map<ChannelAddress, JsonElement> sendValues;
 		if (sendChangedValuesOnly) {
 			// Only Changed Values
-			for (Entry<ChannelAddress, SlidingValue<?>> entry : this.data.entrySet()) {
-				JsonElement changedValueOrNull = entry.getValue().getChangedValueOrNull();
-				if (changedValueOrNull != null) {
-					sendValues.put(entry.getKey(), changedValueOrNull);
-				}
-			}
+			sendValues = this.data.getChangedValues(cycles);
 		} else {
 			// All Values
-			for (Entry<ChannelAddress, SlidingValue<?>> entry : this.data.entrySet()) {
-				sendValues.put(entry.getKey(), entry.getValue().getValue());
-			}
+			sendValues = this.data.getAllValues(cycles);
 		}
 
 		boolean canSendFromCache;
@@ -133,8 +123,17 @@ class BackendWorker extends AbstractCycleWorker {
 				// increase cycleTime
 				increaseNoOfCycles();
 
-				// cache data for later
-				this.unsent.add(message);
+				// cache data for later. The Backend completes changed values only for live
+				// data, so cached data always holds all values.
+				if (sendChangedValuesOnly) {
+					sendValues = this.data.getLastValues();
+					message = new TimestampedDataNotification();
+					message.add(timestamp, sendValues);
+				}
+				this.addToCache(timestamp, sendValues, message);
+
+				// send all values after reconnect
+				this.sendChangedValuesOnly.set(false);
 			}
 
 			canSendFromCache = wasSent;
@@ -143,7 +142,17 @@ class BackendWorker extends AbstractCycleWorker {
 		}
 
 		// send from cache
-		if (canSendFromCache && !this.unsent.isEmpty()) {
+		Outbox outbox = this.parent.outbox;
+		if (outbox != null) {
+			if (canSendFromCache) {
+				this.replayFromOutbox(outbox);
+			}
+			this.parent.channel(BackendApi.ChannelId.OUTBOX_RECORDS).setNextValue(outbox.getNoOfRecords());
+			this.parent.channel(BackendApi.ChannelId.OUTBOX_SIZE).setNextValue(outbox.getSize());
+			this.parent.channel(BackendApi.ChannelId.OUTBOX_DROPPED_RECORDS)
+					.setNextValue(outbox.getNoOfDroppedRecords());
+
+		} else if (canSendFromCache && !this.unsent.isEmpty()) {
 			for (Iterator<JsonrpcMessage> iterator = this.unsent.iterator(); iterator.hasNext();) {
 				JsonrpcMessage cached = iterator.next();
 				boolean cacheWasSent = this.parent.websocket.sendMessage(cached);
@@ -156,79 +165,53 @@ class BackendWorker extends AbstractCycleWorker {
 	}
 
 	/**
-	 * Cycles through all Channels and updates the value.
+	 * Caches data that could not be sent; in the Outbox if available.
+	 *
+	 * @param timestamp the timestamp
+	 * @param values    the values
+	 * @param message   the {@link TimestampedDataNotification} of the values
 	 */
-	private void updateData() {
-		this.parent.componentManager.getEnabledComponents().parallelStream() //
-				.filter(c -> c.isEnabled()) //
-				.flatMap(component -> component.channels().parallelStream()) //
-				.filter(channel -> // Ignore WRITE_ONLY Channels
-				channel.channelDoc().getAccessMode() == AccessMode.READ_ONLY
-						|| channel.channelDoc().getAccessMode() == AccessMode.READ_WRITE)
-				.forEach(channel -> {
-					ChannelAddress address = channel.address();
-					Object value = channel.value().get();
-
-					// Get existing SlidingValue object or add new one
-					SlidingValue<?> slidingValue = this.data.get(address);
-
-					if (slidingValue == null) {
-						// Create new SlidingValue object
-						if (channel instanceof EnumReadChannel) {
-							slidingValue = new LatestSlidingValue(OpenemsType.INTEGER);
-						} else {
-							switch (channel.getType()) {
-							case INTEGER:
-								slidingValue = new IntegerSlidingValue();
-								break;
-							case DOUBLE:
-								slidingValue = new DoubleSlidingValue();
-								break;
-							case FLOAT:
-								slidingValue = new FloatSlidingValue();
-								break;
-							case LONG:
-								slidingValue = new LongSlidingValue();
-								break;
-							case SHORT:
-								slidingValue = new ShortSlidingValue();
-								break;
-							case BOOLEAN:
-							case STRING:
-								slidingValue = new LatestSlidingValue(channel.getType());
-								break;
-							}
-						}
-						this.data.put(address, slidingValue);
-					}
-
-					// Add Value to SlidingValue object
-					if (slidingValue instanceof LatestSlidingValue) {
-						((LatestSlidingValue) slidingValue).addValue(value);
-					} else {
-						switch (channel.getType()) {
-						case INTEGER:
-							((IntegerSlidingValue) slidingValue).addValue((Integer) value);
-							break;
-						case DOUBLE:
-							((DoubleSlidingValue) slidingValue).addValue((Double) value);
-							break;
-						case FLOAT:
-							((FloatSlidingValue) slidingValue).addValue((Float) value);
-							break;
-						case LONG:
-							((LongSlidingValue) slidingValue).addValue((Long) value);
-							break;
-						case SHORT:
-							((ShortSlidingValue) slidingValue).addValue((Short) value);
-							break;
-						case BOOLEAN:
-						case STRING:
-							// already covered as they are of type LatestSlidingValue
-							break;
-						}
-					}
-				});
+	private void addToCache(long timestamp, Map<ChannelAddress, JsonElement> values, JsonrpcMessage message) {
+		Outbox outbox = this.parent.outbox;
+		if (outbox != null) {
+			try {
+				outbox.append(timestamp, values);
+				return;
+			} catch (IOException e) {
+				this.parent.logWarn(this.log, "Unable to write to Outbox: " + e.getMessage());
+			}
+		}
+		this.unsent.add(message);
+	}
+
+	/**
+	 * Replays data from the Outbox. Records are merged to notifications with
+	 * multiple timestamps; the number of records per second is limited by the
+	 * configured replay rate.
+	 *
+	 * @param outbox the {@link Outbox}
+	 */
+	private void replayFromOutbox(Outbox outbox) {
+		long now = System.currentTimeMillis();
+		long elapsed = Math.max(1, Math.min(now - this.lastReplay, MAX_REPLAY_INTERVAL));
+		this.lastReplay = now;
+
+		int budget = (int) (this.parent.outboxReplayRate * elapsed / 1000);
+		int replayed = 0;
+		while (replayed < budget) {
+			TimestampedDataNotification message = outbox
+					.peek(Math.min(this.parent.outboxReplayBatchSize, budget - replayed));
+			if (message == null) {
+				break;
+			}
+			if (!this.parent.websocket.sendMessage(message)) {
+				outbox.rollback();
+				break;
+			}
+			replayed += outbox.commit();
+		}
+		this.parent.channel(BackendApi.ChannelId.OUTBOX_REPLAY_THROUGHPUT)
+				.setNextValue((int) (replayed * 1000L / elapsed));
 	}
 
 	/**
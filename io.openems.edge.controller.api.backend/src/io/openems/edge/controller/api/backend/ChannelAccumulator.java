@@ -0,0 +1,253 @@
+package io.openems.edge.controller.api.backend;
+
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+
+import io.openems.common.types.OpenemsType;
+import io.openems.edge.common.channel.Channel;
+import io.openems.edge.common.channel.EnumReadChannel;
+import io.openems.edge.common.channel.value.Value;
+import io.openems.edge.common.type.TypeUtils;
+
+/**
+ * Aggregates the values of one Channel over a period of Cycles.
+ *
+ * <p>
+ * Numeric values are averaged over the Cycles of the period, ignoring Cycles
+ * without a value; for Boolean, String and Enum Channels the latest value is
+ * used. Instead of adding a value every Cycle, the accumulator only gets
+ * updated when the value changed and weights every value with the number of
+ * Cycles it was active. This gives the same result as the previous
+ * {@link io.openems.edge.common.type.slidingvalue.SlidingValue}s.
+ *
+ * <p>
+ * {@link #markDirty()} is called by the Cycle thread; all other methods must
+ * be called by the {@link BackendWorker} thread.
+ */
+final class ChannelAccumulator {
+
+	private final Channel<?> channel;
+	private final OpenemsType type;
+	private final boolean average;
+	private final Queue<ChannelAccumulator> dirtyQueue;
+	private final AtomicBoolean dirty = new AtomicBoolean(false);
+
+	private boolean removed = false;
+
+	// removes the onChange callback from the Channel
+	private Runnable removeCallback = null;
+
+	// the current value and the Cycle of the period since when it is active
+	private Object value = null;
+	private double doubleValue = 0;
+	private int since = 0;
+
+	// the closed segments of the current period
+	private double sum = 0;
+	private int count = 0;
+	private boolean changed = false;
+
+	private JsonElement lastSentValue = JsonNull.INSTANCE;
+
+	ChannelAccumulator(Channel<?> channel, Queue<ChannelAccumulator> dirtyQueue) {
+		this.channel = channel;
+		this.type = channel.getType();
+		this.dirtyQueue = dirtyQueue;
+		switch (this.type) {
+		case SHORT:
+		case INTEGER:
+		case LONG:
+		case FLOAT:
+		case DOUBLE:
+			this.average = !(channel instanceof EnumReadChannel);
+			break;
+		case BOOLEAN:
+		case STRING:
+		default:
+			this.average = false;
+			break;
+		}
+	}
+
+	/**
+	 * Gets the Channel.
+	 *
+	 * @return the Channel
+	 */
+	Channel<?> getChannel() {
+		return this.channel;
+	}
+
+	/**
+	 * Marks the Channel as changed. Queues this accumulator once till the next
+	 * {@link #update(int)}.
+	 */
+	void markDirty() {
+		if (this.dirty.compareAndSet(false, true)) {
+			this.dirtyQueue.add(this);
+		}
+	}
+
+	/**
+	 * Adds an onChange callback to the Channel, that marks this accumulator as
+	 * dirty.
+	 */
+	void addCallback() {
+		this.removeCallback = addCallback(this.channel, this);
+	}
+
+	private static <T> Runnable addCallback(Channel<T> channel, ChannelAccumulator accumulator) {
+		BiConsumer<Value<T>, Value<T>> callback = (oldValue, newValue) -> {
+			// a new Value object does not necessarily hold a different value
+			if (!Objects.equals(oldValue.get(), newValue.get())) {
+				accumulator.markDirty();
+			}
+		};
+		channel.onChange(callback);
+		return () -> channel.removeOnChangeCallback(callback);
+	}
+
+	/**
+	 * Marks this accumulator as removed, e.g. because the Component was disabled,
+	 * and removes the Channel callback. A callback that is already running might
+	 * still mark it dirty, so it stays dirty and is never queued again.
+	 */
+	void remove() {
+		this.removed = true;
+		this.dirty.set(true);
+		if (this.removeCallback != null) {
+			this.removeCallback.run();
+			this.removeCallback = null;
+		}
+	}
+
+	/**
+	 * Is this accumulator removed?.
+	 *
+	 * @return true if removed
+	 */
+	boolean isRemoved() {
+		return this.removed;
+	}
+
+	/**
+	 * Reads the current value of the Channel.
+	 *
+	 * @param cycle the index of the current Cycle within the period
+	 */
+	void update(int cycle) {
+		// reset before reading, so that a concurrent change queues again
+		this.dirty.set(false);
+		Object value = this.channel.value().get();
+		if (this.average) {
+			this.closeSegment(cycle);
+			this.doubleValue = value == null ? 0 : ((Number) value).doubleValue();
+		}
+		this.value = value;
+		this.changed = true;
+	}
+
+	/**
+	 * Did the value change during the last period?.
+	 *
+	 * <p>
+	 * If not, the result of every following period is the same till the next
+	 * {@link #update(int)}.
+	 *
+	 * @return true if it changed
+	 */
+	boolean hasChanged() {
+		return this.changed;
+	}
+
+	/**
+	 * Gets the value of the period as a JsonElement if it changed since it was
+	 * last sent. Starts the next period.
+	 *
+	 * @param cycles the number of Cycles of the period
+	 * @return the value; or null if it had not changed
+	 */
+	JsonElement getChangedValueOrNull(int cycles) {
+		JsonElement value = this.finishPeriod(cycles);
+		if (value.equals(this.lastSentValue)) {
+			return null;
+		}
+		this.lastSentValue = value;
+		return value;
+	}
+
+	/**
+	 * Gets the value of the period as a JsonElement. Starts the next period.
+	 *
+	 * @param cycles the number of Cycles of the period
+	 * @return the value; JsonNull if it is null
+	 */
+	JsonElement getValue(int cycles) {
+		JsonElement value = this.finishPeriod(cycles);
+		this.lastSentValue = value;
+		return value;
+	}
+
+	/**
+	 * Gets the value of the last finished period, no matter if it changed.
+	 *
+	 * @return the value; JsonNull if it is null
+	 */
+	JsonElement getLastValue() {
+		return this.lastSentValue;
+	}
+
+	private JsonElement finishPeriod(int cycles) {
+		final Object result;
+		if (this.average) {
+			this.closeSegment(cycles);
+			result = this.count == 0 ? null : this.getAverage(this.sum / this.count);
+		} else {
+			result = this.value;
+		}
+
+		// the current value stays active for the next period
+		this.sum = 0;
+		this.count = 0;
+		this.since = 0;
+		this.changed = false;
+		return TypeUtils.getAsJson(this.type, result);
+	}
+
+	private void closeSegment(int cycle) {
+		int cycles = cycle - this.since;
+		if (this.value != null && cycles > 0) {
+			this.sum += this.doubleValue * cycles;
+			this.count += cycles;
+		}
+		this.since = cycle;
+	}
+
+	private Object getAverage(double average) {
+		switch (this.type) {
+		case SHORT: {
+			long value = Math.round(average);
+			return value < Short.MIN_VALUE || value > Short.MAX_VALUE ? null : (short) value;
+		}
+		case INTEGER: {
+			long value = Math.round(average);
+			return value < Integer.MIN_VALUE || value > Integer.MAX_VALUE ? null : (int) value;
+		}
+		case LONG:
+			return Math.round(average);
+		case FLOAT:
+			return average < -Float.MAX_VALUE || average > Float.MAX_VALUE ? null : (float) average;
+		case DOUBLE:
+			return average;
+		case BOOLEAN:
+		case STRING:
+		}
+		return null;
+	}
+
+}
@@ -0,0 +1,200 @@
+package io.openems.edge.controller.api.backend;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Supplier;
+
+import com.google.gson.JsonElement;
+
+import io.openems.common.channel.AccessMode;
+import io.openems.common.types.ChannelAddress;
+import io.openems.edge.common.channel.Channel;
+import io.openems.edge.common.component.OpenemsComponent;
+
+/**
+ * Aggregates the values of all readable Channels of the enabled Components
+ * over a period of Cycles.
+ *
+ * <p>
+ * Channels mark themselves dirty via an onChange callback. Every Cycle only
+ * the dirty Channels are read; at the end of a period only the Channels that
+ * changed during this or the previous period are evaluated. The list of
+ * Components is checked once per period.
+ *
+ * <p>
+ * All methods are called by the {@link BackendWorker} thread, except for
+ * {@link #deactivate()}; they are synchronized for that reason.
+ */
+class ChannelAggregator {
+
+	private final Supplier<List<OpenemsComponent>> components;
+
+	// Accumulators of all registered Channels
+	private final Map<Channel<?>, ChannelAccumulator> accumulators = new IdentityHashMap<>();
+
+	// Number of Channels of every registered Component
+	private final Map<OpenemsComponent, Integer> registeredComponents = new IdentityHashMap<>();
+
+	// Accumulators of changed Channels; filled by the Cycle thread
+	private final Queue<ChannelAccumulator> dirtyQueue = new ConcurrentLinkedQueue<>();
+
+	// Accumulators that changed during the current or the previous period
+	private final Set<ChannelAccumulator> active = new HashSet<>();
+
+	ChannelAggregator(Supplier<List<OpenemsComponent>> components) {
+		this.components = components;
+	}
+
+	/**
+	 * Reads the changed Channels. Registers new Components at the beginning of a
+	 * period.
+	 *
+	 * @param cycle the index of the current Cycle within the period
+	 */
+	public synchronized void update(int cycle) {
+		if (cycle == 0) {
+			this.updateComponents();
+		}
+
+		ChannelAccumulator accumulator;
+		while ((accumulator = this.dirtyQueue.poll()) != null) {
+			if (accumulator.isRemoved()) {
+				continue;
+			}
+			accumulator.update(cycle);
+			this.active.add(accumulator);
+		}
+	}
+
+	/**
+	 * Gets the values of the Channels, that changed since they were last sent.
+	 * Starts the next period.
+	 *
+	 * @param cycles the number of Cycles of the period
+	 * @return a map of Channel-Addresses and values
+	 */
+	public synchronized Map<ChannelAddress, JsonElement> getChangedValues(int cycles) {
+		Map<ChannelAddress, JsonElement> result = new HashMap<>();
+		for (Iterator<ChannelAccumulator> iterator = this.active.iterator(); iterator.hasNext();) {
+			ChannelAccumulator accumulator = iterator.next();
+			boolean changed = accumulator.hasChanged();
+			JsonElement value = accumulator.getChangedValueOrNull(cycles);
+			if (value != null) {
+				result.put(accumulator.getChannel().address(), value);
+			}
+			if (!changed) {
+				// value was constant during the whole period
+				iterator.remove();
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Gets the values of all Channels. Starts the next period.
+	 *
+	 * @param cycles the number of Cycles of the period
+	 * @return a map of Channel-Addresses and values
+	 */
+	public synchronized Map<ChannelAddress, JsonElement> getAllValues(int cycles) {
+		Map<ChannelAddress, JsonElement> result = new HashMap<>();
+		for (ChannelAccumulator accumulator : this.accumulators.values()) {
+			if (!accumulator.hasChanged()) {
+				this.active.remove(accumulator);
+			}
+			result.put(accumulator.getChannel().address(), accumulator.getValue(cycles));
+		}
+		return result;
+	}
+
+	/**
+	 * Gets the values of all Channels of the last finished period. Use this to
+	 * complete the result of {@link #getChangedValues(int)}, e.g. if it could not
+	 * be sent.
+	 *
+	 * @return a map of Channel-Addresses and values
+	 */
+	public synchronized Map<ChannelAddress, JsonElement> getLastValues() {
+		Map<ChannelAddress, JsonElement> result = new HashMap<>();
+		for (ChannelAccumulator accumulator : this.accumulators.values()) {
+			result.put(accumulator.getChannel().address(), accumulator.getLastValue());
+		}
+		return result;
+	}
+
+	/**
+	 * Removes the callbacks from all Channels and forgets all Components.
+	 */
+	public synchronized void deactivate() {
+		for (ChannelAccumulator accumulator : this.accumulators.values()) {
+			accumulator.remove();
+		}
+		this.accumulators.clear();
+		this.registeredComponents.clear();
+		this.active.clear();
+		this.dirtyQueue.clear();
+	}
+
+	/**
+	 * Registers the Channels of new Components and removes the ones of disabled
+	 * Components.
+	 */
+	private void updateComponents() {
+		Set<OpenemsComponent> enabledComponents = Collections.newSetFromMap(new IdentityHashMap<>());
+		for (OpenemsComponent component : this.components.get()) {
+			if (!component.isEnabled()) {
+				continue;
+			}
+			enabledComponents.add(component);
+			Collection<Channel<?>> channels = component.channels();
+			Integer noOfChannels = this.registeredComponents.get(component);
+			if (noOfChannels != null && noOfChannels == channels.size()) {
+				continue;
+			}
+			for (Channel<?> channel : channels) {
+				// Ignore WRITE_ONLY Channels
+				AccessMode accessMode = channel.channelDoc().getAccessMode();
+				if ((accessMode == AccessMode.READ_ONLY || accessMode == AccessMode.READ_WRITE)
+						&& !this.accumulators.containsKey(channel)) {
+					this.register(channel);
+				}
+			}
+			this.registeredComponents.put(component, channels.size());
+		}
+
+		for (Iterator<Entry<OpenemsComponent, Integer>> iterator = this.registeredComponents.entrySet()
+				.iterator(); iterator.hasNext();) {
+			OpenemsComponent component = iterator.next().getKey();
+			if (enabledComponents.contains(component)) {
+				continue;
+			}
+			for (Channel<?> channel : component.channels()) {
+				ChannelAccumulator accumulator = this.accumulators.remove(channel);
+				if (accumulator != null) {
+					accumulator.remove();
+					this.active.remove(accumulator);
+				}
+			}
+			iterator.remove();
+		}
+	}
+
+	private void register(Channel<?> channel) {
+		ChannelAccumulator accumulator = new ChannelAccumulator(channel, this.dirtyQueue);
+		this.accumulators.put(channel, accumulator);
+		accumulator.addCallback();
+		accumulator.update(0);
+		this.active.add(accumulator);
+	}
+
+}
@@ -41,6 +41,18 @@ import org.osgi.service.metatype.annotations.ObjectClassDefinition;
 	@AttributeDefinition(name = "Api-Timeout", description = "Sets the timeout in seconds for updates on Channels set by this Api.")
 	int apiTimeout() default 60;
 
+	@AttributeDefinition(name = "Outbox max. size [MB]", description = "Maximum size of the on-disk Outbox for data that could not be sent; 0 keeps a small cache in memory.")
+	int outboxMaxSize() default 50;
+
+	@AttributeDefinition(name = "Outbox max. age [days]", description = "Data in the Outbox that is older than this is not sent anymore.")
+	int outboxMaxAge() default 7;
+
+	@AttributeDefinition(name = "Outbox replay rate", description = "Maximum number of records per second that are sent from the Outbox after reconnect.")
+	int outboxReplayRate() default 100;
+
+	@AttributeDefinition(name = "Outbox replay batch size", description = "Maximum number of records that are merged into one message.")
+	int outboxReplayBatchSize() default 60;
+
 	@AttributeDefinition(name = "Enable Debug mode")
 	boolean debug() default false;
 
@@ -0,0 +1,297 @@
+package io.openems.edge.controller.api.backend;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.gson.JsonElement;
+
+import io.openems.common.jsonrpc.notification.TimestampedDataNotification;
+import io.openems.common.types.ChannelAddress;
+
+/**
+ * A durable outbox for data that could not be sent to the Backend.
+ *
+ * <p>
+ * Data is appended to memory-mapped segment files (see {@link OutboxSegment})
+ * in a directory. Only the newest segment is written to; segments that were
+ * completely replayed are deleted. If the total size of the segments would
+ * exceed the maximum size, the eldest segments are dropped. Records that are
+ * older than the maximum age are skipped on replay.
+ *
+ * <p>
+ * Replay works in two steps: {@link #peek(int)} reads records into one
+ * multi-timestamp {@link TimestampedDataNotification}; after it was sent,
+ * {@link #commit()} marks them as replayed - otherwise {@link #rollback()}.
+ *
+ * <p>
+ * The outbox is used by the {@link BackendWorker} thread; methods are
+ * synchronized, so that it can be closed safely on deactivation.
+ */
+class Outbox {
+
+	private static final String FILE_SUFFIX = ".outbox";
+
+	private final Logger log = LoggerFactory.getLogger(Outbox.class);
+
+	private final Path directory;
+	private final int segmentSize;
+	private final long maxSize;
+	private final long maxAge;
+	private final Deque<OutboxSegment> segments = new ArrayDeque<>();
+	private final ByteArrayOutputStream scratch = new ByteArrayOutputStream(4096);
+
+	private boolean isClosed = false;
+	private long nextSequence = 0;
+	private OutboxSegment peeked = null;
+	private long noOfDroppedRecords = 0;
+
+	/**
+	 * Opens the outbox in the given directory and restores existing segments.
+	 *
+	 * @param directory   the directory
+	 * @param segmentSize the size of one segment file in bytes
+	 * @param maxSize     the maximum total size of all segment files in bytes
+	 * @param maxAge      the maximum age of records in milliseconds
+	 * @throws IOException on error
+	 */
+	public Outbox(Path directory, int segmentSize, long maxSize, long maxAge) throws IOException {
+		this.directory = directory;
+		this.segmentSize = segmentSize;
+		this.maxSize = Math.max(maxSize, segmentSize);
+		this.maxAge = maxAge;
+
+		Files.createDirectories(directory);
+		List<Long> sequences = new ArrayList<>();
+		try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + FILE_SUFFIX)) {
+			for (Path file : stream) {
+				String name = file.getFileName().toString();
+				try {
+					sequences.add(Long.parseLong(name.substring(0, name.length() - FILE_SUFFIX.length()), 16));
+				} catch (NumberFormatException e) {
+					this.log.warn("Ignoring unknown file in Outbox [" + file + "]");
+				}
+			}
+		}
+		Collections.sort(sequences);
+		for (long sequence : sequences) {
+			Path file = this.getFile(sequence);
+			try {
+				OutboxSegment segment = OutboxSegment.open(file, sequence);
+				if (segment.isFullyRead()) {
+					segment.delete();
+				} else {
+					this.segments.add(segment);
+				}
+			} catch (IOException e) {
+				this.log.warn("Unable to open Outbox segment [" + file + "]: " + e.getMessage());
+				Files.deleteIfExists(file);
+			}
+			this.nextSequence = sequence + 1;
+		}
+	}
+
+	/**
+	 * Appends the values of one timestamp.
+	 *
+	 * @param timestamp the timestamp
+	 * @param values    the values
+	 * @throws IOException on error
+	 */
+	public synchronized void append(long timestamp, Map<ChannelAddress, JsonElement> values) throws IOException {
+		if (this.isClosed) {
+			throw new IOException("Outbox is closed");
+		}
+		OutboxSegment segment = this.segments.peekLast();
+		if (segment == null || !segment.append(timestamp, values, this.scratch)) {
+			// start a new segment; big enough for this record
+			if (segment != null) {
+				segment.seal();
+				segment.force();
+			}
+			int size = Math.max(this.segmentSize, this.scratch.size() + 64);
+			this.makeRoomFor(size);
+			segment = OutboxSegment.create(this.getFile(this.nextSequence), this.nextSequence, size, timestamp);
+			this.nextSequence++;
+			this.segments.add(segment);
+			segment.append(timestamp, values, this.scratch);
+		}
+		segment.force();
+	}
+
+	/**
+	 * Reads up to the given number of records into one notification.
+	 *
+	 * <p>
+	 * Call {@link #commit()} after the notification was sent, or
+	 * {@link #rollback()} if it was not.
+	 *
+	 * @param maxRecords the maximum number of records
+	 * @return the notification; null if the outbox is empty
+	 */
+	public synchronized TimestampedDataNotification peek(int maxRecords) {
+		this.rollback();
+		if (maxRecords < 1) {
+			return null;
+		}
+		long minTimestamp = System.currentTimeMillis() - this.maxAge;
+		while (true) {
+			OutboxSegment segment;
+			while ((segment = this.segments.peekFirst()) != null) {
+				if (!segment.isFullyRead()) {
+					break;
+				}
+				if (segment.isWritable()) {
+					return null;
+				}
+				this.deleteFirst();
+			}
+			if (segment == null) {
+				return null;
+			}
+
+			TimestampedDataNotification result = new TimestampedDataNotification();
+			int count = segment.read(result, maxRecords, minTimestamp);
+			this.peeked = segment;
+			if (!result.getData().isEmpty()) {
+				return result;
+			}
+			// all records were expired -> continue with the next records
+			this.noOfDroppedRecords += count;
+			this.commit();
+		}
+	}
+
+	/**
+	 * Marks the records of the last {@link #peek(int)} as replayed.
+	 *
+	 * @return the number of replayed records
+	 */
+	public synchronized int commit() {
+		if (this.peeked == null) {
+			return 0;
+		}
+		int count = this.peeked.commit();
+		this.peeked.force();
+		this.peeked = null;
+		return count;
+	}
+
+	/**
+	 * Makes the records of the last {@link #peek(int)} available again.
+	 */
+	public synchronized void rollback() {
+		if (this.peeked != null) {
+			this.peeked.rollback();
+			this.peeked = null;
+		}
+	}
+
+	/**
+	 * Is the outbox empty?.
+	 *
+	 * @return true if there are no records to replay
+	 */
+	public synchronized boolean isEmpty() {
+		for (OutboxSegment segment : this.segments) {
+			if (!segment.isFullyRead()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Gets the number of records to replay.
+	 *
+	 * @return the number of records
+	 */
+	public synchronized int getNoOfRecords() {
+		int result = 0;
+		for (OutboxSegment segment : this.segments) {
+			result += segment.getNoOfPendingRecords();
+		}
+		return result;
+	}
+
+	/**
+	 * Gets the size of the records to replay.
+	 *
+	 * @return the size in bytes
+	 */
+	public synchronized long getSize() {
+		long result = 0;
+		for (OutboxSegment segment : this.segments) {
+			result += segment.getPendingBytes();
+		}
+		return result;
+	}
+
+	/**
+	 * Gets the number of records that were dropped because of the size or age
+	 * limits.
+	 *
+	 * @return the number of records
+	 */
+	public synchronized long getNoOfDroppedRecords() {
+		return this.noOfDroppedRecords;
+	}
+
+	/**
+	 * Writes all changes to disk and closes the files.
+	 */
+	public synchronized void close() {
+		this.isClosed = true;
+		this.rollback();
+		for (OutboxSegment segment : this.segments) {
+			segment.force();
+			segment.close();
+		}
+		this.segments.clear();
+	}
+
+	private void makeRoomFor(int size) {
+		long total = size;
+		for (OutboxSegment segment : this.segments) {
+			total += segment.getFileSize();
+		}
+		while (total > this.maxSize && !this.segments.isEmpty()) {
+			OutboxSegment eldest = this.segments.peekFirst();
+			int dropped = eldest.getNoOfPendingRecords();
+			total -= eldest.getFileSize();
+			this.deleteFirst();
+			if (dropped > 0) {
+				this.noOfDroppedRecords += dropped;
+				this.log.warn("Outbox is full. Dropped [" + dropped + "] records");
+			}
+		}
+	}
+
+	private void deleteFirst() {
+		OutboxSegment segment = this.segments.pollFirst();
+		if (segment == this.peeked) {
+			this.peeked = null;
+		}
+		try {
+			segment.delete();
+		} catch (IOException e) {
+			this.log.warn("Unable to delete Outbox segment [" + segment.getSequence() + "]: " + e.getMessage());
+		}
+	}
+
+	private Path getFile(long sequence) {
+		return this.directory.resolve(String.format("%016x", sequence) + FILE_SUFFIX);
+	}
+
+}
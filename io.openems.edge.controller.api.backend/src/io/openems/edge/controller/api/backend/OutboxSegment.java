@@ -0,0 +1,555 @@
+package io.openems.edge.controller.api.backend;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.zip.CRC32;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonPrimitive;
+
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.jsonrpc.notification.TimestampedDataNotification;
+import io.openems.common.types.ChannelAddress;
+import io.openems.common.utils.JsonUtils;
+
+/**
+ * One memory-mapped, append-only file of the {@link Outbox}.
+ *
+ * <pre>
+ * Header:  int magic | int read-position | long created-at
+ * Record:  int length | int crc32 | payload
+ * Payload: long timestamp | varint count | count * entry
+ * Entry:   byte tag | [varint id | string address, if tag has FLAG_DEFINE] | varint id | value
+ * </pre>
+ *
+ * <p>
+ * Channel-Addresses are written once per segment and then referenced by a
+ * numeric ID, so every segment can be read on its own. Integers are written as
+ * zig-zag varints. A record with length 0 marks the end of the segment;
+ * records with invalid checksum (e.g. after power loss while writing) are
+ * ignored together with all following records.
+ */
+final class OutboxSegment {
+
+	private static final int MAGIC = 0x4F45_4F42; // "OEOB"
+	private static final int HEADER_SIZE = 16;
+	private static final int OFFSET_READ_POSITION = 4;
+	private static final int OFFSET_CREATED_AT = 8;
+	private static final int RECORD_HEADER_SIZE = 8;
+
+	private static final byte TAG_NULL = 0;
+	private static final byte TAG_LONG = 1;
+	private static final byte TAG_DOUBLE = 2;
+	private static final byte TAG_FLOAT = 3;
+	private static final byte TAG_STRING = 4;
+	private static final byte TAG_JSON = 5;
+	private static final byte FLAG_DEFINE = (byte) 0x80;
+
+	/**
+	 * Creates a new segment file.
+	 *
+	 * @param file      the file path
+	 * @param sequence  the sequence number
+	 * @param size      the size of the file in bytes
+	 * @param createdAt the creation timestamp
+	 * @return the {@link OutboxSegment}
+	 * @throws IOException on error
+	 */
+	static OutboxSegment create(Path file, long sequence, int size, long createdAt) throws IOException {
+		OutboxSegment segment = new OutboxSegment(file, sequence, size, true);
+		segment.buffer.putInt(0, MAGIC);
+		segment.buffer.putInt(OFFSET_READ_POSITION, HEADER_SIZE);
+		segment.buffer.putLong(OFFSET_CREATED_AT, createdAt);
+		segment.readPosition = HEADER_SIZE;
+		segment.readCursor = HEADER_SIZE;
+		segment.writePosition = HEADER_SIZE;
+		return segment;
+	}
+
+	/**
+	 * Opens an existing segment file for reading. Nothing can be appended to it.
+	 *
+	 * @param file     the file path
+	 * @param sequence the sequence number
+	 * @return the {@link OutboxSegment}
+	 * @throws IOException on error
+	 */
+	static OutboxSegment open(Path file, long sequence) throws IOException {
+		int size = (int) Files.size(file);
+		if (size < HEADER_SIZE) {
+			throw new IOException("Outbox segment [" + file + "] is too small");
+		}
+		OutboxSegment segment = new OutboxSegment(file, sequence, size, false);
+		if (segment.buffer.getInt(0) != MAGIC) {
+			segment.close();
+			throw new IOException("Outbox segment [" + file + "] is invalid");
+		}
+		segment.scan();
+		segment.isWritable = false;
+		return segment;
+	}
+
+	private final Path file;
+	private final long sequence;
+	private final FileChannel channel;
+	private final MappedByteBuffer buffer;
+	private final CRC32 crc = new CRC32();
+
+	// Channel-Addresses written to this segment
+	private final Map<ChannelAddress, Integer> writeIds = new HashMap<>();
+	// Channel-Addresses by ID, as read from this segment
+	private final List<ChannelAddress> readAddresses = new ArrayList<>();
+
+	private boolean isWritable;
+	private int writePosition;
+	private int readPosition; // persisted
+	private int readCursor; // read, but not yet committed
+	private int noOfRecords = 0;
+	private int noOfReadRecords = 0;
+	private int noOfCursorRecords = 0;
+
+	private OutboxSegment(Path file, long sequence, int size, boolean create) throws IOException {
+		this.file = file;
+		this.sequence = sequence;
+		this.isWritable = create;
+		if (create) {
+			this.channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+					StandardOpenOption.WRITE);
+		} else {
+			this.channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		}
+		this.buffer = this.channel.map(MapMode.READ_WRITE, 0, size);
+	}
+
+	/**
+	 * Reads all valid records to restore positions, counters and Channel-Address
+	 * IDs.
+	 */
+	private void scan() {
+		int committed = this.buffer.getInt(OFFSET_READ_POSITION);
+		int position = HEADER_SIZE;
+		while (true) {
+			int next = this.readRecord(position, null, 0);
+			if (next < 0) {
+				break;
+			}
+			this.noOfRecords++;
+			if (next <= committed) {
+				this.noOfReadRecords++;
+			}
+			position = next;
+		}
+		this.writePosition = position;
+		this.readPosition = Math.max(HEADER_SIZE, Math.min(committed, position));
+		this.readCursor = this.readPosition;
+		this.noOfCursorRecords = this.noOfReadRecords;
+	}
+
+	/**
+	 * Appends a record.
+	 *
+	 * @param timestamp the timestamp
+	 * @param values    the values
+	 * @param scratch   a reusable buffer
+	 * @return false if the record does not fit into this segment
+	 */
+	boolean append(long timestamp, Map<ChannelAddress, JsonElement> values, ByteArrayOutputStream scratch) {
+		if (!this.isWritable) {
+			return false;
+		}
+		scratch.reset();
+		writeLong(scratch, timestamp);
+		writeVarint(scratch, values.size());
+		Map<ChannelAddress, Integer> newIds = null;
+		for (Entry<ChannelAddress, JsonElement> entry : values.entrySet()) {
+			ChannelAddress address = entry.getKey();
+			Integer id = this.writeIds.get(address);
+			boolean define = false;
+			if (id == null && newIds != null) {
+				id = newIds.get(address);
+			}
+			if (id == null) {
+				if (newIds == null) {
+					newIds = new HashMap<>();
+				}
+				id = this.writeIds.size() + newIds.size();
+				newIds.put(address, id);
+				define = true;
+			}
+			writeEntry(scratch, id, define ? address : null, entry.getValue());
+		}
+
+		int length = scratch.size();
+		if (this.writePosition + RECORD_HEADER_SIZE + length > this.buffer.capacity()) {
+			return false;
+		}
+		byte[] payload = scratch.toByteArray();
+		this.crc.reset();
+		this.crc.update(payload, 0, length);
+		this.buffer.position(this.writePosition + RECORD_HEADER_SIZE);
+		this.buffer.put(payload, 0, length);
+		this.buffer.putInt(this.writePosition + 4, (int) this.crc.getValue());
+		// the length is written last; it marks the record as complete
+		this.buffer.putInt(this.writePosition, length);
+		this.writePosition += RECORD_HEADER_SIZE + length;
+		this.noOfRecords++;
+		if (newIds != null) {
+			this.writeIds.putAll(newIds);
+		}
+		return true;
+	}
+
+	/**
+	 * Reads records after the read cursor into a notification. Records older than
+	 * the given timestamp are skipped.
+	 *
+	 * @param target       the {@link TimestampedDataNotification}
+	 * @param maxRecords   the maximum number of records
+	 * @param minTimestamp the minimum timestamp
+	 * @return the number of read records, including skipped ones
+	 */
+	int read(TimestampedDataNotification target, int maxRecords, long minTimestamp) {
+		int count = 0;
+		while (count < maxRecords && this.readCursor < this.writePosition) {
+			int next = this.readRecord(this.readCursor, target, minTimestamp);
+			if (next < 0) {
+				// should not happen for records written by this process
+				this.readCursor = this.writePosition;
+				break;
+			}
+			this.readCursor = next;
+			this.noOfCursorRecords++;
+			count++;
+		}
+		return count;
+	}
+
+	/**
+	 * Persists the read cursor.
+	 *
+	 * @return the number of committed records
+	 */
+	int commit() {
+		int count = this.noOfCursorRecords - this.noOfReadRecords;
+		this.readPosition = this.readCursor;
+		this.noOfReadRecords = this.noOfCursorRecords;
+		this.buffer.putInt(OFFSET_READ_POSITION, this.readPosition);
+		return count;
+	}
+
+	/**
+	 * Resets the read cursor to the last committed position.
+	 */
+	void rollback() {
+		this.readCursor = this.readPosition;
+		this.noOfCursorRecords = this.noOfReadRecords;
+	}
+
+	/**
+	 * Writes all changes to disk.
+	 */
+	void force() {
+		this.buffer.force();
+	}
+
+	/**
+	 * Closes this segment. No more records can be appended.
+	 */
+	void seal() {
+		this.isWritable = false;
+	}
+
+	/**
+	 * Closes the file.
+	 */
+	void close() {
+		try {
+			this.channel.close();
+		} catch (IOException e) {
+			// ignore
+		}
+	}
+
+	/**
+	 * Closes and deletes the file.
+	 *
+	 * @throws IOException on error
+	 */
+	void delete() throws IOException {
+		this.close();
+		Files.deleteIfExists(this.file);
+	}
+
+	long getSequence() {
+		return this.sequence;
+	}
+
+	int getFileSize() {
+		return this.buffer.capacity();
+	}
+
+	boolean isWritable() {
+		return this.isWritable;
+	}
+
+	/**
+	 * Are all records read and committed?.
+	 *
+	 * @return true if there is nothing left to read
+	 */
+	boolean isFullyRead() {
+		return this.readPosition >= this.writePosition;
+	}
+
+	/**
+	 * Gets the number of records that were not yet committed as read.
+	 *
+	 * @return the number of records
+	 */
+	int getNoOfPendingRecords() {
+		return this.noOfRecords - this.noOfReadRecords;
+	}
+
+	/**
+	 * Gets the number of bytes of records that were not yet committed as read.
+	 *
+	 * @return the number of bytes
+	 */
+	int getPendingBytes() {
+		return this.writePosition - this.readPosition;
+	}
+
+	/*
+	 * Decoding
+	 */
+
+	/**
+	 * Reads the record at a position.
+	 *
+	 * @param position     the position
+	 * @param target       the {@link TimestampedDataNotification}; null to only
+	 *                     validate the record and register Channel-Addresses
+	 * @param minTimestamp records before this timestamp are not added to the
+	 *                     target
+	 * @return the position of the next record; -1 if there is no valid record
+	 */
+	private int readRecord(int position, TimestampedDataNotification target, long minTimestamp) {
+		if (position + RECORD_HEADER_SIZE > this.buffer.capacity()) {
+			return -1;
+		}
+		int length = this.buffer.getInt(position);
+		int end = position + RECORD_HEADER_SIZE + length;
+		if (length <= 0 || end > this.buffer.capacity() || end < 0) {
+			return -1;
+		}
+		MappedByteBuffer buffer = this.buffer;
+		if (target == null) {
+			// validate checksum
+			this.crc.reset();
+			for (int i = position + RECORD_HEADER_SIZE; i < end; i++) {
+				this.crc.update(buffer.get(i));
+			}
+			if ((int) this.crc.getValue() != buffer.getInt(position + 4)) {
+				return -1;
+			}
+		}
+
+		buffer.limit(end);
+		buffer.position(position + RECORD_HEADER_SIZE);
+		try {
+			long timestamp = buffer.getLong();
+			boolean isExpired = timestamp < minTimestamp;
+			int count = readVarint(buffer);
+			for (int i = 0; i < count; i++) {
+				byte tag = buffer.get();
+				if ((tag & FLAG_DEFINE) != 0) {
+					int id = readVarint(buffer);
+					ChannelAddress address = this.parseAddress(readString(buffer));
+					while (this.readAddresses.size() <= id) {
+						this.readAddresses.add(null);
+					}
+					this.readAddresses.set(id, address);
+				}
+				ChannelAddress address = this.readAddresses.get(readVarint(buffer));
+				JsonElement value = readValue(buffer, (byte) (tag & ~FLAG_DEFINE));
+				if (target != null && !isExpired && address != null) {
+					target.add(timestamp, address, value);
+				}
+			}
+		} catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+			return -1;
+		} finally {
+			buffer.limit(buffer.capacity());
+		}
+		return end;
+	}
+
+	private ChannelAddress parseAddress(String address) {
+		try {
+			return ChannelAddress.fromString(address);
+		} catch (OpenemsNamedException e) {
+			return null;
+		}
+	}
+
+	private static JsonElement readValue(MappedByteBuffer buffer, byte tag) {
+		switch (tag) {
+		case TAG_LONG:
+			return new JsonPrimitive(readZigzag(buffer));
+		case TAG_DOUBLE:
+			return new JsonPrimitive(buffer.getDouble());
+		case TAG_FLOAT:
+			return new JsonPrimitive(buffer.getFloat());
+		case TAG_STRING:
+			return new JsonPrimitive(readString(buffer));
+		case TAG_JSON: {
+			String json = readString(buffer);
+			try {
+				return JsonUtils.parse(json);
+			} catch (OpenemsNamedException e) {
+				return new JsonPrimitive(json);
+			}
+		}
+		case TAG_NULL:
+		default:
+			return JsonNull.INSTANCE;
+		}
+	}
+
+	private static int readVarint(MappedByteBuffer buffer) {
+		int result = 0;
+		for (int shift = 0; shift < 32; shift += 7) {
+			byte b = buffer.get();
+			result |= (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				return result;
+			}
+		}
+		throw new IndexOutOfBoundsException("Invalid varint");
+	}
+
+	private static long readZigzag(MappedByteBuffer buffer) {
+		long raw = 0;
+		for (int shift = 0; shift < 64; shift += 7) {
+			byte b = buffer.get();
+			raw |= (long) (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				return (raw >>> 1) ^ -(raw & 1);
+			}
+		}
+		throw new IndexOutOfBoundsException("Invalid varint");
+	}
+
+	private static String readString(MappedByteBuffer buffer) {
+		int length = readVarint(buffer);
+		byte[] bytes = new byte[length];
+		buffer.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	/*
+	 * Encoding
+	 */
+
+	private static void writeEntry(ByteArrayOutputStream out, int id, ChannelAddress define, JsonElement value) {
+		byte tag;
+		if (value == null || value.isJsonNull()) {
+			tag = TAG_NULL;
+		} else if (value.isJsonPrimitive() && value.getAsJsonPrimitive().isNumber()) {
+			Number number = value.getAsNumber();
+			if (number instanceof Integer || number instanceof Long || number instanceof Short
+					|| number instanceof Byte) {
+				tag = TAG_LONG;
+			} else if (number instanceof Double) {
+				tag = TAG_DOUBLE;
+			} else if (number instanceof Float) {
+				tag = TAG_FLOAT;
+			} else {
+				tag = TAG_JSON;
+			}
+		} else if (value.isJsonPrimitive() && value.getAsJsonPrimitive().isString()) {
+			tag = TAG_STRING;
+		} else {
+			tag = TAG_JSON;
+		}
+
+		if (define != null) {
+			out.write(tag | FLAG_DEFINE);
+			writeVarint(out, id);
+			writeString(out, define.toString());
+		} else {
+			out.write(tag);
+		}
+		writeVarint(out, id);
+
+		switch (tag) {
+		case TAG_LONG:
+			long l = value.getAsLong();
+			writeVarlong(out, (l << 1) ^ (l >> 63));
+			break;
+		case TAG_DOUBLE:
+			writeLong(out, Double.doubleToRawLongBits(value.getAsDouble()));
+			break;
+		case TAG_FLOAT:
+			writeInt(out, Float.floatToRawIntBits(value.getAsFloat()));
+			break;
+		case TAG_STRING:
+			writeString(out, value.getAsString());
+			break;
+		case TAG_JSON:
+			writeString(out, value.toString());
+			break;
+		case TAG_NULL:
+			break;
+		}
+	}
+
+	private static void writeVarint(ByteArrayOutputStream out, int value) {
+		while ((value & ~0x7F) != 0) {
+			out.write((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		out.write(value);
+	}
+
+	private static void writeVarlong(ByteArrayOutputStream out, long value) {
+		while ((value & ~0x7FL) != 0) {
+			out.write((int) (value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		out.write((int) value);
+	}
+
+	private static void writeInt(ByteArrayOutputStream out, int value) {
+		out.write(value >>> 24);
+		out.write(value >>> 16);
+		out.write(value >>> 8);
+		out.write(value);
+	}
+
+	private static void writeLong(ByteArrayOutputStream out, long value) {
+		writeInt(out, (int) (value >>> 32));
+		writeInt(out, (int) value);
+	}
+
+	private static void writeString(ByteArrayOutputStream out, String value) {
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		writeVarint(out, bytes.length);
+		out.write(bytes, 0, bytes.length);
+	}
+
+}
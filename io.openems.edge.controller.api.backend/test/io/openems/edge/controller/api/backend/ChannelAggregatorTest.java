@@ -0,0 +1,349 @@
+package io.openems.edge.controller.api.backend;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.Test;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonPrimitive;
+
+import io.openems.common.channel.AccessMode;
+import io.openems.common.types.ChannelAddress;
+import io.openems.common.types.OpenemsType;
+import io.openems.edge.common.channel.Channel;
+import io.openems.edge.common.channel.Doc;
+import io.openems.edge.common.component.AbstractOpenemsComponent;
+import io.openems.edge.common.component.OpenemsComponent;
+import io.openems.edge.common.type.slidingvalue.IntegerSlidingValue;
+import io.openems.edge.common.type.slidingvalue.LatestSlidingValue;
+import io.openems.edge.common.type.slidingvalue.SlidingValue;
+
+public class ChannelAggregatorTest {
+
+	private static class DummyComponent extends AbstractOpenemsComponent {
+
+		public enum ChannelId implements io.openems.edge.common.channel.ChannelId {
+			POWER(Doc.of(OpenemsType.INTEGER)), //
+			RUNNING(Doc.of(OpenemsType.BOOLEAN)), //
+			SETPOINT(Doc.of(OpenemsType.INTEGER).accessMode(AccessMode.WRITE_ONLY));
+
+			private final Doc doc;
+
+			private ChannelId(Doc doc) {
+				this.doc = doc;
+			}
+
+			@Override
+			public Doc doc() {
+				return this.doc;
+			}
+		}
+
+		public DummyComponent(String id, io.openems.edge.common.channel.ChannelId[]... channelIds) {
+			super(OpenemsComponent.ChannelId.values(), channelIds);
+			super.activate(null, id, "", true);
+		}
+
+		public DummyComponent(String id) {
+			this(id, ChannelId.values());
+		}
+
+		public void nextProcessImage() {
+			for (Channel<?> channel : this.channels()) {
+				channel.nextProcessImage();
+			}
+		}
+	}
+
+	@Test
+	public void testChangedValues() {
+		DummyComponent component = new DummyComponent("dummy0");
+		List<OpenemsComponent> components = new ArrayList<>();
+		components.add(component);
+		ChannelAggregator sut = new ChannelAggregator(() -> components);
+		ChannelAddress power = new ChannelAddress("dummy0", "Power");
+		ChannelAddress running = new ChannelAddress("dummy0", "Running");
+
+		// first period: initial values are sent
+		Map<ChannelAddress, JsonElement> values = runPeriod(sut, component, 10, 10, 20, 20);
+		assertEquals(new JsonPrimitive(15), values.get(power));
+		assertEquals(new JsonPrimitive(1), values.get(running));
+		assertTrue(values.containsKey(new ChannelAddress("dummy0", "State")));
+		assertTrue(!values.containsKey(new ChannelAddress("dummy0", "Setpoint")));
+
+		// second period: constant value differs from last average
+		values = runPeriod(sut, component, 20, 20, 20, 20);
+		assertEquals(1, values.size());
+		assertEquals(new JsonPrimitive(20), values.get(power));
+
+		// third period: nothing changed
+		values = runPeriod(sut, component, 20, 20, 20, 20);
+		assertEquals(0, values.size());
+
+		// Cycles without value are ignored
+		values = runPeriod(sut, component, null, null, 30, 20);
+		assertEquals(new JsonPrimitive(25), values.get(power));
+
+		// sending all values
+		runCycles(sut, component, 20, 20, 20, 20);
+		values = sut.getAllValues(4);
+		assertEquals(new JsonPrimitive(20), values.get(power));
+		assertEquals(new JsonPrimitive(1), values.get(running));
+
+		// Component was disabled
+		components.clear();
+		values = runPeriod(sut, component, 40, 40, 40, 40);
+		assertEquals(0, values.size());
+	}
+
+	@Test
+	public void testLastValues() {
+		DummyComponent component = new DummyComponent("dummy0");
+		List<OpenemsComponent> components = new ArrayList<>();
+		components.add(component);
+		ChannelAggregator sut = new ChannelAggregator(() -> components);
+		ChannelAddress power = new ChannelAddress("dummy0", "Power");
+		ChannelAddress running = new ChannelAddress("dummy0", "Running");
+		runPeriod(sut, component, 10, 10);
+
+		// only Power changed...
+		Map<ChannelAddress, JsonElement> values = runPeriod(sut, component, 20, 20);
+		assertEquals(1, values.size());
+
+		// ...but e.g. for the Outbox all values of the period are available
+		values = sut.getLastValues();
+		assertEquals(new JsonPrimitive(20), values.get(power));
+		assertEquals(new JsonPrimitive(1), values.get(running));
+		assertTrue(values.containsKey(new ChannelAddress("dummy0", "State")));
+		assertEquals(sut.getAllValues(0).keySet(), values.keySet());
+	}
+
+	@Test
+	public void testNewComponent() {
+		List<OpenemsComponent> components = new ArrayList<>();
+		ChannelAggregator sut = new ChannelAggregator(() -> components);
+		DummyComponent component = new DummyComponent("dummy0");
+		assertEquals(0, runPeriod(sut, component, 10, 10).size());
+
+		components.add(component);
+		Map<ChannelAddress, JsonElement> values = runPeriod(sut, component, 10, 10);
+		assertEquals(new JsonPrimitive(10), values.get(new ChannelAddress("dummy0", "Power")));
+	}
+
+	@Test
+	public void testDeactivate() {
+		DummyComponent component = new DummyComponent("dummy0");
+		List<OpenemsComponent> components = new ArrayList<>();
+		components.add(component);
+		ChannelAggregator sut = new ChannelAggregator(() -> components);
+		runPeriod(sut, component, 10, 10);
+
+		sut.deactivate();
+		assertEquals(0, sut.getLastValues().size());
+
+		// a new Aggregator for the same Components starts from scratch
+		ChannelAggregator next = new ChannelAggregator(() -> components);
+		Map<ChannelAddress, JsonElement> values = runPeriod(next, component, 20, 20);
+		assertEquals(new JsonPrimitive(20), values.get(new ChannelAddress("dummy0", "Power")));
+	}
+
+	/**
+	 * Compares the results with the previous implementation using
+	 * {@link SlidingValue}s for random values.
+	 */
+	@Test
+	public void testSameAsSlidingValue() {
+		Random random = new Random(0);
+		DummyComponent component = new DummyComponent("dummy0");
+		List<OpenemsComponent> components = new ArrayList<>();
+		components.add(component);
+		ChannelAggregator sut = new ChannelAggregator(() -> components);
+		ChannelAddress power = new ChannelAddress("dummy0", "Power");
+		ChannelAddress running = new ChannelAddress("dummy0", "Running");
+
+		Map<ChannelAddress, JsonElement> lastSent = new HashMap<>();
+		Integer value = null;
+		for (int period = 0; period < 1000; period++) {
+			int cycles = 1 + random.nextInt(10);
+			IntegerSlidingValue expectedPower = new IntegerSlidingValue();
+			LatestSlidingValue expectedRunning = new LatestSlidingValue(OpenemsType.BOOLEAN);
+			for (int cycle = 0; cycle < cycles; cycle++) {
+				if (random.nextInt(3) == 0) {
+					value = random.nextInt(5) == 0 ? null : random.nextInt(100);
+				}
+				component.channel(DummyComponent.ChannelId.POWER).setNextValue(value);
+				component.channel(DummyComponent.ChannelId.RUNNING).setNextValue(value == null ? null : value > 50);
+				component.nextProcessImage();
+				sut.update(cycle);
+				expectedPower.addValue((Integer) component.channel(DummyComponent.ChannelId.POWER).value().get());
+				expectedRunning.addValue(component.channel(DummyComponent.ChannelId.RUNNING).value().get());
+			}
+
+			Map<ChannelAddress, JsonElement> values = sut.getChangedValues(cycles);
+			assertChanged(lastSent, power, expectedPower.getValue(), values);
+			assertChanged(lastSent, running, expectedRunning.getValue(), values);
+		}
+	}
+
+	private static void assertChanged(Map<ChannelAddress, JsonElement> lastSent, ChannelAddress address,
+			JsonElement expected, Map<ChannelAddress, JsonElement> values) {
+		if (expected.equals(lastSent.getOrDefault(address, JsonNull.INSTANCE))) {
+			assertTrue(!values.containsKey(address));
+		} else {
+			assertEquals(expected, values.get(address));
+			lastSent.put(address, expected);
+		}
+	}
+
+	private static void runCycles(ChannelAggregator sut, DummyComponent component, Integer... powers) {
+		for (int cycle = 0; cycle < powers.length; cycle++) {
+			component.channel(DummyComponent.ChannelId.POWER).setNextValue(powers[cycle]);
+			component.channel(DummyComponent.ChannelId.RUNNING).setNextValue(true);
+			component.nextProcessImage();
+			sut.update(cycle);
+		}
+	}
+
+	private static Map<ChannelAddress, JsonElement> runPeriod(ChannelAggregator sut, DummyComponent component,
+			Integer... powers) {
+		runCycles(sut, component, powers);
+		return sut.getChangedValues(powers.length);
+	}
+
+	/*
+	 * Benchmark
+	 */
+
+	private enum BenchmarkChannelId implements io.openems.edge.common.channel.ChannelId {
+		C00, C01, C02, C03, C04, C05, C06, C07, C08, C09, C10, C11, C12, C13, C14, C15, C16, C17, C18, C19, //
+		C20, C21, C22, C23, C24, C25, C26, C27, C28, C29, C30, C31, C32, C33, C34, C35, C36, C37, C38, C39;
+
+		private final Doc doc = Doc.of(OpenemsType.INTEGER);
+
+		@Override
+		public Doc doc() {
+			return this.doc;
+		}
+	}
+
+	/**
+	 * Compares the CPU time per Cycle (of all threads) of reading every Channel
+	 * every Cycle like before with reading only changed Channels. Two percent of
+	 * the Channels change every Cycle.
+	 *
+	 * <p>
+	 * The CPU times vary between runs and machines, so nothing is asserted here.
+	 * To run it, uncomment the "@Test" annotation.
+	 */
+	// @Test
+	public void benchmarkCycle() {
+		ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		List<OpenemsComponent> components = new ArrayList<>();
+		List<Channel<Integer>> channels = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			DummyComponent component = new DummyComponent("dummy" + i, BenchmarkChannelId.values());
+			components.add(component);
+			for (BenchmarkChannelId channelId : BenchmarkChannelId.values()) {
+				channels.add(component.channel(channelId));
+			}
+		}
+		final int noOfCycles = 10;
+		final int periods = 50;
+		Random random = new Random(0);
+
+		ConcurrentHashMap<ChannelAddress, SlidingValue<?>> data = new ConcurrentHashMap<>();
+		ChannelAggregator sut = new ChannelAggregator(() -> components);
+
+		for (int run = 0; run < 2; run++) { // first run is warm-up
+			long previous = 0;
+			long current = 0;
+			for (int period = 0; period < periods; period++) {
+				for (int cycle = 0; cycle < noOfCycles; cycle++) {
+					for (int i = 0; i < channels.size() / 50; i++) {
+						channels.get(random.nextInt(channels.size())).setNextValue(random.nextInt(1000));
+					}
+					for (OpenemsComponent component : components) {
+						((DummyComponent) component).nextProcessImage();
+					}
+
+					long start = getCpuTime(bean);
+					updateDataLikeBefore(components, data);
+					previous += getCpuTime(bean) - start;
+
+					start = getCpuTime(bean);
+					sut.update(cycle);
+					current += getCpuTime(bean) - start;
+				}
+
+				long start = getCpuTime(bean);
+				for (SlidingValue<?> slidingValue : data.values()) {
+					slidingValue.getChangedValueOrNull();
+				}
+				previous += getCpuTime(bean) - start;
+
+				start = getCpuTime(bean);
+				sut.getChangedValues(noOfCycles);
+				current += getCpuTime(bean) - start;
+			}
+
+			if (run == 1) {
+				int cycles = periods * noOfCycles;
+				System.out.println("BackendWorker for [" + channels.size() + "] Channels: CPU per Cycle scanning all ["
+						+ previous / cycles / 1000 + " us] changed only [" + current / cycles / 1000 + " us]");
+			}
+		}
+	}
+
+	private static long getCpuTime(ThreadMXBean bean) {
+		long result = 0;
+		for (long id : bean.getAllThreadIds()) {
+			long time = bean.getThreadCpuTime(id);
+			if (time > 0) {
+				result += time;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * The previous implementation of BackendWorker#updateData().
+	 */
+	private static void updateDataLikeBefore(List<OpenemsComponent> components,
+			ConcurrentHashMap<ChannelAddress, SlidingValue<?>> data) {
+		components.parallelStream() //
+				.filter(c -> c.isEnabled()) //
+				.flatMap(component -> component.channels().parallelStream()) //
+				.filter(channel -> channel.channelDoc().getAccessMode() == AccessMode.READ_ONLY
+						|| channel.channelDoc().getAccessMode() == AccessMode.READ_WRITE)
+				.forEach(channel -> {
+					ChannelAddress address = channel.address();
+					Object value = channel.value().get();
+					SlidingValue<?> slidingValue = data.get(address);
+					if (slidingValue == null) {
+						if (channel.getType() == OpenemsType.INTEGER) {
+							slidingValue = new IntegerSlidingValue();
+						} else {
+							slidingValue = new LatestSlidingValue(channel.getType());
+						}
+						data.put(address, slidingValue);
+					}
+					if (slidingValue instanceof LatestSlidingValue) {
+						((LatestSlidingValue) slidingValue).addValue(value);
+					} else {
+						((IntegerSlidingValue) slidingValue).addValue((Integer) value);
+					}
+				});
+	}
+
+}
@@ -0,0 +1,221 @@
+package io.openems.edge.controller.api.backend;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+
+import io.openems.common.jsonrpc.notification.TimestampedDataNotification;
+import io.openems.common.types.ChannelAddress;
+
+public class OutboxTest {
+
+	private static final long MAX_AGE = TimeUnit.DAYS.toMillis(1);
+
+	private static final ChannelAddress SOC = new ChannelAddress("_sum", "EssSoc");
+	private static final ChannelAddress POWER = new ChannelAddress("ess0", "ActivePower");
+	private static final ChannelAddress STATE = new ChannelAddress("ess0", "State");
+	private static final ChannelAddress VERSION = new ChannelAddress("_meta", "Version");
+
+	private Path directory;
+
+	@Before
+	public void before() throws IOException {
+		this.directory = Files.createTempDirectory("outbox");
+	}
+
+	@After
+	public void after() throws IOException {
+		try (DirectoryStream<Path> stream = Files.newDirectoryStream(this.directory)) {
+			for (Path file : stream) {
+				Files.delete(file);
+			}
+		}
+		Files.delete(this.directory);
+	}
+
+	private static Map<ChannelAddress, JsonElement> values(int i) {
+		Map<ChannelAddress, JsonElement> result = new HashMap<>();
+		result.put(SOC, new JsonPrimitive(i % 100));
+		result.put(POWER, new JsonPrimitive(-1000L * i));
+		result.put(STATE, JsonNull.INSTANCE);
+		if (i % 10 == 0) {
+			result.put(VERSION, new JsonPrimitive("2020.10." + i));
+		}
+		return result;
+	}
+
+	private static long timestamp(int i) {
+		return System.currentTimeMillis() - 100_000 + i * 10;
+	}
+
+	@Test
+	public void testReplay() throws IOException {
+		Outbox sut = new Outbox(this.directory, 4096, 1024 * 1024, MAX_AGE);
+		assertNull(sut.peek(10));
+
+		long t0 = timestamp(0);
+		for (int i = 0; i < 25; i++) {
+			sut.append(t0 + i, values(i));
+		}
+		assertEquals(25, sut.getNoOfRecords());
+
+		// merged to one notification with multiple timestamps
+		TimestampedDataNotification n = sut.peek(10);
+		assertEquals(10, n.getData().rowKeySet().size());
+		assertEquals(new JsonPrimitive(3), n.getData().get(t0 + 3, SOC));
+		assertEquals(new JsonPrimitive(-3000L), n.getData().get(t0 + 3, POWER));
+		assertEquals(JsonNull.INSTANCE, n.getData().get(t0 + 3, STATE));
+		assertEquals(new JsonPrimitive("2020.10.0"), n.getData().get(t0, VERSION));
+
+		// not sent -> same records again
+		sut.rollback();
+		n = sut.peek(10);
+		assertEquals(t0, (long) n.getData().rowKeySet().first());
+		assertEquals(10, sut.commit());
+		assertEquals(15, sut.getNoOfRecords());
+
+		assertEquals(15, sut.peek(100).getData().rowKeySet().size());
+		assertEquals(15, sut.commit());
+		assertTrue(sut.isEmpty());
+		assertNull(sut.peek(10));
+		sut.close();
+	}
+
+	@Test
+	public void testRestart() throws IOException {
+		Outbox sut = new Outbox(this.directory, 1024, 1024 * 1024, MAX_AGE);
+		long t0 = timestamp(0);
+		for (int i = 0; i < 100; i++) {
+			sut.append(t0 + i, values(i));
+		}
+		sut.peek(30);
+		sut.commit();
+		sut.peek(5); // not committed
+		sut.close();
+
+		sut = new Outbox(this.directory, 1024, 1024 * 1024, MAX_AGE);
+		assertEquals(70, sut.getNoOfRecords());
+		int count = 0;
+		long expected = t0 + 30;
+		TimestampedDataNotification n;
+		while ((n = sut.peek(7)) != null) {
+			for (long timestamp : n.getData().rowKeySet()) {
+				assertEquals(expected++, timestamp);
+				assertEquals(values((int) (timestamp - t0)), n.getData().row(timestamp));
+			}
+			count += sut.commit();
+		}
+		assertEquals(70, count);
+
+		// appending after restart
+		sut.append(t0 + 100, values(100));
+		assertEquals(t0 + 100, (long) sut.peek(10).getData().rowKeySet().first());
+		sut.close();
+	}
+
+	@Test
+	public void testTornWrite() throws IOException {
+		Outbox sut = new Outbox(this.directory, 64 * 1024, 1024 * 1024, MAX_AGE);
+		long t0 = timestamp(0);
+		for (int i = 0; i < 10; i++) {
+			sut.append(t0 + i, values(i));
+		}
+		sut.close();
+
+		// corrupt the payload of a record in the middle
+		Path file;
+		try (DirectoryStream<Path> stream = Files.newDirectoryStream(this.directory)) {
+			file = stream.iterator().next();
+		}
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+			channel.write(ByteBuffer.wrap(new byte[] { 0x55, 0x55 }), 16 + 5 * 30);
+		}
+
+		sut = new Outbox(this.directory, 64 * 1024, 1024 * 1024, MAX_AGE);
+		int records = sut.getNoOfRecords();
+		assertTrue(records > 0 && records < 10);
+		TimestampedDataNotification n = sut.peek(100);
+		assertEquals(records, n.getData().rowKeySet().size());
+		assertEquals(values(0), n.getData().row(t0));
+		sut.close();
+	}
+
+	@Test
+	public void testLimits() throws IOException {
+		// max size of two segments
+		Outbox sut = new Outbox(this.directory, 1024, 2048, MAX_AGE);
+		long t0 = timestamp(0);
+		for (int i = 0; i < 200; i++) {
+			sut.append(t0 + i, values(i));
+		}
+		assertTrue(sut.getNoOfDroppedRecords() > 0);
+		assertEquals(200, sut.getNoOfRecords() + sut.getNoOfDroppedRecords());
+		TimestampedDataNotification n = sut.peek(1000);
+		assertEquals(t0 + sut.getNoOfDroppedRecords(), (long) n.getData().rowKeySet().first());
+		sut.close();
+
+		// max age
+		sut = new Outbox(this.directory, 1024, 1024 * 1024, 1000);
+		assertNull(sut.peek(1000));
+		assertEquals(0, sut.getNoOfRecords());
+		sut.close();
+	}
+
+	@Test
+	public void testManyExpired() throws IOException {
+		Outbox sut = new Outbox(this.directory, 1024 * 1024, 10 * 1024 * 1024, MAX_AGE);
+		long t0 = timestamp(0);
+		for (int i = 0; i < 20_000; i++) {
+			sut.append(t0 + i, values(i));
+		}
+		sut.close();
+
+		// expired records are skipped in a loop, one record per peek
+		sut = new Outbox(this.directory, 1024 * 1024, 10 * 1024 * 1024, 1000);
+		assertNull(sut.peek(1));
+		assertEquals(20_000, sut.getNoOfDroppedRecords());
+		sut.close();
+	}
+
+	/**
+	 * Compares the size of the binary encoding with the JSON of the same data.
+	 */
+	@Test
+	public void testSize() throws IOException {
+		Outbox sut = new Outbox(this.directory, 1024 * 1024, 10 * 1024 * 1024, MAX_AGE);
+		TimestampedDataNotification message = new TimestampedDataNotification();
+		long t0 = timestamp(0);
+		for (int i = 0; i < 1000; i++) {
+			Map<ChannelAddress, JsonElement> values = new HashMap<>();
+			for (int c = 0; c < 20; c++) {
+				values.put(new ChannelAddress("component" + c / 5, "Channel" + c), new JsonPrimitive(i * c));
+			}
+			sut.append(t0 + i * 1000, values);
+			message.add(t0 + i * 1000, values);
+		}
+		JsonObject json = message.toJsonObject();
+		assertTrue(sut.getSize() * 3 < json.toString().length());
+		sut.close();
+	}
+
+}
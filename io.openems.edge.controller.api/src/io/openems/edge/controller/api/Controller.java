@@ -21,6 +21,21 @@ public interface Controller extends OpenemsComponent {
 	 */
 	public void run() throws OpenemsNamedException;
 
+	/**
+	 * Gets the Components and Channels this Controller reads and writes in its
+	 * {@link #run()} method.
+	 * 
+	 * <p>
+	 * This information is used to execute independent Controllers in parallel.
+	 * Controllers that do not override this method are never executed in parallel
+	 * to any other Controller.
+	 * 
+	 * @return the {@link ControllerDependencies}
+	 */
+	public default ControllerDependencies getDependencies() {
+		return ControllerDependencies.UNKNOWN;
+	}
+
 	public enum ChannelId implements io.openems.edge.common.channel.ChannelId {
 		RUN_FAILED(Doc.of(Level.FAULT).text("Running the Controller failed"));
 
@@ -0,0 +1,210 @@
+package io.openems.edge.controller.api;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import io.openems.common.types.ChannelAddress;
+
+/**
+ * Describes the Components and Channels a {@link Controller} reads and writes
+ * in its {@link Controller#run()} method.
+ *
+ * <p>
+ * Every entry is either a Component-ID (e.g. "ess0") - i.e. the complete
+ * Component - or a Channel-Address (e.g. "io0/InputOutput0"). Two Controllers
+ * conflict, if one of them writes an entry that the other one reads or writes.
+ * Reading the current value of a Channel - i.e. the value of the process image
+ * - never conflicts and does not need to be declared.
+ *
+ * <p>
+ * Controllers that apply Constraints on the ESS Power (e.g. via
+ * 'setActivePowerEquals()') need to declare a write on the Power Component
+ * "_power".
+ *
+ * <p>
+ * Controllers that do not conflict may be executed in parallel, if this is
+ * activated in the Core.Cycle configuration. Conflicting Controllers are always
+ * executed in the order given by their Scheduler.
+ */
+public final class ControllerDependencies {
+
+	/**
+	 * The dependencies are unknown. The Controller is never executed in parallel
+	 * to any other Controller.
+	 */
+	public static final ControllerDependencies UNKNOWN = new ControllerDependencies(null, null);
+
+	/**
+	 * The Controller neither writes nor reads any pending values.
+	 */
+	public static final ControllerDependencies NONE = new ControllerDependencies(Collections.emptySet(),
+			Collections.emptySet());
+
+	/**
+	 * Creates a {@link Builder} for {@link ControllerDependencies}.
+	 *
+	 * @return the {@link Builder}
+	 */
+	public static Builder create() {
+		return new Builder();
+	}
+
+	public static class Builder {
+
+		private final Set<String> reads = new HashSet<>();
+		private final Set<String> writes = new HashSet<>();
+
+		private Builder() {
+		}
+
+		/**
+		 * Declares read access to Components or Channels.
+		 *
+		 * @param ids Component-IDs or Channel-Addresses
+		 * @return myself
+		 */
+		public Builder reads(String... ids) {
+			for (String id : ids) {
+				this.reads.add(id);
+			}
+			return this;
+		}
+
+		/**
+		 * Declares read access to Channels.
+		 *
+		 * @param addresses the Channel-Addresses
+		 * @return myself
+		 */
+		public Builder reads(ChannelAddress... addresses) {
+			for (ChannelAddress address : addresses) {
+				this.reads.add(address.toString());
+			}
+			return this;
+		}
+
+		/**
+		 * Declares write access to Components or Channels.
+		 *
+		 * @param ids Component-IDs or Channel-Addresses
+		 * @return myself
+		 */
+		public Builder writes(String... ids) {
+			for (String id : ids) {
+				this.writes.add(id);
+			}
+			return this;
+		}
+
+		/**
+		 * Declares write access to Channels.
+		 *
+		 * @param addresses the Channel-Addresses
+		 * @return myself
+		 */
+		public Builder writes(ChannelAddress... addresses) {
+			for (ChannelAddress address : addresses) {
+				this.writes.add(address.toString());
+			}
+			return this;
+		}
+
+		public ControllerDependencies build() {
+			return new ControllerDependencies(Collections.unmodifiableSet(new HashSet<>(this.reads)),
+					Collections.unmodifiableSet(new HashSet<>(this.writes)));
+		}
+	}
+
+	private final Set<String> reads;
+	private final Set<String> writes;
+
+	private ControllerDependencies(Set<String> reads, Set<String> writes) {
+		this.reads = reads;
+		this.writes = writes;
+	}
+
+	/**
+	 * Are the dependencies unknown?.
+	 *
+	 * @return true if unknown
+	 */
+	public boolean isUnknown() {
+		return this.reads == null || this.writes == null;
+	}
+
+	/**
+	 * Gets the declared read entries.
+	 *
+	 * @return a Set of Component-IDs or Channel-Addresses; empty if unknown
+	 */
+	public Set<String> getReads() {
+		return this.reads == null ? Collections.emptySet() : this.reads;
+	}
+
+	/**
+	 * Gets the declared write entries.
+	 *
+	 * @return a Set of Component-IDs or Channel-Addresses; empty if unknown
+	 */
+	public Set<String> getWrites() {
+		return this.writes == null ? Collections.emptySet() : this.writes;
+	}
+
+	/**
+	 * Checks whether these dependencies conflict with the other dependencies,
+	 * i.e. whether the Controllers need to be executed one after the other.
+	 *
+	 * @param other the other {@link ControllerDependencies}
+	 * @return true if they conflict; always true if any of them is unknown
+	 */
+	public boolean conflictsWith(ControllerDependencies other) {
+		if (this.isUnknown() || other.isUnknown()) {
+			return true;
+		}
+		return intersects(this.writes, other.writes) //
+				|| intersects(this.writes, other.reads) //
+				|| intersects(this.reads, other.writes);
+	}
+
+	private static boolean intersects(Set<String> a, Set<String> b) {
+		for (String entryA : a) {
+			for (String entryB : b) {
+				if (matches(entryA, entryB)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Checks if two entries refer to the same Component or Channel. A
+	 * Component-ID matches all Channel-Addresses of the Component.
+	 *
+	 * @param a the first entry
+	 * @param b the second entry
+	 * @return true if they match
+	 */
+	private static boolean matches(String a, String b) {
+		if (a.equals(b)) {
+			return true;
+		}
+		return isComponentOf(a, b) || isComponentOf(b, a);
+	}
+
+	private static boolean isComponentOf(String componentId, String channelAddress) {
+		return channelAddress.length() > componentId.length() //
+				&& channelAddress.startsWith(componentId) //
+				&& channelAddress.charAt(componentId.length()) == '/';
+	}
+
+	@Override
+	public String toString() {
+		if (this.isUnknown()) {
+			return "ControllerDependencies [UNKNOWN]";
+		}
+		return "ControllerDependencies [reads=" + this.reads + ", writes=" + this.writes + "]";
+	}
+
+}
@@ -0,0 +1,49 @@
+package io.openems.edge.controller.api;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import io.openems.common.types.ChannelAddress;
+
+public class ControllerDependenciesTest {
+
+	@Test
+	public void testConflicts() {
+		ControllerDependencies io0Relay1 = ControllerDependencies.create() //
+				.writes(new ChannelAddress("io0", "Relay1")) //
+				.build();
+		ControllerDependencies io0Relay2 = ControllerDependencies.create() //
+				.writes(new ChannelAddress("io0", "Relay2")) //
+				.build();
+		ControllerDependencies io0 = ControllerDependencies.create() //
+				.reads("io0") //
+				.build();
+		ControllerDependencies io01 = ControllerDependencies.create() //
+				.writes("io01") //
+				.build();
+		ControllerDependencies power = ControllerDependencies.create() //
+				.writes("_power") //
+				.build();
+
+		// different Channels of the same Component
+		assertFalse(io0Relay1.conflictsWith(io0Relay2));
+		// Component-ID matches its Channels
+		assertTrue(io0Relay1.conflictsWith(io0));
+		assertTrue(io0.conflictsWith(io0Relay2));
+		// Component-ID is no prefix match
+		assertFalse(io01.conflictsWith(io0Relay1));
+		assertFalse(io01.conflictsWith(io0));
+		// same write
+		assertTrue(power.conflictsWith(power));
+		// reads never conflict with reads
+		assertFalse(io0.conflictsWith(io0));
+		// NONE conflicts with nothing
+		assertFalse(ControllerDependencies.NONE.conflictsWith(power));
+		// UNKNOWN conflicts with everything
+		assertTrue(ControllerDependencies.UNKNOWN.conflictsWith(ControllerDependencies.NONE));
+		assertTrue(ControllerDependencies.NONE.conflictsWith(ControllerDependencies.UNKNOWN));
+	}
+
+}
@@ -24,6 +24,7 @@ import io.openems.edge.common.component.ComponentManager;
 import io.openems.edge.common.component.OpenemsComponent;
 import io.openems.edge.common.type.TypeUtils;
 import io.openems.edge.controller.api.Controller;
+import io.openems.edge.controller.api.ControllerDependencies;
 
 @Designate(ocd = Config.class, factory = true)
 @Component(name = "Controller.ChannelThreshold", immediate = true, configurationPolicy = ConfigurationPolicy.REQUIRE)
@@ -64,6 +65,7 @@ public class ChannelThreshold extends AbstractOpenemsComponent implements Contro
 	private int highThreshold = 0;
 	private int hysteresis = 0;
 	private boolean invertOutput = false;
+	private ControllerDependencies dependencies = ControllerDependencies.UNKNOWN;
 
 	@Activate
 	void activate(ComponentContext context, Config config) throws OpenemsNamedException {
@@ -76,6 +78,9 @@ public class ChannelThreshold extends AbstractOpenemsComponent implements Contro
 		this.invertOutput = config.invert();
 		this.inputChannelAddress = ChannelAddress.fromString(config.inputChannelAddress());
 		this.outputChannelAddress = ChannelAddress.fromString(config.outputChannelAddress());
+		this.dependencies = ControllerDependencies.create() //
+				.writes(this.outputChannelAddress) //
+				.build();
 
 		super.activate(context, config.id(), config.alias(), config.enabled());
 	}
@@ -99,6 +104,11 @@ public class ChannelThreshold extends AbstractOpenemsComponent implements Contro
 	 */
 	private boolean applyLowHysteresis = true;
 
+	@Override
+	public ControllerDependencies getDependencies() {
+		return this.dependencies;
+	}
+
 	@Override
 	public void run() throws IllegalArgumentException, OpenemsNamedException {
 		/*
@@ -16,6 +16,7 @@ import io.openems.edge.common.component.AbstractOpenemsComponent;
 import io.openems.edge.common.component.ComponentManager;
 import io.openems.edge.common.component.OpenemsComponent;
 import io.openems.edge.controller.api.Controller;
+import io.openems.edge.controller.api.ControllerDependencies;
 
 /**
  * This controller prints information about all available components on the
@@ -62,6 +63,13 @@ public class DebugLog extends AbstractOpenemsComponent implements Controller, Op
 		super.deactivate();
 	}
 
+	@Override
+	public ControllerDependencies getDependencies() {
+		// Only reads the process image; can be executed in parallel to any other
+		// Controller
+		return ControllerDependencies.NONE;
+	}
+
 	@Override
 	public void run() throws OpenemsNamedException {
 		StringBuilder b = new StringBuilder();
@@ -23,6 +23,7 @@ import io.openems.edge.common.component.ComponentManager;
 import io.openems.edge.common.component.OpenemsComponent;
 import io.openems.edge.common.type.TypeUtils;
 import io.openems.edge.controller.api.Controller;
+import io.openems.edge.controller.api.ControllerDependencies;
 
 @Designate(ocd = Config.class, factory = true)
 @Component(//
@@ -37,6 +38,7 @@ public class IoAlarm extends AbstractOpenemsComponent implements Controller, Ope
 	protected ComponentManager componentManager;
 
 	private Config config;
+	private ControllerDependencies dependencies = ControllerDependencies.UNKNOWN;
 
 	public IoAlarm() {
 		super(//
@@ -64,6 +66,9 @@ public class IoAlarm extends AbstractOpenemsComponent implements Controller, Ope
 	void activate(ComponentContext context, Config config) throws OpenemsNamedException {
 		super.activate(context, config.id(), config.alias(), config.enabled());
 		this.config = config;
+		this.dependencies = ControllerDependencies.create() //
+				.writes(ChannelAddress.fromString(config.outputChannelAddress())) //
+				.build();
 	}
 
 	@Deactivate
@@ -71,6 +76,11 @@ public class IoAlarm extends AbstractOpenemsComponent implements Controller, Ope
 		super.deactivate();
 	}
 
+	@Override
+	public ControllerDependencies getDependencies() {
+		return this.dependencies;
+	}
+
 	@Override
 	public void run() throws IllegalArgumentException, OpenemsNamedException {
 		boolean setOutput = false;
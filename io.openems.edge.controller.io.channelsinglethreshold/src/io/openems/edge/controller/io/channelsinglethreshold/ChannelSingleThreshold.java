@@ -4,7 +4,6 @@ import java.time.Clock;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Optional;
-import java.util.OptionalDouble;
 
 import org.osgi.service.component.ComponentContext;
 import org.osgi.service.component.annotations.Activate;
@@ -25,6 +24,7 @@ import io.openems.edge.common.channel.WriteChannel;
 import io.openems.edge.common.component.AbstractOpenemsComponent;
 import io.openems.edge.common.component.ComponentManager;
 import io.openems.edge.common.component.OpenemsComponent;
+import io.openems.edge.common.type.pastvalues.PastValues;
 import io.openems.edge.controller.api.Controller;
 
 @Designate(ocd = Config.class, factory = true)
@@ -124,14 +124,11 @@ public class ChannelSingleThreshold extends AbstractOpenemsComponent implements
 
 		// Get average input value of the last 'minimumSwitchingTime' seconds
 		IntegerReadChannel inputChannel = this.componentManager.getChannel(inputChannelAddress);
-		OptionalDouble inputValueOpt = inputChannel.getPastValues()
-				.tailMap(LocalDateTime.now(this.clock).minusSeconds(this.config.minimumSwitchingTime()), true).values()
-				.stream().filter(v -> v.isDefined()) //
-				.mapToInt(v -> v.get()) //
-				.average();
+		double inputAverage = inputChannel.pastValues().average(PastValues.toMillis(
+				LocalDateTime.now(this.clock).minusSeconds(this.config.minimumSwitchingTime())), true);
 		int inputValue;
-		if (inputValueOpt.isPresent()) {
-			inputValue = (int) Math.round(inputValueOpt.getAsDouble());
+		if (!Double.isNaN(inputAverage)) {
+			inputValue = (int) Math.round(inputAverage);
 
 			/*
 			 * Power value (switchedLoadPower) of the output device is added to the input
@@ -157,7 +154,7 @@ public class ChannelSingleThreshold extends AbstractOpenemsComponent implements
 			/*
 			 * Starting... state is still undefined
 			 */
-			if (inputValueOpt.isPresent()) {
+			if (!Double.isNaN(inputAverage)) {
 				if (inputValue <= this.config.threshold()) {
 					this.changeState(State.BELOW_THRESHOLD);
 				} else {
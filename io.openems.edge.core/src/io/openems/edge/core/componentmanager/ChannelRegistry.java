@@ -0,0 +1,79 @@
+package io.openems.edge.core.componentmanager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.openems.edge.common.channel.Channel;
+import io.openems.edge.common.component.AbstractOpenemsComponent;
+import io.openems.edge.common.component.OpenemsComponent;
+import io.openems.edge.common.sum.Sum;
+
+/**
+ * Holds a flat array of the Channels of all enabled Components, that need to
+ * be switched to the next process image in every Cycle.
+ *
+ * <p>
+ * The array is only rebuilt after a Component was activated or deactivated or
+ * a Channel was added to or removed from any Component. Otherwise
+ * {@link #getChannels()} returns the cached array without allocating.
+ */
+public class ChannelRegistry {
+
+	private static final Channel<?>[] EMPTY = new Channel<?>[0];
+
+	private final List<OpenemsComponent> components;
+
+	private volatile boolean invalidated = true;
+	private int channelsModificationCount = -1;
+	private Channel<?>[] channels = EMPTY;
+
+	public ChannelRegistry(List<OpenemsComponent> components) {
+		this.components = components;
+	}
+
+	/**
+	 * Marks the cached array as outdated, e.g. after a Component was activated or
+	 * deactivated.
+	 */
+	public void invalidate() {
+		this.invalidated = true;
+	}
+
+	/**
+	 * Gets the Channels of all enabled Components, excluding the {@link Sum}
+	 * Component.
+	 *
+	 * <p>
+	 * The returned array is shared and must not be modified.
+	 *
+	 * @return the Channels
+	 */
+	public synchronized Channel<?>[] getChannels() {
+		int modificationCount = AbstractOpenemsComponent.getChannelsModificationCount();
+		if (this.invalidated || modificationCount != this.channelsModificationCount) {
+			// reset flags before rebuilding, so that concurrent modifications trigger
+			// another rebuild
+			this.invalidated = false;
+			this.channelsModificationCount = modificationCount;
+			this.channels = ChannelRegistry.build(this.components);
+		}
+		return this.channels;
+	}
+
+	/**
+	 * Builds the flat array of Channels.
+	 *
+	 * @param components the Components
+	 * @return the Channels
+	 */
+	protected static Channel<?>[] build(List<OpenemsComponent> components) {
+		List<Channel<?>> result = new ArrayList<>();
+		for (OpenemsComponent component : components) {
+			if (component.isEnabled() && !(component instanceof Sum)) {
+				result.addAll(component.channels());
+			}
+		}
+		return result.toArray(new Channel<?>[result.size()]);
+	}
+
+}
@@ -0,0 +1,96 @@
+package io.openems.edge.core.componentmanager;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import io.openems.edge.common.component.OpenemsComponent;
+
+/**
+ * Indexes a list of Components by their Component-ID.
+ *
+ * <p>
+ * The index is only rebuilt after {@link #invalidate()} or if the list
+ * instance changed, e.g. after a Component was activated or deactivated.
+ * Otherwise {@link #get(String)} is a single hash lookup. As the ID of a
+ * Component might change on modification, every hit is verified; on a miss
+ * the list is searched like before.
+ *
+ * <p>
+ * Every index remembers the number of {@link #invalidate()} calls at the time
+ * it started to be built. An index that was built while a Component was
+ * activated or deactivated is therefore never used again, even if the list
+ * instance is still the same.
+ */
+public class ComponentIndex {
+
+	private static class Index {
+		private final int modCount;
+		private final List<OpenemsComponent> components;
+		private final Map<String, OpenemsComponent> byId;
+
+		private Index(int modCount, List<OpenemsComponent> components) {
+			this.modCount = modCount;
+			this.components = components;
+			this.byId = new HashMap<>(components.size() * 2);
+			for (OpenemsComponent component : components) {
+				String id = component.id();
+				if (id != null) {
+					this.byId.putIfAbsent(id, component);
+				}
+			}
+		}
+	}
+
+	private final Supplier<List<OpenemsComponent>> components;
+	private final AtomicInteger modCount = new AtomicInteger();
+
+	private volatile Index index = null;
+
+	public ComponentIndex(Supplier<List<OpenemsComponent>> components) {
+		this.components = components;
+	}
+
+	/**
+	 * Marks the index as outdated, e.g. after a Component was activated or
+	 * deactivated.
+	 */
+	public void invalidate() {
+		this.modCount.incrementAndGet();
+		this.index = null;
+	}
+
+	/**
+	 * Gets the Component with the given Component-ID.
+	 *
+	 * @param componentId the Component-ID
+	 * @return the Component; null if there is none
+	 */
+	public OpenemsComponent get(String componentId) {
+		// read the counter before the list, so that a concurrent invalidate() is
+		// always detected
+		int modCount = this.modCount.get();
+		List<OpenemsComponent> components = this.components.get();
+		Index index = this.index;
+		if (index == null || index.modCount != modCount || index.components != components) {
+			index = new Index(modCount, components);
+			this.index = index;
+		}
+		OpenemsComponent component = index.byId.get(componentId);
+		if (component != null && componentId.equals(component.id())) {
+			return component;
+		}
+
+		// the Component-ID might have changed in the meantime
+		for (OpenemsComponent c : components) {
+			if (componentId.equals(c.id())) {
+				this.invalidate();
+				return c;
+			}
+		}
+		return null;
+	}
+
+}
@@ -45,6 +45,7 @@ import io.openems.common.session.Role;
 import io.openems.common.session.User;
 import io.openems.common.types.EdgeConfig;
 import io.openems.common.utils.JsonUtils;
+import io.openems.edge.common.channel.Channel;
 import io.openems.edge.common.channel.StateChannel;
 import io.openems.edge.common.component.AbstractOpenemsComponent;
 import io.openems.edge.common.component.ComponentManager;
@@ -77,11 +78,26 @@ public class ComponentManagerImpl extends AbstractOpenemsComponent
 	@Reference
 	protected EventAdmin eventAdmin;
 
+	private final List<OpenemsComponent> enabledComponents = new CopyOnWriteArrayList<>();
+	private final ChannelRegistry channelRegistry = new ChannelRegistry(this.enabledComponents);
+	private final ComponentIndex enabledComponentsIndex = new ComponentIndex(() -> this.enabledComponents);
+	private final ComponentIndex allComponentsIndex = new ComponentIndex(() -> this.allComponents);
+
 	@Reference(policy = ReferencePolicy.DYNAMIC, //
 			policyOption = ReferencePolicyOption.GREEDY, //
 			cardinality = ReferenceCardinality.MULTIPLE, //
 			target = "(&(enabled=true)(!(service.factoryPid=Core.ComponentManager)))")
-	private volatile List<OpenemsComponent> enabledComponents = new CopyOnWriteArrayList<>();
+	protected void addEnabledComponent(OpenemsComponent component) {
+		this.enabledComponents.add(component);
+		this.channelRegistry.invalidate();
+		this.enabledComponentsIndex.invalidate();
+	}
+
+	protected void removeEnabledComponent(OpenemsComponent component) {
+		this.enabledComponents.remove(component);
+		this.channelRegistry.invalidate();
+		this.enabledComponentsIndex.invalidate();
+	}
 
 	@Reference(policy = ReferencePolicy.DYNAMIC, //
 			policyOption = ReferencePolicyOption.GREEDY, //
@@ -146,6 +162,38 @@ public class ComponentManagerImpl extends AbstractOpenemsComponent
 		return Collections.unmodifiableList(this.allComponents);
 	}
 
+	@SuppressWarnings("unchecked")
+	@Override
+	public <T extends OpenemsComponent> T getComponent(String componentId) throws OpenemsNamedException {
+		if (componentId.equals(OpenemsConstants.COMPONENT_MANAGER_ID)) {
+			return (T) this;
+		}
+		OpenemsComponent component = this.enabledComponentsIndex.get(componentId);
+		if (component == null) {
+			throw OpenemsError.EDGE_NO_COMPONENT_WITH_ID.exception(componentId);
+		}
+		return (T) component;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public <T extends OpenemsComponent> T getPossiblyDisabledComponent(String componentId)
+			throws OpenemsNamedException {
+		if (componentId.equals(OpenemsConstants.COMPONENT_MANAGER_ID)) {
+			return (T) this;
+		}
+		OpenemsComponent component = this.allComponentsIndex.get(componentId);
+		if (component == null) {
+			throw OpenemsError.EDGE_NO_COMPONENT_WITH_ID.exception(componentId);
+		}
+		return (T) component;
+	}
+
+	@Override
+	public Channel<?>[] getProcessImageChannels() {
+		return this.channelRegistry.getChannels();
+	}
+
 	protected StateChannel configNotActivatedChannel() {
 		return this.channel(ComponentManager.ChannelId.CONFIG_NOT_ACTIVATED);
 	}
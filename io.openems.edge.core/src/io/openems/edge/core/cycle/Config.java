@@ -0,0 +1,21 @@
+package io.openems.edge.core.cycle;
+
+import org.osgi.service.metatype.annotations.AttributeDefinition;
+import org.osgi.service.metatype.annotations.ObjectClassDefinition;
+
+/**
+ * Configures the Cycle.
+ */
+@ObjectClassDefinition(//
+		name = "Core Cycle", //
+		description = "This component executes the OpenEMS Edge Cycle.")
+@interface Config {
+
+	@AttributeDefinition(name = "Parallel Controllers", description = "Execute independent Controllers in parallel? Only Controllers that declare their dependencies are affected.")
+	boolean parallelControllers() default CycleImpl.DEFAULT_PARALLEL_CONTROLLERS;
+
+	@AttributeDefinition(name = "Parallelism", description = "Number of threads for parallel execution of Controllers. '0' uses the number of available processors.")
+	int parallelism() default 0;
+
+	String webconsole_configurationFactory_nameHint() default "Core Cycle";
+}
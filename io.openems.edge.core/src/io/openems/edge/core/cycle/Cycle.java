@@ -18,6 +18,16 @@ public interface Cycle {
 		 */
 		MEASURED_CYCLE_TIME(Doc.of(OpenemsType.INTEGER) //
 				.unit(Unit.MILLISECONDS)),
+		/**
+		 * Duration of switching all Channels to the next process image in [us].
+		 * 
+		 * <ul>
+		 * <li>Interface: Cycle
+		 * <li>Type: Integer
+		 * </ul>
+		 */
+		PROCESS_IMAGE_SWITCH_TIME(Doc.of(OpenemsType.INTEGER) //
+				.unit(Unit.MICROSECONDS)),
 		/**
 		 * A configured Controller is not executed because it is disabled.
 		 * 
@@ -1,36 +1,63 @@
 package io.openems.edge.core.cycle;
 
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
 
 import org.osgi.service.component.ComponentContext;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.ConfigurationPolicy;
 import org.osgi.service.component.annotations.Deactivate;
 import org.osgi.service.component.annotations.Reference;
 import org.osgi.service.component.annotations.ReferenceCardinality;
 import org.osgi.service.component.annotations.ReferencePolicy;
 import org.osgi.service.component.annotations.ReferencePolicyOption;
 import org.osgi.service.event.EventAdmin;
+import org.osgi.service.metatype.annotations.Designate;
 import org.slf4j.Logger;
 
 import io.openems.common.OpenemsConstants;
+import io.openems.common.exceptions.OpenemsError;
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.jsonrpc.base.JsonrpcRequest;
+import io.openems.common.jsonrpc.base.JsonrpcResponseSuccess;
+import io.openems.common.session.Role;
+import io.openems.common.session.User;
 import io.openems.edge.common.component.AbstractOpenemsComponent;
 import io.openems.edge.common.component.ComponentManager;
 import io.openems.edge.common.component.OpenemsComponent;
+import io.openems.edge.common.event.CycleEvent;
+import io.openems.edge.common.event.CycleListener;
+import io.openems.edge.common.jsonapi.JsonApi;
 import io.openems.edge.common.sum.Sum;
 import io.openems.edge.scheduler.api.Scheduler;
 
+@Designate(ocd = Config.class, factory = false)
 @Component(//
 		name = "Core.Cycle", //
 		immediate = true, //
+		configurationPolicy = ConfigurationPolicy.OPTIONAL, //
 		property = { //
 				"id=" + OpenemsConstants.CYCLE_ID, //
 				"enabled=true" //
 		})
-public class CycleImpl extends AbstractOpenemsComponent implements OpenemsComponent, Cycle {
+public class CycleImpl extends AbstractOpenemsComponent implements OpenemsComponent, Cycle, JsonApi {
+
+	protected static final boolean DEFAULT_PARALLEL_CONTROLLERS = false;
 
 	private final CycleWorker worker = new CycleWorker(this);
 
+	protected final CycleTimings timings = new CycleTimings();
+
+	/**
+	 * Executes Controllers in parallel; null if parallel execution is not
+	 * activated.
+	 */
+	protected ParallelControllerExecutor parallelControllerExecutor = null;
+
 	@Reference
 	protected EventAdmin eventAdmin;
 
@@ -69,16 +96,51 @@ public class CycleImpl extends AbstractOpenemsComponent implements OpenemsCompon
 		this.maxCycles = Utils.recalculateRelativeCycleTimes(schedulers, this.commonCycleTime);
 	}
 
+	/**
+	 * Holds the bound CycleListeners and the CycleEvents they are listening to.
+	 */
+	private final Map<CycleListener, EnumSet<CycleEvent>> cycleListeners = new LinkedHashMap<>();
+
+	/**
+	 * Holds the CycleListeners per CycleEvent (index = ordinal). Rebuilt on every
+	 * bind/unbind of a CycleListener.
+	 */
+	protected volatile CycleListener[][] cycleListenersPerEvent = new CycleListener[CycleEvent.values().length][0];
+
+	@Reference(policy = ReferencePolicy.DYNAMIC, policyOption = ReferencePolicyOption.GREEDY, cardinality = ReferenceCardinality.MULTIPLE)
+	protected void addCycleListener(CycleListener listener) {
+		synchronized (this.cycleListeners) {
+			this.cycleListeners.put(listener, EnumSet.copyOf(listener.getCycleEvents()));
+			this.cycleListenersPerEvent = Utils.resolveCycleListeners(this.cycleListeners);
+		}
+	}
+
+	protected void removeCycleListener(CycleListener listener) {
+		synchronized (this.cycleListeners) {
+			this.cycleListeners.remove(listener);
+			this.cycleListenersPerEvent = Utils.resolveCycleListeners(this.cycleListeners);
+		}
+	}
+
 	public CycleImpl() {
 		super(//
 				OpenemsComponent.ChannelId.values(), //
 				Cycle.ChannelId.values() //
 		);
+		// add Channels for timing statistics of the Cycle phases
+		for (CycleTimings.PhaseChannelId[] phaseChannelIds : CycleTimings.createChannelIds()) {
+			for (CycleTimings.PhaseChannelId channelId : phaseChannelIds) {
+				this.timings.setChannel(channelId.phase, channelId.statistic, this.addChannel(channelId));
+			}
+		}
 	}
 
 	@Activate
-	void activate(ComponentContext context) {
+	void activate(ComponentContext context, Config config) {
 		super.activate(context, OpenemsConstants.CYCLE_ID, "Core.Cycle", true);
+		if (config.parallelControllers()) {
+			this.parallelControllerExecutor = new ParallelControllerExecutor(config.parallelism());
+		}
 		this.worker.activate("Core.Cycle");
 	}
 
@@ -86,6 +148,9 @@ public class CycleImpl extends AbstractOpenemsComponent implements OpenemsCompon
 	protected void deactivate() {
 		super.deactivate();
 		this.worker.deactivate();
+		if (this.parallelControllerExecutor != null) {
+			this.parallelControllerExecutor.shutdown();
+		}
 	}
 
 	@Override
@@ -93,4 +158,33 @@ public class CycleImpl extends AbstractOpenemsComponent implements OpenemsCompon
 		super.logWarn(log, message);
 	}
 
+	@Override
+	public CompletableFuture<? extends JsonrpcResponseSuccess> handleJsonrpcRequest(User user, JsonrpcRequest request)
+			throws OpenemsNamedException {
+		user.assertRoleIsAtLeast("handleJsonrpcRequest", Role.GUEST);
+
+		switch (request.getMethod()) {
+
+		case GetCycleTimingsRequest.METHOD:
+			return this.handleGetCycleTimingsRequest(user, GetCycleTimingsRequest.from(request));
+
+		default:
+			throw OpenemsError.JSONRPC_UNHANDLED_METHOD.exception(request.getMethod());
+		}
+	}
+
+	/**
+	 * Handles a GetCycleTimingsRequest.
+	 * 
+	 * @param user    the User
+	 * @param request the GetCycleTimingsRequest
+	 * @return the Future JSON-RPC Response
+	 * @throws OpenemsNamedException on error
+	 */
+	private CompletableFuture<JsonrpcResponseSuccess> handleGetCycleTimingsRequest(User user,
+			GetCycleTimingsRequest request) throws OpenemsNamedException {
+		GetCycleTimingsResponse response = new GetCycleTimingsResponse(request.getId(), this.timings.toJson());
+		return CompletableFuture.completedFuture(response);
+	}
+
 }
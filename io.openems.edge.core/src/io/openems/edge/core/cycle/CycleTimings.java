@@ -0,0 +1,196 @@
+package io.openems.edge.core.cycle;
+
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.google.gson.JsonObject;
+
+import io.openems.common.channel.Unit;
+import io.openems.common.types.OpenemsType;
+import io.openems.edge.common.channel.Channel;
+import io.openems.edge.common.channel.ChannelId;
+import io.openems.edge.common.channel.Doc;
+import io.openems.edge.common.event.CycleEvent;
+
+/**
+ * Holds the {@link DurationStatistics} for every {@link Phase} of the Cycle and
+ * for every Controller.
+ */
+public class CycleTimings {
+
+	public enum Phase {
+		BEFORE_PROCESS_IMAGE(CycleEvent.BEFORE_PROCESS_IMAGE), //
+		PROCESS_IMAGE(null), //
+		AFTER_PROCESS_IMAGE(CycleEvent.AFTER_PROCESS_IMAGE), //
+		BEFORE_CONTROLLERS(CycleEvent.BEFORE_CONTROLLERS), //
+		CONTROLLERS(null), //
+		AFTER_CONTROLLERS(CycleEvent.AFTER_CONTROLLERS), //
+		BEFORE_WRITE(CycleEvent.BEFORE_WRITE), //
+		EXECUTE_WRITE(CycleEvent.EXECUTE_WRITE), //
+		AFTER_WRITE(CycleEvent.AFTER_WRITE);
+
+		/**
+		 * The {@link CycleEvent}; null if this Phase is not an event dispatch.
+		 */
+		public final CycleEvent event;
+
+		private Phase(CycleEvent event) {
+			this.event = event;
+		}
+	}
+
+	public enum Statistic {
+		MIN, AVG, MAX, P99;
+	}
+
+	/**
+	 * A dynamically created Channel-ID for a {@link Statistic} of a
+	 * {@link Phase}, e.g. "BeforeProcessImageTimeP99".
+	 */
+	protected static class PhaseChannelId implements ChannelId {
+
+		protected final Phase phase;
+		protected final Statistic statistic;
+		private final String name;
+		private final Doc doc;
+
+		protected PhaseChannelId(Phase phase, Statistic statistic) {
+			this.phase = phase;
+			this.statistic = statistic;
+			this.name = phase.name() + "_TIME_" + statistic.name();
+			this.doc = Doc.of(OpenemsType.INTEGER) //
+					.unit(Unit.MICROSECONDS) //
+					.text(statistic.name() + " duration of Cycle phase " + phase.name() + " over the last "
+							+ DurationStatistics.WINDOW_SIZE + " Cycles");
+		}
+
+		@Override
+		public String name() {
+			return this.name;
+		}
+
+		@Override
+		public Doc doc() {
+			return this.doc;
+		}
+	}
+
+	private final DurationStatistics[] phases = new DurationStatistics[Phase.values().length];
+	private final Map<String, DurationStatistics> controllers = new ConcurrentHashMap<>();
+
+	/**
+	 * Holds the Channels per Phase and Statistic.
+	 */
+	private final Channel<?>[][] channels = new Channel<?>[Phase.values().length][Statistic.values().length];
+
+	public CycleTimings() {
+		for (int i = 0; i < this.phases.length; i++) {
+			this.phases[i] = new DurationStatistics();
+		}
+	}
+
+	/**
+	 * Gets the Channel-IDs that need to be added to the Cycle Component.
+	 *
+	 * @return the Channel-IDs per {@link Phase} and {@link Statistic}
+	 */
+	protected static PhaseChannelId[][] createChannelIds() {
+		PhaseChannelId[][] result = new PhaseChannelId[Phase.values().length][Statistic.values().length];
+		for (Phase phase : Phase.values()) {
+			for (Statistic statistic : Statistic.values()) {
+				result[phase.ordinal()][statistic.ordinal()] = new PhaseChannelId(phase, statistic);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Sets the Channel for a {@link Phase} and {@link Statistic}.
+	 *
+	 * @param phase     the {@link Phase}
+	 * @param statistic the {@link Statistic}
+	 * @param channel   the Channel
+	 */
+	protected void setChannel(Phase phase, Statistic statistic, Channel<?> channel) {
+		this.channels[phase.ordinal()][statistic.ordinal()] = channel;
+	}
+
+	/**
+	 * Records the duration of a {@link Phase}.
+	 *
+	 * @param phase the {@link Phase}
+	 * @param nanos the duration in [ns]
+	 */
+	public void recordPhase(Phase phase, long nanos) {
+		this.phases[phase.ordinal()].record(nanos);
+	}
+
+	/**
+	 * Records the duration of a Controller run.
+	 *
+	 * @param controllerId the Controller-ID
+	 * @param nanos        the duration in [ns]
+	 */
+	public void recordController(String controllerId, long nanos) {
+		DurationStatistics statistics = this.controllers.get(controllerId);
+		if (statistics == null) {
+			statistics = this.controllers.computeIfAbsent(controllerId, id -> new DurationStatistics());
+		}
+		statistics.record(nanos);
+	}
+
+	/**
+	 * Calculates the statistics of all Phases and applies them to the Channels.
+	 */
+	public void updateChannels() {
+		for (int i = 0; i < this.phases.length; i++) {
+			DurationStatistics statistics = this.phases[i];
+			statistics.calculate();
+			Channel<?>[] phaseChannels = this.channels[i];
+			this.setChannelValue(phaseChannels[Statistic.MIN.ordinal()], statistics.getMin());
+			this.setChannelValue(phaseChannels[Statistic.AVG.ordinal()], statistics.getAvg());
+			this.setChannelValue(phaseChannels[Statistic.MAX.ordinal()], statistics.getMax());
+			this.setChannelValue(phaseChannels[Statistic.P99.ordinal()], statistics.getP99());
+		}
+	}
+
+	private void setChannelValue(Channel<?> channel, long value) {
+		if (channel != null) {
+			channel.setNextValue(value);
+		}
+	}
+
+	/**
+	 * Exports the statistics as JSON.
+	 *
+	 * <pre>
+	 * {
+	 *   "phases": {
+	 *     [phase: string]: {@link DurationStatistics#toJson()}
+	 *   },
+	 *   "controllers": {
+	 *     [controllerId: string]: {@link DurationStatistics#toJson()}
+	 *   }
+	 * }
+	 * </pre>
+	 *
+	 * @return the {@link JsonObject}
+	 */
+	public JsonObject toJson() {
+		JsonObject phases = new JsonObject();
+		for (Phase phase : Phase.values()) {
+			phases.add(phase.name(), this.phases[phase.ordinal()].toJson());
+		}
+		JsonObject controllers = new JsonObject();
+		for (Entry<String, DurationStatistics> entry : new TreeMap<>(this.controllers).entrySet()) {
+			controllers.add(entry.getKey(), entry.getValue().toJson());
+		}
+		JsonObject result = new JsonObject();
+		result.add("phases", phases);
+		result.add("controllers", controllers);
+		return result;
+	}
+
+}
@@ -2,7 +2,9 @@ package io.openems.edge.core.cycle;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map.Entry;
 
 import org.osgi.service.event.Event;
@@ -12,9 +14,11 @@ import org.slf4j.LoggerFactory;
 import info.faljse.SDNotify.SDNotify;
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.common.worker.AbstractWorker;
-import io.openems.edge.common.event.EdgeEventConstants;
-import io.openems.edge.common.sum.Sum;
+import io.openems.edge.common.channel.Channel;
+import io.openems.edge.common.event.CycleEvent;
+import io.openems.edge.common.event.CycleListener;
 import io.openems.edge.controller.api.Controller;
+import io.openems.edge.core.cycle.CycleTimings.Phase;
 import io.openems.edge.scheduler.api.Scheduler;
 
 public class CycleWorker extends AbstractWorker {
@@ -24,8 +28,17 @@ public class CycleWorker extends AbstractWorker {
 
 	private Instant startTime = null;
 
+	/**
+	 * The EventAdmin Events per {@link CycleEvent#ordinal()}. Events are immutable,
+	 * so they are created only once.
+	 */
+	private final Event[] events = new Event[CycleEvent.values().length];
+
 	public CycleWorker(CycleImpl parent) {
 		this.parent = parent;
+		for (CycleEvent event : CycleEvent.values()) {
+			this.events[event.ordinal()] = new Event(event.getTopic(), new HashMap<>());
+		}
 	}
 
 	@Override
@@ -49,44 +62,40 @@ public class CycleWorker extends AbstractWorker {
 			/*
 			 * Trigger BEFORE_PROCESS_IMAGE event
 			 */
-			this.parent.eventAdmin
-					.sendEvent(new Event(EdgeEventConstants.TOPIC_CYCLE_BEFORE_PROCESS_IMAGE, new HashMap<>()));
+			this.sendEvent(Phase.BEFORE_PROCESS_IMAGE);
 
 			/*
 			 * Before Controllers start: switch to next process image for each channel
 			 */
-			this.parent.componentManager.getEnabledComponents().stream() //
-					.filter(c -> c.isEnabled() && !(c instanceof Sum)) //
-					.forEach(component -> {
-						component.channels().forEach(channel -> {
-							channel.nextProcessImage();
-						});
-					});
-			this.parent.channels().forEach(channel -> {
-				channel.nextProcessImage();
-			});
+			long processImageStart = System.nanoTime();
+			Channel<?>[] channels = this.parent.componentManager.getProcessImageChannels();
+			for (int i = 0; i < channels.length; i++) {
+				channels[i].nextProcessImage();
+			}
 
 			/*
 			 * Update the Channels in the Sum-Component.
 			 */
 			this.parent.sumComponent.updateChannelsBeforeProcessImage();
-			this.parent.sumComponent.channels().forEach(channel -> {
+			for (Channel<?> channel : this.parent.sumComponent.channels()) {
 				channel.nextProcessImage();
-			});
+			}
+			long processImageDuration = System.nanoTime() - processImageStart;
+			this.parent.channel(Cycle.ChannelId.PROCESS_IMAGE_SWITCH_TIME).setNextValue(processImageDuration / 1000);
+			this.parent.timings.recordPhase(Phase.PROCESS_IMAGE, processImageDuration);
 
 			/*
 			 * Trigger AFTER_PROCESS_IMAGE event
 			 */
-			this.parent.eventAdmin
-					.sendEvent(new Event(EdgeEventConstants.TOPIC_CYCLE_AFTER_PROCESS_IMAGE, new HashMap<>()));
+			this.sendEvent(Phase.AFTER_PROCESS_IMAGE);
 
 			/*
 			 * Trigger BEFORE_CONTROLLERS event
 			 */
-			this.parent.eventAdmin
-					.sendEvent(new Event(EdgeEventConstants.TOPIC_CYCLE_BEFORE_CONTROLLERS, new HashMap<>()));
+			this.sendEvent(Phase.BEFORE_CONTROLLERS);
 
 			boolean hasDisabledController = false;
+			long controllersStart = System.nanoTime();
 
 			/*
 			 * Execute Schedulers and their Controllers
@@ -103,35 +112,22 @@ public class CycleWorker extends AbstractWorker {
 						return;
 					}
 					try {
+						List<Controller> controllers = new ArrayList<>();
 						for (Controller controller : scheduler.getControllers()) {
 							if (!controller.isEnabled()) {
 								hasDisabledController = true;
 								continue;
 							}
+							controllers.add(controller);
+						}
 
-							try {
-								// Execute Controller logic
-								controller.run();
-
-								// announce running was ok
-								controller.getRunFailed().setNextValue(false);
-
-							} catch (OpenemsNamedException e) {
-								this.parent.logWarn(this.log,
-										"Error in Controller [" + controller.id() + "]: " + e.getMessage());
-
-								// announce running failed
-								controller.getRunFailed().setNextValue(true);
-
-							} catch (Exception e) {
-								this.parent.logWarn(this.log, "Error in Controller [" + controller.id() + "]. "
-										+ e.getClass().getSimpleName() + ": " + e.getMessage());
-								if (e instanceof ClassCastException || e instanceof NullPointerException
-										|| e instanceof IllegalArgumentException) {
-									e.printStackTrace();
-								}
-								// announce running failed
-								controller.getRunFailed().setNextValue(true);
+						ParallelControllerExecutor parallelExecutor = this.parent.parallelControllerExecutor;
+						if (parallelExecutor != null && controllers.size() > 1) {
+							// Execute independent Controllers in parallel
+							parallelExecutor.execute(controllers, this::runController);
+						} else {
+							for (Controller controller : controllers) {
+								this.runController(controller);
 							}
 						}
 
@@ -147,29 +143,30 @@ public class CycleWorker extends AbstractWorker {
 				}
 			}
 
+			this.parent.timings.recordPhase(Phase.CONTROLLERS, System.nanoTime() - controllersStart);
+
 			// announce ignoring disabled Controllers.
 			this.parent.channel(Cycle.ChannelId.IGNORE_DISABLED_CONTROLLER).setNextValue(hasDisabledController);
 
 			/*
 			 * Trigger AFTER_CONTROLLERS event
 			 */
-			this.parent.eventAdmin
-					.sendEvent(new Event(EdgeEventConstants.TOPIC_CYCLE_AFTER_CONTROLLERS, new HashMap<>()));
+			this.sendEvent(Phase.AFTER_CONTROLLERS);
 
 			/*
 			 * Trigger BEFORE_WRITE event
 			 */
-			this.parent.eventAdmin.sendEvent(new Event(EdgeEventConstants.TOPIC_CYCLE_BEFORE_WRITE, new HashMap<>()));
+			this.sendEvent(Phase.BEFORE_WRITE);
 
 			/*
 			 * Trigger EXECUTE_WRITE event
 			 */
-			this.parent.eventAdmin.sendEvent(new Event(EdgeEventConstants.TOPIC_CYCLE_EXECUTE_WRITE, new HashMap<>()));
+			this.sendEvent(Phase.EXECUTE_WRITE);
 
 			/*
 			 * Trigger AFTER_WRITE event
 			 */
-			this.parent.eventAdmin.sendEvent(new Event(EdgeEventConstants.TOPIC_CYCLE_AFTER_WRITE, new HashMap<>()));
+			this.sendEvent(Phase.AFTER_WRITE);
 
 		} catch (Throwable t) {
 			this.parent.logWarn(this.log,
@@ -186,6 +183,74 @@ public class CycleWorker extends AbstractWorker {
 					.setNextValue(Duration.between(this.startTime, now).toMillis());
 		}
 		this.startTime = now;
+
+		// Update timing statistics of the Cycle phases
+		this.parent.timings.updateChannels();
+	}
+
+	/**
+	 * Sends the Event of a Cycle phase synchronously to all CycleListeners and via
+	 * EventAdmin to all EventHandlers and records the duration.
+	 * 
+	 * @param phase the {@link Phase}
+	 */
+	private void sendEvent(Phase phase) {
+		long start = System.nanoTime();
+		CycleEvent event = phase.event;
+
+		// Notify CycleListeners directly
+		CycleListener[] listeners = this.parent.cycleListenersPerEvent[event.ordinal()];
+		for (int i = 0; i < listeners.length; i++) {
+			try {
+				listeners[i].onCycleEvent(event);
+			} catch (Exception e) {
+				this.parent.logWarn(this.log, "Error in CycleListener [" + listeners[i].getClass().getSimpleName()
+						+ "] on " + event + ". " + e.getClass().getSimpleName() + ": " + e.getMessage());
+				if (e instanceof ClassCastException || e instanceof NullPointerException
+						|| e instanceof IllegalArgumentException) {
+					e.printStackTrace();
+				}
+			}
+		}
+
+		// Fallback for EventHandlers
+		this.parent.eventAdmin.sendEvent(this.events[event.ordinal()]);
+
+		this.parent.timings.recordPhase(phase, System.nanoTime() - start);
+	}
+
+	/**
+	 * Executes the logic of a Controller and announces the result on its
+	 * RunFailed-Channel.
+	 * 
+	 * @param controller the Controller
+	 */
+	private void runController(Controller controller) {
+		long start = System.nanoTime();
+		try {
+			// Execute Controller logic
+			controller.run();
+
+			// announce running was ok
+			controller.getRunFailed().setNextValue(false);
+
+		} catch (OpenemsNamedException e) {
+			this.parent.logWarn(this.log, "Error in Controller [" + controller.id() + "]: " + e.getMessage());
+
+			// announce running failed
+			controller.getRunFailed().setNextValue(true);
+
+		} catch (Exception e) {
+			this.parent.logWarn(this.log, "Error in Controller [" + controller.id() + "]. "
+					+ e.getClass().getSimpleName() + ": " + e.getMessage());
+			if (e instanceof ClassCastException || e instanceof NullPointerException
+					|| e instanceof IllegalArgumentException) {
+				e.printStackTrace();
+			}
+			// announce running failed
+			controller.getRunFailed().setNextValue(true);
+		}
+		this.parent.timings.recordController(controller.id(), System.nanoTime() - start);
 	}
 
 }
@@ -0,0 +1,134 @@
+package io.openems.edge.core.cycle;
+
+import java.util.Arrays;
+
+import com.google.gson.JsonObject;
+
+import io.openems.common.utils.JsonUtils;
+
+/**
+ * Records durations in a rolling window and provides min, average, max and
+ * 99th percentile over this window.
+ *
+ * <p>
+ * Recording only writes into a preallocated ring buffer; statistics are
+ * calculated on demand using a preallocated scratch array.
+ */
+public class DurationStatistics {
+
+	/**
+	 * The number of durations in the rolling window.
+	 */
+	public static final int WINDOW_SIZE = 100;
+
+	private final long[] samples = new long[WINDOW_SIZE];
+	private final long[] sorted = new long[WINDOW_SIZE];
+
+	private int nextIndex = 0;
+	private int count = 0;
+
+	private long min;
+	private long avg;
+	private long max;
+	private long p99;
+
+	/**
+	 * Records a duration.
+	 *
+	 * @param nanos the duration in [ns]
+	 */
+	public synchronized void record(long nanos) {
+		this.samples[this.nextIndex] = nanos;
+		this.nextIndex = (this.nextIndex + 1) % WINDOW_SIZE;
+		if (this.count < WINDOW_SIZE) {
+			this.count++;
+		}
+	}
+
+	/**
+	 * Calculates min, average, max and 99th percentile of the current window. Use
+	 * the getters to read the results.
+	 */
+	public synchronized void calculate() {
+		if (this.count == 0) {
+			this.min = 0;
+			this.avg = 0;
+			this.max = 0;
+			this.p99 = 0;
+			return;
+		}
+		System.arraycopy(this.samples, 0, this.sorted, 0, this.count);
+		Arrays.sort(this.sorted, 0, this.count);
+		long sum = 0;
+		for (int i = 0; i < this.count; i++) {
+			sum += this.sorted[i];
+		}
+		this.min = this.sorted[0];
+		this.max = this.sorted[this.count - 1];
+		this.avg = sum / this.count;
+		// nearest-rank method
+		int rank = (int) Math.ceil(0.99 * this.count);
+		this.p99 = this.sorted[Math.max(rank, 1) - 1];
+	}
+
+	/**
+	 * Gets the minimum duration of the last calculation.
+	 *
+	 * @return the duration in [us]
+	 */
+	public synchronized long getMin() {
+		return this.min / 1000;
+	}
+
+	/**
+	 * Gets the average duration of the last calculation.
+	 *
+	 * @return the duration in [us]
+	 */
+	public synchronized long getAvg() {
+		return this.avg / 1000;
+	}
+
+	/**
+	 * Gets the maximum duration of the last calculation.
+	 *
+	 * @return the duration in [us]
+	 */
+	public synchronized long getMax() {
+		return this.max / 1000;
+	}
+
+	/**
+	 * Gets the 99th percentile duration of the last calculation.
+	 *
+	 * @return the duration in [us]
+	 */
+	public synchronized long getP99() {
+		return this.p99 / 1000;
+	}
+
+	/**
+	 * Calculates the statistics and exports them as JSON.
+	 *
+	 * <pre>
+	 * {
+	 *   "min": number,
+	 *   "avg": number,
+	 *   "max": number,
+	 *   "p99": number
+	 * }
+	 * </pre>
+	 *
+	 * @return the {@link JsonObject}; durations in [us]
+	 */
+	public synchronized JsonObject toJson() {
+		this.calculate();
+		return JsonUtils.buildJsonObject() //
+				.addProperty("min", this.getMin()) //
+				.addProperty("avg", this.getAvg()) //
+				.addProperty("max", this.getMax()) //
+				.addProperty("p99", this.getP99()) //
+				.build();
+	}
+
+}
@@ -0,0 +1,43 @@
+package io.openems.edge.core.cycle;
+
+import java.util.UUID;
+
+import com.google.gson.JsonObject;
+
+import io.openems.common.exceptions.OpenemsException;
+import io.openems.common.jsonrpc.base.JsonrpcRequest;
+
+/**
+ * Gets the timing statistics of the Cycle phases and Controllers.
+ * 
+ * <pre>
+ * {
+ *   "jsonrpc": "2.0",
+ *   "id": "UUID",
+ *   "method": "getCycleTimings",
+ *   "params": {}
+ * }
+ * </pre>
+ */
+public class GetCycleTimingsRequest extends JsonrpcRequest {
+
+	public static final String METHOD = "getCycleTimings";
+
+	public static GetCycleTimingsRequest from(JsonrpcRequest r) throws OpenemsException {
+		return new GetCycleTimingsRequest(r.getId());
+	}
+
+	public GetCycleTimingsRequest() {
+		this(UUID.randomUUID());
+	}
+
+	public GetCycleTimingsRequest(UUID id) {
+		super(id, METHOD);
+	}
+
+	@Override
+	public JsonObject getParams() {
+		return new JsonObject();
+	}
+
+}
@@ -0,0 +1,55 @@
+package io.openems.edge.core.cycle;
+
+import java.util.UUID;
+
+import com.google.gson.JsonObject;
+
+import io.openems.common.jsonrpc.base.JsonrpcResponseSuccess;
+
+/**
+ * JSON-RPC Response to "getCycleTimings" Request.
+ * 
+ * <p>
+ * All durations are in [us] over the last
+ * {@value DurationStatistics#WINDOW_SIZE} Cycles.
+ * 
+ * <pre>
+ * {
+ *   "jsonrpc": "2.0",
+ *   "id": "UUID",
+ *   "result": {
+ *     "phases": {
+ *       [phase: string]: {
+ *         "min": number,
+ *         "avg": number,
+ *         "max": number,
+ *         "p99": number
+ *       }
+ *     },
+ *     "controllers": {
+ *       [controllerId: string]: {
+ *         "min": number,
+ *         "avg": number,
+ *         "max": number,
+ *         "p99": number
+ *       }
+ *     }
+ *   }
+ * }
+ * </pre>
+ */
+public class GetCycleTimingsResponse extends JsonrpcResponseSuccess {
+
+	private final JsonObject timings;
+
+	public GetCycleTimingsResponse(UUID id, JsonObject timings) {
+		super(id);
+		this.timings = timings;
+	}
+
+	@Override
+	public JsonObject getResult() {
+		return this.timings;
+	}
+
+}
@@ -0,0 +1,79 @@
+package io.openems.edge.core.cycle;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+
+import io.openems.edge.controller.api.Controller;
+import io.openems.edge.controller.api.ControllerDependencies;
+
+/**
+ * Executes the Controllers of a Scheduler on a {@link ForkJoinPool}.
+ *
+ * <p>
+ * A Controller waits for all Controllers with higher priority, whose
+ * {@link ControllerDependencies} conflict with its own. This way the priority
+ * order of the Scheduler is kept for conflicting Controllers, while all other
+ * Controllers are executed in parallel.
+ */
+public class ParallelControllerExecutor {
+
+	private final ForkJoinPool pool;
+
+	public ParallelControllerExecutor(int parallelism) {
+		if (parallelism < 1) {
+			parallelism = Runtime.getRuntime().availableProcessors();
+		}
+		this.pool = new ForkJoinPool(parallelism);
+	}
+
+	/**
+	 * Executes the given Controllers and waits till all of them finished.
+	 *
+	 * <p>
+	 * Every Controller is executed, even if a Controller it waits for threw an
+	 * exception.
+	 *
+	 * @param controllers the Controllers, ordered by their priority
+	 * @param runner      executes one Controller; should not throw
+	 * @throws CompletionException if the runner threw an exception for any
+	 *                             Controller
+	 */
+	public void execute(List<Controller> controllers, Consumer<Controller> runner) {
+		int size = controllers.size();
+		ControllerDependencies[] dependencies = new ControllerDependencies[size];
+		CompletableFuture<?>[] futures = new CompletableFuture<?>[size];
+		List<CompletableFuture<?>> predecessors = new ArrayList<>();
+		for (int i = 0; i < size; i++) {
+			Controller controller = controllers.get(i);
+			dependencies[i] = controller.getDependencies();
+
+			// wait for all conflicting Controllers with higher priority
+			predecessors.clear();
+			for (int j = 0; j < i; j++) {
+				if (dependencies[i].conflictsWith(dependencies[j])) {
+					predecessors.add(futures[j]);
+				}
+			}
+			futures[i] = CompletableFuture
+					.allOf(predecessors.toArray(new CompletableFuture<?>[predecessors.size()])) //
+					// run even if a predecessor failed; the failure is thrown by join() below
+					.handleAsync((result, exception) -> {
+						runner.accept(controller);
+						return null;
+					}, this.pool);
+		}
+		CompletableFuture.allOf(futures).join();
+	}
+
+	/**
+	 * Shuts down the thread pool.
+	 */
+	public void shutdown() {
+		this.pool.shutdownNow();
+	}
+
+}
@@ -1,8 +1,15 @@
 package io.openems.edge.core.cycle;
 
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.TreeMap;
 
+import io.openems.edge.common.event.CycleEvent;
+import io.openems.edge.common.event.CycleListener;
 import io.openems.edge.scheduler.api.Scheduler;
 
 public class Utils {
@@ -87,4 +94,25 @@ public class Utils {
 		}
 		return Optional.of(result);
 	}
+
+	/**
+	 * Called on change of CycleListener list: resolves the CycleListeners per
+	 * CycleEvent.
+	 * 
+	 * @param cycleListeners the CycleListeners and their CycleEvents
+	 * @return an array of CycleListeners per {@link CycleEvent#ordinal()}
+	 */
+	protected static CycleListener[][] resolveCycleListeners(Map<CycleListener, EnumSet<CycleEvent>> cycleListeners) {
+		CycleListener[][] result = new CycleListener[CycleEvent.values().length][];
+		for (CycleEvent event : CycleEvent.values()) {
+			List<CycleListener> listeners = new ArrayList<>();
+			for (Entry<CycleListener, EnumSet<CycleEvent>> entry : cycleListeners.entrySet()) {
+				if (entry.getValue().contains(event)) {
+					listeners.add(entry.getKey());
+				}
+			}
+			result[event.ordinal()] = listeners.toArray(new CycleListener[listeners.size()]);
+		}
+		return result;
+	}
 }
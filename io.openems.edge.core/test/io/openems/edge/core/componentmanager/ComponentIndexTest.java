@@ -0,0 +1,174 @@
+package io.openems.edge.core.componentmanager;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.Test;
+
+import io.openems.common.types.ChannelAddress;
+import io.openems.edge.common.component.AbstractOpenemsComponent;
+import io.openems.edge.common.component.OpenemsComponent;
+
+public class ComponentIndexTest {
+
+	private static class DummyComponent extends AbstractOpenemsComponent {
+
+		public DummyComponent(String id) {
+			super(OpenemsComponent.ChannelId.values());
+			super.activate(null, id, "", true);
+		}
+
+		public void setId(String id) {
+			super.activate(null, id, "", true);
+		}
+	}
+
+	private static List<OpenemsComponent> createComponents(int count) {
+		List<OpenemsComponent> result = new CopyOnWriteArrayList<>();
+		for (int i = 0; i < count; i++) {
+			result.add(new DummyComponent("component" + i));
+		}
+		return result;
+	}
+
+	@Test
+	public void testGet() {
+		List<OpenemsComponent> components = createComponents(10);
+		ComponentIndex sut = new ComponentIndex(() -> components);
+
+		assertSame(components.get(5), sut.get("component5"));
+		assertNull(sut.get("foo"));
+
+		// Component was activated
+		DummyComponent added = new DummyComponent("added0");
+		components.add(added);
+		sut.invalidate();
+		assertSame(added, sut.get("added0"));
+
+		// Component-ID was changed without invalidating
+		added.setId("added1");
+		assertNull(sut.get("added0"));
+		assertSame(added, sut.get("added1"));
+
+		// Component was deactivated
+		components.remove(added);
+		sut.invalidate();
+		assertNull(sut.get("added1"));
+	}
+
+	@Test
+	public void testListReplaced() {
+		List<List<OpenemsComponent>> holder = new ArrayList<>();
+		holder.add(createComponents(3));
+		ComponentIndex sut = new ComponentIndex(() -> holder.get(0));
+		assertNull(sut.get("component5"));
+
+		// e.g. a volatile DS reference list is replaced on every change
+		holder.set(0, createComponents(10));
+		assertSame(holder.get(0).get(5), sut.get("component5"));
+	}
+
+	@Test
+	public void testInvalidateWhileBuilding() {
+		List<OpenemsComponent> components = createComponents(3);
+		OpenemsComponent removed = components.get(1);
+		ComponentIndex sut = new ComponentIndex(() -> components);
+		AtomicBoolean armed = new AtomicBoolean(false);
+		// deactivates a Component while the index is being built
+		components.add(0, new DummyComponent("trigger") {
+			@Override
+			public String id() {
+				if (armed.getAndSet(false)) {
+					components.remove(removed);
+					sut.invalidate();
+				}
+				return super.id();
+			}
+		});
+		armed.set(true);
+
+		// the first index might still contain the deactivated Component...
+		sut.get("component0");
+
+		// ...but it is never used again
+		assertNull(sut.get("component1"));
+	}
+
+	@Test
+	public void testChannelAddress() {
+		DummyComponent component = new DummyComponent("component0");
+		ChannelAddress address = component.getState().address();
+		assertEquals(new ChannelAddress("component0", "State"), address);
+		assertSame(address, component.getState().address());
+
+		component.setId("component1");
+		assertEquals(new ChannelAddress("component1", "State"), component.getState().address());
+	}
+
+	/**
+	 * Compares the lookups per second of the index with the previous linear
+	 * search.
+	 *
+	 * <p>
+	 * This takes a few seconds and the numbers depend on the machine; uncomment
+	 * the "@Test" annotation to run it.
+	 */
+	// @Test
+	public void benchmarkLookup() {
+		for (int count : new int[] { 50, 200, 1000 }) {
+			List<OpenemsComponent> components = createComponents(count);
+			ComponentIndex sut = new ComponentIndex(() -> components);
+			String[] ids = new String[count];
+			for (int i = 0; i < count; i++) {
+				ids[i] = "component" + i;
+			}
+			final int lookups = 2_000_000;
+
+			// Warm-up
+			lookupLinear(components, ids, lookups / 10);
+			lookupIndex(sut, ids, lookups / 10);
+
+			long start = System.nanoTime();
+			lookupLinear(components, ids, lookups / 10);
+			double linear = lookups / 10 / ((System.nanoTime() - start) / 1e9);
+
+			start = System.nanoTime();
+			lookupIndex(sut, ids, lookups);
+			double index = lookups / ((System.nanoTime() - start) / 1e9);
+
+			System.out.println(String.format("Lookup in [%d] Components: linear [%,.0f/s] index [%,.0f/s]", count,
+					linear, index));
+		}
+	}
+
+	private static int lookupLinear(List<OpenemsComponent> components, String[] ids, int lookups) {
+		int found = 0;
+		for (int i = 0; i < lookups; i++) {
+			String id = ids[i % ids.length];
+			for (OpenemsComponent component : components) {
+				if (component.id().equals(id)) {
+					found++;
+					break;
+				}
+			}
+		}
+		return found;
+	}
+
+	private static int lookupIndex(ComponentIndex index, String[] ids, int lookups) {
+		int found = 0;
+		for (int i = 0; i < lookups; i++) {
+			if (index.get(ids[i % ids.length]) != null) {
+				found++;
+			}
+		}
+		return found;
+	}
+
+}
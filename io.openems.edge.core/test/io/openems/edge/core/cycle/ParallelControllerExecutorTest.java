@@ -0,0 +1,138 @@
+package io.openems.edge.core.cycle;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import io.openems.edge.common.component.AbstractOpenemsComponent;
+import io.openems.edge.common.component.OpenemsComponent;
+import io.openems.edge.controller.api.Controller;
+import io.openems.edge.controller.api.ControllerDependencies;
+
+public class ParallelControllerExecutorTest {
+
+	private static class DummyController extends AbstractOpenemsComponent implements Controller {
+
+		private final ControllerDependencies dependencies;
+
+		public DummyController(String id, ControllerDependencies dependencies) {
+			super(OpenemsComponent.ChannelId.values(), Controller.ChannelId.values());
+			super.activate(null, id, "", true);
+			this.dependencies = dependencies;
+		}
+
+		@Override
+		public void run() {
+		}
+
+		@Override
+		public ControllerDependencies getDependencies() {
+			return this.dependencies;
+		}
+	}
+
+	private static ControllerDependencies writes(String id) {
+		return ControllerDependencies.create().writes(id).build();
+	}
+
+	@Test
+	public void testPriorityOrderOfConflictingControllers() {
+		ParallelControllerExecutor sut = new ParallelControllerExecutor(4);
+		try {
+			List<Controller> controllers = Arrays.asList(//
+					new DummyController("ctrl0", writes("_power")), //
+					new DummyController("ctrl1", writes("io0")), //
+					new DummyController("ctrl2", writes("_power")), //
+					new DummyController("ctrl3", ControllerDependencies.UNKNOWN), //
+					new DummyController("ctrl4", writes("_power")));
+			for (int i = 0; i < 20; i++) {
+				List<String> order = new CopyOnWriteArrayList<>();
+				sut.execute(controllers, controller -> {
+					try {
+						// give later Controllers the chance to overtake
+						Thread.sleep(controller.id().equals("ctrl0") ? 5 : 0);
+					} catch (InterruptedException e) {
+						throw new IllegalStateException(e);
+					}
+					order.add(controller.id());
+				});
+
+				assertEquals(5, order.size());
+				// '_power' Controllers keep the priority order
+				assertTrue(order.indexOf("ctrl0") < order.indexOf("ctrl2"));
+				assertTrue(order.indexOf("ctrl2") < order.indexOf("ctrl4"));
+				// UNKNOWN conflicts with every other Controller
+				assertTrue(order.indexOf("ctrl0") < order.indexOf("ctrl3"));
+				assertTrue(order.indexOf("ctrl1") < order.indexOf("ctrl3"));
+				assertTrue(order.indexOf("ctrl2") < order.indexOf("ctrl3"));
+				assertTrue(order.indexOf("ctrl3") < order.indexOf("ctrl4"));
+			}
+		} finally {
+			sut.shutdown();
+		}
+	}
+
+	@Test
+	public void testIndependentControllersRunInParallel() {
+		ParallelControllerExecutor sut = new ParallelControllerExecutor(2);
+		try {
+			List<Controller> controllers = Arrays.asList(//
+					new DummyController("ctrl0", writes("io0")), //
+					new DummyController("ctrl1", writes("io1")));
+			// both Controllers need to run at the same time to pass the latch
+			CountDownLatch bothStarted = new CountDownLatch(2);
+			sut.execute(controllers, controller -> {
+				bothStarted.countDown();
+				try {
+					assertTrue(bothStarted.await(10, TimeUnit.SECONDS));
+				} catch (InterruptedException e) {
+					throw new IllegalStateException(e);
+				}
+			});
+		} finally {
+			sut.shutdown();
+		}
+	}
+
+	@Test
+	public void testDependentsRunAfterFailure() {
+		ParallelControllerExecutor sut = new ParallelControllerExecutor(2);
+		try {
+			List<Controller> controllers = Arrays.asList(//
+					new DummyController("ctrl0", writes("_power")), //
+					new DummyController("ctrl1", writes("_power")), //
+					new DummyController("ctrl2", writes("_power")));
+			List<String> order = new CopyOnWriteArrayList<>();
+			try {
+				sut.execute(controllers, controller -> {
+					order.add(controller.id());
+					if (controller.id().equals("ctrl0")) {
+						throw new IllegalStateException("ctrl0 failed");
+					}
+				});
+				fail("Expected CompletionException");
+			} catch (CompletionException e) {
+				assertEquals("ctrl0 failed", e.getCause().getMessage());
+			}
+			assertEquals(Arrays.asList("ctrl0", "ctrl1", "ctrl2"), order);
+
+			// the executor is still usable
+			order.clear();
+			sut.execute(Collections.singletonList(controllers.get(0)), controller -> order.add(controller.id()));
+			assertEquals(Arrays.asList("ctrl0"), order);
+		} finally {
+			sut.shutdown();
+		}
+	}
+
+}
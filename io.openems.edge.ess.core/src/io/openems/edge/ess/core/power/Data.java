@@ -56,6 +56,22 @@ public class Data {
 
 	private boolean symmetricMode = PowerComponent.DEFAULT_SYMMETRIC_MODE;
 
+	/**
+	 * Is increased whenever the structure of the problem changes, i.e. an Ess is
+	 * added or removed or the symmetric mode is changed.
+	 */
+	private int revision = 0;
+
+	/**
+	 * Is increased whenever the Constraints change.
+	 */
+	private int constraintsRevision = 0;
+
+	/**
+	 * Caches the structural Constraints; null if they need to be recreated.
+	 */
+	private List<Constraint> structuralConstraints = null;
+
 	public Data(PowerComponent parent) {
 		this.parent = parent;
 		this.apparentPowerConstraintFactory = new ApparentPowerConstraintFactory(this);
@@ -73,6 +89,7 @@ public class Data {
 		this.invertersUpdateWeights(this.inverters);
 		Data.invertersSortByWeights(this.inverters);
 		this.coefficients.initialize(this.essIds);
+		this.onStructureChanged();
 	}
 
 	protected synchronized void removeEss(String essId) {
@@ -87,11 +104,73 @@ public class Data {
 			}
 		}
 		this.coefficients.initialize(this.essIds);
+		this.onStructureChanged();
+	}
+
+	private synchronized void onStructureChanged() {
+		this.revision++;
+		this.structuralConstraints = null;
+		this.onConstraintsChanged();
+	}
+
+	private synchronized void onConstraintsChanged() {
+		this.constraintsRevision++;
+	}
+
+	/**
+	 * Signals that the Channel values of the Ess - like AllowedCharge or
+	 * MaxApparentPower - might have changed, i.e. the process image was switched.
+	 */
+	public synchronized void onProcessImageSwitched() {
+		this.onConstraintsChanged();
+	}
+
+	/**
+	 * Gets the revision of the Constraints. It changes whenever a Constraint is
+	 * added or removed, on {@link #initializeCycle()}, on
+	 * {@link #onProcessImageSwitched()} and whenever {@link #getRevision()}
+	 * changes.
+	 * 
+	 * @return the revision
+	 */
+	public synchronized int getConstraintsRevision() {
+		return this.constraintsRevision;
+	}
+
+	/**
+	 * Gets the revision of the structure of the problem. It changes whenever an Ess
+	 * is added or removed or the symmetric mode is changed.
+	 * 
+	 * @return the revision
+	 */
+	public synchronized int getRevision() {
+		return this.revision;
+	}
+
+	/**
+	 * Gets the structural Constraints, i.e. the Constraints that only depend on the
+	 * Ess configuration. They are created once and reused until
+	 * {@link #getRevision()} changes.
+	 * 
+	 * @return an unmodifiable List of Constraints
+	 * @throws OpenemsException on error
+	 */
+	public synchronized List<Constraint> getStructuralConstraints() throws OpenemsException {
+		if (this.structuralConstraints == null) {
+			List<Constraint> result = new ArrayList<>();
+			result.addAll(this.createClusterConstraints());
+			result.addAll(this.createSumOfPhasesConstraints(Collections.emptyList()));
+			result.addAll(this.createSymmetricEssConstraints());
+			result.addAll(this.createSinglePhaseEssConstraints());
+			this.structuralConstraints = Collections.unmodifiableList(result);
+		}
+		return this.structuralConstraints;
 	}
 
 	public void setSymmetricMode(boolean symmetricMode) {
 		if (this.symmetricMode != symmetricMode) {
 			this.symmetricMode = symmetricMode;
+			this.onStructureChanged();
 			this.initializeCycle(); // because SymmetricEssConstraints need to be renewed
 		}
 	}
@@ -103,6 +182,7 @@ public class Data {
 	public synchronized void initializeCycle() {
 		// Remove Constraints of last Cycle
 		this.constraints.clear();
+		this.onConstraintsChanged();
 		// Update sorting of Inverters
 		this.invertersUpdateWeights(this.inverters);
 		Data.invertersAdjustSortingByWeights(this.inverters);
@@ -110,15 +190,18 @@ public class Data {
 
 	public void addConstraint(Constraint constraint) {
 		this.constraints.add(constraint);
+		this.onConstraintsChanged();
 	}
 
 	public void removeConstraint(Constraint constraint) {
-		this.constraints.remove(constraint);
+		if (this.constraints.remove(constraint)) {
+			this.onConstraintsChanged();
+		}
 	}
 
 	public void addSimpleConstraint(String description, String essId, Phase phase, Pwr pwr, Relationship relationship,
 			double value) throws OpenemsException {
-		this.constraints.add(this.createSimpleConstraint(description, essId, phase, pwr, relationship, value));
+		this.addConstraint(this.createSimpleConstraint(description, essId, phase, pwr, relationship, value));
 	}
 
 	public Coefficients getCoefficients() {
@@ -165,10 +248,7 @@ public class Data {
 				this.createDisableConstraintsForInactiveInverters(disabledInverters).stream(),
 				this.createGenericEssConstraints().stream(), //
 				this.createStaticEssConstraints().stream(), //
-				this.createClusterConstraints().stream(), //
-				this.createSumOfPhasesConstraints(disabledInverters).stream(), //
-				this.createSymmetricEssConstraints().stream(), //
-				this.createSinglePhaseEssConstraints().stream(), //
+				this.getStructuralConstraints().stream(), //
 				this.constraints.stream()).collect(Collectors.toList());
 	}
 
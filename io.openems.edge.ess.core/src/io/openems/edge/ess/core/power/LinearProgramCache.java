@@ -0,0 +1,205 @@
+package io.openems.edge.ess.core.power;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.apache.commons.math3.optim.PointValuePair;
+import org.apache.commons.math3.optim.linear.LinearConstraint;
+import org.apache.commons.math3.optim.linear.NoFeasibleSolutionException;
+import org.apache.commons.math3.optim.linear.UnboundedSolutionException;
+import org.apache.commons.math3.optim.nonlinear.scalar.GoalType;
+
+import io.openems.edge.ess.power.api.Constraint;
+
+/**
+ * Caches the linear programs of the {@link Solver}.
+ *
+ * <ul>
+ * <li>The {@link LinearConstraint}s of the structural Constraints of
+ * {@link Data} (see {@link Data#getStructuralConstraints()}) are converted only
+ * once per {@link Data#getRevision()}.
+ * <li>The results of recently solved linear programs are kept. Apache Commons
+ * Math SimplexSolver cannot be warm-started from a previous basis, so a linear
+ * program that is equal to a recently solved one is answered from the cache
+ * instead - including 'no feasible solution' and 'unbounded solution' results.
+ * </ul>
+ */
+public class LinearProgramCache {
+
+	/**
+	 * The maximum number of cached results.
+	 */
+	public static final int MAX_RESULTS = 64;
+
+	private final Map<Constraint, LinearConstraint> structuralConstraints = new IdentityHashMap<>();
+	private final Map<Problem, Result> results = new LinkedHashMap<Problem, Result>(MAX_RESULTS, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Entry<Problem, Result> eldest) {
+			return this.size() > MAX_RESULTS;
+		}
+	};
+
+	private int revision = -1;
+	private long hits = 0;
+	private long misses = 0;
+
+	/**
+	 * Updates the cached structural {@link LinearConstraint}s if {@link Data} was
+	 * changed since the last call.
+	 *
+	 * @param revision              the current {@link Data#getRevision()}
+	 * @param structuralConstraints the current structural Constraints
+	 * @param converter             converts the structural Constraints
+	 */
+	public synchronized void update(int revision, List<Constraint> structuralConstraints,
+			Function<List<Constraint>, List<LinearConstraint>> converter) {
+		if (this.revision == revision) {
+			return;
+		}
+		this.revision = revision;
+		this.structuralConstraints.clear();
+		this.results.clear();
+		List<LinearConstraint> linearConstraints = converter.apply(structuralConstraints);
+		if (linearConstraints.size() != structuralConstraints.size()) {
+			// Constraints without value are not converted -> do not cache
+			return;
+		}
+		for (int i = 0; i < structuralConstraints.size(); i++) {
+			this.structuralConstraints.put(structuralConstraints.get(i), linearConstraints.get(i));
+		}
+	}
+
+	/**
+	 * Gets the cached {@link LinearConstraint} for a structural Constraint.
+	 *
+	 * @param constraint the Constraint
+	 * @return the {@link LinearConstraint}; null if the Constraint is not a cached
+	 *         structural Constraint
+	 */
+	public synchronized LinearConstraint getLinearConstraint(Constraint constraint) {
+		return this.structuralConstraints.get(constraint);
+	}
+
+	/**
+	 * Solves the linear program or gets the result from the cache.
+	 *
+	 * @param objective   the coefficients of the objective function
+	 * @param goal        the {@link GoalType}
+	 * @param constraints the {@link LinearConstraint}s
+	 * @param solver      solves the linear program on a cache miss
+	 * @return the solution
+	 * @throws NoFeasibleSolutionException if not solvable
+	 * @throws UnboundedSolutionException  if not solvable
+	 */
+	public PointValuePair solve(double[] objective, GoalType goal, List<LinearConstraint> constraints,
+			Supplier<PointValuePair> solver) throws NoFeasibleSolutionException, UnboundedSolutionException {
+		Problem problem = new Problem(objective, goal, constraints);
+		Result result;
+		synchronized (this) {
+			result = this.results.get(problem);
+			if (result != null) {
+				this.hits++;
+			} else {
+				this.misses++;
+			}
+		}
+
+		if (result == null) {
+			try {
+				result = new Result(solver.get(), null);
+			} catch (NoFeasibleSolutionException | UnboundedSolutionException e) {
+				result = new Result(null, e);
+			}
+			synchronized (this) {
+				this.results.put(problem, result);
+			}
+		}
+
+		if (result.exception instanceof NoFeasibleSolutionException) {
+			throw new NoFeasibleSolutionException();
+		} else if (result.exception instanceof UnboundedSolutionException) {
+			throw new UnboundedSolutionException();
+		}
+		return result.solution;
+	}
+
+	/**
+	 * Gets the number of linear programs that were answered from the cache.
+	 *
+	 * @return the number of cache hits
+	 */
+	public synchronized long getHits() {
+		return this.hits;
+	}
+
+	/**
+	 * Gets the number of linear programs that had to be solved.
+	 *
+	 * @return the number of cache misses
+	 */
+	public synchronized long getMisses() {
+		return this.misses;
+	}
+
+	/**
+	 * A linear program.
+	 */
+	private static class Problem {
+
+		private final double[] objective;
+		private final GoalType goal;
+		private final List<LinearConstraint> constraints;
+		private final int hashCode;
+
+		private Problem(double[] objective, GoalType goal, List<LinearConstraint> constraints) {
+			this.objective = objective;
+			this.goal = goal;
+			this.constraints = constraints;
+			this.hashCode = Objects.hash(Arrays.hashCode(objective), goal, constraints);
+		}
+
+		@Override
+		public int hashCode() {
+			return this.hashCode;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof Problem)) {
+				return false;
+			}
+			Problem other = (Problem) obj;
+			return this.hashCode == other.hashCode //
+					&& this.goal == other.goal //
+					&& Arrays.equals(this.objective, other.objective) //
+					&& this.constraints.equals(other.constraints);
+		}
+	}
+
+	/**
+	 * The result of a linear program; either a solution or an exception.
+	 */
+	private static class Result {
+
+		private final PointValuePair solution;
+		private final RuntimeException exception;
+
+		private Result(PointValuePair solution, RuntimeException exception) {
+			this.solution = solution;
+			this.exception = exception;
+		}
+	}
+
+}
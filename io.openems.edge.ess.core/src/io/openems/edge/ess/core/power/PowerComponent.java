@@ -1,5 +1,6 @@
 package io.openems.edge.ess.core.power;
 
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -17,9 +18,6 @@ import org.osgi.service.component.annotations.Reference;
 import org.osgi.service.component.annotations.ReferenceCardinality;
 import org.osgi.service.component.annotations.ReferencePolicy;
 import org.osgi.service.component.annotations.ReferencePolicyOption;
-import org.osgi.service.event.Event;
-import org.osgi.service.event.EventConstants;
-import org.osgi.service.event.EventHandler;
 import org.osgi.service.metatype.annotations.Designate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -34,7 +32,8 @@ import io.openems.edge.common.channel.IntegerReadChannel;
 import io.openems.edge.common.channel.StateChannel;
 import io.openems.edge.common.component.AbstractOpenemsComponent;
 import io.openems.edge.common.component.OpenemsComponent;
-import io.openems.edge.common.event.EdgeEventConstants;
+import io.openems.edge.common.event.CycleEvent;
+import io.openems.edge.common.event.CycleListener;
 import io.openems.edge.common.filter.PidFilter;
 import io.openems.edge.ess.api.ManagedSymmetricEss;
 import io.openems.edge.ess.power.api.Coefficient;
@@ -54,11 +53,9 @@ import io.openems.edge.ess.power.api.SolverStrategy;
 		configurationPolicy = ConfigurationPolicy.OPTIONAL, //
 		property = { //
 				"id=_power", //
-				"enabled=true", //
-				EventConstants.EVENT_TOPIC + "=" + EdgeEventConstants.TOPIC_CYCLE_BEFORE_WRITE, //
-				EventConstants.EVENT_TOPIC + "=" + EdgeEventConstants.TOPIC_CYCLE_AFTER_WRITE //
+				"enabled=true" //
 		})
-public class PowerComponent extends AbstractOpenemsComponent implements OpenemsComponent, EventHandler, Power {
+public class PowerComponent extends AbstractOpenemsComponent implements OpenemsComponent, CycleListener, Power {
 
 	public enum ChannelId implements io.openems.edge.common.channel.ChannelId {
 		/**
@@ -258,14 +255,25 @@ public class PowerComponent extends AbstractOpenemsComponent implements OpenemsC
 	}
 
 	@Override
-	public void handleEvent(Event event) {
-		switch (event.getTopic()) {
-		case EdgeEventConstants.TOPIC_CYCLE_BEFORE_WRITE:
+	public EnumSet<CycleEvent> getCycleEvents() {
+		return EnumSet.of(CycleEvent.AFTER_PROCESS_IMAGE, CycleEvent.BEFORE_WRITE, CycleEvent.AFTER_WRITE);
+	}
+
+	@Override
+	public void onCycleEvent(CycleEvent event) {
+		switch (event) {
+		case AFTER_PROCESS_IMAGE:
+			// Ess Channel values changed; cached extrema are outdated
+			this.data.onProcessImageSwitched();
+			break;
+		case BEFORE_WRITE:
 			this.solver.solve();
 			break;
-		case EdgeEventConstants.TOPIC_CYCLE_AFTER_WRITE:
+		case AFTER_WRITE:
 			this.data.initializeCycle();
 			break;
+		default:
+			break;
 		}
 	}
 
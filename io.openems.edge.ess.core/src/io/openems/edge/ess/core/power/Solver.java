@@ -1,6 +1,7 @@
 package io.openems.edge.ess.core.power;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -48,6 +49,14 @@ public class Solver {
 	private final Logger log = LoggerFactory.getLogger(Solver.class);
 
 	private final Data data;
+	private final LinearProgramCache cache = new LinearProgramCache();
+
+	/**
+	 * Caches the results of {@link #getActivePowerExtrema(String, Phase, Pwr,
+	 * GoalType)} as long as {@link Data#getConstraintsRevision()} does not change.
+	 */
+	private final Map<String, Double> activePowerExtrema = new HashMap<>();
+	private int activePowerExtremaRevision = -1;
 
 	private boolean debugMode = PowerComponent.DEFAULT_DEBUG_MODE;
 	private SolverStrategy strategy = PowerComponent.DEFAULT_SOLVER_STRATEGY;
@@ -96,7 +105,44 @@ public class Solver {
 		}
 	}
 
+	/**
+	 * Gets the minimum or maximum value of a Coefficient under the current
+	 * Constraints.
+	 * 
+	 * <p>
+	 * Results are cached till the Constraints of {@link Data} change, so repeated
+	 * requests within one Cycle do not solve the linear program again.
+	 * 
+	 * @param essId the Ess-ID
+	 * @param phase the {@link Phase}
+	 * @param pwr   the {@link Pwr}
+	 * @param goal  MAXIMIZE or MINIMIZE
+	 * @return the extreme value
+	 */
 	public double getActivePowerExtrema(String essId, Phase phase, Pwr pwr, GoalType goal) {
+		String key = essId + "/" + phase.name() + "/" + pwr.name() + "/" + goal.name();
+		int revision = this.data.getConstraintsRevision();
+		synchronized (this.activePowerExtrema) {
+			if (this.activePowerExtremaRevision != revision) {
+				this.activePowerExtrema.clear();
+				this.activePowerExtremaRevision = revision;
+			}
+			Double result = this.activePowerExtrema.get(key);
+			if (result != null) {
+				return result;
+			}
+		}
+
+		double result = this.calculateActivePowerExtrema(essId, phase, pwr, goal);
+		synchronized (this.activePowerExtrema) {
+			if (this.activePowerExtremaRevision == revision) {
+				this.activePowerExtrema.put(key, result);
+			}
+		}
+		return result;
+	}
+
+	private double calculateActivePowerExtrema(String essId, Phase phase, Pwr pwr, GoalType goal) {
 		// prepare objective function
 		int index;
 		try {
@@ -107,7 +153,6 @@ public class Solver {
 		}
 		double[] cos = Solver.getEmptyCoefficients(data);
 		cos[index] = 1;
-		LinearObjectiveFunction objectiveFunction = new LinearObjectiveFunction(cos, 0);
 
 		// get Constraints
 		List<Constraint> allConstraints;
@@ -118,16 +163,10 @@ public class Solver {
 			return 0;
 		}
 
-		LinearConstraintSet constraints = new LinearConstraintSet(
-				Solver.convertToLinearConstraints(this.data, allConstraints));
+		List<LinearConstraint> constraints = this.convertToLinearConstraints(allConstraints);
 
-		SimplexSolver solver = new SimplexSolver();
 		try {
-			PointValuePair solution = solver.optimize(//
-					objectiveFunction, //
-					constraints, //
-					goal, //
-					PivotSelectionRule.BLAND);
+			PointValuePair solution = this.optimize(cos, constraints, goal);
 			return solution.getPoint()[index];
 		} catch (UnboundedSolutionException e) {
 			if (this.debugMode) {
@@ -311,8 +350,7 @@ public class Solver {
 	 */
 	private void addConstraintsForNotStrictlyDefinedCoefficients(List<Inverter> allInverters,
 			List<Constraint> allConstraints) throws OpenemsException {
-		LinearConstraintSet constraints = new LinearConstraintSet(
-				Solver.convertToLinearConstraints(this.data, allConstraints));
+		List<LinearConstraint> constraints = this.convertToLinearConstraints(allConstraints);
 
 		for (Pwr pwr : Pwr.values()) {
 			// prepare objective function
@@ -321,17 +359,11 @@ public class Solver {
 				Coefficient c = this.data.getCoefficient(inv.getEssId(), inv.getPhase(), pwr);
 				cos[c.getIndex()] = 1;
 			}
-			LinearObjectiveFunction objectiveFunction = new LinearObjectiveFunction(cos, 0);
 
 			// get Max value over all relevant Coefficients
 			double max;
 			try {
-				SimplexSolver solver = new SimplexSolver();
-				PointValuePair solution = solver.optimize(//
-						objectiveFunction, //
-						constraints, //
-						GoalType.MAXIMIZE, //
-						PivotSelectionRule.BLAND);
+				PointValuePair solution = this.optimize(cos, constraints, GoalType.MAXIMIZE);
 				max = 0d;
 				for (Inverter inv : allInverters) {
 					Coefficient c = this.data.getCoefficient(inv.getEssId(), inv.getPhase(), pwr);
@@ -343,12 +375,7 @@ public class Solver {
 			// get Min value over all relevant Coefficients
 			double min;
 			try {
-				SimplexSolver solver = new SimplexSolver();
-				PointValuePair solution = solver.optimize(//
-						objectiveFunction, //
-						constraints, //
-						GoalType.MINIMIZE, //
-						PivotSelectionRule.BLAND);
+				PointValuePair solution = this.optimize(cos, constraints, GoalType.MINIMIZE);
 				min = 0d;
 				for (Inverter inv : allInverters) {
 					Coefficient c = this.data.getCoefficient(inv.getEssId(), inv.getPhase(), pwr);
@@ -785,7 +812,7 @@ public class Solver {
 	 */
 	private PointValuePair solveWithConstraints(List<Constraint> constraints)
 			throws NoFeasibleSolutionException, UnboundedSolutionException {
-		List<LinearConstraint> linearConstraints = Solver.convertToLinearConstraints(this.data, constraints);
+		List<LinearConstraint> linearConstraints = this.convertToLinearConstraints(constraints);
 		return this.solveWithLinearConstraints(linearConstraints);
 	}
 
@@ -799,14 +826,71 @@ public class Solver {
 	 */
 	private PointValuePair solveWithLinearConstraints(List<LinearConstraint> constraints)
 			throws NoFeasibleSolutionException, UnboundedSolutionException {
-		LinearObjectiveFunction objectiveFunction = Solver.getDefaultObjectiveFunction(this.data);
-
-		SimplexSolver solver = new SimplexSolver();
-		return solver.optimize(//
-				objectiveFunction, //
-				new LinearConstraintSet(constraints), //
-				GoalType.MINIMIZE, //
-				PivotSelectionRule.BLAND);
+		double[] cos = Solver.getEmptyCoefficients(this.data);
+		Arrays.fill(cos, 1);
+		return this.optimize(cos, constraints, GoalType.MINIMIZE);
+	}
+
+	/**
+	 * Optimizes the objective function under the given LinearConstraints. Equal
+	 * linear programs are answered by the {@link LinearProgramCache}.
+	 * 
+	 * @param objective   the coefficients of the objective function
+	 * @param constraints a list of LinearConstraints
+	 * @param goal        the {@link GoalType}
+	 * @return a solution
+	 * @throws NoFeasibleSolutionException if not solvable
+	 * @throws UnboundedSolutionException  if not solvable
+	 */
+	private PointValuePair optimize(double[] objective, List<LinearConstraint> constraints, GoalType goal)
+			throws NoFeasibleSolutionException, UnboundedSolutionException {
+		return this.cache.solve(objective, goal, constraints, () -> {
+			SimplexSolver solver = new SimplexSolver();
+			return solver.optimize(//
+					new LinearObjectiveFunction(objective, 0), //
+					new LinearConstraintSet(constraints), //
+					goal, //
+					PivotSelectionRule.BLAND);
+		});
+	}
+
+	/**
+	 * Converts the Constraints to LinearConstraints. The LinearConstraints of the
+	 * structural Constraints of {@link Data} are taken from the
+	 * {@link LinearProgramCache}.
+	 * 
+	 * @param constraints a list of Constraints
+	 * @return a list of LinearConstraints
+	 */
+	private List<LinearConstraint> convertToLinearConstraints(List<Constraint> constraints) {
+		try {
+			this.cache.update(this.data.getRevision(), this.data.getStructuralConstraints(),
+					structuralConstraints -> Solver.convertToLinearConstraints(this.data, structuralConstraints));
+		} catch (OpenemsException e) {
+			// structural Constraints are converted below, together with all others
+		}
+
+		List<LinearConstraint> result = new ArrayList<>(constraints.size());
+		List<Constraint> others = new ArrayList<>();
+		for (Constraint c : constraints) {
+			LinearConstraint linearConstraint = this.cache.getLinearConstraint(c);
+			if (linearConstraint != null) {
+				result.add(linearConstraint);
+			} else {
+				others.add(c);
+			}
+		}
+		result.addAll(Solver.convertToLinearConstraints(this.data, others));
+		return result;
+	}
+
+	/**
+	 * Gets the {@link LinearProgramCache}.
+	 * 
+	 * @return the cache
+	 */
+	protected LinearProgramCache getCache() {
+		return this.cache;
 	}
 
 	/**
@@ -5,9 +5,16 @@ import static org.junit.Assert.assertEquals;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.apache.commons.math3.optim.PointValuePair;
+import org.apache.commons.math3.optim.linear.LinearConstraint;
+import org.apache.commons.math3.optim.linear.LinearConstraintSet;
+import org.apache.commons.math3.optim.linear.LinearObjectiveFunction;
+import org.apache.commons.math3.optim.linear.PivotSelectionRule;
+import org.apache.commons.math3.optim.linear.SimplexSolver;
 import org.apache.commons.math3.optim.nonlinear.scalar.GoalType;
 import org.junit.Test;
 
+import io.openems.common.exceptions.OpenemsException;
 import io.openems.edge.ess.api.ManagedSymmetricEss;
 import io.openems.edge.ess.core.power.Solver.TargetDirection;
 import io.openems.edge.ess.power.api.Inverter;
@@ -358,4 +365,144 @@ public class SolverTest {
 		d.initializeCycle();
 
 	}
+
+	@Test
+	public void testLinearProgramCache() throws Exception {
+		ManagedSymmetricEss[] esss = prepareEssCluster();
+		Data d = prepareData(esss);
+		Solver s = new Solver(d);
+		d.addSimpleConstraint("", "ess0", Phase.ALL, Pwr.ACTIVE, Relationship.EQUALS, 3000);
+
+		// First calculation solves the linear programs
+		double max = s.getActivePowerExtrema("ess1", Phase.ALL, Pwr.ACTIVE, GoalType.MAXIMIZE);
+		assertEquals(0, s.getCache().getHits());
+		assertEquals(1, s.getCache().getMisses());
+
+		// Same problem in the next process image is answered from the cache
+		d.onProcessImageSwitched();
+		assertEquals(max, s.getActivePowerExtrema("ess1", Phase.ALL, Pwr.ACTIVE, GoalType.MAXIMIZE), 0.001);
+		assertEquals(1, s.getCache().getHits());
+		assertEquals(1, s.getCache().getMisses());
+
+		// Same result as a Solver without cached results
+		assertEquals(new Solver(d).getActivePowerExtrema("ess1", Phase.ALL, Pwr.ACTIVE, GoalType.MAXIMIZE), max,
+				0.001);
+
+		// Changed problem is solved again
+		d.initializeCycle();
+		d.addSimpleConstraint("", "ess0", Phase.ALL, Pwr.ACTIVE, Relationship.EQUALS, 2000);
+		s.getActivePowerExtrema("ess1", Phase.ALL, Pwr.ACTIVE, GoalType.MAXIMIZE);
+		assertEquals(1, s.getCache().getHits());
+		assertEquals(2, s.getCache().getMisses());
+	}
+
+	@Test
+	public void testActivePowerExtremaCache() throws Exception {
+		ManagedSymmetricEss[] esss = prepareEssCluster();
+		Data d = prepareData(esss);
+		Solver s = new Solver(d);
+
+		double max = s.getActivePowerExtrema("ess0", Phase.ALL, Pwr.ACTIVE, GoalType.MAXIMIZE);
+		long misses = s.getCache().getMisses();
+		long hits = s.getCache().getHits();
+
+		// Repeated request within the Cycle does not touch the linear program
+		assertEquals(max, s.getActivePowerExtrema("ess0", Phase.ALL, Pwr.ACTIVE, GoalType.MAXIMIZE), 0.001);
+		assertEquals(misses, s.getCache().getMisses());
+		assertEquals(hits, s.getCache().getHits());
+
+		// Adding a Constraint invalidates the cached extrema
+		d.addSimpleConstraint("", "ess0", Phase.ALL, Pwr.ACTIVE, Relationship.LESS_OR_EQUALS, 1000);
+		assertEquals(1000, s.getActivePowerExtrema("ess0", Phase.ALL, Pwr.ACTIVE, GoalType.MAXIMIZE), 0.001);
+		assertEquals(misses + 1, s.getCache().getMisses());
+	}
+
+	@Test
+	public void testActivePowerExtremaCacheProcessImage() throws Exception {
+		ManagedSymmetricEssDummy ess1 = new ManagedSymmetricEssDummy("ess1") //
+				.allowedCharge(-9000).allowedDischarge(9000).maxApparentPower(5000);
+		Data d = prepareData(ess1);
+		Solver s = new Solver(d);
+		assertEquals(5000, s.getActivePowerExtrema("ess1", Phase.ALL, Pwr.ACTIVE, GoalType.MAXIMIZE), 0.001);
+
+		// Changed Channel values are considered after the process image switch
+		ess1.maxApparentPower(3000);
+		d.onProcessImageSwitched();
+		assertEquals(3000, s.getActivePowerExtrema("ess1", Phase.ALL, Pwr.ACTIVE, GoalType.MAXIMIZE), 0.001);
+	}
+
+	/**
+	 * Compares the Solver using the {@link LinearProgramCache} with converting
+	 * the Constraints and solving every linear program from scratch, like the
+	 * Solver did before.
+	 *
+	 * <p>
+	 * The timings depend on the machine, so they are only printed. This benchmark
+	 * is not part of the default run; uncomment the "@Test" annotation to run it.
+	 *
+	 * @throws Exception on error
+	 */
+	// @Test
+	public void benchmarkLinearProgramCache() throws Exception {
+		final int cycles = 2_000;
+		final String[] essIds = { "ess0", "ess1", "ess2" };
+		Data d = prepareData(prepareEssCluster());
+		Solver s = new Solver(d);
+
+		// warm up
+		for (int i = 0; i < cycles; i++) {
+			nextBenchmarkCycle(d, i);
+			solveUncached(d, "ess0", GoalType.MAXIMIZE);
+			s.getActivePowerExtrema("ess0", Phase.ALL, Pwr.ACTIVE, GoalType.MAXIMIZE);
+		}
+
+		long start = System.nanoTime();
+		double uncachedSum = 0;
+		for (int i = 0; i < cycles; i++) {
+			nextBenchmarkCycle(d, i);
+			for (String essId : essIds) {
+				uncachedSum += solveUncached(d, essId, GoalType.MAXIMIZE);
+				uncachedSum += solveUncached(d, essId, GoalType.MINIMIZE);
+			}
+		}
+		long uncachedNanos = System.nanoTime() - start;
+
+		start = System.nanoTime();
+		double cachedSum = 0;
+		for (int i = 0; i < cycles; i++) {
+			nextBenchmarkCycle(d, i);
+			for (String essId : essIds) {
+				cachedSum += s.getActivePowerExtrema(essId, Phase.ALL, Pwr.ACTIVE, GoalType.MAXIMIZE);
+				cachedSum += s.getActivePowerExtrema(essId, Phase.ALL, Pwr.ACTIVE, GoalType.MINIMIZE);
+			}
+		}
+		long cachedNanos = System.nanoTime() - start;
+
+		assertEquals(uncachedSum, cachedSum, 0.001 * cycles);
+		long solved = (long) cycles * essIds.length * 2;
+		System.out.println("Solver for " + solved + " linear programs: " //
+				+ "uncached [" + uncachedNanos / solved / 1000 + " us each] " //
+				+ "LinearProgramCache [" + cachedNanos / solved / 1000 + " us each] " //
+				+ "hits [" + s.getCache().getHits() + "] misses [" + s.getCache().getMisses() + "]");
+	}
+
+	private static void nextBenchmarkCycle(Data d, int cycle) throws OpenemsException {
+		d.onProcessImageSwitched();
+		d.initializeCycle();
+		// a few recurring setpoints, like a Controller in steady state
+		d.addSimpleConstraint("", "ess0", Phase.ALL, Pwr.ACTIVE, Relationship.LESS_OR_EQUALS, (cycle % 4) * 1000);
+	}
+
+	private static double solveUncached(Data d, String essId, GoalType goal) throws OpenemsException {
+		int index = d.getCoefficient(essId, Phase.ALL, Pwr.ACTIVE).getIndex();
+		double[] cos = Solver.getEmptyCoefficients(d);
+		cos[index] = 1;
+		List<LinearConstraint> constraints = Solver.convertToLinearConstraints(d, d.getConstraintsForAllInverters());
+		PointValuePair solution = new SimplexSolver().optimize(//
+				new LinearObjectiveFunction(cos, 0), //
+				new LinearConstraintSet(constraints), //
+				goal, //
+				PivotSelectionRule.BLAND);
+		return solution.getPoint()[index];
+	}
 }
@@ -20,5 +20,14 @@ import org.osgi.service.metatype.annotations.ObjectClassDefinition;
 	@AttributeDefinition(name = "No. of Cycles", description = "How many Cycles till data is recorded.")
 	int noOfCycles() default RecordWorker.DEFAULT_NO_OF_CYCLES;
 
+	@AttributeDefinition(name = "Backend", description = "How the RRD4J files are accessed.")
+	RrdBackend backend() default RrdBackend.RANDOM_ACCESS_FILE;
+
+	@AttributeDefinition(name = "Max. open databases", description = "How many RRD4J files are kept open between two recordings. Should be at least the number of recorded Channels.")
+	int maxOpenDatabases() default RecordWorker.DEFAULT_MAX_OPEN_DATABASES;
+
+	@AttributeDefinition(name = "Idle timeout [s]", description = "RRD4J files that were not written for this time are closed.")
+	int idleTimeout() default RecordWorker.DEFAULT_IDLE_TIMEOUT_SECONDS;
+
 	String webconsole_configurationFactory_nameHint() default "Timedata RRD4J [{id}]";
 }
\ No newline at end of file
@@ -3,11 +3,13 @@ package io.openems.edge.timedata.rrd4j;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.time.temporal.ChronoUnit;
-import java.util.OptionalDouble;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.concurrent.LinkedBlockingQueue;
-import java.util.function.Function;
-import java.util.function.ToDoubleFunction;
-import java.util.stream.DoubleStream;
+import java.util.concurrent.TimeUnit;
 
 import org.rrd4j.core.RrdDb;
 import org.rrd4j.core.Sample;
@@ -17,18 +19,32 @@ import org.slf4j.LoggerFactory;
 import io.openems.common.channel.AccessMode;
 import io.openems.common.channel.Unit;
 import io.openems.common.types.ChannelAddress;
-import io.openems.common.types.OpenemsType;
 import io.openems.common.worker.AbstractImmediateWorker;
 import io.openems.edge.common.channel.Channel;
 import io.openems.edge.common.component.OpenemsComponent;
+import io.openems.edge.common.type.pastvalues.PastValues;
+import io.openems.edge.common.type.pastvalues.PastValues.Aggregation;
 
 public class RecordWorker extends AbstractImmediateWorker {
 
 	protected static final int DEFAULT_NO_OF_CYCLES = 60;
+	// enough for a typical Edge with ~2000 Channels; below the usual limit of 4096
+	// open file descriptors
+	protected static final int DEFAULT_MAX_OPEN_DATABASES = 2_500;
+	protected static final int DEFAULT_IDLE_TIMEOUT_SECONDS = 5 * 60;
+
+	/**
+	 * The maximum number of Records that are written in one run of
+	 * {@link #forever()}.
+	 */
+	private static final int MAX_BATCH_SIZE = 10_000;
 
 	private final Logger log = LoggerFactory.getLogger(RecordWorker.class);
 	private final Rrd4jTimedata parent;
 	protected int noOfCycles = DEFAULT_NO_OF_CYCLES; // default, is going to be overwritten by config
+	// default, is going to be overwritten by config
+	private RrdDbCache cache = new RrdDbCache(DEFAULT_MAX_OPEN_DATABASES,
+			TimeUnit.SECONDS.toMillis(DEFAULT_IDLE_TIMEOUT_SECONDS));
 
 	// Counts the number of Cycles till data is recorded
 	private int cycleCount = 0;
@@ -50,8 +66,8 @@ public class RecordWorker extends AbstractImmediateWorker {
 	// Record queue
 	private LinkedBlockingQueue<Record> records = new LinkedBlockingQueue<>();
 
-	// keeps the last recorded timestamp
-	private LocalDateTime lastRecordedTimestamp = LocalDateTime.MIN;
+	// keeps the last recorded timestamp; see PastValues#toMillis()
+	private long lastRecordedTimestamp = Long.MIN_VALUE;
 
 	public RecordWorker(Rrd4jTimedata parent) {
 		this.parent = parent;
@@ -75,7 +91,8 @@ public class RecordWorker extends AbstractImmediateWorker {
 
 		// Same second as last run? -> RRD4j can only handle one sample per second per
 		// database. Timestamps are all stored "truncated to seconds".
-		if (recordTimestamp.isEqual(this.lastRecordedTimestamp)) {
+		long recordMillis = PastValues.toMillis(recordTimestamp);
+		if (recordMillis == this.lastRecordedTimestamp) {
 			return;
 		}
 
@@ -88,27 +105,17 @@ public class RecordWorker extends AbstractImmediateWorker {
 					continue;
 				}
 
-				ToDoubleFunction<? super Object> channelMapFunction = this
-						.getChannelMapFunction(channel.channelDoc().getType());
-				Function<DoubleStream, OptionalDouble> channelAggregateFunction = getChannelAggregateFunction(
-						channel.channelDoc().getUnit());
-
-				OptionalDouble value = channelAggregateFunction.apply(//
-						channel.getPastValues() //
-								.tailMap(this.lastRecordedTimestamp, false) // new values since last recording
-								.values().stream() //
-								.map(v -> v.get()) //
-								.filter(v -> v != null) // only not-null values
-								.mapToDouble(channelMapFunction) // convert to double
-				);
-				if (!value.isPresent()) {
+				Aggregation aggregation = getChannelAggregation(channel.channelDoc().getUnit());
+
+				// aggregate the not-null values since last recording
+				double value = aggregation.apply(channel.pastValues(), this.lastRecordedTimestamp);
+				if (Double.isNaN(value)) {
 					// only available channels
 					continue;
 				}
 
 				if (this.records.offer(//
-						new Record(timestamp, channel.address(), channel.channelDoc().getUnit(),
-								value.getAsDouble()))) {
+						new Record(timestamp, channel.address(), channel.channelDoc().getUnit(), value))) {
 					this.parent.getQueueIsFullChannel().setNextValue(false);
 				} else {
 					this.log.warn("Unable to add record [" + channel.address() + "]. Queue is full!");
@@ -116,78 +123,71 @@ public class RecordWorker extends AbstractImmediateWorker {
 				}
 			}
 		}
-		this.lastRecordedTimestamp = recordTimestamp;
+		this.lastRecordedTimestamp = recordMillis;
 		this.triggerNextRun();
 	}
 
 	@Override
-	protected void forever() throws InterruptedException {
-		Record record = this.records.take();
-		try {
-			RrdDb db = this.parent.getRrdDb(record.address, record.unit, record.timestamp - 1);
+	public void deactivate() {
+		super.deactivate();
+		this.cache.closeAll();
+	}
 
-			// Add Sample to RRD4J
-			Sample sample = db.createSample(record.timestamp);
-			sample.setValue(0, record.value);
-			sample.update();
+	@Override
+	protected void forever() throws InterruptedException {
+		Record firstRecord = this.records.poll(1, TimeUnit.MINUTES);
+		if (firstRecord == null) {
+			// nothing to write -> use the time to close unused databases
+			this.cache.evictIdle();
+			return;
+		}
 
-			// Close file
-			db.close();
+		// Drain all available Records and group them per database
+		List<Record> batch = new ArrayList<>();
+		batch.add(firstRecord);
+		this.records.drainTo(batch, MAX_BATCH_SIZE - 1);
+		Map<ChannelAddress, List<Record>> recordsPerDb = new LinkedHashMap<>();
+		for (Record record : batch) {
+			recordsPerDb.computeIfAbsent(record.address, address -> new ArrayList<>()).add(record);
+		}
 
-			this.parent.getUnableToInsertSample().setNextValue(false);
+		boolean unableToInsertSample = false;
+		for (Entry<ChannelAddress, List<Record>> entry : recordsPerDb.entrySet()) {
+			ChannelAddress address = entry.getKey();
+			List<Record> records = entry.getValue();
+			Record first = records.get(0);
+			try {
+				RrdDb db = this.cache.get(address,
+						a -> this.parent.getRrdDb(a, first.unit, first.timestamp - 1));
+
+				// Add Samples to RRD4J; the database is kept open
+				for (Record record : records) {
+					Sample sample = db.createSample(record.timestamp);
+					sample.setValue(0, record.value);
+					sample.update();
+				}
 
-		} catch (Throwable e) {
-			this.parent.getUnableToInsertSample().setNextValue(true);
-			this.parent.logWarn(this.log, "Unable to insert Sample [" + record.address + "] "
-					+ e.getClass().getSimpleName() + ": " + e.getMessage());
+			} catch (Throwable e) {
+				// reopen the database on next access
+				this.cache.invalidate(address);
+				unableToInsertSample = true;
+				this.parent.logWarn(this.log, "Unable to insert Sample [" + address + "] "
+						+ e.getClass().getSimpleName() + ": " + e.getMessage());
+			}
 		}
-	}
+		this.parent.getUnableToInsertSample().setNextValue(unableToInsertSample);
 
-	private static final ToDoubleFunction<? super Object> MAP_BOOLEAN_TO_DOUBLE = (value) -> {
-		return (Boolean) value ? 1d : 0d;
-	};
+		this.cache.evictIdle();
+	}
 
-	private static final ToDoubleFunction<? super Object> MAP_SHORT_TO_DOUBLE = (value) -> {
-		return ((Short) value).doubleValue();
-	};
-	private static final ToDoubleFunction<? super Object> MAP_INTEGER_TO_DOUBLE = (value) -> {
-		return ((Integer) value).doubleValue();
-	};
-	private static final ToDoubleFunction<? super Object> MAP_LONG_TO_DOUBLE = (value) -> {
-		return ((Long) value).doubleValue();
-	};
-	private static final ToDoubleFunction<? super Object> MAP_FLOAT_TO_DOUBLE = (value) -> {
-		return ((Float) value).doubleValue();
+	private static final Aggregation AVERAGE = (pastValues, fromTimestamp) -> {
+		return pastValues.average(fromTimestamp, false);
 	};
-	private static final ToDoubleFunction<? super Object> MAP_DOUBLE_TO_DOUBLE = (value) -> {
-		return (Double) value;
+	private static final Aggregation MAX = (pastValues, fromTimestamp) -> {
+		return pastValues.max(fromTimestamp, false);
 	};
-	private static final ToDoubleFunction<? super Object> MAP_TO_DOUBLE_NOT_SUPPORTED = (value) -> {
-		return 0d;
-	};
-
-	private ToDoubleFunction<? super Object> getChannelMapFunction(OpenemsType openemsType) {
-		switch (openemsType) {
-		case BOOLEAN:
-			return MAP_BOOLEAN_TO_DOUBLE;
-		case SHORT:
-			return MAP_SHORT_TO_DOUBLE;
-		case INTEGER:
-			return MAP_INTEGER_TO_DOUBLE;
-		case LONG:
-			return MAP_LONG_TO_DOUBLE;
-		case FLOAT:
-			return MAP_FLOAT_TO_DOUBLE;
-		case DOUBLE:
-			return MAP_DOUBLE_TO_DOUBLE;
-		case STRING:
-			// Strings are not supported by RRD4J
-			return MAP_TO_DOUBLE_NOT_SUPPORTED;
-		}
-		throw new IllegalArgumentException("Type [" + openemsType + "] is not supported.");
-	}
 
-	private Function<DoubleStream, OptionalDouble> getChannelAggregateFunction(Unit channelUnit) {
+	private static Aggregation getChannelAggregation(Unit channelUnit) {
 		switch (channelUnit) {
 		case AMPERE:
 		case AMPERE_HOURS:
@@ -206,6 +206,7 @@ public class RecordWorker extends AbstractImmediateWorker {
 		case MILLIHERTZ:
 		case MILLIOHM:
 		case MILLISECONDS:
+		case MICROSECONDS:
 		case MILLIVOLT:
 		case MILLIWATT:
 		case MINUTE:
@@ -220,13 +221,13 @@ public class RecordWorker extends AbstractImmediateWorker {
 		case THOUSANDTH:
 		case PERCENT:
 		case ON_OFF:
-			return DoubleStream::average;
+			return AVERAGE;
 		case WATT_HOURS:
 		case KILOWATT_HOURS:
 		case VOLT_AMPERE_HOURS:
 		case VOLT_AMPERE_REACTIVE_HOURS:
 		case KILOVOLT_AMPERE_REACTIVE_HOURS:
-			return DoubleStream::max;
+			return MAX;
 		}
 		throw new IllegalArgumentException("Channel Unit [" + channelUnit + "] is not supported.");
 	}
@@ -235,4 +236,9 @@ public class RecordWorker extends AbstractImmediateWorker {
 		this.noOfCycles = noOfCycles;
 	}
 
+	public void setCache(RrdDbCache cache) {
+		this.cache.closeAll();
+		this.cache = cache;
+	}
+
 }
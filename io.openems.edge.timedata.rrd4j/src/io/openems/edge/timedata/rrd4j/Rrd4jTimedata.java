@@ -12,6 +12,7 @@ import java.util.Set;
 import java.util.SortedMap;
 import java.util.TreeMap;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 import org.osgi.service.component.ComponentContext;
 import org.osgi.service.component.annotations.Activate;
@@ -28,9 +29,9 @@ import org.rrd4j.DsType;
 import org.rrd4j.core.DsDef;
 import org.rrd4j.core.FetchData;
 import org.rrd4j.core.FetchRequest;
+import org.rrd4j.core.RrdBackendFactory;
 import org.rrd4j.core.RrdDb;
 import org.rrd4j.core.RrdDef;
-import org.rrd4j.core.RrdRandomAccessFileBackendFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -68,7 +69,7 @@ public class Rrd4jTimedata extends AbstractOpenemsComponent implements Timedata,
 	private final Logger log = LoggerFactory.getLogger(Rrd4jTimedata.class);
 
 	private final RecordWorker worker;
-	private final RrdRandomAccessFileBackendFactory factory;
+	private RrdBackendFactory factory = null;
 
 	public enum ChannelId implements io.openems.edge.common.channel.ChannelId {
 		QUEUE_IS_FULL(Doc.of(Level.WARNING)), //
@@ -93,7 +94,6 @@ public class Rrd4jTimedata extends AbstractOpenemsComponent implements Timedata,
 				ChannelId.values() //
 		);
 		this.worker = new RecordWorker(this);
-		this.factory = new RrdRandomAccessFileBackendFactory();
 	}
 
 	@Reference
@@ -103,8 +103,13 @@ public class Rrd4jTimedata extends AbstractOpenemsComponent implements Timedata,
 	void activate(ComponentContext context, Config config) throws Exception {
 		super.activate(context, config.id(), config.alias(), config.enabled());
 
+		this.closeFactory();
+		this.factory = config.backend().createFactory();
+
 		if (config.enabled()) {
 			this.worker.setNoOfCycles(config.noOfCycles());
+			this.worker.setCache(new RrdDbCache(config.maxOpenDatabases(),
+					TimeUnit.SECONDS.toMillis(config.idleTimeout())));
 			this.worker.activate(config.id());
 		}
 	}
@@ -112,9 +117,26 @@ public class Rrd4jTimedata extends AbstractOpenemsComponent implements Timedata,
 	@Deactivate
 	protected void deactivate() {
 		this.worker.deactivate();
+		this.closeFactory();
 		super.deactivate();
 	}
 
+	/**
+	 * Closes the {@link RrdBackendFactory}, e.g. to stop the sync threads of the
+	 * NIO backend.
+	 */
+	private synchronized void closeFactory() {
+		if (this.factory == null) {
+			return;
+		}
+		try {
+			this.factory.close();
+		} catch (IOException e) {
+			this.logWarn(this.log, "Unable to close RrdBackendFactory: " + e.getMessage());
+		}
+		this.factory = null;
+	}
+
 	@Override
 	public SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> queryHistoricData(String edgeId,
 			ZonedDateTime fromDate, ZonedDateTime toDate, Set<ChannelAddress> channels, int resolution)
@@ -189,6 +211,10 @@ public class Rrd4jTimedata extends AbstractOpenemsComponent implements Timedata,
 	 * Gets the RRD4j database for the given Channel-Address.
 	 * 
 	 * <p>
+	 * The database is not taken from the RRD4J pool; it is kept open by the
+	 * {@link RrdDbCache} of the {@link RecordWorker} instead.
+	 * 
+	 * <p>
 	 * The predefined RRD4J archives match the requirements of
 	 * {@link CommonTimedataService#calculateResolution(ZonedDateTime, ZonedDateTime)}
 	 * 
@@ -230,7 +256,6 @@ public class Rrd4jTimedata extends AbstractOpenemsComponent implements Timedata,
 
 			return RrdDb.getBuilder() //
 					.setBackendFactory(this.factory) //
-					.usePool() //
 					.setRrdDef(rrdDef) //
 					.build();
 		}
@@ -314,6 +339,7 @@ public class Rrd4jTimedata extends AbstractOpenemsComponent implements Timedata,
 		case MILLIHERTZ:
 		case MILLIOHM:
 		case MILLISECONDS:
+		case MICROSECONDS:
 		case MILLIVOLT:
 		case MILLIWATT:
 		case MINUTE:
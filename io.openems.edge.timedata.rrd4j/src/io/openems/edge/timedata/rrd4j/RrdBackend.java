@@ -0,0 +1,35 @@
+package io.openems.edge.timedata.rrd4j;
+
+import org.rrd4j.core.RrdBackendFactory;
+import org.rrd4j.core.RrdNioBackendFactory;
+import org.rrd4j.core.RrdRandomAccessFileBackendFactory;
+
+public enum RrdBackend {
+	/**
+	 * Reads and writes the files via {@link java.io.RandomAccessFile}.
+	 */
+	RANDOM_ACCESS_FILE {
+		@Override
+		public RrdBackendFactory createFactory() {
+			return new RrdRandomAccessFileBackendFactory();
+		}
+	},
+	/**
+	 * Maps the files to memory via Java NIO; changes are synchronized to disk
+	 * periodically. Recommended in combination with open databases being kept
+	 * open.
+	 */
+	NIO {
+		@Override
+		public RrdBackendFactory createFactory() {
+			return new RrdNioBackendFactory();
+		}
+	};
+
+	/**
+	 * Creates the RRD4J {@link RrdBackendFactory} for this backend.
+	 * 
+	 * @return the {@link RrdBackendFactory}
+	 */
+	public abstract RrdBackendFactory createFactory();
+}
@@ -0,0 +1,199 @@
+package io.openems.edge.timedata.rrd4j;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map.Entry;
+
+import org.rrd4j.core.RrdDb;
+
+import io.openems.common.types.ChannelAddress;
+
+/**
+ * Keeps {@link RrdDb}s open between two recordings.
+ *
+ * <p>
+ * Opening and closing an RRD4J file for every single Sample is expensive -
+ * especially on flash storage. This cache holds up to
+ * {@link #getMaxOpenDatabases()} databases open. If the limit is exceeded, the
+ * least recently used database is closed. Databases that were not used for
+ * longer than the idle timeout are closed by {@link #evictIdle()}.
+ *
+ * <p>
+ * As the RecordWorker writes all Channels one after the other, the limit should
+ * be at least the number of recorded Channels; otherwise every access is a
+ * cache miss.
+ */
+public class RrdDbCache {
+
+	/**
+	 * Opens a {@link RrdDb} on a cache miss.
+	 */
+	@FunctionalInterface
+	public interface Opener {
+
+		/**
+		 * Opens or creates the {@link RrdDb} for the given Channel-Address.
+		 *
+		 * @param address the Channel-Address
+		 * @return the {@link RrdDb}
+		 * @throws IOException        on error
+		 * @throws URISyntaxException on error
+		 */
+		public RrdDb open(ChannelAddress address) throws IOException, URISyntaxException;
+	}
+
+	private static class CachedRrdDb {
+		private final RrdDb db;
+		private long lastAccess;
+
+		private CachedRrdDb(RrdDb db, long lastAccess) {
+			this.db = db;
+			this.lastAccess = lastAccess;
+		}
+	}
+
+	private final int maxOpenDatabases;
+	private final long idleTimeoutMillis;
+	// access-ordered: the first entry is the least recently used
+	private final LinkedHashMap<ChannelAddress, CachedRrdDb> databases = new LinkedHashMap<>(16, 0.75f, true);
+
+	private long hits = 0;
+	private long misses = 0;
+
+	/**
+	 * Creates a {@link RrdDbCache}.
+	 *
+	 * @param maxOpenDatabases  the maximum number of open databases
+	 * @param idleTimeoutMillis databases that were not accessed for this time in
+	 *                          [ms] are closed by {@link #evictIdle()}
+	 */
+	public RrdDbCache(int maxOpenDatabases, long idleTimeoutMillis) {
+		this.maxOpenDatabases = Math.max(1, maxOpenDatabases);
+		this.idleTimeoutMillis = idleTimeoutMillis;
+	}
+
+	/**
+	 * Gets the open {@link RrdDb} for the given Channel-Address or opens it.
+	 *
+	 * <p>
+	 * The returned database must not be closed by the caller.
+	 *
+	 * @param address the Channel-Address
+	 * @param opener  opens the database on a cache miss
+	 * @return the {@link RrdDb}
+	 * @throws IOException        on error
+	 * @throws URISyntaxException on error
+	 */
+	public synchronized RrdDb get(ChannelAddress address, Opener opener) throws IOException, URISyntaxException {
+		long now = System.currentTimeMillis();
+		CachedRrdDb cached = this.databases.get(address);
+		if (cached != null && !cached.db.isClosed()) {
+			this.hits++;
+			cached.lastAccess = now;
+			return cached.db;
+		}
+
+		this.misses++;
+		RrdDb db = opener.open(address);
+		this.databases.put(address, new CachedRrdDb(db, now));
+
+		// Close least recently used databases
+		Iterator<CachedRrdDb> iterator = this.databases.values().iterator();
+		while (this.databases.size() > this.maxOpenDatabases && iterator.hasNext()) {
+			CachedRrdDb eldest = iterator.next();
+			iterator.remove();
+			close(eldest.db);
+		}
+		return db;
+	}
+
+	/**
+	 * Closes the database for the given Channel-Address, e.g. after an error.
+	 * It is reopened on the next {@link #get(ChannelAddress, Opener)}.
+	 *
+	 * @param address the Channel-Address
+	 */
+	public synchronized void invalidate(ChannelAddress address) {
+		CachedRrdDb cached = this.databases.remove(address);
+		if (cached != null) {
+			close(cached.db);
+		}
+	}
+
+	/**
+	 * Closes all databases that were not accessed within the idle timeout.
+	 */
+	public void evictIdle() {
+		this.evictIdle(System.currentTimeMillis());
+	}
+
+	protected synchronized void evictIdle(long now) {
+		Iterator<Entry<ChannelAddress, CachedRrdDb>> iterator = this.databases.entrySet().iterator();
+		while (iterator.hasNext()) {
+			CachedRrdDb cached = iterator.next().getValue();
+			if (now - cached.lastAccess < this.idleTimeoutMillis) {
+				// access-ordered -> all following entries were accessed later
+				break;
+			}
+			iterator.remove();
+			close(cached.db);
+		}
+	}
+
+	/**
+	 * Closes all databases.
+	 */
+	public synchronized void closeAll() {
+		for (CachedRrdDb cached : this.databases.values()) {
+			close(cached.db);
+		}
+		this.databases.clear();
+	}
+
+	/**
+	 * Gets the number of currently open databases.
+	 *
+	 * @return the number of open databases
+	 */
+	public synchronized int getNoOfOpenDatabases() {
+		return this.databases.size();
+	}
+
+	/**
+	 * Gets the configured maximum number of open databases.
+	 *
+	 * @return the maximum number of open databases
+	 */
+	public int getMaxOpenDatabases() {
+		return this.maxOpenDatabases;
+	}
+
+	/**
+	 * Gets the number of accesses that were served by an already open database.
+	 *
+	 * @return the number of cache hits
+	 */
+	public synchronized long getHits() {
+		return this.hits;
+	}
+
+	/**
+	 * Gets the number of accesses that required to open a database.
+	 *
+	 * @return the number of cache misses
+	 */
+	public synchronized long getMisses() {
+		return this.misses;
+	}
+
+	private static void close(RrdDb db) {
+		try {
+			db.close();
+		} catch (IOException e) {
+			// ignore; the file is not used anymore
+		}
+	}
+
+}
@@ -0,0 +1,157 @@
+package io.openems.edge.timedata.rrd4j;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.rrd4j.ConsolFun;
+import org.rrd4j.DsType;
+import org.rrd4j.core.DsDef;
+import org.rrd4j.core.RrdBackendFactory;
+import org.rrd4j.core.RrdDb;
+import org.rrd4j.core.RrdDef;
+import org.rrd4j.core.Sample;
+
+import io.openems.common.types.ChannelAddress;
+
+public class RrdDbCacheTest {
+
+	private static final long START = 1_577_836_800L; // 2020-01-01 00:00:00 UTC
+	private static final int STEP = 60;
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private static RrdDb open(RrdBackendFactory factory, File folder, ChannelAddress address) throws IOException {
+		File file = new File(folder, address.getComponentId() + "_" + address.getChannelId());
+		if (file.exists()) {
+			return RrdDb.getBuilder() //
+					.setBackendFactory(factory) //
+					.setPath(file.toURI()) //
+					.build();
+		}
+		RrdDef rrdDef = new RrdDef(file.toURI(), START - 1, STEP);
+		rrdDef.addDatasource(new DsDef("value", DsType.GAUGE, STEP, Double.NaN, Double.NaN));
+		rrdDef.addArchive(ConsolFun.AVERAGE, 0.5, 1, 1_440);
+		return RrdDb.getBuilder() //
+				.setBackendFactory(factory) //
+				.setRrdDef(rrdDef) //
+				.build();
+	}
+
+	@Test
+	public void testLeastRecentlyUsedIsClosed() throws Exception {
+		RrdBackendFactory factory = RrdBackend.RANDOM_ACCESS_FILE.createFactory();
+		File folder = this.folder.newFolder();
+		RrdDbCache cache = new RrdDbCache(2, 60_000);
+		RrdDbCache.Opener opener = address -> open(factory, folder, address);
+
+		ChannelAddress c0 = new ChannelAddress("meter0", "ActivePower");
+		ChannelAddress c1 = new ChannelAddress("meter0", "ReactivePower");
+		ChannelAddress c2 = new ChannelAddress("meter0", "Frequency");
+
+		RrdDb db0 = cache.get(c0, opener);
+		RrdDb db1 = cache.get(c1, opener);
+		assertSame(db0, cache.get(c0, opener)); // c1 is now least recently used
+		cache.get(c2, opener);
+
+		assertEquals(2, cache.getNoOfOpenDatabases());
+		assertEquals(1, cache.getHits());
+		assertEquals(3, cache.getMisses());
+		assertFalse(db0.isClosed());
+		assertTrue(db1.isClosed());
+
+		cache.closeAll();
+		assertEquals(0, cache.getNoOfOpenDatabases());
+		assertTrue(db0.isClosed());
+	}
+
+	@Test
+	public void testEvictIdle() throws Exception {
+		RrdBackendFactory factory = RrdBackend.RANDOM_ACCESS_FILE.createFactory();
+		File folder = this.folder.newFolder();
+		RrdDbCache cache = new RrdDbCache(10, 60_000);
+		RrdDbCache.Opener opener = address -> open(factory, folder, address);
+
+		RrdDb db = cache.get(new ChannelAddress("meter0", "ActivePower"), opener);
+
+		cache.evictIdle(System.currentTimeMillis());
+		assertEquals(1, cache.getNoOfOpenDatabases());
+
+		cache.evictIdle(System.currentTimeMillis() + 60_000);
+		assertEquals(0, cache.getNoOfOpenDatabases());
+		assertTrue(db.isClosed());
+	}
+
+	/**
+	 * Compares opening and closing the file for every Sample with keeping the
+	 * files open. Prints the throughput in Samples per second.
+	 *
+	 * <p>
+	 * This is a benchmark and not run by default; enable it by uncommenting the
+	 * "@Test" annotation.
+	 *
+	 * @throws Exception on error
+	 */
+	// @Test
+	public void testThroughput() throws Exception {
+		final int noOfChannels = 200;
+		final int noOfRecordings = 30;
+		RrdBackendFactory factory = RrdBackend.RANDOM_ACCESS_FILE.createFactory();
+		List<ChannelAddress> addresses = new ArrayList<>();
+		for (int i = 0; i < noOfChannels; i++) {
+			addresses.add(new ChannelAddress("component" + i, "Channel"));
+		}
+
+		// Open and close for every Sample
+		File uncachedFolder = this.folder.newFolder();
+		long start = System.nanoTime();
+		for (int r = 0; r < noOfRecordings; r++) {
+			for (ChannelAddress address : addresses) {
+				RrdDb db = open(factory, uncachedFolder, address);
+				addSample(db, START + r * STEP, r);
+				db.close();
+			}
+		}
+		long uncachedNanos = System.nanoTime() - start;
+
+		// Keep databases open
+		File cachedFolder = this.folder.newFolder();
+		RrdDbCache cache = new RrdDbCache(noOfChannels, 60_000);
+		start = System.nanoTime();
+		for (int r = 0; r < noOfRecordings; r++) {
+			for (ChannelAddress address : addresses) {
+				RrdDb db = cache.get(address, a -> open(factory, cachedFolder, a));
+				addSample(db, START + r * STEP, r);
+			}
+		}
+		long cachedNanos = System.nanoTime() - start;
+
+		assertEquals(noOfChannels, cache.getMisses());
+		assertEquals(noOfChannels * (noOfRecordings - 1), cache.getHits());
+		RrdDb db = cache.get(addresses.get(0), a -> open(factory, cachedFolder, a));
+		assertEquals(noOfRecordings - 1, db.getLastDatasourceValues()[0], 0.001);
+		cache.closeAll();
+
+		long samples = (long) noOfChannels * noOfRecordings;
+		System.out.println("RRD4J throughput for " + samples + " Samples: " //
+				+ "open/close per Sample [" + samples * 1_000_000_000L / Math.max(1, uncachedNanos) + "/s] " //
+				+ "kept open [" + samples * 1_000_000_000L / Math.max(1, cachedNanos) + "/s]");
+	}
+
+	private static void addSample(RrdDb db, long timestamp, double value) throws IOException {
+		Sample sample = db.createSample(timestamp);
+		sample.setValue(0, value);
+		sample.update();
+	}
+
+}
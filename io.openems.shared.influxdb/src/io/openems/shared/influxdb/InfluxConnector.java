@@ -4,6 +4,7 @@ import java.time.Instant;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -14,9 +15,11 @@ import java.util.function.BiConsumer;
 
 import org.influxdb.BatchOptions;
 import org.influxdb.InfluxDB;
+import org.influxdb.InfluxDB.ConsistencyLevel;
 import org.influxdb.InfluxDBException;
 import org.influxdb.InfluxDBFactory;
 import org.influxdb.InfluxDBIOException;
+import org.influxdb.dto.BatchPoints;
 import org.influxdb.dto.Point;
 import org.influxdb.dto.Query;
 import org.influxdb.dto.QueryResult;
@@ -87,7 +90,7 @@ public class InfluxConnector {
 	 * 
 	 * @return
 	 */
-	private InfluxDB getConnection() {
+	private synchronized InfluxDB getConnection() {
 		if (this._influxDB == null) {
 			InfluxDB influxDB = InfluxDBFactory.connect("http://" + this.ip + ":" + this.port, this.username,
 					this.password);
@@ -378,4 +381,70 @@ public class InfluxConnector {
 			throw new OpenemsException("Unable to write point: " + e.getMessage());
 		}
 	}
+
+	/**
+	 * Synchronously writes the Points to InfluxDB in one single request.
+	 * 
+	 * <p>
+	 * Errors that are not worth a retry - like a field type conflict - are
+	 * forwarded to the 'onWriteError' callback.
+	 * 
+	 * @param points the InfluxDB Points
+	 * @return false if InfluxDB rejected the Points on an error that is not worth
+	 *         a retry, e.g. a field type conflict
+	 * @throws OpenemsException on errors that are worth a retry, e.g. timeouts
+	 */
+	public boolean writeBatch(Collection<Point> points) throws OpenemsException {
+		if (this.isReadOnly) {
+			log.info("Read-Only-Mode is activated. Not writing [" + points.size() + "] points");
+			return true;
+		}
+		BatchPoints batchPoints = BatchPoints //
+				.database(this.database) //
+				.retentionPolicy(this.retentionPolicy) //
+				.build();
+		for (Point point : points) {
+			batchPoints.point(point);
+		}
+		try {
+			this.getConnection().write(batchPoints);
+			return true;
+		} catch (InfluxDBIOException e) {
+			throw new OpenemsException("Unable to write points: " + e.getMessage());
+		} catch (InfluxDBException e) {
+			if (e.isRetryWorth()) {
+				throw new OpenemsException("Unable to write points: " + e.getMessage());
+			}
+			this.onWriteError.accept(points, e);
+			return false;
+		}
+	}
+
+	/**
+	 * Synchronously writes records in InfluxDB line protocol in one single
+	 * request.
+	 * 
+	 * @param records the records in line protocol
+	 * @return false if InfluxDB rejected the records on an error that is not
+	 *         worth a retry, e.g. a field type conflict
+	 * @throws OpenemsException on errors that are worth a retry, e.g. timeouts
+	 */
+	public boolean writeLineProtocol(List<String> records) throws OpenemsException {
+		if (this.isReadOnly) {
+			log.info("Read-Only-Mode is activated. Not writing [" + records.size() + "] records");
+			return true;
+		}
+		try {
+			this.getConnection().write(this.database, this.retentionPolicy, ConsistencyLevel.ONE, records);
+			return true;
+		} catch (InfluxDBIOException e) {
+			throw new OpenemsException("Unable to write records: " + e.getMessage());
+		} catch (InfluxDBException e) {
+			if (e.isRetryWorth()) {
+				throw new OpenemsException("Unable to write records: " + e.getMessage());
+			}
+			log.warn("Unable to write records: " + e.getMessage());
+			return false;
+		}
+	}
 }